@@ -2,6 +2,7 @@ package br.edu.infnet.gabriel.gym_management.loader;
 
 import br.edu.infnet.gabriel.gym_management.model.Academia;
 import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import br.edu.infnet.gabriel.gym_management.snapshot.SnapshotMemoria;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.io.ClassPathResource;
@@ -23,20 +24,27 @@ import java.util.List;
  *
  * Exemplo:
  * Academia Força Total;12.345.678/0001-00;Rua A, 123;11987654321;true
+ *
+ * Com gym.snapshot.enabled, um snapshot válido é restaurado no lugar da leitura do arquivo.
  */
 @Component
 public class AcademyLoader implements ApplicationRunner {
 
     private final AcademyService academyService;
+    private final SnapshotMemoria snapshot;
 
-    public AcademyLoader(AcademyService academyService) {
+    public AcademyLoader(AcademyService academyService, SnapshotMemoria snapshot) {
         this.academyService = academyService;
+        this.snapshot = snapshot;
     }
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
-        List<Academia> academiasCarregadas = carregarAcademias();
-        imprimirAcademias(academiasCarregadas);
+        if (!snapshot.restaurar()) {
+            List<Academia> academiasCarregadas = carregarAcademias();
+            imprimirAcademias(academiasCarregadas);
+        }
+        snapshot.liberar();
     }
 
     /**
@@ -3,20 +3,24 @@ package br.edu.infnet.gabriel.gym_management.service;
 import br.edu.infnet.gabriel.gym_management.model.Academia;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Serviço responsável pela gestão de Academias.
- * Utiliza ConcurrentHashMap para armazenamento em memória com thread-safety.
+ * Utiliza MapaIdConcorrente (chaves int, leituras sem trava) para armazenamento em memória com thread-safety.
  * IDs são gerados automaticamente via AtomicInteger.
  */
 @Service
-public class AcademyService implements CrudService<Academia, Integer> {
+public class AcademyService implements CrudService<Academia, Integer>, ArmazemMemoria<Academia> {
 
-    private final ConcurrentHashMap<Integer, Academia> repositorio = new ConcurrentHashMap<>();
+    private final MapaIdConcorrente<Academia> repositorio = new MapaIdConcorrente<>();
     private final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final AtomicLong modificacoes = new AtomicLong();
 
     /**
      * Salva uma nova academia ou atualiza uma existente.
@@ -30,7 +34,8 @@ public class AcademyService implements CrudService<Academia, Integer> {
         if (academia.getId() == null) {
             academia.setId(idGenerator.getAndIncrement());
         }
-        repositorio.put(academia.getId(), academia);
+        repositorio.gravar(academia.getId(), academia);
+        modificacoes.incrementAndGet();
         return academia;
     }
 
@@ -42,7 +47,17 @@ public class AcademyService implements CrudService<Academia, Integer> {
      */
     @Override
     public Academia buscarPorId(Integer id) {
-        return repositorio.get(id);
+        return repositorio.buscar(id);
+    }
+
+    /**
+     * Busca uma academia pelo ID, sem convertê-lo para Integer.
+     *
+     * @param id O ID da academia
+     * @return A academia encontrada, ou null se não existir
+     */
+    public Academia buscarPorId(int id) {
+        return repositorio.buscar(id);
     }
 
     /**
@@ -53,7 +68,11 @@ public class AcademyService implements CrudService<Academia, Integer> {
      */
     @Override
     public Boolean excluir(Integer id) {
-        return repositorio.remove(id) != null;
+        boolean removido = repositorio.remover(id) != null;
+        if (removido) {
+            modificacoes.incrementAndGet();
+        }
+        return removido;
     }
 
     /**
@@ -63,7 +82,38 @@ public class AcademyService implements CrudService<Academia, Integer> {
      */
     @Override
     public List<Academia> listarTodos() {
-        return List.copyOf(repositorio.values());
+        return List.copyOf(repositorio.valores());
+    }
+
+    @Override
+    public Collection<Academia> entidades() {
+        return repositorio.valores();
     }
-}
 
+    @Override
+    public int proximoId() {
+        return idGenerator.get();
+    }
+
+    @Override
+    public long modificacoes() {
+        return modificacoes.get();
+    }
+
+    /**
+     * Substitui as academias em memória pelas restauradas de um snapshot
+     */
+    @Override
+    public void restaurar(Collection<Academia> entidades, int proximoId) {
+        Map<Integer, Academia> restaurados = new HashMap<>(entidades.size() * 2);
+        int maiorId = 0;
+        for (Academia entidade : entidades) {
+            restaurados.put(entidade.getId(), entidade);
+            maiorId = Math.max(maiorId, entidade.getId());
+        }
+        repositorio.limpar();
+        repositorio.gravarTodos(restaurados);
+        idGenerator.set(Math.max(proximoId, maiorId + 1));
+        modificacoes.incrementAndGet();
+    }
+}
@@ -0,0 +1,32 @@
+package br.edu.infnet.gabriel.gym_management.service;
+
+import java.util.Collection;
+
+/**
+ * Serviço que guarda suas entidades em memória e pode ser copiado para um snapshot e restaurado dele.
+ *
+ * @param <T> O tipo da entidade
+ */
+public interface ArmazemMemoria<T> {
+
+    /**
+     * Entidades atuais. A visão é fracamente consistente: é percorrida sem bloquear as gravações.
+     */
+    Collection<T> entidades();
+
+    /**
+     * Próximo ID que o gerador vai entregar
+     */
+    int proximoId();
+
+    /**
+     * Contador de alterações, para saber se houve mudança desde o último snapshot
+     */
+    long modificacoes();
+
+    /**
+     * Substitui o conteúdo pelas entidades restauradas. O gerador de IDs continua do maior
+     * entre o próximo ID gravado e o maior ID restaurado + 1.
+     */
+    void restaurar(Collection<T> entidades, int proximoId);
+}
@@ -0,0 +1,27 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+
+import java.io.IOException;
+
+/**
+ * Formato da Academia no snapshot
+ */
+public class AcademiaCodificador implements CodificadorSnapshot<Academia> {
+
+    @Override
+    public void escrever(Academia academia, SaidaSnapshot saida) throws IOException {
+        saida.inteiro(academia.getId());
+        saida.texto(academia.getNome());
+        saida.texto(academia.getCnpj());
+        saida.texto(academia.getEndereco());
+        saida.texto(academia.getTelefone());
+        saida.booleano(academia.getStatusAtivo());
+    }
+
+    @Override
+    public Academia ler(EntradaSnapshot entrada) {
+        return new Academia(entrada.inteiro(), entrada.texto(), entrada.texto(), entrada.texto(),
+                entrada.texto(), entrada.booleano());
+    }
+}
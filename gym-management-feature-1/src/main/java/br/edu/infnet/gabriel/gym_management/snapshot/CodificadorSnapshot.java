@@ -0,0 +1,15 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Formato binário de uma entidade no snapshot. A ordem dos campos em ler deve ser a mesma de escrever.
+ *
+ * @param <T> O tipo da entidade
+ */
+public interface CodificadorSnapshot<T> {
+
+    void escrever(T entidade, SaidaSnapshot saida) throws IOException;
+
+    T ler(EntradaSnapshot entrada);
+}
@@ -0,0 +1,18 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Resultado de uma gravação ou restauração de snapshot
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoSnapshot {
+    private String arquivo;
+    private Map<String, Integer> registros;
+    private long bytes;
+    private long millis;
+}
@@ -0,0 +1,151 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Escrita do snapshot direto em memória mapeada. O arquivo cresce em regiões de REGIAO bytes, mapeadas
+ * conforme a escrita avança; ao fechar, é truncado no tamanho real.
+ * Inteiros não negativos usam varint (1 byte até 127), textos são UTF-8 precedidos do tamanho e campos
+ * opcionais levam um marcador de nulo. O CRC32C de cada seção é calculado sobre os bytes já gravados.
+ */
+public final class SaidaSnapshot {
+
+    static final int REGIAO = 16 << 20;
+
+    private final FileChannel canal;
+    private final byte[] rascunho = new byte[16];
+    private final CRC32C crc = new CRC32C();
+    private final MappedByteBuffer primeiraRegiao;
+
+    private MappedByteBuffer regiao;
+    private long inicioRegiao;
+    private int marcaCrc;
+
+    SaidaSnapshot(FileChannel canal) throws IOException {
+        this.canal = canal;
+        this.primeiraRegiao = canal.map(FileChannel.MapMode.READ_WRITE, 0, REGIAO);
+        this.regiao = primeiraRegiao;
+    }
+
+    /**
+     * Posição atual no arquivo
+     */
+    public long posicao() {
+        return inicioRegiao + regiao.position();
+    }
+
+    public void inteiro(int valor) throws IOException {
+        int n = 0;
+        int v = valor;
+        while ((v & ~0x7F) != 0) {
+            rascunho[n++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        rascunho[n++] = (byte) v;
+        bytes(rascunho, 0, n);
+    }
+
+    public void inteiroOuNulo(Integer valor) throws IOException {
+        inteiro(valor == null ? 0 : valor + 1);
+    }
+
+    public void longo(long valor) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            rascunho[i] = (byte) (valor >>> (56 - 8 * i));
+        }
+        bytes(rascunho, 0, 8);
+    }
+
+    public void decimal(Double valor) throws IOException {
+        booleano(valor == null ? null : Boolean.TRUE);
+        if (valor != null) {
+            longo(Double.doubleToLongBits(valor));
+        }
+    }
+
+    /**
+     * 0 = nulo, 1 = false, 2 = true
+     */
+    public void booleano(Boolean valor) throws IOException {
+        rascunho[0] = (byte) (valor == null ? 0 : valor ? 2 : 1);
+        bytes(rascunho, 0, 1);
+    }
+
+    /**
+     * Tamanho + 1 em varint (0 = nulo) seguido dos bytes UTF-8
+     */
+    public void texto(String valor) throws IOException {
+        if (valor == null) {
+            inteiro(0);
+            return;
+        }
+        byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+        inteiro(utf8.length + 1);
+        bytes(utf8, 0, utf8.length);
+    }
+
+    void bytes(byte[] origem, int inicio, int tamanho) throws IOException {
+        int pos = inicio;
+        int restante = tamanho;
+        while (restante > 0) {
+            if (!regiao.hasRemaining()) {
+                proximaRegiao();
+            }
+            int parte = Math.min(restante, regiao.remaining());
+            regiao.put(origem, pos, parte);
+            pos += parte;
+            restante -= parte;
+        }
+    }
+
+    /**
+     * Começa o cálculo do CRC de uma seção na posição atual
+     */
+    void iniciarCrc() {
+        crc.reset();
+        marcaCrc = regiao.position();
+    }
+
+    /**
+     * CRC32C dos bytes gravados desde iniciarCrc
+     */
+    int terminarCrc() {
+        acumularCrc();
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Força os bytes para o disco e trunca o arquivo no tamanho escrito
+     */
+    void fechar() throws IOException {
+        long tamanho = posicao();
+        regiao.force();
+        primeiraRegiao.force();
+        canal.truncate(tamanho);
+        canal.force(true);
+    }
+
+    /**
+     * Grava um long numa posição já escrita do cabeçalho (primeira região)
+     */
+    void longoEm(int posicao, long valor) {
+        primeiraRegiao.putLong(posicao, valor);
+    }
+
+    private void proximaRegiao() throws IOException {
+        acumularCrc();
+        regiao.force();
+        inicioRegiao += regiao.capacity();
+        regiao = canal.map(FileChannel.MapMode.READ_WRITE, inicioRegiao, REGIAO);
+        marcaCrc = 0;
+    }
+
+    private void acumularCrc() {
+        crc.update(regiao.slice(marcaCrc, regiao.position() - marcaCrc));
+        marcaCrc = regiao.position();
+    }
+}
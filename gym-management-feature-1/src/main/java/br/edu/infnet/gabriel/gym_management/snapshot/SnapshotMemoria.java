@@ -0,0 +1,150 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshots periódicos do AcademyService no ArquivoSnapshot.
+ *
+ * A gravação roda numa thread própria e percorre o MapaIdConcorrente sem travar leituras nem escritas:
+ * cada registro sai com algum estado entre o início e o fim da gravação. O contador de modificações é lido
+ * antes, então o que mudar durante a gravação entra no próximo snapshot. Os snapshots só começam depois de
+ * liberar (fim da carga do academias.txt ou da restauração), para nunca gravar uma carga pela metade; ao parar a
+ * aplicação sai um último snapshot, se houve mudança.
+ */
+@Component
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotMemoria implements SmartLifecycle {
+
+    private final SnapshotProperties properties;
+    private final List<SecaoSnapshot<?>> secoes;
+
+    private ScheduledExecutorService agendador;
+    private volatile boolean rodando;
+    private volatile boolean liberado;
+    private volatile long modificacoesGravadas = -1;
+    private volatile ResultadoSnapshot ultimo;
+
+    public SnapshotMemoria(SnapshotProperties properties, AcademyService academyService) {
+        this.properties = properties;
+        this.secoes = List.of(new SecaoSnapshot<>("academias", academyService, new AcademiaCodificador()));
+    }
+
+    /**
+     * Restaura o snapshot, se habilitado e existente
+     *
+     * @return true se as academias foram restauradas; false se o academias.txt deve ser carregado
+     */
+    public boolean restaurar() {
+        Path arquivo = Path.of(properties.getArquivo());
+        if (!properties.isEnabled() || !properties.isRestaurarNaSubida() || !Files.exists(arquivo)) {
+            return false;
+        }
+        try {
+            ResultadoSnapshot resultado = ArquivoSnapshot.restaurar(arquivo, secoes);
+            modificacoesGravadas = modificacoes();
+            ultimo = resultado;
+            System.out.println("Snapshot restaurado em " + resultado.getMillis() + " ms: " + resultado.getRegistros()
+                    + ", " + resultado.getBytes() + " bytes");
+            return true;
+        } catch (IOException e) {
+            System.err.println("Snapshot " + arquivo + " ignorado, seguindo com a carga do academias.txt: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Libera os snapshots periódicos; chamado quando as academias estão completas
+     */
+    public void liberar() {
+        liberado = true;
+    }
+
+    /**
+     * Grava um snapshot agora, mesmo sem mudanças
+     */
+    public synchronized ResultadoSnapshot gravar() throws IOException {
+        long modificacoes = modificacoes();
+        ResultadoSnapshot resultado = ArquivoSnapshot.gravar(Path.of(properties.getArquivo()), secoes);
+        modificacoesGravadas = modificacoes;
+        ultimo = resultado;
+        return resultado;
+    }
+
+    /**
+     * Último snapshot gravado ou restaurado, ou null
+     */
+    public ResultadoSnapshot getUltimo() {
+        return ultimo;
+    }
+
+    /**
+     * Sobe antes do servidor web e para depois dele, então o último snapshot já não disputa com requisições
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long intervalo = properties.getIntervalo().toMillis();
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::gravarSeMudou, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        rodando = true;
+    }
+
+    @Override
+    public void stop() {
+        if (!rodando) {
+            return;
+        }
+        rodando = false;
+        agendador.shutdown();
+        try {
+            agendador.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        gravarSeMudou();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rodando;
+    }
+
+    private void gravarSeMudou() {
+        if (!liberado || modificacoes() == modificacoesGravadas) {
+            return;
+        }
+        try {
+            ResultadoSnapshot resultado = gravar();
+            System.out.println("Snapshot gravado em " + resultado.getMillis() + " ms: " + resultado.getRegistros()
+                    + ", " + resultado.getBytes() + " bytes");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Falha ao gravar o snapshot " + properties.getArquivo() + ": " + e.getMessage());
+        }
+    }
+
+    private long modificacoes() {
+        return secoes.stream().mapToLong(secao -> secao.armazem().modificacoes()).sum();
+    }
+}
@@ -0,0 +1,28 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do snapshot das academias em memória (gym.snapshot.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    private String arquivo = "data/snapshot/gym-management.snap";
+
+    /**
+     * Intervalo entre snapshots; só grava se as academias mudaram desde o anterior
+     */
+    private Duration intervalo = Duration.ofSeconds(60);
+
+    /**
+     * Restaura o snapshot na subida no lugar da carga do academias.txt
+     */
+    private boolean restaurarNaSubida = true;
+}
@@ -0,0 +1,93 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArquivoSnapshotTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void restauraRegistrosEContador() throws IOException {
+        AcademyService origem = new AcademyService();
+        for (int i = 0; i < 4; i++) {
+            origem.salvar(academia(i));
+        }
+        origem.excluir(2);
+        origem.salvar(new Academia(null, "Academia Sem Telefone", "11.111.111/0001-11", "Rua C, 30", null, false));
+
+        Path arquivo = diretorio.resolve("gym.snap");
+        ResultadoSnapshot gravado = ArquivoSnapshot.gravar(arquivo, secoes(origem));
+        assertThat(gravado.getRegistros()).containsEntry("academias", 4);
+        assertThat(Files.size(arquivo)).isEqualTo(gravado.getBytes());
+        assertThat(diretorio.resolve("gym.snap.tmp")).doesNotExist();
+
+        AcademyService destino = new AcademyService();
+        ResultadoSnapshot restaurado = ArquivoSnapshot.restaurar(arquivo, secoes(destino));
+
+        assertThat(restaurado.getRegistros()).containsEntry("academias", 4);
+        assertThat(destino.listarTodos()).containsExactlyInAnyOrderElementsOf(origem.listarTodos());
+        assertThat(destino.buscarPorId(5).getTelefone()).isNull();
+        assertThat(destino.salvar(academia(9)).getId()).isEqualTo(6);
+    }
+
+    @Test
+    void recusaArquivoTruncadoSemAlterarOArmazem() throws IOException {
+        AcademyService origem = new AcademyService();
+        for (int i = 0; i < 3; i++) {
+            origem.salvar(academia(i));
+        }
+        Path arquivo = diretorio.resolve("gym.snap");
+        ArquivoSnapshot.gravar(arquivo, secoes(origem));
+        byte[] conteudo = Files.readAllBytes(arquivo);
+
+        AcademyService destino = new AcademyService();
+        destino.salvar(academia(7));
+        for (int tamanho : new int[]{0, 10, 30, conteudo.length / 2, conteudo.length - 4, conteudo.length - 1}) {
+            Files.write(arquivo, Arrays.copyOf(conteudo, tamanho));
+
+            assertThatThrownBy(() -> ArquivoSnapshot.restaurar(arquivo, secoes(destino)))
+                    .as("arquivo truncado em %d de %d bytes", tamanho, conteudo.length)
+                    .isInstanceOf(IOException.class);
+            assertThat(destino.listarTodos()).extracting(Academia::getNome).containsExactly("Academia 7");
+        }
+    }
+
+    @Test
+    void recusaArquivoCorrompidoSemAlterarOArmazem() throws IOException {
+        AcademyService origem = new AcademyService();
+        origem.salvar(academia(0));
+        Path arquivo = diretorio.resolve("gym.snap");
+        ArquivoSnapshot.gravar(arquivo, secoes(origem));
+
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        conteudo[40] ^= 0x5A;
+        Files.write(arquivo, conteudo);
+
+        AcademyService destino = new AcademyService();
+        destino.salvar(academia(1));
+        assertThatThrownBy(() -> ArquivoSnapshot.restaurar(arquivo, secoes(destino))).isInstanceOf(IOException.class);
+        assertThat(destino.listarTodos()).hasSize(1);
+    }
+
+    private static Academia academia(int i) {
+        return new Academia(null, "Academia " + i, String.format("98.765.432/0001-%02d", i), "Rua A, " + i,
+                "(21) 99999-000" + i, i % 2 == 0);
+    }
+
+    private static List<SecaoSnapshot<?>> secoes(AcademyService academias) {
+        return List.of(new SecaoSnapshot<>("academias", academias, new AcademiaCodificador()));
+    }
+}
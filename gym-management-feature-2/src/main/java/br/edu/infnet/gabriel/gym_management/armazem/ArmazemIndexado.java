@@ -0,0 +1,231 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes.Confirmacao;
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes.Remocao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Armazém em memória de um tipo de entidade: MapaIdConcorrente por ID, gerador de IDs, índices dos campos
+ * declarados e consultas compiladas sobre eles. Toda gravação e exclusão passa pelo diário de mutações,
+ * e os índices de um ID são atualizados em volta dela (ver IndicesMemoria).
+ *
+ * @param <T> O tipo da entidade
+ */
+public class ArmazemIndexado<T> implements ArmazemMemoria<T> {
+
+    private final String nome;
+    private final DiarioMutacoes diario;
+    private final Function<T, Integer> leituraId;
+    private final BiConsumer<T, Integer> atribuicaoId;
+    private final Map<String, Campo<T>> campos = new LinkedHashMap<>();
+    private final Map<String, Indice<T>> indicesPorCampo = new HashMap<>();
+    private final IndicesMemoria<T> indices;
+
+    private final MapaIdConcorrente<T> repositorio = new MapaIdConcorrente<>();
+    private final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final AtomicLong modificacoes = new AtomicLong();
+
+    /**
+     * @param nome     Nome do armazém no log de mutações e no snapshot
+     * @param conflito Exceção lançada quando um campo único já pertence a outra entidade
+     */
+    public ArmazemIndexado(String nome, DiarioMutacoes diario, Function<T, Integer> leituraId,
+                           BiConsumer<T, Integer> atribuicaoId, Function<String, RuntimeException> conflito,
+                           List<Campo<T>> campos) {
+        this.nome = nome;
+        this.diario = diario;
+        this.leituraId = leituraId;
+        this.atribuicaoId = atribuicaoId;
+        List<Indice<T>> criados = new ArrayList<>();
+        for (Campo<T> campo : campos) {
+            if (this.campos.put(campo.nome(), campo) != null) {
+                throw new IllegalArgumentException("Campo " + campo.nome() + " declarado duas vezes em " + nome);
+            }
+            if (campo.tipo() != Campo.Tipo.SIMPLES) {
+                Indice<T> indice = Indice.criar(campo);
+                indicesPorCampo.put(campo.nome(), indice);
+                criados.add(indice);
+            }
+        }
+        this.indices = new IndicesMemoria<>(criados, conflito);
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    /**
+     * Grava uma entidade nova (sem ID, que é gerado aqui) ou substitui a do mesmo ID.
+     * A validação dos dados fica com quem chama.
+     */
+    public T salvar(T entidade) {
+        Integer id = leituraId.apply(entidade);
+        if (id == null) {
+            id = idGenerator.getAndIncrement();
+            atribuicaoId.accept(entidade, id);
+        }
+        gravar(id, entidade);
+        return entidade;
+    }
+
+    /**
+     * Grava um lote: as existentes uma a uma, e as novas com os IDs reservados de uma vez e um único gravarTodos
+     * (um só registro no log de mutações). Um campo único repetido recusa todas as novas do lote.
+     */
+    public List<T> salvarTodos(List<T> entidades) {
+        long semId = entidades.stream().filter(e -> leituraId.apply(e) == null).count();
+        int proximo = idGenerator.getAndAdd((int) semId);
+        Map<Integer, T> lote = new HashMap<>(entidades.size() * 2);
+        for (T entidade : entidades) {
+            Integer id = leituraId.apply(entidade);
+            if (id == null) {
+                atribuicaoId.accept(entidade, proximo);
+                lote.put(proximo++, entidade);
+            } else {
+                gravar(id, entidade);
+            }
+        }
+        indices.gravarLote(lote, () -> {
+            Confirmacao confirmacao = diario.gravarLote(nome, repositorio, lote);
+            modificacoes.incrementAndGet();
+            return confirmacao;
+        });
+        return entidades;
+    }
+
+    /**
+     * @return A entidade, ou null se não existir
+     */
+    public T buscarPorId(Integer id) {
+        return repositorio.buscar(id);
+    }
+
+    /**
+     * Como buscarPorId(Integer), sem converter o ID
+     *
+     * @return A entidade, ou null se não existir
+     */
+    public T buscarPorId(int id) {
+        return repositorio.buscar(id);
+    }
+
+    /**
+     * @return A entidade removida, ou null se não existia
+     */
+    public T excluir(Integer id) {
+        return indices.remover(id, () -> {
+            Remocao<T> remocao = diario.remover(nome, repositorio, id);
+            if (remocao.entidade() != null) {
+                modificacoes.incrementAndGet();
+            }
+            return remocao;
+        });
+    }
+
+    public List<T> listarTodos() {
+        return List.copyOf(repositorio.valores());
+    }
+
+    public int tamanho() {
+        return repositorio.tamanho();
+    }
+
+    /**
+     * Prepara a consulta para ser executada várias vezes: resolve os campos e deixa os filtros montados.
+     *
+     * @throws IllegalArgumentException Se a consulta usar um campo não declarado
+     */
+    public ConsultaCompilada<T> compilar(Consulta consulta) {
+        return new ConsultaCompilada<>(this, consulta);
+    }
+
+    /**
+     * Compila e executa uma consulta sem parâmetros
+     */
+    public Resultado<T> consultar(Consulta consulta) {
+        return compilar(consulta).executar();
+    }
+
+    @Override
+    public Collection<T> entidades() {
+        return repositorio.valores();
+    }
+
+    @Override
+    public int proximoId() {
+        return idGenerator.get();
+    }
+
+    @Override
+    public long modificacoes() {
+        return modificacoes.get();
+    }
+
+    @Override
+    public void restaurar(Collection<T> entidades, int proximoId) {
+        Map<Integer, T> restaurados = new HashMap<>(entidades.size() * 2);
+        int maiorId = 0;
+        for (T entidade : entidades) {
+            Integer id = leituraId.apply(entidade);
+            restaurados.put(id, entidade);
+            maiorId = Math.max(maiorId, id);
+        }
+        repositorio.limpar();
+        repositorio.gravarTodos(restaurados);
+        indices.recriar(restaurados);
+        idGenerator.set(Math.max(proximoId, maiorId + 1));
+        modificacoes.incrementAndGet();
+    }
+
+    @Override
+    public void reaplicar(Integer id, T entidade) {
+        indices.reaplicar(id, entidade, () -> {
+            repositorio.gravar(id, entidade);
+            return Confirmacao.IMEDIATA;
+        });
+        idGenerator.accumulateAndGet(id + 1, Math::max);
+        modificacoes.incrementAndGet();
+    }
+
+    @Override
+    public void reaplicarExclusao(Integer id) {
+        if (indices.remover(id, () -> new Remocao<>(repositorio.remover(id),
+                Confirmacao.IMEDIATA)) != null) {
+            modificacoes.incrementAndGet();
+        }
+    }
+
+    Campo<T> campo(String nomeCampo) {
+        Campo<T> campo = campos.get(nomeCampo);
+        if (campo == null) {
+            throw new IllegalArgumentException("Campo " + nomeCampo + " não declarado em " + nome);
+        }
+        return campo;
+    }
+
+    /**
+     * @return O índice do campo, ou null se ele não é indexado
+     */
+    Indice<T> indice(String nomeCampo) {
+        return indicesPorCampo.get(nomeCampo);
+    }
+
+    private void gravar(Integer id, T entidade) {
+        // conta a modificação assim que ela está no mapa, mesmo que a confirmação do registro falhe depois
+        indices.gravar(id, entidade, () -> {
+            Confirmacao confirmacao = diario.gravar(nome, repositorio, id, entidade);
+            modificacoes.incrementAndGet();
+            return confirmacao;
+        });
+    }
+}
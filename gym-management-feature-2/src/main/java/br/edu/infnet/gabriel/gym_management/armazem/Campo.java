@@ -0,0 +1,83 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.function.Function;
+
+/**
+ * Campo de uma entidade que pode ser usado nas consultas do ArmazemIndexado, com o índice mantido para ele.
+ * Campos sem índice também podem ser consultados, mas só filtram (a consulta varre o armazém ou outro índice).
+ *
+ * @param <T> O tipo da entidade
+ */
+public final class Campo<T> {
+
+    /**
+     * Como o campo é indexado
+     */
+    public enum Tipo {
+        /** Sem índice */
+        SIMPLES,
+        /** Valor -> ID; um valor repetido em outro ID é recusado na gravação */
+        UNICO,
+        /** Valor -> IDs, para igualdade */
+        MULTIPLO,
+        /** Valor -> IDs em ordem, para igualdade, faixa e prefixo */
+        ORDENADO
+    }
+
+    private final String nome;
+    private final Function<T, ?> leitura;
+    private final Tipo tipo;
+    private final boolean ignorarCaixa;
+
+    private Campo(String nome, Function<T, ?> leitura, Tipo tipo, boolean ignorarCaixa) {
+        this.nome = nome;
+        this.leitura = leitura;
+        this.tipo = tipo;
+        this.ignorarCaixa = ignorarCaixa;
+    }
+
+    public static <T> Campo<T> simples(String nome, Function<T, ?> leitura) {
+        return new Campo<>(nome, leitura, Tipo.SIMPLES, false);
+    }
+
+    /**
+     * @param nome Nome do campo nas consultas e nas mensagens de conflito
+     */
+    public static <T> Campo<T> unico(String nome, Function<T, String> leitura) {
+        return new Campo<>(nome, leitura, Tipo.UNICO, false);
+    }
+
+    public static <T> Campo<T> multiplo(String nome, Function<T, ?> leitura) {
+        return new Campo<>(nome, leitura, Tipo.MULTIPLO, false);
+    }
+
+    /**
+     * Texto comparado sem diferenciar maiúsculas (equalsIgnoreCase)
+     */
+    public static <T> Campo<T> multiploSemCaixa(String nome, Function<T, String> leitura) {
+        return new Campo<>(nome, leitura, Tipo.MULTIPLO, true);
+    }
+
+    /**
+     * Os valores precisam ser Comparable entre si (String, números, datas)
+     */
+    public static <T> Campo<T> ordenado(String nome, Function<T, ? extends Comparable<?>> leitura) {
+        return new Campo<>(nome, leitura, Tipo.ORDENADO, false);
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    public Tipo tipo() {
+        return tipo;
+    }
+
+    boolean ignorarCaixa() {
+        return ignorarCaixa;
+    }
+
+    Object ler(T entidade) {
+        return leitura.apply(entidade);
+    }
+}
@@ -0,0 +1,77 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.List;
+
+/**
+ * Consulta sobre os campos declarados de um ArmazemIndexado: igualdade, faixa e prefixo, combinados com e/ou.
+ * Os valores podem ser constantes ou parâmetros posicionais, preenchidos a cada execução da consulta compilada:
+ * <pre>
+ * ConsultaCompilada&lt;Aluno&gt; ativosDoPlano = armazem.compilar(
+ *         Consulta.e(Consulta.igual("plano", Consulta.parametro(0)), Consulta.igual("status", true)));
+ * ativosDoPlano.executar("Gold");
+ * </pre>
+ */
+public sealed interface Consulta {
+
+    /**
+     * Campo igual ao valor (sem diferenciar maiúsculas nos campos declarados assim); um valor nulo não encontra nada
+     */
+    record Igual(String campo, Object valor) implements Consulta {
+    }
+
+    /**
+     * Campo entre de e ate, inclusive; um limite nulo deixa a faixa aberta daquele lado
+     */
+    record Entre(String campo, Object de, Object ate) implements Consulta {
+    }
+
+    /**
+     * Campo de texto que começa com o prefixo
+     */
+    record Prefixo(String campo, Object prefixo) implements Consulta {
+    }
+
+    record E(List<Consulta> partes) implements Consulta {
+    }
+
+    record Ou(List<Consulta> partes) implements Consulta {
+    }
+
+    /**
+     * Valor informado na execução, pela posição em executar(Object...)
+     */
+    record Parametro(int posicao) {
+    }
+
+    static Consulta igual(String campo, Object valor) {
+        return new Igual(campo, valor);
+    }
+
+    static Consulta entre(String campo, Object de, Object ate) {
+        return new Entre(campo, de, ate);
+    }
+
+    static Consulta maiorOuIgual(String campo, Object de) {
+        return new Entre(campo, de, null);
+    }
+
+    static Consulta menorOuIgual(String campo, Object ate) {
+        return new Entre(campo, null, ate);
+    }
+
+    static Consulta prefixo(String campo, Object prefixo) {
+        return new Prefixo(campo, prefixo);
+    }
+
+    static Consulta e(Consulta... partes) {
+        return new E(List.of(partes));
+    }
+
+    static Consulta ou(Consulta... partes) {
+        return new Ou(List.of(partes));
+    }
+
+    static Parametro parametro(int posicao) {
+        return new Parametro(posicao);
+    }
+}
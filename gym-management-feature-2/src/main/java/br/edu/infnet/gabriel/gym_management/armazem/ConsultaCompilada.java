@@ -0,0 +1,355 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Consulta com os campos resolvidos e os filtros montados, pronta para ser executada várias vezes.
+ * <p>
+ * A cada execução escolhe o caminho com menos candidatos: numa conjunção, o índice mais seletivo entre as
+ * partes indexadas; numa disjunção, a união dos índices de todas as partes (se alguma parte não tem índice,
+ * varre o armazém). Os índices de igualdade contam em O(1); faixas e prefixos contam só até o limite do melhor
+ * caminho já encontrado. Todo candidato passa pelo filtro completo, então um índice nunca muda o resultado,
+ * só o custo.
+ *
+ * @param <T> O tipo da entidade
+ */
+public final class ConsultaCompilada<T> {
+
+    private final ArmazemIndexado<T> armazem;
+    private final No<T> raiz;
+    private final int parametros;
+
+    ConsultaCompilada(ArmazemIndexado<T> armazem, Consulta consulta) {
+        this.armazem = armazem;
+        int[] maiorPosicao = {-1};
+        this.raiz = compilar(consulta, maiorPosicao);
+        this.parametros = maiorPosicao[0] + 1;
+    }
+
+    /**
+     * Executa a consulta com os valores dos parâmetros, em ordem de posição. O resultado é preguiçoso:
+     * cada iteração escolhe o caminho e percorre o armazém naquele momento, sem copiar as entidades.
+     *
+     * @throws IllegalArgumentException Se a quantidade de valores não for a de parâmetros da consulta
+     */
+    public Resultado<T> executar(Object... valores) {
+        if (valores.length != parametros) {
+            throw new IllegalArgumentException("A consulta espera " + parametros + " parâmetro(s), recebeu "
+                    + valores.length);
+        }
+        return new Resultado<>(() -> iterar(valores));
+    }
+
+    private Iterator<T> iterar(Object[] valores) {
+        Plano<T> plano = raiz.planejar(valores, armazem.tamanho());
+        Iterator<T> candidatos = plano == null ? armazem.entidades().iterator() : plano.candidatos().get();
+        return filtrar(candidatos, raiz, valores);
+    }
+
+    private No<T> compilar(Consulta consulta, int[] maiorPosicao) {
+        return switch (consulta) {
+            case Consulta.Igual igual -> new Igual(armazem.campo(igual.campo()), armazem.indice(igual.campo()),
+                    fonte(igual.valor(), maiorPosicao));
+            case Consulta.Entre entre -> new Entre(armazem.campo(entre.campo()), armazem.indice(entre.campo()),
+                    fonte(entre.de(), maiorPosicao), fonte(entre.ate(), maiorPosicao));
+            case Consulta.Prefixo prefixo -> new Prefixo(armazem.campo(prefixo.campo()),
+                    armazem.indice(prefixo.campo()), fonte(prefixo.prefixo(), maiorPosicao));
+            case Consulta.E e -> new E(compilarPartes(e.partes(), maiorPosicao));
+            case Consulta.Ou ou -> new Ou(compilarPartes(ou.partes(), maiorPosicao));
+        };
+    }
+
+    private List<No<T>> compilarPartes(List<Consulta> partes, int[] maiorPosicao) {
+        if (partes.isEmpty()) {
+            throw new IllegalArgumentException("Conjunção ou disjunção sem partes");
+        }
+        List<No<T>> compiladas = new ArrayList<>(partes.size());
+        for (Consulta parte : partes) {
+            compiladas.add(compilar(parte, maiorPosicao));
+        }
+        return compiladas;
+    }
+
+    private static Object fonte(Object valor, int[] maiorPosicao) {
+        if (valor instanceof Consulta.Parametro parametro) {
+            if (parametro.posicao() < 0) {
+                throw new IllegalArgumentException("Posição de parâmetro negativa: " + parametro.posicao());
+            }
+            maiorPosicao[0] = Math.max(maiorPosicao[0], parametro.posicao());
+        }
+        return valor;
+    }
+
+    private static Object valor(Object fonte, Object[] valores) {
+        return fonte instanceof Consulta.Parametro parametro ? valores[parametro.posicao()] : fonte;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int comparar(Object a, Object b) {
+        return ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * Entidades dos IDs vindos de um índice, pulando as que foram excluídas no meio do caminho
+     */
+    private Iterator<T> entidades(Iterator<Integer> ids) {
+        return new Iteradores.Antecipado<>() {
+            @Override
+            protected T calcular() {
+                while (ids.hasNext()) {
+                    T entidade = armazem.buscarPorId(ids.next());
+                    if (entidade != null) {
+                        return entidade;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private static <T> Iterator<T> filtrar(Iterator<T> candidatos, No<T> filtro, Object[] valores) {
+        return new Iteradores.Antecipado<>() {
+            @Override
+            protected T calcular() {
+                while (candidatos.hasNext()) {
+                    T entidade = candidatos.next();
+                    if (filtro.aceita(entidade, valores)) {
+                        return entidade;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Caminho por índice: quantos candidatos (no máximo) e como percorrê-los
+     */
+    private record Plano<T>(long estimativa, Supplier<Iterator<T>> candidatos) {
+    }
+
+    private abstract static class No<T> {
+
+        abstract boolean aceita(T entidade, Object[] valores);
+
+        /**
+         * @return O caminho por índice com até limite candidatos, ou null se não houver
+         */
+        abstract Plano<T> planejar(Object[] valores, long limite);
+    }
+
+    private final class Igual extends No<T> {
+
+        private final Campo<T> campo;
+        private final Indice<T> indice;
+        private final Object fonte;
+
+        private Igual(Campo<T> campo, Indice<T> indice, Object fonte) {
+            this.campo = campo;
+            this.indice = indice;
+            this.fonte = fonte;
+        }
+
+        @Override
+        boolean aceita(T entidade, Object[] valores) {
+            Object procurado = valor(fonte, valores);
+            Object atual = campo.ler(entidade);
+            if (procurado == null || atual == null) {
+                return false;
+            }
+            if (campo.ignorarCaixa() && atual instanceof String texto && procurado instanceof String outro) {
+                return texto.equalsIgnoreCase(outro);
+            }
+            return atual.equals(procurado);
+        }
+
+        @Override
+        Plano<T> planejar(Object[] valores, long limite) {
+            if (indice == null) {
+                return null;
+            }
+            Object chave = indice.normalizar(valor(fonte, valores));
+            long quantidade = indice.contarIguais(chave);
+            return quantidade > limite ? null : new Plano<>(quantidade, () -> entidades(indice.iguais(chave)));
+        }
+    }
+
+    private final class Entre extends No<T> {
+
+        private final Campo<T> campo;
+        private final IndiceOrdenado<T> indice;
+        private final Object de;
+        private final Object ate;
+
+        private Entre(Campo<T> campo, Indice<T> indice, Object de, Object ate) {
+            this.campo = campo;
+            this.indice = indice instanceof IndiceOrdenado<T> ordenado ? ordenado : null;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        boolean aceita(T entidade, Object[] valores) {
+            Object atual = campo.ler(entidade);
+            if (atual == null) {
+                return false;
+            }
+            Object inicio = valor(de, valores);
+            Object fim = valor(ate, valores);
+            return (inicio == null || comparar(atual, inicio) >= 0) && (fim == null || comparar(atual, fim) <= 0);
+        }
+
+        @Override
+        Plano<T> planejar(Object[] valores, long limite) {
+            if (indice == null) {
+                return null;
+            }
+            Object inicio = valor(de, valores);
+            Object fim = valor(ate, valores);
+            long quantidade = indice.contarFaixa(inicio, fim, limite);
+            return quantidade > limite ? null : new Plano<>(quantidade, () -> entidades(indice.faixa(inicio, fim)));
+        }
+    }
+
+    private final class Prefixo extends No<T> {
+
+        private final Campo<T> campo;
+        private final IndiceOrdenado<T> indice;
+        private final Object fonte;
+
+        private Prefixo(Campo<T> campo, Indice<T> indice, Object fonte) {
+            this.campo = campo;
+            this.indice = indice instanceof IndiceOrdenado<T> ordenado ? ordenado : null;
+            this.fonte = fonte;
+        }
+
+        @Override
+        boolean aceita(T entidade, Object[] valores) {
+            return valor(fonte, valores) instanceof String prefixo
+                    && campo.ler(entidade) instanceof String atual && atual.startsWith(prefixo);
+        }
+
+        @Override
+        Plano<T> planejar(Object[] valores, long limite) {
+            if (indice == null) {
+                return null;
+            }
+            if (!(valor(fonte, valores) instanceof String prefixo)) {
+                return new Plano<>(0, Collections::emptyIterator);
+            }
+            long quantidade = indice.contarPrefixo(prefixo, limite);
+            return quantidade > limite ? null : new Plano<>(quantidade, () -> entidades(indice.prefixo(prefixo)));
+        }
+    }
+
+    private final class E extends No<T> {
+
+        private final List<No<T>> partes;
+
+        private E(List<No<T>> partes) {
+            this.partes = partes;
+        }
+
+        @Override
+        boolean aceita(T entidade, Object[] valores) {
+            for (No<T> parte : partes) {
+                if (!parte.aceita(entidade, valores)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * A parte mais seletiva; as demais ficam para o filtro
+         */
+        @Override
+        Plano<T> planejar(Object[] valores, long limite) {
+            Plano<T> melhor = null;
+            for (No<T> parte : partes) {
+                Plano<T> plano = parte.planejar(valores, melhor == null ? limite : melhor.estimativa() - 1);
+                if (plano != null) {
+                    melhor = plano;
+                    if (melhor.estimativa() == 0) {
+                        break;
+                    }
+                }
+            }
+            return melhor;
+        }
+    }
+
+    private final class Ou extends No<T> {
+
+        private final List<No<T>> partes;
+
+        private Ou(List<No<T>> partes) {
+            this.partes = partes;
+        }
+
+        @Override
+        boolean aceita(T entidade, Object[] valores) {
+            for (No<T> parte : partes) {
+                if (parte.aceita(entidade, valores)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * União dos caminhos de todas as partes. Uma entidade que atende a mais de uma parte só sai pela primeira:
+         * os candidatos da parte i que uma parte anterior aceita são pulados, sem guardar os IDs já vistos.
+         */
+        @Override
+        Plano<T> planejar(Object[] valores, long limite) {
+            List<Plano<T>> planos = new ArrayList<>(partes.size());
+            long total = 0;
+            for (No<T> parte : partes) {
+                Plano<T> plano = parte.planejar(valores, limite - total);
+                if (plano == null) {
+                    return null;
+                }
+                total += plano.estimativa();
+                planos.add(plano);
+            }
+            return new Plano<>(total, () -> uniao(planos, valores));
+        }
+
+        private Iterator<T> uniao(List<Plano<T>> planos, Object[] valores) {
+            return new Iteradores.Antecipado<>() {
+                private int parte = -1;
+                private Iterator<T> atual = Collections.emptyIterator();
+
+                @Override
+                protected T calcular() {
+                    while (true) {
+                        while (atual.hasNext()) {
+                            T entidade = atual.next();
+                            if (!aceitaAntes(entidade, parte, valores)) {
+                                return entidade;
+                            }
+                        }
+                        if (++parte == planos.size()) {
+                            return null;
+                        }
+                        atual = planos.get(parte).candidatos().get();
+                    }
+                }
+            };
+        }
+
+        private boolean aceitaAntes(T entidade, int parte, Object[] valores) {
+            for (int i = 0; i < parte; i++) {
+                if (partes.get(i).aceita(entidade, valores)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
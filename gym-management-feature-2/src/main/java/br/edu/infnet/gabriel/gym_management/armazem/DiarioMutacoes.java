@@ -0,0 +1,68 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.Map;
+
+/**
+ * Aplica as gravações e exclusões dos serviços em memória, registrando cada uma.
+ * Os serviços não mexem no mapa diretamente: passam por aqui para que a ordem no registro seja a mesma
+ * ordem em que as alterações de uma mesma chave foram aplicadas.
+ * <p>
+ * Cada operação aplica a mutação e devolve a Confirmacao da durabilidade do registro, sem esperar por ela:
+ * quem chama espera depois de soltar as travas em volta da mutação (ver IndicesMemoria), para que um fsync
+ * não bloqueie outros IDs.
+ */
+public interface DiarioMutacoes {
+
+    /**
+     * Sem registro: só aplica no mapa
+     */
+    DiarioMutacoes NENHUM = new DiarioMutacoes() {
+        @Override
+        public <T> Confirmacao gravar(String armazem, MapaIdConcorrente<T> repositorio, int id, T entidade) {
+            repositorio.gravar(id, entidade);
+            return Confirmacao.IMEDIATA;
+        }
+
+        @Override
+        public <T> Confirmacao gravarLote(String armazem, MapaIdConcorrente<T> repositorio, Map<Integer, T> lote) {
+            repositorio.gravarTodos(lote);
+            return Confirmacao.IMEDIATA;
+        }
+
+        @Override
+        public <T> Remocao<T> remover(String armazem, MapaIdConcorrente<T> repositorio, int id) {
+            return new Remocao<>(repositorio.remover(id), Confirmacao.IMEDIATA);
+        }
+    };
+
+    /**
+     * Espera pela durabilidade de uma mutação já aplicada no mapa
+     */
+    @FunctionalInterface
+    interface Confirmacao {
+
+        Confirmacao IMEDIATA = () -> {
+        };
+
+        /**
+         * @throws IllegalStateException Se o registro não pôde ser gravado; a mutação continua aplicada em memória
+         */
+        void aguardar();
+    }
+
+    /**
+     * @param entidade A entidade removida, ou null se não existia
+     */
+    record Remocao<T>(T entidade, Confirmacao confirmacao) {
+    }
+
+    <T> Confirmacao gravar(String armazem, MapaIdConcorrente<T> repositorio, int id, T entidade);
+
+    /**
+     * Grava um lote de entidades novas (IDs recém-reservados) em um único registro.
+     * Para entidades que já existem, use gravar: o lote não ordena o registro contra gravações concorrentes da mesma chave.
+     */
+    <T> Confirmacao gravarLote(String armazem, MapaIdConcorrente<T> repositorio, Map<Integer, T> lote);
+
+    <T> Remocao<T> remover(String armazem, MapaIdConcorrente<T> repositorio, int id);
+}
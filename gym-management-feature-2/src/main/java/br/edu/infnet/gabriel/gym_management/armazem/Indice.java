@@ -0,0 +1,73 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Índice de um campo declarado. As chaves vêm normalizadas por chave(), e as buscas normalizam o valor
+ * procurado da mesma forma; entidades com o campo nulo não entram no índice.
+ *
+ * @param <T> O tipo da entidade
+ */
+abstract class Indice<T> {
+
+    private final Campo<T> campo;
+
+    Indice(Campo<T> campo) {
+        this.campo = campo;
+    }
+
+    static <T> Indice<T> criar(Campo<T> campo) {
+        return switch (campo.tipo()) {
+            case UNICO -> new IndiceUnico<>(campo);
+            case MULTIPLO -> new IndiceMultiplo<>(campo);
+            case ORDENADO -> new IndiceOrdenado<>(campo);
+            case SIMPLES -> throw new IllegalArgumentException("Campo " + campo.nome() + " não é indexado");
+        };
+    }
+
+    Campo<T> campo() {
+        return campo;
+    }
+
+    Object chave(T entidade) {
+        return normalizar(campo.ler(entidade));
+    }
+
+    /**
+     * Texto sem caixa vira maiúsculas e depois minúsculas. A chave pode juntar valores que equalsIgnoreCase
+     * separa (ß e SS): o índice devolve candidatos e a consulta ainda confere cada entidade.
+     */
+    Object normalizar(Object valor) {
+        if (campo.ignorarCaixa() && valor instanceof String texto) {
+            return texto.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        }
+        return valor;
+    }
+
+    /**
+     * Inclui o ID na chave
+     *
+     * @return O ID que já tinha a chave num índice único, ou null se a chave ficou com este ID
+     */
+    abstract Integer reservar(Object chave, Integer id);
+
+    /**
+     * Inclui o ID na chave mesmo que ela pertença a outro ID num índice único
+     */
+    abstract void forcar(Object chave, Integer id);
+
+    /**
+     * Tira o ID da chave (num índice único, só se a chave ainda for dele)
+     */
+    abstract void liberar(Object chave, Integer id);
+
+    abstract void limpar();
+
+    /**
+     * IDs com o valor (já normalizado)
+     */
+    abstract Iterator<Integer> iguais(Object chave);
+
+    abstract long contarIguais(Object chave);
+}
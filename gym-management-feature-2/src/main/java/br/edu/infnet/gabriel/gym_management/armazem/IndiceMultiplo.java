@@ -0,0 +1,64 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Índice de um campo com valores repetidos: valor -> IDs.
+ * Os conjuntos vazios não são removidos, para que incluir um ID nunca dispute o valor com uma remoção;
+ * os campos indexados assim têm poucos valores distintos (plano, especialidade, status).
+ *
+ * @param <T> O tipo da entidade
+ */
+class IndiceMultiplo<T> extends Indice<T> {
+
+    final ConcurrentMap<Object, Set<Integer>> ids;
+
+    IndiceMultiplo(Campo<T> campo) {
+        this(campo, new ConcurrentHashMap<>());
+    }
+
+    IndiceMultiplo(Campo<T> campo, ConcurrentMap<Object, Set<Integer>> ids) {
+        super(campo);
+        this.ids = ids;
+    }
+
+    @Override
+    Integer reservar(Object chave, Integer id) {
+        forcar(chave, id);
+        return null;
+    }
+
+    @Override
+    void forcar(Object chave, Integer id) {
+        ids.computeIfAbsent(chave, valor -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    @Override
+    void liberar(Object chave, Integer id) {
+        Set<Integer> encontrados = ids.get(chave);
+        if (encontrados != null) {
+            encontrados.remove(id);
+        }
+    }
+
+    @Override
+    void limpar() {
+        ids.clear();
+    }
+
+    @Override
+    Iterator<Integer> iguais(Object chave) {
+        Set<Integer> encontrados = chave == null ? null : ids.get(chave);
+        return encontrados == null ? Collections.emptyIterator() : encontrados.iterator();
+    }
+
+    @Override
+    long contarIguais(Object chave) {
+        Set<Integer> encontrados = chave == null ? null : ids.get(chave);
+        return encontrados == null ? 0 : encontrados.size();
+    }
+}
@@ -0,0 +1,113 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice de um campo com valores em ordem natural (ConcurrentSkipListMap): valor -> IDs,
+ * com busca por faixa e por prefixo além da igualdade
+ *
+ * @param <T> O tipo da entidade
+ */
+final class IndiceOrdenado<T> extends IndiceMultiplo<T> {
+
+    IndiceOrdenado(Campo<T> campo) {
+        super(campo, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * IDs com o valor entre de e ate, inclusive, em ordem de valor; limites nulos deixam a faixa aberta
+     */
+    Iterator<Integer> faixa(Object de, Object ate) {
+        return Iteradores.achatar(trecho(de, ate).values().iterator());
+    }
+
+    /**
+     * Conta os IDs da faixa, parando ao passar de limite
+     */
+    long contarFaixa(Object de, Object ate, long limite) {
+        return contar(trecho(de, ate).values().iterator(), limite);
+    }
+
+    Iterator<Integer> prefixo(String prefixo) {
+        return Iteradores.achatar(new ComPrefixo(prefixo));
+    }
+
+    long contarPrefixo(String prefixo, long limite) {
+        return contar(new ComPrefixo(prefixo), limite);
+    }
+
+    private NavigableMap<Object, Set<Integer>> trecho(Object de, Object ate) {
+        NavigableMap<Object, Set<Integer>> ordenados = ordenados();
+        if (de != null && ate != null) {
+            return comparar(de, ate) > 0 ? Collections.emptyNavigableMap() : ordenados.subMap(de, true, ate, true);
+        }
+        if (de != null) {
+            return ordenados.tailMap(de, true);
+        }
+        return ate != null ? ordenados.headMap(ate, true) : ordenados;
+    }
+
+    private NavigableMap<Object, Set<Integer>> ordenados() {
+        return (NavigableMap<Object, Set<Integer>>) ids;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int comparar(Object a, Object b) {
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static long contar(Iterator<Set<Integer>> conjuntos, long limite) {
+        long total = 0;
+        while (conjuntos.hasNext() && total <= limite) {
+            total += conjuntos.next().size();
+        }
+        return total;
+    }
+
+    /**
+     * Conjuntos de IDs das chaves de texto com o prefixo, a partir da primeira chave >= prefixo
+     */
+    private final class ComPrefixo implements Iterator<Set<Integer>> {
+
+        private final String prefixo;
+        private final Iterator<Map.Entry<Object, Set<Integer>>> entradas;
+        private Set<Integer> proximo;
+
+        private ComPrefixo(String prefixo) {
+            this.prefixo = prefixo;
+            this.entradas = ordenados().tailMap(prefixo, true).entrySet().iterator();
+            avancar();
+        }
+
+        private void avancar() {
+            proximo = null;
+            if (entradas.hasNext()) {
+                Map.Entry<Object, Set<Integer>> entrada = entradas.next();
+                if (entrada.getKey() instanceof String chave && chave.startsWith(prefixo)) {
+                    proximo = entrada.getValue();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proximo != null;
+        }
+
+        @Override
+        public Set<Integer> next() {
+            if (proximo == null) {
+                throw new NoSuchElementException();
+            }
+            Set<Integer> atual = proximo;
+            avancar();
+            return atual;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de um campo único: valor -> ID
+ *
+ * @param <T> O tipo da entidade
+ */
+final class IndiceUnico<T> extends Indice<T> {
+
+    private final ConcurrentHashMap<Object, Integer> ids = new ConcurrentHashMap<>();
+
+    IndiceUnico(Campo<T> campo) {
+        super(campo);
+    }
+
+    @Override
+    Integer reservar(Object chave, Integer id) {
+        Integer atual = ids.putIfAbsent(chave, id);
+        return atual == null || atual.equals(id) ? null : atual;
+    }
+
+    @Override
+    void forcar(Object chave, Integer id) {
+        ids.put(chave, id);
+    }
+
+    @Override
+    void liberar(Object chave, Integer id) {
+        ids.remove(chave, id);
+    }
+
+    @Override
+    void limpar() {
+        ids.clear();
+    }
+
+    @Override
+    Iterator<Integer> iguais(Object chave) {
+        Integer id = chave == null ? null : ids.get(chave);
+        return id == null ? Collections.emptyIterator() : Collections.singleton(id).iterator();
+    }
+
+    @Override
+    long contarIguais(Object chave) {
+        return chave != null && ids.containsKey(chave) ? 1 : 0;
+    }
+}
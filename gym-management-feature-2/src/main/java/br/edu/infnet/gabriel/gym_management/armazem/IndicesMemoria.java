@@ -0,0 +1,209 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes.Confirmacao;
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes.Remocao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Índices dos campos de um ArmazemIndexado, mantidos junto com cada gravação e exclusão.
+ * Guarda as chaves com que cada ID foi indexado: ativar/inativar alteram a entidade no lugar antes de gravar,
+ * então as entradas antigas não podem ser lidas da entidade. As alterações de um mesmo ID são serializadas
+ * no compute desse mapa de chaves, em volta da gravação no repositório.
+ * <p>
+ * As chaves novas entram antes da gravação e as antigas saem depois, então a entidade nunca some do índice;
+ * as consultas conferem cada entidade encontrada, que pode ainda não ter sido (ou já ter sido) trocada.
+ * <p>
+ * A espera pela durabilidade do registro (DiarioMutacoes.Confirmacao) acontece depois do compute: dentro dele
+ * um fsync seguraria a trava do bin do mapa de chaves, bloqueando outros IDs. Se o registro falhar, mapa e
+ * índices continuam com a mutação aplicada, coerentes entre si, e a exceção chega a quem gravou.
+ *
+ * @param <T> O tipo da entidade
+ */
+final class IndicesMemoria<T> {
+
+    private final List<Indice<T>> indices;
+    private final Function<String, RuntimeException> conflito;
+    private final ConcurrentHashMap<Integer, Object[]> chaves = new ConcurrentHashMap<>();
+
+    /**
+     * @param conflito Exceção lançada quando um valor único já pertence a outro ID
+     */
+    IndicesMemoria(List<Indice<T>> indices, Function<String, RuntimeException> conflito) {
+        this.indices = List.copyOf(indices);
+        this.conflito = conflito;
+    }
+
+    /**
+     * Indexa a entidade e executa a gravação no repositório, esperando pela confirmação dela fora da trava.
+     * Um valor único de outro ID recusa a gravação sem alterar nada.
+     */
+    void gravar(Integer id, T entidade, Supplier<Confirmacao> gravacao) {
+        gravar(id, entidade, gravacao, false);
+    }
+
+    /**
+     * Como gravar, sem recusar valores únicos: usado ao reaplicar o log, que sobre um snapshot pode
+     * passar por estados intermediários que nunca existiram juntos
+     */
+    void reaplicar(Integer id, T entidade, Supplier<Confirmacao> gravacao) {
+        gravar(id, entidade, gravacao, true);
+    }
+
+    /**
+     * Indexa um lote de IDs recém-reservados e executa a gravação. Um conflito, inclusive entre
+     * entidades do próprio lote, recusa o lote inteiro. Uma falha na confirmação não desindexa o lote,
+     * que já está no repositório.
+     */
+    void gravarLote(Map<Integer, T> lote, Supplier<Confirmacao> gravacao) {
+        if (indices.isEmpty()) {
+            gravacao.get().aguardar();
+            return;
+        }
+        List<Integer> indexados = new ArrayList<>(lote.size());
+        Confirmacao confirmacao;
+        try {
+            for (Map.Entry<Integer, T> entrada : lote.entrySet()) {
+                Integer id = entrada.getKey();
+                Object[] novas = extrair(entrada.getValue());
+                if (chaves.putIfAbsent(id, novas) != null) {
+                    throw new IllegalStateException("ID " + id + " do lote já está em uso");
+                }
+                try {
+                    incluir(id, null, novas, false);
+                } catch (RuntimeException e) {
+                    chaves.remove(id);
+                    throw e;
+                }
+                indexados.add(id);
+            }
+            confirmacao = gravacao.get();
+        } catch (RuntimeException e) {
+            for (Integer id : indexados) {
+                chaves.computeIfPresent(id, (chave, novas) -> {
+                    retirar(id, novas, null);
+                    return null;
+                });
+            }
+            throw e;
+        }
+        confirmacao.aguardar();
+    }
+
+    /**
+     * Executa a remoção no repositório e tira o ID dos índices
+     *
+     * @return A entidade removida, ou null se não existia
+     */
+    T remover(Integer id, Supplier<Remocao<T>> remocao) {
+        if (indices.isEmpty()) {
+            return aguardar(remocao.get());
+        }
+        AtomicReference<Remocao<T>> removida = new AtomicReference<>();
+        chaves.compute(id, (chave, antigas) -> {
+            Remocao<T> resultado = remocao.get();
+            removida.set(resultado);
+            if (resultado.entidade() == null) {
+                return antigas;
+            }
+            retirar(id, antigas, null);
+            return null;
+        });
+        return aguardar(removida.get());
+    }
+
+    /**
+     * Refaz os índices a partir das entidades restauradas de um snapshot
+     */
+    void recriar(Map<Integer, T> entidades) {
+        chaves.clear();
+        indices.forEach(Indice::limpar);
+        if (indices.isEmpty()) {
+            return;
+        }
+        entidades.forEach((id, entidade) -> {
+            Object[] novas = extrair(entidade);
+            incluir(id, null, novas, true);
+            chaves.put(id, novas);
+        });
+    }
+
+    private void gravar(Integer id, T entidade, Supplier<Confirmacao> gravacao, boolean forcar) {
+        if (indices.isEmpty()) {
+            gravacao.get().aguardar();
+            return;
+        }
+        AtomicReference<Confirmacao> confirmacao = new AtomicReference<>();
+        chaves.compute(id, (chave, antigas) -> {
+            Object[] novas = extrair(entidade);
+            incluir(id, antigas, novas, forcar);
+            try {
+                confirmacao.set(gravacao.get());
+            } catch (RuntimeException e) {
+                retirar(id, novas, antigas);
+                throw e;
+            }
+            retirar(id, antigas, novas);
+            return novas;
+        });
+        confirmacao.get().aguardar();
+    }
+
+    private T aguardar(Remocao<T> remocao) {
+        remocao.confirmacao().aguardar();
+        return remocao.entidade();
+    }
+
+    private Object[] extrair(T entidade) {
+        Object[] extraidas = new Object[indices.size()];
+        for (int i = 0; i < extraidas.length; i++) {
+            extraidas[i] = indices.get(i).chave(entidade);
+        }
+        return extraidas;
+    }
+
+    /**
+     * Inclui o ID nas chaves novas que ele ainda não tinha; num conflito desfaz as já incluídas e lança
+     */
+    private void incluir(Integer id, Object[] antigas, Object[] novas, boolean forcar) {
+        for (int i = 0; i < novas.length; i++) {
+            Object chave = novas[i];
+            if (chave == null || antigas != null && chave.equals(antigas[i])) {
+                continue;
+            }
+            Indice<T> indice = indices.get(i);
+            if (forcar) {
+                indice.forcar(chave, id);
+            } else if (indice.reservar(chave, id) != null) {
+                for (int j = 0; j < i; j++) {
+                    if (novas[j] != null && (antigas == null || !novas[j].equals(antigas[j]))) {
+                        indices.get(j).liberar(novas[j], id);
+                    }
+                }
+                throw conflito.apply("Valor de " + indice.campo().nome() + " já está em uso: " + chave);
+            }
+        }
+    }
+
+    /**
+     * Tira o ID das chaves de "de" que não estão em "manter"
+     */
+    private void retirar(Integer id, Object[] de, Object[] manter) {
+        if (de == null) {
+            return;
+        }
+        for (int i = 0; i < de.length; i++) {
+            Object chave = de[i];
+            if (chave != null && (manter == null || !Objects.equals(chave, manter[i]))) {
+                indices.get(i).liberar(chave, id);
+            }
+        }
+    }
+}
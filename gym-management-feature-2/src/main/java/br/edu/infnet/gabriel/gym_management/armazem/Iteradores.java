@@ -0,0 +1,64 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Iteradores preguiçosos usados pelas consultas
+ */
+final class Iteradores {
+
+    private Iteradores() {
+    }
+
+    /**
+     * Percorre os IDs de cada conjunto, um conjunto depois do outro
+     */
+    static Iterator<Integer> achatar(Iterator<Set<Integer>> conjuntos) {
+        return new Antecipado<>() {
+            private Iterator<Integer> atual = Collections.emptyIterator();
+
+            @Override
+            protected Integer calcular() {
+                while (!atual.hasNext()) {
+                    if (!conjuntos.hasNext()) {
+                        return null;
+                    }
+                    atual = conjuntos.next().iterator();
+                }
+                return atual.next();
+            }
+        };
+    }
+
+    /**
+     * Iterador que calcula o próximo elemento antes de hasNext responder; calcular devolve null no fim
+     */
+    abstract static class Antecipado<E> implements Iterator<E> {
+
+        private E proximo;
+        private boolean calculado;
+
+        protected abstract E calcular();
+
+        @Override
+        public boolean hasNext() {
+            if (!calculado) {
+                proximo = calcular();
+                calculado = true;
+            }
+            return proximo != null;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            calculado = false;
+            return proximo;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mapa concorrente de ID int para entidade, no lugar do ConcurrentHashMap&lt;Integer, T&gt; dos armazéns.
+ * Guarda as chaves em int[] e as entidades em Object[] com endereçamento aberto (sondagem linear), sem Integer
+ * nem nó por entrada: cerca de 10 a 16 bytes por entidade contra uns 55 do ConcurrentHashMap.
+ * <p>
+ * As chaves são espalhadas em 64 segmentos. As gravações de um segmento são serializadas no monitor dele; as
+ * leituras não bloqueiam. Cada posição da tabela recebe uma única chave, escrita antes da entidade, então quem
+ * lê a entidade (com acquire) enxerga a chave certa. Uma exclusão deixa a marca REMOVIDO na posição, que volta
+ * a ser usada pela mesma chave; as marcas somem quando a tabela é refeita ao crescer. Uma leitura que pegou a
+ * tabela antiga continua vendo o estado dela no momento da troca.
+ * <p>
+ * O mesmo código está em gym-management-feature-1 (pacote service): os módulos são projetos Maven independentes, sem módulo comum;
+ * uma correção aqui vale para os dois, junto com o MapaIdConcorrenteTest de cada um.
+ *
+ * @param <T> O tipo da entidade
+ */
+public final class MapaIdConcorrente<T> {
+
+    private static final int BITS_SEGMENTO = 6;
+    private static final int CAPACIDADE_MINIMA = 16;
+    private static final Object REMOVIDO = new Object();
+    private static final VarHandle VALORES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Segmento[] segmentos = new Segmento[1 << BITS_SEGMENTO];
+
+    public MapaIdConcorrente() {
+        for (int i = 0; i < segmentos.length; i++) {
+            segmentos[i] = new Segmento(CAPACIDADE_MINIMA);
+        }
+    }
+
+    /**
+     * @return A entidade do ID, ou null se não existir
+     */
+    @SuppressWarnings("unchecked")
+    public T buscar(int id) {
+        int hash = espalhar(id);
+        Tabela tabela = segmento(hash).tabela;
+        int mascara = tabela.chaves.length - 1;
+        for (int i = hash & mascara; ; i = (i + 1) & mascara) {
+            Object valor = VALORES.getAcquire(tabela.valores, i);
+            if (valor == null) {
+                return null;
+            }
+            if (tabela.chaves[i] == id) {
+                return valor == REMOVIDO ? null : (T) valor;
+            }
+        }
+    }
+
+    /**
+     * @return A entidade anterior do ID, ou null se não existia
+     */
+    public T gravar(int id, T entidade) {
+        Objects.requireNonNull(entidade);
+        int hash = espalhar(id);
+        Segmento segmento = segmento(hash);
+        synchronized (segmento) {
+            return segmento.gravar(id, hash, entidade);
+        }
+    }
+
+    /**
+     * Grava as entidades do mapa uma a uma; não é atômico em relação às leituras
+     */
+    public void gravarTodos(Map<Integer, ? extends T> entidades) {
+        for (Map.Entry<Integer, ? extends T> entrada : entidades.entrySet()) {
+            gravar(entrada.getKey(), entrada.getValue());
+        }
+    }
+
+    /**
+     * @return A entidade removida, ou null se não existia
+     */
+    public T remover(int id) {
+        int hash = espalhar(id);
+        Segmento segmento = segmento(hash);
+        synchronized (segmento) {
+            return segmento.remover(id, hash);
+        }
+    }
+
+    /**
+     * Troca a entidade do ID pelo resultado da função, como o compute do ConcurrentHashMap: a função recebe a
+     * atual (ou null) e devolve a nova (ou null para remover), com as gravações do ID bloqueadas enquanto roda.
+     * A função não pode gravar neste mapa.
+     *
+     * @return A nova entidade do ID
+     */
+    public T alterar(int id, UnaryOperator<T> alteracao) {
+        int hash = espalhar(id);
+        Segmento segmento = segmento(hash);
+        synchronized (segmento) {
+            T nova = alteracao.apply(segmento.buscar(id, hash));
+            if (nova == null) {
+                segmento.remover(id, hash);
+            } else {
+                segmento.gravar(id, hash, nova);
+            }
+            return nova;
+        }
+    }
+
+    public int tamanho() {
+        int tamanho = 0;
+        for (Segmento segmento : segmentos) {
+            tamanho += segmento.vivos;
+        }
+        return tamanho;
+    }
+
+    public void limpar() {
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.tabela = new Tabela(CAPACIDADE_MINIMA);
+                segmento.usados = 0;
+                segmento.vivos = 0;
+            }
+        }
+    }
+
+    /**
+     * Entidades atuais, fracamente consistentes como as do ConcurrentHashMap: o iterador não bloqueia as
+     * gravações nem falha com elas
+     */
+    public Collection<T> valores() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<T> iterator() {
+                return new Valores();
+            }
+
+            @Override
+            public int size() {
+                return tamanho();
+            }
+        };
+    }
+
+    private Segmento segmento(int hash) {
+        return segmentos[hash >>> (Integer.SIZE - BITS_SEGMENTO)];
+    }
+
+    /**
+     * IDs sequenciais caem em segmentos e posições distantes; os bits altos escolhem o segmento e os baixos
+     * a posição na tabela
+     */
+    private static int espalhar(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Tabela {
+        final int[] chaves;
+        final Object[] valores;
+
+        Tabela(int capacidade) {
+            chaves = new int[capacidade];
+            valores = new Object[capacidade];
+        }
+    }
+
+    /**
+     * Uma fatia do mapa; os métodos são chamados com o monitor do segmento
+     */
+    private static final class Segmento {
+        volatile Tabela tabela;
+        volatile int vivos;
+        /**
+         * Posições ocupadas, contando as marcas REMOVIDO
+         */
+        int usados;
+
+        Segmento(int capacidade) {
+            tabela = new Tabela(capacidade);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T buscar(int id, int hash) {
+            Tabela atual = tabela;
+            int posicao = posicao(atual, id, hash);
+            Object valor = atual.valores[posicao];
+            return valor == null || valor == REMOVIDO ? null : (T) valor;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T gravar(int id, int hash, T entidade) {
+            Tabela atual = tabela;
+            int posicao = posicao(atual, id, hash);
+            Object anterior = atual.valores[posicao];
+            if (anterior == null) {
+                if ((usados + 1) * 4L > atual.chaves.length * 3L) {
+                    atual = refazer(atual);
+                    posicao = posicao(atual, id, hash);
+                }
+                atual.chaves[posicao] = id;
+                usados++;
+            }
+            VALORES.setRelease(atual.valores, posicao, entidade);
+            if (anterior == null || anterior == REMOVIDO) {
+                vivos++;
+                return null;
+            }
+            return (T) anterior;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T remover(int id, int hash) {
+            Tabela atual = tabela;
+            int posicao = posicao(atual, id, hash);
+            Object anterior = atual.valores[posicao];
+            if (anterior == null || anterior == REMOVIDO) {
+                return null;
+            }
+            VALORES.setRelease(atual.valores, posicao, REMOVIDO);
+            vivos--;
+            return (T) anterior;
+        }
+
+        /**
+         * Posição do ID, ou a posição livre onde ele entraria
+         */
+        private static int posicao(Tabela tabela, int id, int hash) {
+            int mascara = tabela.chaves.length - 1;
+            int i = hash & mascara;
+            while (tabela.valores[i] != null && tabela.chaves[i] != id) {
+                i = (i + 1) & mascara;
+            }
+            return i;
+        }
+
+        /**
+         * Copia as entradas vivas para uma tabela com no máximo metade das posições ocupadas e a publica
+         */
+        private Tabela refazer(Tabela antiga) {
+            int capacidade = CAPACIDADE_MINIMA;
+            while (capacidade < (vivos + 1) * 2L) {
+                capacidade <<= 1;
+            }
+            Tabela nova = new Tabela(capacidade);
+            int mascara = capacidade - 1;
+            for (int i = 0; i < antiga.chaves.length; i++) {
+                Object valor = antiga.valores[i];
+                if (valor != null && valor != REMOVIDO) {
+                    int id = antiga.chaves[i];
+                    int j = espalhar(id) & mascara;
+                    while (nova.valores[j] != null) {
+                        j = (j + 1) & mascara;
+                    }
+                    nova.chaves[j] = id;
+                    nova.valores[j] = valor;
+                }
+            }
+            usados = vivos;
+            tabela = nova;
+            return nova;
+        }
+    }
+
+    private final class Valores implements Iterator<T> {
+        private int segmento;
+        private Tabela tabela = segmentos[0].tabela;
+        private int posicao;
+        private T proximo;
+
+        @Override
+        public boolean hasNext() {
+            if (proximo != null) {
+                return true;
+            }
+            while (true) {
+                while (posicao < tabela.valores.length) {
+                    Object valor = VALORES.getAcquire(tabela.valores, posicao++);
+                    if (valor != null && valor != REMOVIDO) {
+                        @SuppressWarnings("unchecked")
+                        T entidade = (T) valor;
+                        proximo = entidade;
+                        return true;
+                    }
+                }
+                if (++segmento == segmentos.length) {
+                    return false;
+                }
+                tabela = segmentos[segmento].tabela;
+                posicao = 0;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T entidade = proximo;
+            proximo = null;
+            return entidade;
+        }
+    }
+}
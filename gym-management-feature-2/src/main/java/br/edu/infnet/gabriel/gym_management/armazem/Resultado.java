@@ -0,0 +1,51 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Resultado preguiçoso de uma consulta: nada é percorrido nem copiado até ser iterado, e cada iteração
+ * executa a consulta de novo. Como o armazém, a iteração é fracamente consistente com gravações concorrentes.
+ *
+ * @param <T> O tipo da entidade
+ */
+public final class Resultado<T> implements Iterable<T> {
+
+    private final Supplier<Iterator<T>> execucao;
+
+    Resultado(Supplier<Iterator<T>> execucao) {
+        this.execucao = execucao;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return execucao.get();
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return A primeira entidade encontrada, ou null; não percorre o restante
+     */
+    public T primeiro() {
+        Iterator<T> entidades = iterator();
+        return entidades.hasNext() ? entidades.next() : null;
+    }
+
+    /**
+     * Copia o resultado para uma lista (para respostas que precisam do conjunto inteiro)
+     */
+    public List<T> paraLista() {
+        List<T> lista = new ArrayList<>();
+        for (T entidade : this) {
+            lista.add(entidade);
+        }
+        return lista;
+    }
+}
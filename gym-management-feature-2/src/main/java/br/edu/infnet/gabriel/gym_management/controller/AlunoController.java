@@ -82,7 +82,17 @@ public class AlunoController {
      */
     @GetMapping("/plano/{plano}")
     public ResponseEntity<List<Aluno>> buscarPorPlano(@PathVariable String plano) {
-        List<Aluno> alunos = alunoService.buscarPorPlano(plano);
+        List<Aluno> alunos = alunoService.buscarPorPlano(plano).paraLista();
+        return ResponseEntity.ok(alunos);
+    }
+
+    /**
+     * GET /alunos/status/{status}
+     * Busca alunos ativos (true) ou inativos (false)
+     */
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<Aluno>> buscarPorStatus(@PathVariable Boolean status) {
+        List<Aluno> alunos = alunoService.buscarPorStatus(status).paraLista();
         return ResponseEntity.ok(alunos);
     }
 
@@ -68,7 +68,31 @@ public class InstrutorController {
      */
     @GetMapping("/especialidade/{especialidade}")
     public ResponseEntity<List<Instrutor>> buscarPorEspecialidade(@PathVariable String especialidade) {
-        List<Instrutor> instrutores = instrutorService.buscarPorEspecialidade(especialidade);
+        List<Instrutor> instrutores = instrutorService.buscarPorEspecialidade(especialidade).paraLista();
+        return ResponseEntity.ok(instrutores);
+    }
+
+    /**
+     * GET /instrutores/registro/{registro}
+     * Busca um instrutor por registro profissional
+     */
+    @GetMapping("/registro/{registro}")
+    public ResponseEntity<?> buscarPorRegistro(@PathVariable String registro) {
+        try {
+            Instrutor instrutor = instrutorService.buscarPorRegistro(registro);
+            return ResponseEntity.ok(instrutor);
+        } catch (InstrutorNaoEncontradoException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("{\"erro\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * GET /instrutores/status/{status}
+     * Busca instrutores ativos (true) ou inativos (false)
+     */
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<Instrutor>> buscarPorStatus(@PathVariable Boolean status) {
+        List<Instrutor> instrutores = instrutorService.buscarPorStatus(status).paraLista();
         return ResponseEntity.ok(instrutores);
     }
 
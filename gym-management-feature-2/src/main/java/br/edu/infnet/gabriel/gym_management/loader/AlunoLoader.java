@@ -2,21 +2,13 @@ package br.edu.infnet.gabriel.gym_management.loader;
 
 import br.edu.infnet.gabriel.gym_management.model.Aluno;
 import br.edu.infnet.gabriel.gym_management.service.AlunoService;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Componente que carrega alunos de um arquivo texto na inicialização da aplicação.
- * O arquivo esperado é "alunos.txt" no classpath (resources).
+ * O arquivo padrão é "alunos.txt" no classpath (gym.carga.alunos).
  *
  * Formato do arquivo:
  * nome;email;cpf;telefone;matricula;plano;dataInicio;status
@@ -25,101 +17,51 @@ import java.util.List;
  * Maria Santos;maria@gmail.com;987.654.321-11;11988888888;MAT001;Gold;2024-01-15;true
  */
 @Component
-public class AlunoLoader implements ApplicationRunner {
+public class AlunoLoader extends CarregadorArquivo<Aluno> {
 
     private final AlunoService alunoService;
+    private final CargaProperties properties;
 
-    public AlunoLoader(AlunoService alunoService) {
+    public AlunoLoader(AlunoService alunoService, CargaProperties properties) {
         this.alunoService = alunoService;
+        this.properties = properties;
     }
 
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-        List<Aluno> alunosCarregados = carregarAlunos();
-        imprimirAlunos(alunosCarregados);
+    protected String arquivo() {
+        return properties.getAlunos();
     }
 
-    /**
-     * Carrega alunos do arquivo "alunos.txt".
-     *
-     * @return Lista de alunos carregados
-     */
-    private List<Aluno> carregarAlunos() {
-        List<Aluno> alunos = new ArrayList<>();
-
-        try {
-            ClassPathResource resource = new ClassPathResource("alunos.txt");
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-
-                String linha;
-                while ((linha = reader.readLine()) != null) {
-                    linha = linha.trim();
-
-                    // Ignora linhas vazias e comentários
-                    if (linha.isEmpty() || linha.startsWith("#")) {
-                        continue;
-                    }
-
-                    Aluno aluno = parsearLinha(linha);
-                    if (aluno != null) {
-                        Aluno salvo = alunoService.salvar(aluno);
-                        alunos.add(salvo);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar arquivo alunos.txt: " + e.getMessage());
-        }
-
-        return alunos;
+    @Override
+    protected int campos() {
+        return 8;
     }
 
     /**
-     * Converte uma linha do arquivo em um objeto Aluno.
-     * Formato esperado: nome;email;cpf;telefone;matricula;plano;dataInicio;status
-     *
-     * @param linha A linha a ser parseada
-     * @return Um objeto Aluno ou null se houver erro na formatação
+     * Converte os campos de uma linha em um objeto Aluno.
+     * Ordem: nome;email;cpf;telefone;matricula;plano;dataInicio;status
      */
-    private Aluno parsearLinha(String linha) {
-        try {
-            String[] partes = linha.split(";");
-
-            if (partes.length != 8) {
-                System.err.println("Formato inválido na linha: " + linha);
-                return null;
-            }
-
-            Aluno aluno = new Aluno();
-            aluno.setNome(partes[0].trim());
-            aluno.setEmail(partes[1].trim());
-            aluno.setCpf(partes[2].trim());
-            aluno.setTelefone(partes[3].trim());
-            aluno.setMatricula(partes[4].trim());
-            aluno.setPlano(partes[5].trim());
-            aluno.setDataInicio(partes[6].trim());
-            aluno.setStatus(Boolean.parseBoolean(partes[7].trim()));
-
-            return aluno;
+    @Override
+    protected Aluno converter(CamposLinha linha) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(linha.texto(0));
+        aluno.setEmail(linha.texto(1));
+        aluno.setCpf(linha.texto(2));
+        aluno.setTelefone(linha.texto(3));
+        aluno.setMatricula(linha.texto(4));
+        aluno.setPlano(linha.texto(5));
+        aluno.setDataInicio(linha.texto(6));
+        aluno.setStatus(linha.booleano(7));
+        return aluno;
+    }
 
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear linha do aluno: " + linha + " - " + e.getMessage());
-            return null;
-        }
+    @Override
+    protected void salvarLote(List<Aluno> lote) {
+        alunoService.salvarTodos(lote);
     }
 
-    /**
-     * Imprime os alunos carregados no console.
-     */
-    private void imprimirAlunos(List<Aluno> alunos) {
-        System.out.println("\n========== ALUNOS CARREGADOS ==========");
-        if (alunos.isEmpty()) {
-            System.out.println("Nenhum aluno foi carregado.");
-        } else {
-            alunos.forEach(a -> System.out.println(a));
-        }
-        System.out.println("====================================\n");
+    @Override
+    protected void salvarUm(Aluno aluno) {
+        alunoService.salvar(aluno);
     }
 }
-
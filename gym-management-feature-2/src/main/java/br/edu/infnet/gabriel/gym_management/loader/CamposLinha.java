@@ -0,0 +1,138 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Visão dos campos de uma linha diretamente sobre o buffer do arquivo.
+ * Guarda apenas as posições de início e fim de cada campo (já sem espaços nas pontas);
+ * uma String só é criada quando o carregador pede o texto do campo.
+ * A instância é reutilizada linha a linha por um único worker e não é thread-safe.
+ */
+public final class CamposLinha {
+
+    private static final double[] POTENCIAS_DE_DEZ = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final int[] inicio;
+    private final int[] fim;
+    private byte[] rascunho = new byte[256];
+
+    private ByteBuffer buffer;
+    private long deslocamento;
+    private int quantidade;
+
+    /**
+     * @param maximo Quantidade máxima de campos registrados; campos além disso só são contados
+     */
+    public CamposLinha(int maximo) {
+        this.inicio = new int[maximo];
+        this.fim = new int[maximo];
+    }
+
+    void reiniciar(ByteBuffer buffer, long deslocamento) {
+        this.buffer = buffer;
+        this.deslocamento = deslocamento;
+        this.quantidade = 0;
+    }
+
+    void adicionar(int de, int ate) {
+        if (quantidade < inicio.length) {
+            while (de < ate && branco(buffer.get(de))) {
+                de++;
+            }
+            while (ate > de && branco(buffer.get(ate - 1))) {
+                ate--;
+            }
+            inicio[quantidade] = de;
+            fim[quantidade] = ate;
+        }
+        quantidade++;
+    }
+
+    static boolean branco(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Quantidade de campos encontrados na linha (pode passar do máximo registrado)
+     */
+    public int quantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Posição, em bytes a partir do início do arquivo, do primeiro byte da linha
+     */
+    public long deslocamento() {
+        return deslocamento;
+    }
+
+    /**
+     * Materializa o campo como String (UTF-8)
+     */
+    public String texto(int campo) {
+        int de = inicio[campo];
+        int tamanho = fim[campo] - de;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + de, tamanho, StandardCharsets.UTF_8);
+        }
+        if (rascunho.length < tamanho) {
+            rascunho = new byte[Math.max(tamanho, rascunho.length * 2)];
+        }
+        buffer.get(de, rascunho, 0, tamanho);
+        return new String(rascunho, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mesmo critério de Boolean.parseBoolean ("true" sem diferenciar maiúsculas), sem criar String
+     */
+    public boolean booleano(int campo) {
+        int de = inicio[campo];
+        if (fim[campo] - de != 4) {
+            return false;
+        }
+        return (buffer.get(de) | 0x20) == 't' && (buffer.get(de + 1) | 0x20) == 'r'
+                && (buffer.get(de + 2) | 0x20) == 'u' && (buffer.get(de + 3) | 0x20) == 'e';
+    }
+
+    /**
+     * Converte o campo em double. Números simples ([-]digitos[.digitos], até 15 dígitos) são lidos
+     * direto dos bytes com resultado exato; os demais passam por Double.parseDouble.
+     *
+     * @throws NumberFormatException se o campo não for numérico
+     */
+    public double decimal(int campo) {
+        int de = inicio[campo];
+        int ate = fim[campo];
+        int pos = de;
+        boolean negativo = pos < ate && buffer.get(pos) == '-';
+        if (negativo) {
+            pos++;
+        }
+        long mantissa = 0;
+        int digitos = 0;
+        int casas = -1;
+        for (; pos < ate; pos++) {
+            byte b = buffer.get(pos);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digitos++;
+                if (casas >= 0) {
+                    casas++;
+                }
+            } else if (b == '.' && casas < 0) {
+                casas = 0;
+            } else {
+                break;
+            }
+        }
+        if (pos < ate || digitos == 0 || digitos > 15) {
+            return Double.parseDouble(texto(campo));
+        }
+        double valor = casas > 0 ? mantissa / POTENCIAS_DE_DEZ[casas] : mantissa;
+        return negativo ? -valor : valor;
+    }
+}
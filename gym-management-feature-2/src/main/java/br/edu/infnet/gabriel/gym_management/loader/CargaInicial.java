@@ -0,0 +1,105 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import br.edu.infnet.gabriel.gym_management.snapshot.SnapshotMemoria;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executa a carga inicial dos arquivos na inicialização da aplicação.
+ * Os carregadores rodam em paralelo e em segundo plano, sem bloquear a subida do servidor;
+ * enquanto a carga não termina o CargaInicialHealthIndicator mantém o readiness em DOWN.
+ * Ao final é impressa uma única linha de resumo.
+ * Com snapshot (gym.snapshot) ou log de mutações (gym.wal) habilitados, o estado gravado é restaurado
+ * no lugar da carga dos arquivos.
+ */
+@Component
+@EnableConfigurationProperties(CargaProperties.class)
+public class CargaInicial implements ApplicationRunner {
+
+    private final List<CarregadorArquivo<?>> carregadores;
+    private final CargaProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final SnapshotMemoria snapshot;
+
+    private volatile boolean concluida;
+    private volatile String falha;
+
+    public CargaInicial(List<CarregadorArquivo<?>> carregadores, CargaProperties properties,
+                        ResourceLoader resourceLoader, SnapshotMemoria snapshot) {
+        this.carregadores = carregadores;
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (snapshot.restaurar() || !properties.isEnabled()) {
+            concluida = true;
+            snapshot.liberar();
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(carregadores.size());
+        long inicio = System.nanoTime();
+        List<CompletableFuture<ResultadoCarga>> cargas = carregadores.stream()
+                .map(carregador -> CompletableFuture.supplyAsync(() -> carregar(carregador), executor))
+                .toList();
+        CompletableFuture.allOf(cargas.toArray(CompletableFuture[]::new))
+                .whenComplete((ok, erro) -> {
+                    executor.shutdown();
+                    if (erro != null) {
+                        falha = erro.getMessage();
+                        System.err.println("Carga inicial falhou: " + falha);
+                        return;
+                    }
+                    imprimirResumo(cargas.stream().map(CompletableFuture::join).toList(), inicio);
+                    concluida = true;
+                    snapshot.liberar();
+                });
+    }
+
+    /**
+     * Indica se a carga terminou (com sucesso ou desabilitada)
+     */
+    public boolean isConcluida() {
+        return concluida;
+    }
+
+    /**
+     * Mensagem de erro da carga, ou null se não houve falha
+     */
+    public String getFalha() {
+        return falha;
+    }
+
+    private ResultadoCarga carregar(CarregadorArquivo<?> carregador) {
+        try {
+            return carregador.carregar(resourceLoader.getResource(carregador.arquivo()), properties.getTamanhoLote());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar arquivo " + carregador.arquivo(), e);
+        }
+    }
+
+    private void imprimirResumo(List<ResultadoCarga> resultados, long inicio) {
+        long millis = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        long carregados = resultados.stream().mapToLong(ResultadoCarga::getCarregados).sum();
+        long invalidos = resultados.stream().mapToLong(ResultadoCarga::getInvalidos).sum();
+        StringBuilder resumo = new StringBuilder("Carga inicial concluída em ").append(millis).append(" ms:");
+        for (ResultadoCarga resultado : resultados) {
+            resumo.append(' ').append(resultado.getArquivo()).append('=').append(resultado.getCarregados());
+        }
+        resumo.append(", inválidos=").append(invalidos)
+                .append(", ").append(carregados * 1000 / millis).append(" registros/s");
+        System.out.println(resumo);
+    }
+}
@@ -0,0 +1,30 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health "cargaInicial": fica DOWN até a carga dos arquivos terminar.
+ * Faz parte do grupo readiness, então o balanceador só envia tráfego com os dados carregados.
+ */
+@Component
+public class CargaInicialHealthIndicator implements HealthIndicator {
+
+    private final CargaInicial cargaInicial;
+
+    public CargaInicialHealthIndicator(CargaInicial cargaInicial) {
+        this.cargaInicial = cargaInicial;
+    }
+
+    @Override
+    public Health health() {
+        if (cargaInicial.getFalha() != null) {
+            return Health.down().withDetail("erro", cargaInicial.getFalha()).build();
+        }
+        if (!cargaInicial.isConcluida()) {
+            return Health.down().withDetail("carga", "em andamento").build();
+        }
+        return Health.up().build();
+    }
+}
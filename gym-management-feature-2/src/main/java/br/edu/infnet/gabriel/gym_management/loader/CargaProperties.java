@@ -0,0 +1,26 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propriedades da carga inicial (gym.carga.*).
+ * Os arquivos aceitam qualquer endereço de Resource do Spring (classpath:, file:).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.carga")
+public class CargaProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Registros gravados por chamada de salvarTodos
+     */
+    private int tamanhoLote = 10_000;
+
+    private String academias = "classpath:academias.txt";
+
+    private String alunos = "classpath:alunos.txt";
+
+    private String instrutores = "classpath:instrutores.txt";
+}
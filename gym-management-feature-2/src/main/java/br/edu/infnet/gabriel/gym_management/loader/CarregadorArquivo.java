@@ -0,0 +1,127 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base dos carregadores de arquivos texto separados por ";".
+ * O arquivo é mapeado em memória (ou lido inteiro, se estiver dentro do jar), dividido em trechos
+ * alinhados por linha e convertido em paralelo, campo a campo direto dos bytes (LeitorMapeado).
+ * As entidades são gravadas em lotes pelo salvarLote da subclasse. Linhas vazias e comentários (#)
+ * são ignorados; linhas com erro são reportadas com a posição em bytes no arquivo.
+ *
+ * @param <T> Tipo da entidade carregada
+ */
+public abstract class CarregadorArquivo<T> {
+
+    private static final int MAX_ERROS_IMPRESSOS = 10;
+
+    /**
+     * Endereço do arquivo (classpath: ou file:)
+     */
+    protected abstract String arquivo();
+
+    /**
+     * Quantidade de campos esperada em cada linha
+     */
+    protected abstract int campos();
+
+    /**
+     * Converte os campos de uma linha em entidade. Chamado em paralelo, um CamposLinha por worker.
+     */
+    protected abstract T converter(CamposLinha linha);
+
+    /**
+     * Grava um lote de entidades
+     */
+    protected abstract void salvarLote(List<T> lote);
+
+    /**
+     * Grava uma única entidade; usado quando um lote é recusado, para isolar o registro inválido
+     */
+    protected abstract void salvarUm(T entidade);
+
+    /**
+     * Executa a carga do arquivo
+     */
+    public ResultadoCarga carregar(Resource resource, int tamanhoLote) throws IOException {
+        long inicio = System.nanoTime();
+        int partes = Runtime.getRuntime().availableProcessors();
+        List<LeitorMapeado.Trecho> trechos;
+        if (resource.isFile()) {
+            trechos = LeitorMapeado.mapear(resource.getFile().toPath(), partes);
+        } else {
+            try (InputStream entrada = resource.getInputStream()) {
+                trechos = LeitorMapeado.dividir(entrada.readAllBytes(), partes);
+            }
+        }
+
+        AtomicLong linhas = new AtomicLong();
+        AtomicLong invalidas = new AtomicLong();
+        List<T> entidades = trechos.parallelStream()
+                .map(trecho -> converterTrecho(trecho, linhas, invalidas))
+                .flatMap(List::stream)
+                .toList();
+
+        long recusados = 0;
+        for (int i = 0; i < entidades.size(); i += tamanhoLote) {
+            List<T> lote = entidades.subList(i, Math.min(i + tamanhoLote, entidades.size()));
+            try {
+                salvarLote(lote);
+            } catch (RuntimeException e) {
+                recusados += salvarIndividualmente(lote);
+            }
+        }
+        long millis = (System.nanoTime() - inicio) / 1_000_000;
+        return new ResultadoCarga(arquivo(), linhas.get(), entidades.size() - recusados,
+                invalidas.get() + recusados, millis);
+    }
+
+    private List<T> converterTrecho(LeitorMapeado.Trecho trecho, AtomicLong linhas, AtomicLong invalidas) {
+        List<T> convertidas = new ArrayList<>();
+        CamposLinha campos = new CamposLinha(campos() + 1);
+        long[] lidas = {0};
+        LeitorMapeado.percorrer(trecho, campos, linha -> {
+            lidas[0]++;
+            String erro = null;
+            if (linha.quantidade() != campos()) {
+                erro = "esperados " + campos() + " campos, encontrados " + linha.quantidade();
+            } else {
+                try {
+                    T entidade = converter(linha);
+                    if (entidade != null) {
+                        convertidas.add(entidade);
+                    } else {
+                        erro = "linha recusada";
+                    }
+                } catch (RuntimeException e) {
+                    erro = e.getMessage();
+                }
+            }
+            if (erro != null && invalidas.incrementAndGet() <= MAX_ERROS_IMPRESSOS) {
+                System.err.println("Formato inválido em " + arquivo() + " (byte " + linha.deslocamento() + "): " + erro);
+            }
+        });
+        linhas.addAndGet(lidas[0]);
+        return convertidas;
+    }
+
+    private long salvarIndividualmente(List<T> lote) {
+        long recusados = 0;
+        for (T entidade : lote) {
+            try {
+                salvarUm(entidade);
+            } catch (RuntimeException e) {
+                if (++recusados <= MAX_ERROS_IMPRESSOS) {
+                    System.err.println("Registro recusado em " + arquivo() + ": " + e.getMessage());
+                }
+            }
+        }
+        return recusados;
+    }
+}
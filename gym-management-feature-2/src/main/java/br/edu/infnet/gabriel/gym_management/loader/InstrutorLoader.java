@@ -4,21 +4,14 @@ import br.edu.infnet.gabriel.gym_management.model.Instrutor;
 import br.edu.infnet.gabriel.gym_management.model.Endereco;
 import br.edu.infnet.gabriel.gym_management.service.InstrutorService;
 import br.edu.infnet.gabriel.gym_management.service.EnderecoService;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Componente que carrega instrutores e seus endereços de um arquivo texto na inicialização da aplicação.
- * O arquivo esperado é "instrutores.txt" no classpath (resources).
+ * O arquivo padrão é "instrutores.txt" no classpath (gym.carga.instrutores).
+ * Os endereços de cada lote são gravados antes dos instrutores que os referenciam.
  *
  * Formato do arquivo:
  * nome;email;cpf;telefone;registro;especialidade;salario;status;cep;logradouro;complemento;unidade;bairro;localidade;uf;estado
@@ -27,119 +20,74 @@ import java.util.List;
  * João Silva;joao@gmail.com;123.456.789-10;11999999999;REG001;Musculação;5000.00;true;01310-100;Av. Paulista;Apto 100;100;Centro;São Paulo;SP;São Paulo
  */
 @Component
-public class InstrutorLoader implements ApplicationRunner {
+public class InstrutorLoader extends CarregadorArquivo<Instrutor> {
 
     private final InstrutorService instrutorService;
     private final EnderecoService enderecoService;
+    private final CargaProperties properties;
 
-    public InstrutorLoader(InstrutorService instrutorService, EnderecoService enderecoService) {
+    public InstrutorLoader(InstrutorService instrutorService, EnderecoService enderecoService,
+                           CargaProperties properties) {
         this.instrutorService = instrutorService;
         this.enderecoService = enderecoService;
+        this.properties = properties;
     }
 
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-        List<Instrutor> instrutoresCarregados = carregarInstrutores();
-        imprimirInstrutores(instrutoresCarregados);
+    protected String arquivo() {
+        return properties.getInstrutores();
     }
 
-    /**
-     * Carrega instrutores do arquivo "instrutores.txt".
-     *
-     * @return Lista de instrutores carregados
-     */
-    private List<Instrutor> carregarInstrutores() {
-        List<Instrutor> instrutores = new ArrayList<>();
-
-        try {
-            ClassPathResource resource = new ClassPathResource("instrutores.txt");
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-
-                String linha;
-                while ((linha = reader.readLine()) != null) {
-                    linha = linha.trim();
-
-                    // Ignora linhas vazias e comentários
-                    if (linha.isEmpty() || linha.startsWith("#")) {
-                        continue;
-                    }
-
-                    Instrutor instrutor = parsearLinha(linha);
-                    if (instrutor != null) {
-                        Instrutor salvo = instrutorService.salvar(instrutor);
-                        instrutores.add(salvo);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar arquivo instrutores.txt: " + e.getMessage());
-        }
-
-        return instrutores;
+    @Override
+    protected int campos() {
+        return 16;
     }
 
     /**
-     * Converte uma linha do arquivo em um objeto Instrutor com Endereco.
-     * Formato esperado: nome;email;cpf;telefone;registro;especialidade;salario;status;cep;logradouro;complemento;unidade;bairro;localidade;uf;estado
-     *
-     * @param linha A linha a ser parseada
-     * @return Um objeto Instrutor ou null se houver erro na formatação
+     * Converte os campos de uma linha em um objeto Instrutor com Endereco (ainda não gravados).
+     * Ordem: nome;email;cpf;telefone;registro;especialidade;salario;status;cep;logradouro;complemento;unidade;bairro;localidade;uf;estado
      */
-    private Instrutor parsearLinha(String linha) {
-        try {
-            String[] partes = linha.split(";");
-
-            if (partes.length != 16) {
-                System.err.println("Formato inválido na linha: " + linha);
-                return null;
-            }
-
-            // Criar endereço
-            Endereco endereco = new Endereco();
-            endereco.setCep(partes[8].trim());
-            endereco.setLogradouro(partes[9].trim());
-            endereco.setComplemento(partes[10].trim());
-            endereco.setUnidade(partes[11].trim());
-            endereco.setBairro(partes[12].trim());
-            endereco.setLocalidade(partes[13].trim());
-            endereco.setUf(partes[14].trim());
-            endereco.setEstado(partes[15].trim());
-
-            // Salvar endereço
-            Endereco enderecoSalvo = enderecoService.salvar(endereco);
-
-            // Criar instrutor
-            Instrutor instrutor = new Instrutor();
-            instrutor.setNome(partes[0].trim());
-            instrutor.setEmail(partes[1].trim());
-            instrutor.setCpf(partes[2].trim());
-            instrutor.setTelefone(partes[3].trim());
-            instrutor.setRegistro(partes[4].trim());
-            instrutor.setEspecialidade(partes[5].trim());
-            instrutor.setSalario(Double.parseDouble(partes[6].trim()));
-            instrutor.setStatus(Boolean.parseBoolean(partes[7].trim()));
-            instrutor.setEndereco(enderecoSalvo);
-
-            return instrutor;
+    @Override
+    protected Instrutor converter(CamposLinha linha) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(linha.texto(8));
+        endereco.setLogradouro(linha.texto(9));
+        endereco.setComplemento(linha.texto(10));
+        endereco.setUnidade(linha.texto(11));
+        endereco.setBairro(linha.texto(12));
+        endereco.setLocalidade(linha.texto(13));
+        endereco.setUf(linha.texto(14));
+        endereco.setEstado(linha.texto(15));
+
+        Instrutor instrutor = new Instrutor();
+        instrutor.setNome(linha.texto(0));
+        instrutor.setEmail(linha.texto(1));
+        instrutor.setCpf(linha.texto(2));
+        instrutor.setTelefone(linha.texto(3));
+        instrutor.setRegistro(linha.texto(4));
+        instrutor.setEspecialidade(linha.texto(5));
+        instrutor.setSalario(linha.decimal(6));
+        instrutor.setStatus(linha.booleano(7));
+        instrutor.setEndereco(endereco);
+        return instrutor;
+    }
 
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear linha do instrutor: " + linha + " - " + e.getMessage());
-            return null;
-        }
+    @Override
+    protected void salvarLote(List<Instrutor> lote) {
+        List<Endereco> enderecos = lote.stream()
+                .map(Instrutor::getEndereco)
+                .filter(endereco -> endereco.getId() == null)
+                .toList();
+        enderecoService.salvarTodos(enderecos);
+        instrutorService.salvarTodos(lote);
     }
 
-    /**
-     * Imprime os instrutores carregados no console.
-     */
-    private void imprimirInstrutores(List<Instrutor> instrutores) {
-        System.out.println("\n========== INSTRUTORES CARREGADOS ==========");
-        if (instrutores.isEmpty()) {
-            System.out.println("Nenhum instrutor foi carregado.");
-        } else {
-            instrutores.forEach(i -> System.out.println(i));
+    @Override
+    protected void salvarUm(Instrutor instrutor) {
+        Endereco endereco = instrutor.getEndereco();
+        if (endereco != null && endereco.getId() == null) {
+            enderecoService.salvar(endereco);
         }
-        System.out.println("==========================================\n");
+        instrutorService.salvar(instrutor);
     }
 }
-
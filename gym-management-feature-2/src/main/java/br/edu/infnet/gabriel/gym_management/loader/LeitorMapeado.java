@@ -0,0 +1,140 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Leitura de arquivos separados por ";" sem passar por Reader/String.
+ * O arquivo é mapeado em memória e dividido em trechos alinhados em fim de linha, que podem ser
+ * percorridos em paralelo; os campos de cada linha são localizados direto nos bytes (CamposLinha).
+ */
+public final class LeitorMapeado {
+
+    /**
+     * Arquivos menores que isso não são divididos
+     */
+    private static final long TAMANHO_MINIMO_TRECHO = 1 << 20;
+
+    /**
+     * Um MappedByteBuffer é indexado por int; trechos maiores são quebrados
+     */
+    private static final long TAMANHO_MAXIMO_TRECHO = 1 << 30;
+
+    private LeitorMapeado() {
+    }
+
+    /**
+     * Parte do arquivo que começa no início de uma linha e termina logo após um '\n' (ou no fim do arquivo).
+     *
+     * @param buffer       Bytes do trecho, posição 0 = primeiro byte
+     * @param deslocamento Posição do trecho no arquivo, para reportar linhas com erro
+     */
+    public record Trecho(ByteBuffer buffer, long deslocamento) {
+    }
+
+    /**
+     * Mapeia o arquivo em até "partes" trechos (mais, se o arquivo passar de 1 GB por trecho).
+     */
+    public static List<Trecho> mapear(Path arquivo, int partes) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            List<Trecho> trechos = new ArrayList<>();
+            long inicio = 0;
+            long alvo = alvo(tamanho, partes);
+            while (inicio < tamanho) {
+                long fim = inicio + alvo >= tamanho ? tamanho : proximaLinha(canal, inicio + alvo, tamanho);
+                trechos.add(new Trecho(canal.map(FileChannel.MapMode.READ_ONLY, inicio, fim - inicio), inicio));
+                inicio = fim;
+            }
+            return trechos;
+        }
+    }
+
+    /**
+     * Divide um conteúdo já em memória (ex.: recurso dentro do jar) da mesma forma que mapear.
+     */
+    public static List<Trecho> dividir(byte[] conteudo, int partes) {
+        ByteBuffer buffer = ByteBuffer.wrap(conteudo);
+        List<Trecho> trechos = new ArrayList<>();
+        int inicio = 0;
+        long alvo = alvo(conteudo.length, partes);
+        while (inicio < conteudo.length) {
+            int fim = (int) Math.min(conteudo.length, inicio + alvo);
+            while (fim < conteudo.length && conteudo[fim - 1] != '\n') {
+                fim++;
+            }
+            trechos.add(new Trecho(buffer.slice(inicio, fim - inicio), inicio));
+            inicio = fim;
+        }
+        return trechos;
+    }
+
+    /**
+     * Percorre as linhas de um trecho, ignorando linhas vazias e comentários (#).
+     * Para cada linha os campos são registrados em "campos" e a ação é chamada.
+     */
+    public static void percorrer(Trecho trecho, CamposLinha campos, Consumer<CamposLinha> acao) {
+        ByteBuffer buffer = trecho.buffer();
+        int limite = buffer.limit();
+        int pos = 0;
+        while (pos < limite) {
+            int inicioLinha = pos;
+            while (pos < limite && CamposLinha.branco(buffer.get(pos))) {
+                pos++;
+            }
+            if (pos >= limite || buffer.get(pos) == '\n' || buffer.get(pos) == '#') {
+                while (pos < limite && buffer.get(pos) != '\n') {
+                    pos++;
+                }
+                pos++;
+                continue;
+            }
+            campos.reiniciar(buffer, trecho.deslocamento() + inicioLinha);
+            int inicioCampo = inicioLinha;
+            byte b;
+            while (pos < limite && (b = buffer.get(pos)) != '\n') {
+                if (b == ';') {
+                    campos.adicionar(inicioCampo, pos);
+                    inicioCampo = pos + 1;
+                }
+                pos++;
+            }
+            campos.adicionar(inicioCampo, pos);
+            pos++;
+            acao.accept(campos);
+        }
+    }
+
+    private static long alvo(long tamanho, int partes) {
+        long porParte = Math.max(TAMANHO_MINIMO_TRECHO, (tamanho + partes - 1) / Math.max(1, partes));
+        return Math.min(porParte, TAMANHO_MAXIMO_TRECHO);
+    }
+
+    /**
+     * Posição logo após o próximo '\n' a partir de "de"
+     */
+    private static long proximaLinha(FileChannel canal, long de, long tamanho) throws IOException {
+        ByteBuffer janela = ByteBuffer.allocate(8192);
+        long pos = de;
+        while (pos < tamanho) {
+            janela.clear();
+            int lidos = canal.read(janela, pos);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (janela.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += lidos;
+        }
+        return tamanho;
+    }
+}
@@ -0,0 +1,17 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resumo da carga de um arquivo.
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoCarga {
+    private String arquivo;
+    private long linhas;
+    private long carregados;
+    private long invalidos;
+    private long millis;
+}
@@ -1,54 +1,66 @@
 package br.edu.infnet.gabriel.gym_management.service;
 
+import br.edu.infnet.gabriel.gym_management.armazem.ArmazemIndexado;
+import br.edu.infnet.gabriel.gym_management.armazem.Campo;
+import br.edu.infnet.gabriel.gym_management.armazem.Consulta;
+import br.edu.infnet.gabriel.gym_management.armazem.ConsultaCompilada;
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes;
+import br.edu.infnet.gabriel.gym_management.armazem.Resultado;
 import br.edu.infnet.gabriel.gym_management.model.Aluno;
 import br.edu.infnet.gabriel.gym_management.exception.AlunoInvalidoException;
 import br.edu.infnet.gabriel.gym_management.exception.AlunoNaoEncontradoException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Serviço responsável pela gestão de Alunos.
- * Utiliza ConcurrentHashMap para armazenamento em memória com thread-safety.
+ * Os alunos ficam em um ArmazemIndexado, com CPF e matrícula únicos (salvar lança AlunoInvalidoException
+ * se já forem de outro aluno) e índices de plano, status e data de início.
  */
 @Service
-public class AlunoService implements CrudService<Aluno, Integer> {
+public class AlunoService extends ServicoMemoria<Aluno> {
 
-    private final ConcurrentHashMap<Integer, Aluno> repositorio = new ConcurrentHashMap<>();
-    private final AtomicInteger idGenerator = new AtomicInteger(1);
+    public static final String ARMAZEM = "alunos";
 
-    @Override
-    public Aluno salvar(Aluno aluno) {
-        validarAluno(aluno);
-        if (aluno.getId() == null) {
-            aluno.setId(idGenerator.getAndIncrement());
-        }
-        repositorio.put(aluno.getId(), aluno);
-        return aluno;
+    private final ConsultaCompilada<Aluno> porCpf =
+            armazem.compilar(Consulta.igual("cpf", Consulta.parametro(0)));
+    private final ConsultaCompilada<Aluno> porMatricula =
+            armazem.compilar(Consulta.igual("matricula", Consulta.parametro(0)));
+    private final ConsultaCompilada<Aluno> porPlano =
+            armazem.compilar(Consulta.igual("plano", Consulta.parametro(0)));
+    private final ConsultaCompilada<Aluno> porStatus =
+            armazem.compilar(Consulta.igual("status", Consulta.parametro(0)));
+
+    public AlunoService() {
+        this(DiarioMutacoes.NENHUM);
     }
 
+    @Autowired
+    public AlunoService(DiarioMutacoes diario) {
+        super(new ArmazemIndexado<>(ARMAZEM, diario, Aluno::getId, Aluno::setId,
+                AlunoInvalidoException::new, List.of(
+                        Campo.unico("cpf", Aluno::getCpf),
+                        Campo.unico("matricula", Aluno::getMatricula),
+                        Campo.multiploSemCaixa("plano", Aluno::getPlano),
+                        Campo.multiplo("status", Aluno::getStatus),
+                        Campo.ordenado("dataInicio", Aluno::getDataInicio),
+                        Campo.simples("nome", Aluno::getNome))));
+    }
+
+    /**
+     * @throws AlunoNaoEncontradoException Se não encontrar
+     */
     @Override
-    public Aluno buscarPorId(Integer id) {
-        Aluno aluno = repositorio.get(id);
+    public Aluno buscarPorId(int id) {
+        Aluno aluno = armazem.buscarPorId(id);
         if (aluno == null) {
             throw new AlunoNaoEncontradoException("Aluno com ID " + id + " não encontrado");
         }
         return aluno;
     }
 
-    @Override
-    public Boolean excluir(Integer id) {
-        Aluno removido = repositorio.remove(id);
-        return removido != null;
-    }
-
-    @Override
-    public List<Aluno> listarTodos() {
-        return List.copyOf(repositorio.values());
-    }
-
     /**
      * Busca um aluno pelo CPF.
      *
@@ -57,10 +69,11 @@ public class AlunoService implements CrudService<Aluno, Integer> {
      * @throws AlunoNaoEncontradoException Se não encontrar
      */
     public Aluno buscarPorCpf(String cpf) {
-        return repositorio.values().stream()
-                .filter(a -> a.getCpf() != null && a.getCpf().equals(cpf))
-                .findFirst()
-                .orElseThrow(() -> new AlunoNaoEncontradoException("Aluno com CPF " + cpf + " não encontrado"));
+        Aluno aluno = porCpf.executar(cpf).primeiro();
+        if (aluno == null) {
+            throw new AlunoNaoEncontradoException("Aluno com CPF " + cpf + " não encontrado");
+        }
+        return aluno;
     }
 
     /**
@@ -71,22 +84,31 @@ public class AlunoService implements CrudService<Aluno, Integer> {
      * @throws AlunoNaoEncontradoException Se não encontrar
      */
     public Aluno buscarPorMatricula(String matricula) {
-        return repositorio.values().stream()
-                .filter(a -> a.getMatricula() != null && a.getMatricula().equals(matricula))
-                .findFirst()
-                .orElseThrow(() -> new AlunoNaoEncontradoException("Aluno com matrícula " + matricula + " não encontrado"));
+        Aluno aluno = porMatricula.executar(matricula).primeiro();
+        if (aluno == null) {
+            throw new AlunoNaoEncontradoException("Aluno com matrícula " + matricula + " não encontrado");
+        }
+        return aluno;
     }
 
     /**
-     * Busca alunos por plano.
+     * Busca alunos por plano (sem diferenciar maiúsculas).
      *
      * @param plano O plano de treino
-     * @return Lista de alunos com o plano
+     * @return Os alunos com o plano, percorridos sob demanda
+     */
+    public Resultado<Aluno> buscarPorPlano(String plano) {
+        return porPlano.executar(plano);
+    }
+
+    /**
+     * Busca alunos por status.
+     *
+     * @param status true para ativos, false para inativos
+     * @return Os alunos com o status, percorridos sob demanda
      */
-    public List<Aluno> buscarPorPlano(String plano) {
-        return repositorio.values().stream()
-                .filter(a -> a.getPlano() != null && a.getPlano().equalsIgnoreCase(plano))
-                .toList();
+    public Resultado<Aluno> buscarPorStatus(Boolean status) {
+        return porStatus.executar(status);
     }
 
     /**
@@ -98,8 +120,7 @@ public class AlunoService implements CrudService<Aluno, Integer> {
     public Aluno inativar(Integer id) {
         Aluno aluno = buscarPorId(id);
         aluno.setStatus(false);
-        repositorio.put(id, aluno);
-        return aluno;
+        return armazem.salvar(aluno);
     }
 
     /**
@@ -111,8 +132,7 @@ public class AlunoService implements CrudService<Aluno, Integer> {
     public Aluno ativar(Integer id) {
         Aluno aluno = buscarPorId(id);
         aluno.setStatus(true);
-        repositorio.put(id, aluno);
-        return aluno;
+        return armazem.salvar(aluno);
     }
 
     /**
@@ -121,7 +141,8 @@ public class AlunoService implements CrudService<Aluno, Integer> {
      * @param aluno O aluno a validar
      * @throws AlunoInvalidoException Se o aluno for inválido
      */
-    private void validarAluno(Aluno aluno) {
+    @Override
+    protected void validar(Aluno aluno) {
         if (aluno == null) {
             throw new AlunoInvalidoException("Aluno não pode ser nulo");
         }
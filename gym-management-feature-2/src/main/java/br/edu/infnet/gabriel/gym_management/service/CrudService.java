@@ -18,6 +18,17 @@ public interface CrudService<T, ID> {
      */
     T salvar(T entidade);
 
+    /**
+     * Salva várias entidades de uma vez (usado pelas cargas em lote).
+     * A implementação padrão apenas chama salvar para cada entidade.
+     *
+     * @param entidades As entidades a serem salvas
+     * @return As entidades salvas com ID atribuído
+     */
+    default List<T> salvarTodos(List<T> entidades) {
+        return entidades.stream().map(this::salvar).toList();
+    }
+
     /**
      * Busca uma entidade pelo seu identificador.
      *
@@ -1,46 +1,35 @@
 package br.edu.infnet.gabriel.gym_management.service;
 
+import br.edu.infnet.gabriel.gym_management.armazem.ArmazemIndexado;
+import br.edu.infnet.gabriel.gym_management.armazem.Campo;
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes;
 import br.edu.infnet.gabriel.gym_management.model.Endereco;
 import br.edu.infnet.gabriel.gym_management.exception.EnderecoInvalidoException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Serviço responsável pela gestão de Endereços.
- * Utiliza ConcurrentHashMap para armazenamento em memória com thread-safety.
+ * Os endereços ficam em um ArmazemIndexado, com índices de CEP (faixa e prefixo) e UF.
  */
 @Service
-public class EnderecoService implements CrudService<Endereco, Integer> {
+public class EnderecoService extends ServicoMemoria<Endereco> {
 
-    private final ConcurrentHashMap<Integer, Endereco> repositorio = new ConcurrentHashMap<>();
-    private final AtomicInteger idGenerator = new AtomicInteger(1);
+    public static final String ARMAZEM = "enderecos";
 
-    @Override
-    public Endereco salvar(Endereco endereco) {
-        validarEndereco(endereco);
-        if (endereco.getId() == null) {
-            endereco.setId(idGenerator.getAndIncrement());
-        }
-        repositorio.put(endereco.getId(), endereco);
-        return endereco;
-    }
-
-    @Override
-    public Endereco buscarPorId(Integer id) {
-        return repositorio.get(id);
+    public EnderecoService() {
+        this(DiarioMutacoes.NENHUM);
     }
 
-    @Override
-    public Boolean excluir(Integer id) {
-        return repositorio.remove(id) != null;
-    }
-
-    @Override
-    public List<Endereco> listarTodos() {
-        return List.copyOf(repositorio.values());
+    @Autowired
+    public EnderecoService(DiarioMutacoes diario) {
+        super(new ArmazemIndexado<>(ARMAZEM, diario, Endereco::getId, Endereco::setId,
+                EnderecoInvalidoException::new, List.of(
+                        Campo.ordenado("cep", Endereco::getCep),
+                        Campo.multiploSemCaixa("uf", Endereco::getUf),
+                        Campo.simples("localidade", Endereco::getLocalidade))));
     }
 
     /**
@@ -49,7 +38,8 @@ public class EnderecoService implements CrudService<Endereco, Integer> {
      * @param endereco O endereço a validar
      * @throws EnderecoInvalidoException Se o endereço for inválido
      */
-    private void validarEndereco(Endereco endereco) {
+    @Override
+    protected void validar(Endereco endereco) {
         if (endereco == null) {
             throw new EnderecoInvalidoException("Endereço não pode ser nulo");
         }
@@ -1,54 +1,66 @@
 package br.edu.infnet.gabriel.gym_management.service;
 
+import br.edu.infnet.gabriel.gym_management.armazem.ArmazemIndexado;
+import br.edu.infnet.gabriel.gym_management.armazem.Campo;
+import br.edu.infnet.gabriel.gym_management.armazem.Consulta;
+import br.edu.infnet.gabriel.gym_management.armazem.ConsultaCompilada;
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes;
+import br.edu.infnet.gabriel.gym_management.armazem.Resultado;
 import br.edu.infnet.gabriel.gym_management.model.Instrutor;
 import br.edu.infnet.gabriel.gym_management.exception.InstrutorInvalidoException;
 import br.edu.infnet.gabriel.gym_management.exception.InstrutorNaoEncontradoException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Serviço responsável pela gestão de Instrutores.
- * Utiliza ConcurrentHashMap para armazenamento em memória com thread-safety.
+ * Os instrutores ficam em um ArmazemIndexado, com CPF e registro únicos (salvar lança InstrutorInvalidoException
+ * se já forem de outro instrutor) e índices de especialidade, status e salário.
  */
 @Service
-public class InstrutorService implements CrudService<Instrutor, Integer> {
+public class InstrutorService extends ServicoMemoria<Instrutor> {
 
-    private final ConcurrentHashMap<Integer, Instrutor> repositorio = new ConcurrentHashMap<>();
-    private final AtomicInteger idGenerator = new AtomicInteger(1);
+    public static final String ARMAZEM = "instrutores";
 
-    @Override
-    public Instrutor salvar(Instrutor instrutor) {
-        validarInstrutor(instrutor);
-        if (instrutor.getId() == null) {
-            instrutor.setId(idGenerator.getAndIncrement());
-        }
-        repositorio.put(instrutor.getId(), instrutor);
-        return instrutor;
+    private final ConsultaCompilada<Instrutor> porCpf =
+            armazem.compilar(Consulta.igual("cpf", Consulta.parametro(0)));
+    private final ConsultaCompilada<Instrutor> porRegistro =
+            armazem.compilar(Consulta.igual("registro", Consulta.parametro(0)));
+    private final ConsultaCompilada<Instrutor> porEspecialidade =
+            armazem.compilar(Consulta.igual("especialidade", Consulta.parametro(0)));
+    private final ConsultaCompilada<Instrutor> porStatus =
+            armazem.compilar(Consulta.igual("status", Consulta.parametro(0)));
+
+    public InstrutorService() {
+        this(DiarioMutacoes.NENHUM);
     }
 
+    @Autowired
+    public InstrutorService(DiarioMutacoes diario) {
+        super(new ArmazemIndexado<>(ARMAZEM, diario, Instrutor::getId, Instrutor::setId,
+                InstrutorInvalidoException::new, List.of(
+                        Campo.unico("cpf", Instrutor::getCpf),
+                        Campo.unico("registro", Instrutor::getRegistro),
+                        Campo.multiploSemCaixa("especialidade", Instrutor::getEspecialidade),
+                        Campo.multiplo("status", Instrutor::getStatus),
+                        Campo.ordenado("salario", Instrutor::getSalario),
+                        Campo.simples("nome", Instrutor::getNome))));
+    }
+
+    /**
+     * @throws InstrutorNaoEncontradoException Se não encontrar
+     */
     @Override
-    public Instrutor buscarPorId(Integer id) {
-        Instrutor instrutor = repositorio.get(id);
+    public Instrutor buscarPorId(int id) {
+        Instrutor instrutor = armazem.buscarPorId(id);
         if (instrutor == null) {
             throw new InstrutorNaoEncontradoException("Instrutor com ID " + id + " não encontrado");
         }
         return instrutor;
     }
 
-    @Override
-    public Boolean excluir(Integer id) {
-        Instrutor removido = repositorio.remove(id);
-        return removido != null;
-    }
-
-    @Override
-    public List<Instrutor> listarTodos() {
-        return List.copyOf(repositorio.values());
-    }
-
     /**
      * Busca um instrutor pelo CPF.
      *
@@ -57,22 +69,46 @@ public class InstrutorService implements CrudService<Instrutor, Integer> {
      * @throws InstrutorNaoEncontradoException Se não encontrar
      */
     public Instrutor buscarPorCpf(String cpf) {
-        return repositorio.values().stream()
-                .filter(i -> i.getCpf() != null && i.getCpf().equals(cpf))
-                .findFirst()
-                .orElseThrow(() -> new InstrutorNaoEncontradoException("Instrutor com CPF " + cpf + " não encontrado"));
+        Instrutor instrutor = porCpf.executar(cpf).primeiro();
+        if (instrutor == null) {
+            throw new InstrutorNaoEncontradoException("Instrutor com CPF " + cpf + " não encontrado");
+        }
+        return instrutor;
     }
 
     /**
-     * Busca instrutores pela especialidade.
+     * Busca um instrutor pelo registro profissional.
+     *
+     * @param registro O registro do instrutor
+     * @return O instrutor encontrado
+     * @throws InstrutorNaoEncontradoException Se não encontrar
+     */
+    public Instrutor buscarPorRegistro(String registro) {
+        Instrutor instrutor = porRegistro.executar(registro).primeiro();
+        if (instrutor == null) {
+            throw new InstrutorNaoEncontradoException("Instrutor com registro " + registro + " não encontrado");
+        }
+        return instrutor;
+    }
+
+    /**
+     * Busca instrutores pela especialidade (sem diferenciar maiúsculas).
      *
      * @param especialidade A especialidade
-     * @return Lista de instrutores com a especialidade
+     * @return Os instrutores com a especialidade, percorridos sob demanda
      */
-    public List<Instrutor> buscarPorEspecialidade(String especialidade) {
-        return repositorio.values().stream()
-                .filter(i -> i.getEspecialidade() != null && i.getEspecialidade().equalsIgnoreCase(especialidade))
-                .toList();
+    public Resultado<Instrutor> buscarPorEspecialidade(String especialidade) {
+        return porEspecialidade.executar(especialidade);
+    }
+
+    /**
+     * Busca instrutores por status.
+     *
+     * @param status true para ativos, false para inativos
+     * @return Os instrutores com o status, percorridos sob demanda
+     */
+    public Resultado<Instrutor> buscarPorStatus(Boolean status) {
+        return porStatus.executar(status);
     }
 
     /**
@@ -84,8 +120,7 @@ public class InstrutorService implements CrudService<Instrutor, Integer> {
     public Instrutor inativar(Integer id) {
         Instrutor instrutor = buscarPorId(id);
         instrutor.setStatus(false);
-        repositorio.put(id, instrutor);
-        return instrutor;
+        return armazem.salvar(instrutor);
     }
 
     /**
@@ -97,8 +132,7 @@ public class InstrutorService implements CrudService<Instrutor, Integer> {
     public Instrutor ativar(Integer id) {
         Instrutor instrutor = buscarPorId(id);
         instrutor.setStatus(true);
-        repositorio.put(id, instrutor);
-        return instrutor;
+        return armazem.salvar(instrutor);
     }
 
     /**
@@ -107,7 +141,8 @@ public class InstrutorService implements CrudService<Instrutor, Integer> {
      * @param instrutor O instrutor a validar
      * @throws InstrutorInvalidoException Se o instrutor for inválido
      */
-    private void validarInstrutor(Instrutor instrutor) {
+    @Override
+    protected void validar(Instrutor instrutor) {
         if (instrutor == null) {
             throw new InstrutorInvalidoException("Instrutor não pode ser nulo");
         }
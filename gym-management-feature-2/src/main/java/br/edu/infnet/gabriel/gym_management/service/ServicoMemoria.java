@@ -0,0 +1,106 @@
+package br.edu.infnet.gabriel.gym_management.service;
+
+import br.edu.infnet.gabriel.gym_management.armazem.ArmazemIndexado;
+import br.edu.infnet.gabriel.gym_management.armazem.ArmazemMemoria;
+import br.edu.infnet.gabriel.gym_management.armazem.Consulta;
+import br.edu.infnet.gabriel.gym_management.armazem.Resultado;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Base dos serviços em memória: o CRUD e a cópia para snapshot ficam no ArmazemIndexado,
+ * e cada serviço só declara os campos da entidade, valida e expõe suas buscas.
+ *
+ * @param <T> O tipo da entidade
+ */
+public abstract class ServicoMemoria<T> implements CrudService<T, Integer>, ArmazemMemoria<T> {
+
+    protected final ArmazemIndexado<T> armazem;
+
+    protected ServicoMemoria(ArmazemIndexado<T> armazem) {
+        this.armazem = armazem;
+    }
+
+    /**
+     * Valida a entidade antes de salvar; por padrão aceita tudo
+     */
+    protected void validar(T entidade) {
+    }
+
+    @Override
+    public T salvar(T entidade) {
+        validar(entidade);
+        return armazem.salvar(entidade);
+    }
+
+    /**
+     * Salva um lote: valida todos antes de gravar, reserva os IDs de uma vez
+     * e grava os novos com um único putAll (um só registro no log de mutações).
+     */
+    @Override
+    public List<T> salvarTodos(List<T> entidades) {
+        entidades.forEach(this::validar);
+        return armazem.salvarTodos(entidades);
+    }
+
+    @Override
+    public T buscarPorId(Integer id) {
+        return buscarPorId(id.intValue());
+    }
+
+    /**
+     * Busca pelo ID sem convertê-lo para Integer; as subclasses que mudam o comportamento da busca
+     * sobrescrevem esta, e buscarPorId(Integer) passa por ela
+     */
+    public T buscarPorId(int id) {
+        return armazem.buscarPorId(id);
+    }
+
+    @Override
+    public Boolean excluir(Integer id) {
+        return armazem.excluir(id) != null;
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return armazem.listarTodos();
+    }
+
+    /**
+     * Consulta pelos campos declarados no armazém
+     */
+    public Resultado<T> consultar(Consulta consulta) {
+        return armazem.consultar(consulta);
+    }
+
+    @Override
+    public Collection<T> entidades() {
+        return armazem.entidades();
+    }
+
+    @Override
+    public int proximoId() {
+        return armazem.proximoId();
+    }
+
+    @Override
+    public long modificacoes() {
+        return armazem.modificacoes();
+    }
+
+    @Override
+    public void restaurar(Collection<T> entidades, int proximoId) {
+        armazem.restaurar(entidades, proximoId);
+    }
+
+    @Override
+    public void reaplicar(Integer id, T entidade) {
+        armazem.reaplicar(id, entidade);
+    }
+
+    @Override
+    public void reaplicarExclusao(Integer id) {
+        armazem.reaplicarExclusao(id);
+    }
+}
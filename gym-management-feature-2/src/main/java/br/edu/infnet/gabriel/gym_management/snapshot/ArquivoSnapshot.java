@@ -0,0 +1,229 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo binário de snapshot dos armazéns em memória.
+ *
+ * Formato: cabeçalho (MAGIA, versão, instante da gravação, segmento do log de mutações a partir do qual
+ * reaplicar e posição do diretório), as seções em sequência
+ * (entidades no formato do CodificadorSnapshot de cada uma) e o diretório no fim (nome, próximo ID,
+ * quantidade, posição, tamanho e CRC32C de cada seção), seguido do CRC32C do próprio diretório.
+ *
+ * A gravação vai para um arquivo temporário no mesmo diretório, que só substitui o snapshot anterior
+ * (rename atômico) depois de forçado para o disco. Uma queda no meio da gravação deixa o anterior intacto;
+ * um arquivo truncado ou corrompido é recusado inteiro na leitura.
+ */
+public final class ArquivoSnapshot {
+
+    private static final byte[] MAGIA = "GYMSNAP1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSAO = 2;
+
+    private ArquivoSnapshot() {
+    }
+
+    /**
+     * Grava as seções em arquivo, substituindo atomicamente o snapshot existente
+     *
+     * @param marcaLog Primeiro segmento do log de mutações que não está garantido no snapshot (0 sem log)
+     */
+    public static ResultadoSnapshot gravar(Path arquivo, List<SecaoSnapshot<?>> secoes, long marcaLog) throws IOException {
+        long inicio = System.nanoTime();
+        Path diretorioArquivo = arquivo.toAbsolutePath().getParent();
+        Files.createDirectories(diretorioArquivo);
+        Path temporario = diretorioArquivo.resolve(arquivo.getFileName() + ".tmp");
+        Map<String, Integer> registros = new LinkedHashMap<>();
+        long bytes;
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SaidaMapeada saida = new SaidaMapeada(canal);
+            saida.bytes(MAGIA, 0, MAGIA.length);
+            saida.inteiro(VERSAO);
+            saida.longo(System.currentTimeMillis());
+            saida.longo(marcaLog);
+            int posicaoDiretorio = (int) saida.posicao();
+            saida.longo(0);
+
+            List<EntradaDiretorio> diretorio = new ArrayList<>();
+            for (SecaoSnapshot<?> secao : secoes) {
+                EntradaDiretorio entrada = gravarSecao(secao, saida);
+                diretorio.add(entrada);
+                registros.put(entrada.nome(), entrada.quantidade());
+            }
+
+            long inicioDiretorio = saida.posicao();
+            saida.iniciarCrc();
+            saida.inteiro(diretorio.size());
+            for (EntradaDiretorio entrada : diretorio) {
+                saida.texto(entrada.nome());
+                saida.inteiro(entrada.proximoId());
+                saida.inteiro(entrada.quantidade());
+                saida.longo(entrada.deslocamento());
+                saida.longo(entrada.tamanho());
+                saida.inteiro(entrada.crc());
+            }
+            saida.inteiro(saida.terminarCrc());
+            saida.longoEm(posicaoDiretorio, inicioDiretorio);
+            bytes = saida.posicao();
+            saida.fechar();
+        }
+        substituir(temporario, arquivo);
+        return new ResultadoSnapshot(arquivo.toString(), registros, bytes, (System.nanoTime() - inicio) / 1_000_000, marcaLog);
+    }
+
+    /**
+     * Confere o arquivo inteiro (cabeçalho, diretório e CRC de todas as seções) e só então restaura
+     * as seções, na ordem da lista. Se algo falhar no meio da restauração, os armazéns são esvaziados.
+     *
+     * @throws IOException Se o arquivo não puder ser lido, estiver corrompido ou não tiver alguma das seções
+     */
+    public static ResultadoSnapshot restaurar(Path arquivo, List<SecaoSnapshot<?>> secoes) throws IOException {
+        long inicio = System.nanoTime();
+        Map<String, Integer> registros = new LinkedHashMap<>();
+        long tamanhoArquivo;
+        Cabecalho cabecalho;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            tamanhoArquivo = canal.size();
+            cabecalho = lerCabecalho(canal, tamanhoArquivo);
+            Map<String, EntradaDiretorio> diretorio = cabecalho.diretorio();
+            Map<String, ByteBuffer> conteudos = new HashMap<>();
+            for (SecaoSnapshot<?> secao : secoes) {
+                EntradaDiretorio entrada = diretorio.get(secao.nome());
+                if (entrada == null) {
+                    throw new IOException("seção " + secao.nome() + " ausente");
+                }
+                if (entrada.deslocamento() + entrada.tamanho() > tamanhoArquivo || entrada.tamanho() > Integer.MAX_VALUE) {
+                    throw new IOException("seção " + secao.nome() + " fora dos limites do arquivo");
+                }
+                MappedByteBuffer conteudo = canal.map(FileChannel.MapMode.READ_ONLY, entrada.deslocamento(), entrada.tamanho());
+                if (crc(conteudo) != entrada.crc()) {
+                    throw new IOException("CRC da seção " + secao.nome() + " não confere");
+                }
+                conteudos.put(secao.nome(), conteudo);
+            }
+            try {
+                for (SecaoSnapshot<?> secao : secoes) {
+                    EntradaDiretorio entrada = diretorio.get(secao.nome());
+                    restaurarSecao(secao, entrada, new EntradaSnapshot(conteudos.get(secao.nome())));
+                    registros.put(secao.nome(), entrada.quantidade());
+                }
+            } catch (RuntimeException e) {
+                secoes.forEach(secao -> secao.armazem().restaurar(List.of(), 1));
+                throw new IOException("falha ao decodificar o snapshot: " + e.getMessage(), e);
+            }
+        }
+        return new ResultadoSnapshot(arquivo.toString(), registros, tamanhoArquivo,
+                (System.nanoTime() - inicio) / 1_000_000, cabecalho.marcaLog());
+    }
+
+    private static <T> EntradaDiretorio gravarSecao(SecaoSnapshot<T> secao, SaidaMapeada saida) throws IOException {
+        long deslocamento = saida.posicao();
+        saida.iniciarCrc();
+        int quantidade = 0;
+        for (T entidade : secao.armazem().entidades()) {
+            secao.codificador().escrever(entidade, saida);
+            quantidade++;
+        }
+        // lido depois de percorrer: cobre os IDs de tudo que entrou na seção
+        int proximoId = secao.armazem().proximoId();
+        return new EntradaDiretorio(secao.nome(), proximoId, quantidade, deslocamento,
+                saida.posicao() - deslocamento, saida.terminarCrc());
+    }
+
+    private static <T> void restaurarSecao(SecaoSnapshot<T> secao, EntradaDiretorio entrada, EntradaSnapshot leitura) {
+        List<T> entidades = new ArrayList<>(entrada.quantidade());
+        for (int i = 0; i < entrada.quantidade(); i++) {
+            entidades.add(secao.codificador().ler(leitura));
+        }
+        secao.armazem().restaurar(entidades, entrada.proximoId());
+    }
+
+    private static Cabecalho lerCabecalho(FileChannel canal, long tamanhoArquivo) throws IOException {
+        if (tamanhoArquivo < MAGIA.length + 1 + 24) {
+            throw new IOException("arquivo truncado");
+        }
+        ByteBuffer bytesCabecalho = canal.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(tamanhoArquivo, MAGIA.length + 5 + 24));
+        byte[] magia = new byte[MAGIA.length];
+        bytesCabecalho.get(magia);
+        if (!Arrays.equals(magia, MAGIA)) {
+            throw new IOException("não é um snapshot");
+        }
+        EntradaSnapshot leituraCabecalho = new EntradaSnapshot(bytesCabecalho);
+        int versao = leituraCabecalho.inteiro();
+        if (versao != VERSAO) {
+            throw new IOException("versão " + versao + " não suportada");
+        }
+        leituraCabecalho.longo();
+        long marcaLog = leituraCabecalho.longo();
+        long inicioDiretorio = leituraCabecalho.longo();
+        if (inicioDiretorio <= 0 || inicioDiretorio >= tamanhoArquivo) {
+            throw new IOException("diretório fora dos limites do arquivo");
+        }
+
+        ByteBuffer bytesDiretorio = canal.map(FileChannel.MapMode.READ_ONLY, inicioDiretorio, tamanhoArquivo - inicioDiretorio);
+        EntradaSnapshot leitura = new EntradaSnapshot(bytesDiretorio);
+        Map<String, EntradaDiretorio> diretorio = new HashMap<>();
+        int fimDiretorio;
+        int crcGravado;
+        try {
+            int secoes = leitura.inteiro();
+            for (int i = 0; i < secoes; i++) {
+                EntradaDiretorio entrada = new EntradaDiretorio(leitura.texto(), leitura.inteiro(), leitura.inteiro(),
+                        leitura.longo(), leitura.longo(), leitura.inteiro());
+                diretorio.put(entrada.nome(), entrada);
+            }
+            fimDiretorio = bytesDiretorio.position();
+            crcGravado = leitura.inteiro();
+        } catch (RuntimeException e) {
+            throw new IOException("diretório corrompido", e);
+        }
+        if (crc(bytesDiretorio.slice(0, fimDiretorio)) != crcGravado) {
+            throw new IOException("CRC do diretório não confere");
+        }
+        return new Cabecalho(marcaLog, diretorio);
+    }
+
+    private static int crc(ByteBuffer conteudo) {
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Rename atômico do temporário sobre o snapshot e fsync do diretório, para o rename também sobreviver a uma queda
+     */
+    private static void substituir(Path temporario, Path arquivo) throws IOException {
+        try {
+            Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (FileChannel diretorio = FileChannel.open(arquivo.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            diretorio.force(true);
+        } catch (IOException e) {
+            // nem todo sistema permite abrir diretórios (Windows); o rename já foi feito
+        }
+    }
+
+    private record Cabecalho(long marcaLog, Map<String, EntradaDiretorio> diretorio) {
+    }
+
+    private record EntradaDiretorio(String nome, int proximoId, int quantidade, long deslocamento, long tamanho, int crc) {
+    }
+}
@@ -0,0 +1,154 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Endereco;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import br.edu.infnet.gabriel.gym_management.model.Pessoa;
+import br.edu.infnet.gabriel.gym_management.service.EnderecoService;
+
+import java.io.IOException;
+
+/**
+ * Codificadores das entidades do sistema para o snapshot
+ */
+public final class Codificadores {
+
+    private Codificadores() {
+    }
+
+    public static class AcademiaCodificador implements CodificadorSnapshot<Academia> {
+
+        @Override
+        public void escrever(Academia academia, SaidaSnapshot saida) throws IOException {
+            saida.inteiro(academia.getId());
+            saida.texto(academia.getNome());
+            saida.texto(academia.getCnpj());
+            saida.texto(academia.getEndereco());
+            saida.texto(academia.getTelefone());
+            saida.booleano(academia.getStatusAtivo());
+        }
+
+        @Override
+        public Academia ler(EntradaSnapshot entrada) {
+            return new Academia(entrada.inteiro(), entrada.texto(), entrada.texto(), entrada.texto(),
+                    entrada.texto(), entrada.booleano());
+        }
+    }
+
+    public static class AlunoCodificador implements CodificadorSnapshot<Aluno> {
+
+        @Override
+        public void escrever(Aluno aluno, SaidaSnapshot saida) throws IOException {
+            escreverPessoa(aluno, saida);
+            saida.texto(aluno.getMatricula());
+            saida.texto(aluno.getPlano());
+            saida.texto(aluno.getDataInicio());
+            saida.booleano(aluno.getStatus());
+        }
+
+        @Override
+        public Aluno ler(EntradaSnapshot entrada) {
+            Aluno aluno = new Aluno();
+            lerPessoa(aluno, entrada);
+            aluno.setMatricula(entrada.texto());
+            aluno.setPlano(entrada.texto());
+            aluno.setDataInicio(entrada.texto());
+            aluno.setStatus(entrada.booleano());
+            return aluno;
+        }
+    }
+
+    public static class EnderecoCodificador implements CodificadorSnapshot<Endereco> {
+
+        @Override
+        public void escrever(Endereco endereco, SaidaSnapshot saida) throws IOException {
+            saida.inteiroOuNulo(endereco.getId());
+            saida.texto(endereco.getCep());
+            saida.texto(endereco.getLogradouro());
+            saida.texto(endereco.getComplemento());
+            saida.texto(endereco.getUnidade());
+            saida.texto(endereco.getBairro());
+            saida.texto(endereco.getLocalidade());
+            saida.texto(endereco.getUf());
+            saida.texto(endereco.getEstado());
+        }
+
+        @Override
+        public Endereco ler(EntradaSnapshot entrada) {
+            return new Endereco(entrada.inteiroOuNulo(), entrada.texto(), entrada.texto(), entrada.texto(),
+                    entrada.texto(), entrada.texto(), entrada.texto(), entrada.texto(), entrada.texto());
+        }
+    }
+
+    /**
+     * O endereço do instrutor é a mesma instância guardada no EnderecoService (o InstrutorLoader salva os
+     * endereços antes). Nesse caso só o ID é gravado e a referência é refeita na leitura, o que exige a seção
+     * de endereços antes da de instrutores; um endereço fora do EnderecoService vai inteiro.
+     */
+    public static class InstrutorCodificador implements CodificadorSnapshot<Instrutor> {
+
+        private static final int SEM_ENDERECO = 0;
+        private static final int REFERENCIA = 1;
+        private static final int COMPLETO = 2;
+
+        private final EnderecoService enderecoService;
+        private final EnderecoCodificador enderecoCodificador = new EnderecoCodificador();
+
+        public InstrutorCodificador(EnderecoService enderecoService) {
+            this.enderecoService = enderecoService;
+        }
+
+        @Override
+        public void escrever(Instrutor instrutor, SaidaSnapshot saida) throws IOException {
+            escreverPessoa(instrutor, saida);
+            saida.texto(instrutor.getRegistro());
+            saida.texto(instrutor.getEspecialidade());
+            saida.decimal(instrutor.getSalario());
+            saida.booleano(instrutor.getStatus());
+            Endereco endereco = instrutor.getEndereco();
+            if (endereco == null) {
+                saida.inteiro(SEM_ENDERECO);
+            } else if (endereco.getId() != null && enderecoService.buscarPorId(endereco.getId()) == endereco) {
+                saida.inteiro(REFERENCIA);
+                saida.inteiro(endereco.getId());
+            } else {
+                saida.inteiro(COMPLETO);
+                enderecoCodificador.escrever(endereco, saida);
+            }
+        }
+
+        @Override
+        public Instrutor ler(EntradaSnapshot entrada) {
+            Instrutor instrutor = new Instrutor();
+            lerPessoa(instrutor, entrada);
+            instrutor.setRegistro(entrada.texto());
+            instrutor.setEspecialidade(entrada.texto());
+            instrutor.setSalario(entrada.decimal());
+            instrutor.setStatus(entrada.booleano());
+            int tipoEndereco = entrada.inteiro();
+            if (tipoEndereco == REFERENCIA) {
+                instrutor.setEndereco(enderecoService.buscarPorId(entrada.inteiro()));
+            } else if (tipoEndereco == COMPLETO) {
+                instrutor.setEndereco(enderecoCodificador.ler(entrada));
+            }
+            return instrutor;
+        }
+    }
+
+    private static void escreverPessoa(Pessoa pessoa, SaidaSnapshot saida) throws IOException {
+        saida.inteiro(pessoa.getId());
+        saida.texto(pessoa.getNome());
+        saida.texto(pessoa.getEmail());
+        saida.texto(pessoa.getCpf());
+        saida.texto(pessoa.getTelefone());
+    }
+
+    private static void lerPessoa(Pessoa pessoa, EntradaSnapshot entrada) {
+        pessoa.setId(entrada.inteiro());
+        pessoa.setNome(entrada.texto());
+        pessoa.setEmail(entrada.texto());
+        pessoa.setCpf(entrada.texto());
+        pessoa.setTelefone(entrada.texto());
+    }
+}
@@ -0,0 +1,56 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura de uma seção do snapshot a partir do arquivo mapeado, no formato gravado pela SaidaSnapshot.
+ */
+public final class EntradaSnapshot {
+
+    private final ByteBuffer buffer;
+
+    public EntradaSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public int inteiro() {
+        int valor = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            valor |= (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while (b < 0);
+        return valor;
+    }
+
+    public Integer inteiroOuNulo() {
+        int valor = inteiro();
+        return valor == 0 ? null : valor - 1;
+    }
+
+    public long longo() {
+        return buffer.getLong();
+    }
+
+    public Double decimal() {
+        return booleano() == null ? null : Double.longBitsToDouble(longo());
+    }
+
+    public Boolean booleano() {
+        byte valor = buffer.get();
+        return valor == 0 ? null : valor == 2;
+    }
+
+    public String texto() {
+        int tamanho = inteiro();
+        if (tamanho == 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[tamanho - 1];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
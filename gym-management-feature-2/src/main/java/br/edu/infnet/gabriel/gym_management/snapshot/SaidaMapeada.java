@@ -0,0 +1,97 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * Escrita do arquivo de snapshot direto em memória mapeada. O arquivo cresce em regiões de REGIAO bytes,
+ * mapeadas conforme a escrita avança; ao fechar, é truncado no tamanho real.
+ * O CRC32C de cada seção é calculado sobre os bytes já gravados.
+ */
+final class SaidaMapeada extends SaidaSnapshot {
+
+    static final int REGIAO = 16 << 20;
+
+    private final FileChannel canal;
+    private final CRC32C crc = new CRC32C();
+    private final MappedByteBuffer primeiraRegiao;
+
+    private MappedByteBuffer regiao;
+    private long inicioRegiao;
+    private int marcaCrc;
+
+    SaidaMapeada(FileChannel canal) throws IOException {
+        this.canal = canal;
+        this.primeiraRegiao = canal.map(FileChannel.MapMode.READ_WRITE, 0, REGIAO);
+        this.regiao = primeiraRegiao;
+    }
+
+    @Override
+    public long posicao() {
+        return inicioRegiao + regiao.position();
+    }
+
+    @Override
+    void bytes(byte[] origem, int inicio, int tamanho) throws IOException {
+        int pos = inicio;
+        int restante = tamanho;
+        while (restante > 0) {
+            if (!regiao.hasRemaining()) {
+                proximaRegiao();
+            }
+            int parte = Math.min(restante, regiao.remaining());
+            regiao.put(origem, pos, parte);
+            pos += parte;
+            restante -= parte;
+        }
+    }
+
+    /**
+     * Começa o cálculo do CRC de uma seção na posição atual
+     */
+    void iniciarCrc() {
+        crc.reset();
+        marcaCrc = regiao.position();
+    }
+
+    /**
+     * CRC32C dos bytes gravados desde iniciarCrc
+     */
+    int terminarCrc() {
+        acumularCrc();
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Força os bytes para o disco e trunca o arquivo no tamanho escrito
+     */
+    void fechar() throws IOException {
+        long tamanho = posicao();
+        regiao.force();
+        primeiraRegiao.force();
+        canal.truncate(tamanho);
+        canal.force(true);
+    }
+
+    /**
+     * Grava um long numa posição já escrita do cabeçalho (primeira região)
+     */
+    void longoEm(int posicao, long valor) {
+        primeiraRegiao.putLong(posicao, valor);
+    }
+
+    private void proximaRegiao() throws IOException {
+        acumularCrc();
+        regiao.force();
+        inicioRegiao += regiao.capacity();
+        regiao = canal.map(FileChannel.MapMode.READ_WRITE, inicioRegiao, REGIAO);
+        marcaCrc = 0;
+    }
+
+    private void acumularCrc() {
+        crc.update(regiao.slice(marcaCrc, regiao.position() - marcaCrc));
+        marcaCrc = regiao.position();
+    }
+}
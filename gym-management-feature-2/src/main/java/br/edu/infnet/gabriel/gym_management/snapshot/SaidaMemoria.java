@@ -0,0 +1,38 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Escrita no formato do snapshot para um array em memória, que cresce conforme a necessidade.
+ * Usada para montar os registros do log de mutações antes de entrarem na fila de escrita.
+ */
+public final class SaidaMemoria extends SaidaSnapshot {
+
+    private byte[] conteudo;
+    private int tamanho;
+
+    public SaidaMemoria(int capacidadeInicial) {
+        this.conteudo = new byte[Math.max(16, capacidadeInicial)];
+    }
+
+    @Override
+    public long posicao() {
+        return tamanho;
+    }
+
+    /**
+     * Cópia dos bytes escritos
+     */
+    public byte[] paraBytes() {
+        return Arrays.copyOf(conteudo, tamanho);
+    }
+
+    @Override
+    void bytes(byte[] origem, int inicio, int quantidade) {
+        if (tamanho + quantidade > conteudo.length) {
+            conteudo = Arrays.copyOf(conteudo, Math.max(conteudo.length * 2, tamanho + quantidade));
+        }
+        System.arraycopy(origem, inicio, conteudo, tamanho, quantidade);
+        tamanho += quantidade;
+    }
+}
@@ -0,0 +1,71 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formato binário do snapshot (e dos registros do log de mutações).
+ * Inteiros não negativos usam varint (1 byte até 127), textos são UTF-8 precedidos do tamanho e campos
+ * opcionais levam um marcador de nulo. O destino dos bytes fica com a subclasse.
+ */
+public abstract class SaidaSnapshot {
+
+    private final byte[] rascunho = new byte[16];
+
+    /**
+     * Posição atual no destino
+     */
+    public abstract long posicao();
+
+    public void inteiro(int valor) throws IOException {
+        int n = 0;
+        int v = valor;
+        while ((v & ~0x7F) != 0) {
+            rascunho[n++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        rascunho[n++] = (byte) v;
+        bytes(rascunho, 0, n);
+    }
+
+    public void inteiroOuNulo(Integer valor) throws IOException {
+        inteiro(valor == null ? 0 : valor + 1);
+    }
+
+    public void longo(long valor) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            rascunho[i] = (byte) (valor >>> (56 - 8 * i));
+        }
+        bytes(rascunho, 0, 8);
+    }
+
+    public void decimal(Double valor) throws IOException {
+        booleano(valor == null ? null : Boolean.TRUE);
+        if (valor != null) {
+            longo(Double.doubleToLongBits(valor));
+        }
+    }
+
+    /**
+     * 0 = nulo, 1 = false, 2 = true
+     */
+    public void booleano(Boolean valor) throws IOException {
+        rascunho[0] = (byte) (valor == null ? 0 : valor ? 2 : 1);
+        bytes(rascunho, 0, 1);
+    }
+
+    /**
+     * Tamanho + 1 em varint (0 = nulo) seguido dos bytes UTF-8
+     */
+    public void texto(String valor) throws IOException {
+        if (valor == null) {
+            inteiro(0);
+            return;
+        }
+        byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+        inteiro(utf8.length + 1);
+        bytes(utf8, 0, utf8.length);
+    }
+
+    abstract void bytes(byte[] origem, int inicio, int tamanho) throws IOException;
+}
@@ -0,0 +1,10 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import br.edu.infnet.gabriel.gym_management.armazem.ArmazemMemoria;
+
+/**
+ * Um armazém em memória dentro do arquivo de snapshot. As seções são gravadas e restauradas
+ * na ordem da lista, então uma seção pode referenciar entidades de uma anterior.
+ */
+public record SecaoSnapshot<T>(String nome, ArmazemMemoria<T> armazem, CodificadorSnapshot<T> codificador) {
+}
@@ -0,0 +1,184 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import br.edu.infnet.gabriel.gym_management.service.EnderecoService;
+import br.edu.infnet.gabriel.gym_management.service.InstrutorService;
+import br.edu.infnet.gabriel.gym_management.wal.LogMutacoes;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshots periódicos dos serviços em memória (academias, alunos, endereços e instrutores) no ArquivoSnapshot.
+ *
+ * A gravação roda numa thread própria e percorre os MapaIdConcorrente sem travar leituras nem escritas:
+ * cada registro sai com algum estado entre o início e o fim da gravação. O contador de modificações é lido
+ * antes, então o que mudar durante a gravação entra no próximo snapshot. Os snapshots só começam depois de
+ * liberar (fim da carga inicial ou da restauração), para nunca gravar uma carga pela metade; ao parar a
+ * aplicação sai um último snapshot, se houve mudança.
+ *
+ * Com o LogMutacoes ativo, cada snapshot corta o log antes de começar e apaga os segmentos já cobertos
+ * depois de gravado; na subida, o log é reaplicado sobre o snapshot restaurado.
+ */
+@Component
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotMemoria implements SmartLifecycle {
+
+    private final SnapshotProperties properties;
+    private final List<SecaoSnapshot<?>> secoes;
+    private final LogMutacoes log;
+
+    private ScheduledExecutorService agendador;
+    private volatile boolean rodando;
+    private volatile boolean liberado;
+    private volatile long modificacoesGravadas = -1;
+    private volatile ResultadoSnapshot ultimo;
+
+    public SnapshotMemoria(SnapshotProperties properties, AcademyService academyService, AlunoService alunoService,
+                           EnderecoService enderecoService, InstrutorService instrutorService, LogMutacoes log) {
+        this.properties = properties;
+        this.log = log;
+        // endereços antes de instrutores: o instrutor guarda só a referência ao endereço
+        this.secoes = List.of(
+                new SecaoSnapshot<>(AcademyService.ARMAZEM, academyService, new Codificadores.AcademiaCodificador()),
+                new SecaoSnapshot<>(AlunoService.ARMAZEM, alunoService, new Codificadores.AlunoCodificador()),
+                new SecaoSnapshot<>(EnderecoService.ARMAZEM, enderecoService, new Codificadores.EnderecoCodificador()),
+                new SecaoSnapshot<>(InstrutorService.ARMAZEM, instrutorService,
+                        new Codificadores.InstrutorCodificador(enderecoService)));
+        log.usarSecoes(secoes);
+    }
+
+    /**
+     * Restaura o snapshot, se habilitado e existente, e reaplica o log de mutações sobre ele
+     *
+     * @return true se os armazéns foram restaurados; false se a carga dos arquivos deve rodar
+     */
+    public boolean restaurar() {
+        if (!properties.isRestaurarNaSubida()) {
+            log.descartarExecucoesAnteriores();
+            return false;
+        }
+        ResultadoSnapshot resultado = restaurarSnapshot();
+        boolean reaplicado = log.reproduzir(resultado == null ? -1 : resultado.getMarcaLog());
+        if (resultado == null && !reaplicado) {
+            return false;
+        }
+        modificacoesGravadas = reaplicado ? -1 : modificacoes();
+        return true;
+    }
+
+    /**
+     * Libera os snapshots periódicos; chamado quando os armazéns estão completos
+     */
+    public void liberar() {
+        liberado = true;
+    }
+
+    /**
+     * Grava um snapshot agora, mesmo sem mudanças
+     */
+    public synchronized ResultadoSnapshot gravar() throws IOException {
+        long modificacoes = modificacoes();
+        long marcaLog = log.cortar();
+        ResultadoSnapshot resultado = ArquivoSnapshot.gravar(Path.of(properties.getArquivo()), secoes, marcaLog);
+        modificacoesGravadas = modificacoes;
+        ultimo = resultado;
+        if (marcaLog > 0) {
+            log.descartarAnteriores(marcaLog);
+        }
+        return resultado;
+    }
+
+    /**
+     * Último snapshot gravado ou restaurado, ou null
+     */
+    public ResultadoSnapshot getUltimo() {
+        return ultimo;
+    }
+
+    /**
+     * Sobe antes do servidor web e para depois dele, então o último snapshot já não disputa com requisições
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long intervalo = properties.getIntervalo().toMillis();
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::gravarSeMudou, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        rodando = true;
+    }
+
+    @Override
+    public void stop() {
+        if (!rodando) {
+            return;
+        }
+        rodando = false;
+        agendador.shutdown();
+        try {
+            agendador.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        gravarSeMudou();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rodando;
+    }
+
+    private void gravarSeMudou() {
+        if (!liberado || modificacoes() == modificacoesGravadas) {
+            return;
+        }
+        try {
+            ResultadoSnapshot resultado = gravar();
+            System.out.println("Snapshot gravado em " + resultado.getMillis() + " ms: " + resultado.getRegistros()
+                    + ", " + resultado.getBytes() + " bytes");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Falha ao gravar o snapshot " + properties.getArquivo() + ": " + e.getMessage());
+        }
+    }
+
+    private ResultadoSnapshot restaurarSnapshot() {
+        Path arquivo = Path.of(properties.getArquivo());
+        if (!properties.isEnabled() || !Files.exists(arquivo)) {
+            return null;
+        }
+        try {
+            ResultadoSnapshot resultado = ArquivoSnapshot.restaurar(arquivo, secoes);
+            ultimo = resultado;
+            System.out.println("Snapshot restaurado em " + resultado.getMillis() + " ms: " + resultado.getRegistros()
+                    + ", " + resultado.getBytes() + " bytes");
+            return resultado;
+        } catch (IOException e) {
+            System.err.println("Snapshot " + arquivo + " ignorado: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private long modificacoes() {
+        return secoes.stream().mapToLong(secao -> secao.armazem().modificacoes()).sum();
+    }
+}
@@ -0,0 +1,29 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do snapshot dos armazéns em memória (gym.snapshot.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    private String arquivo = "data/snapshot/gym-management.snap";
+
+    /**
+     * Intervalo entre snapshots; só grava se algum armazém mudou desde o anterior
+     */
+    private Duration intervalo = Duration.ofSeconds(60);
+
+    /**
+     * Restaura o snapshot (e reaplica o log de mutações) na subida, no lugar da carga dos arquivos;
+     * desligado, a carga roda e os segmentos de log de execuções anteriores são apagados
+     */
+    private boolean restaurarNaSubida = true;
+}
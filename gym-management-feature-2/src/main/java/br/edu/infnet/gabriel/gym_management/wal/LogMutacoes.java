@@ -0,0 +1,546 @@
+package br.edu.infnet.gabriel.gym_management.wal;
+
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes;
+import br.edu.infnet.gabriel.gym_management.armazem.MapaIdConcorrente;
+import br.edu.infnet.gabriel.gym_management.snapshot.CodificadorSnapshot;
+import br.edu.infnet.gabriel.gym_management.snapshot.EntradaSnapshot;
+import br.edu.infnet.gabriel.gym_management.snapshot.SaidaMemoria;
+import br.edu.infnet.gabriel.gym_management.snapshot.SecaoSnapshot;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Log de mutações (write-ahead log) dos serviços em memória.
+ *
+ * Cada gravação ou exclusão vira um registro, posto na fila dentro do compute da chave: a ordem no log é a
+ * mesma ordem em que as alterações de um mesmo ID foram aplicadas. Uma única thread escritora esvazia a fila,
+ * junta tudo o que chegou em uma escrita e faz um único fsync pelo grupo (group commit). No modo SINCRONO a
+ * gravação espera o fsync do seu grupo; nos outros ela retorna assim que entra na fila (ModoDurabilidade).
+ *
+ * O log é dividido em segmentos. O snapshot corta o log (cortar) antes de percorrer os mapas: as mutações
+ * que podem faltar no snapshot estão todas do segmento de corte em diante, e os anteriores são apagados
+ * depois que o snapshot é gravado. Na subida, reproduzir reaplica esses segmentos sobre o snapshot restaurado.
+ */
+@Component
+@EnableConfigurationProperties(WalProperties.class)
+public class LogMutacoes implements DiarioMutacoes, SmartLifecycle {
+
+    private static final int SALVAR = 1;
+    private static final int EXCLUIR = 2;
+    private static final int LOTE = 3;
+
+    private final WalProperties properties;
+    private final Path diretorio;
+    private final LinkedBlockingQueue<Registro> fila = new LinkedBlockingQueue<>();
+    private final ReentrantReadWriteLock corte = new ReentrantReadWriteLock();
+    private final LongAdder registros = new LongAdder();
+    private final LongAdder sincronizacoes = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private volatile Map<String, SecaoSnapshot<?>> secoes = Map.of();
+    private volatile boolean rodando;
+    private Thread escritor;
+    private ByteBuffer buffer;
+
+    // da thread escritora, exceto na subida
+    private FileChannel canal;
+    private long tamanhoSegmento;
+
+    // guardados sob o corte (escrita)
+    private long segmentoAtual;
+    private long primeiroSegmentoDaExecucao;
+
+    public LogMutacoes(WalProperties properties) {
+        this.properties = properties;
+        this.diretorio = Path.of(properties.getDiretorio());
+    }
+
+    /**
+     * Armazéns e codificadores das entidades, pelos nomes usados no log (os mesmos das seções do snapshot)
+     */
+    public void usarSecoes(List<SecaoSnapshot<?>> secoes) {
+        Map<String, SecaoSnapshot<?>> porNome = new HashMap<>();
+        secoes.forEach(secao -> porNome.put(secao.nome(), secao));
+        this.secoes = porNome;
+    }
+
+    public boolean isAtivo() {
+        return rodando;
+    }
+
+    @Override
+    public <T> Confirmacao gravar(String armazem, MapaIdConcorrente<T> repositorio, int id, T entidade) {
+        if (!rodando) {
+            return NENHUM.gravar(armazem, repositorio, id, entidade);
+        }
+        CodificadorSnapshot<T> codificador = codificador(armazem);
+        Registro registro = new Registro(codificar(SALVAR, armazem, saida -> {
+            saida.inteiro(id);
+            codificador.escrever(entidade, saida);
+        }));
+        corte.readLock().lock();
+        try {
+            repositorio.alterar(id, atual -> {
+                fila.add(registro);
+                return entidade;
+            });
+        } finally {
+            corte.readLock().unlock();
+        }
+        return confirmacao(registro);
+    }
+
+    @Override
+    public <T> Confirmacao gravarLote(String armazem, MapaIdConcorrente<T> repositorio, Map<Integer, T> lote) {
+        if (!rodando || lote.isEmpty()) {
+            return NENHUM.gravarLote(armazem, repositorio, lote);
+        }
+        CodificadorSnapshot<T> codificador = codificador(armazem);
+        Registro registro = new Registro(codificar(LOTE, armazem, saida -> {
+            saida.inteiro(lote.size());
+            for (Map.Entry<Integer, T> entrada : lote.entrySet()) {
+                saida.inteiro(entrada.getKey());
+                codificador.escrever(entrada.getValue(), saida);
+            }
+        }));
+        corte.readLock().lock();
+        try {
+            fila.add(registro);
+            repositorio.gravarTodos(lote);
+        } finally {
+            corte.readLock().unlock();
+        }
+        return confirmacao(registro);
+    }
+
+    @Override
+    public <T> Remocao<T> remover(String armazem, MapaIdConcorrente<T> repositorio, int id) {
+        if (!rodando) {
+            return NENHUM.remover(armazem, repositorio, id);
+        }
+        Registro registro = new Registro(codificar(EXCLUIR, armazem, saida -> saida.inteiro(id)));
+        AtomicReference<T> removido = new AtomicReference<>();
+        corte.readLock().lock();
+        try {
+            repositorio.alterar(id, atual -> {
+                if (atual != null) {
+                    fila.add(registro);
+                    removido.set(atual);
+                }
+                return null;
+            });
+        } finally {
+            corte.readLock().unlock();
+        }
+        if (removido.get() == null) {
+            return new Remocao<>(null, Confirmacao.IMEDIATA);
+        }
+        return new Remocao<>(removido.get(), confirmacao(registro));
+    }
+
+    /**
+     * Fecha o segmento atual e abre o próximo. Nenhuma mutação fica pela metade durante o corte, então tudo o que
+     * ainda não estiver visível nos mapas depois daqui está no segmento devolvido ou nos seguintes.
+     *
+     * @return O primeiro segmento a reaplicar sobre um snapshot iniciado depois do corte (0 sem log)
+     */
+    public long cortar() {
+        if (!rodando) {
+            return 0;
+        }
+        Registro marca;
+        long novoSegmento;
+        corte.writeLock().lock();
+        try {
+            novoSegmento = ++segmentoAtual;
+            marca = new Registro(novoSegmento);
+            fila.add(marca);
+        } finally {
+            corte.writeLock().unlock();
+        }
+        marca.gravado.join();
+        return novoSegmento;
+    }
+
+    /**
+     * Apaga os segmentos das execuções anteriores, quando a subida não vai reaplicá-los (a carga dos arquivos
+     * recomeça do zero e eles reapareceriam na próxima reprodução)
+     */
+    public void descartarExecucoesAnteriores() {
+        descartarAnteriores(primeiroSegmentoDaExecucao);
+    }
+
+    /**
+     * Apaga os segmentos anteriores a um corte já coberto por snapshot
+     */
+    public void descartarAnteriores(long segmento) {
+        try {
+            for (long numero : SegmentosLog.listar(diretorio)) {
+                if (numero < segmento) {
+                    Files.deleteIfExists(SegmentosLog.arquivo(diretorio, numero));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Falha ao apagar segmentos antigos do log de mutações: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reaplica os segmentos de execuções anteriores a partir de marca (o corte gravado no snapshot restaurado),
+     * na ordem em que foram escritos.
+     *
+     * @param marca Corte do snapshot restaurado; -1 sem snapshot (o log precisa estar completo, a partir do
+     *              segmento 1); 0 para um snapshot gravado sem log, que já contém tudo
+     * @return true se algum registro foi reaplicado
+     */
+    public boolean reproduzir(long marca) {
+        if (!rodando) {
+            return false;
+        }
+        long inicio = System.nanoTime();
+        List<Long> anteriores = new ArrayList<>();
+        try {
+            for (long numero : SegmentosLog.listar(diretorio)) {
+                if (numero < primeiroSegmentoDaExecucao) {
+                    anteriores.add(numero);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Log de mutações ignorado: " + e.getMessage());
+            return false;
+        }
+        long primeiro = marca > 0 ? marca : 1;
+        if (anteriores.isEmpty() || marca == 0) {
+            descartarExecucoesAnteriores();
+            return false;
+        }
+        if (marca < 0 && anteriores.get(0) != 1) {
+            System.err.println("Log de mutações sem o início (segmento " + anteriores.get(0)
+                    + ") e sem snapshot para apoiar; ignorado");
+            descartarExecucoesAnteriores();
+            return false;
+        }
+
+        long reaplicados = 0;
+        long esperado = primeiro;
+        for (long numero : anteriores) {
+            if (numero < primeiro) {
+                continue;
+            }
+            if (numero != esperado) {
+                System.err.println("Log de mutações: segmento " + esperado + " ausente; reprodução interrompida");
+                break;
+            }
+            Path arquivo = SegmentosLog.arquivo(diretorio, numero);
+            long[] contador = new long[1];
+            try {
+                long validos = SegmentosLog.ler(arquivo, conteudo -> {
+                    reaplicar(new EntradaSnapshot(conteudo));
+                    contador[0]++;
+                });
+                if (validos < Files.size(arquivo)) {
+                    System.err.println("Log de mutações: final incompleto em " + arquivo.getFileName()
+                            + " (byte " + validos + ") descartado");
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Log de mutações: falha em " + arquivo.getFileName() + ", reprodução interrompida: "
+                        + e.getMessage());
+                reaplicados += contador[0];
+                break;
+            }
+            reaplicados += contador[0];
+            esperado++;
+        }
+        System.out.println("Log de mutações reaplicado em " + (System.nanoTime() - inicio) / 1_000_000 + " ms: "
+                + reaplicados + " registros de " + anteriores.size() + " segmento(s)");
+        return reaplicados > 0;
+    }
+
+    /**
+     * Registros gravados desde a subida
+     */
+    public long getRegistros() {
+        return registros.sum();
+    }
+
+    /**
+     * fsyncs feitos desde a subida; registros / sincronizações é o tamanho médio dos grupos
+     */
+    public long getSincronizacoes() {
+        return sincronizacoes.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * Sobe antes do snapshot (e do servidor web) e para depois dele, para receber o corte do último snapshot
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(diretorio);
+            List<Long> existentes = SegmentosLog.listar(diretorio);
+            segmentoAtual = existentes.isEmpty() ? 1 : existentes.get(existentes.size() - 1) + 1;
+            primeiroSegmentoDaExecucao = segmentoAtual;
+            abrirSegmento(segmentoAtual);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o log de mutações em " + diretorio, e);
+        }
+        buffer = ByteBuffer.allocateDirect(1 << 20);
+        rodando = true;
+        escritor = new Thread(this::escrever, "log-mutacoes");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!rodando) {
+            return;
+        }
+        rodando = false;
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Log de mutações fechado: " + getRegistros() + " registros em " + getSincronizacoes()
+                + " fsyncs, " + getBytes() + " bytes");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rodando;
+    }
+
+    /**
+     * Laço da thread escritora: um grupo por volta, uma escrita e no máximo um fsync por grupo
+     */
+    private void escrever() {
+        List<Registro> grupo = new ArrayList<>();
+        ModoDurabilidade modo = properties.getDurabilidade();
+        long intervaloSync = properties.getIntervaloSync().toNanos();
+        long ultimoSync = System.nanoTime();
+        boolean semSync = false;
+        boolean trocaPendente = false;
+        while (rodando || !fila.isEmpty()) {
+            try {
+                Registro primeiro = fila.poll(modo == ModoDurabilidade.PERIODICO ? intervaloSync : 100_000_000L,
+                        TimeUnit.NANOSECONDS);
+                if (primeiro != null) {
+                    grupo.add(primeiro);
+                    fila.drainTo(grupo, properties.getMaxGrupo() - 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                for (Registro registro : grupo) {
+                    if (registro.novoSegmento > 0) {
+                        trocarSegmento(registro.novoSegmento);
+                        trocaPendente = false;
+                    } else {
+                        anexar(registro.bytes);
+                        semSync = true;
+                    }
+                }
+                descarregarBuffer();
+                boolean sincronizar = switch (modo) {
+                    case SINCRONO -> semSync;
+                    case PERIODICO -> semSync && (System.nanoTime() - ultimoSync >= intervaloSync || !rodando);
+                    case ASSINCRONO -> false;
+                };
+                if (sincronizar) {
+                    canal.force(false);
+                    sincronizacoes.increment();
+                    ultimoSync = System.nanoTime();
+                    semSync = false;
+                }
+                if (!trocaPendente && tamanhoSegmento >= properties.getTamanhoSegmento().toBytes()) {
+                    // a troca entra na fila, para ficar na ordem de um corte que já esteja lá
+                    corte.writeLock().lock();
+                    try {
+                        fila.add(new Registro(++segmentoAtual));
+                    } finally {
+                        corte.writeLock().unlock();
+                    }
+                    trocaPendente = true;
+                }
+                grupo.forEach(registro -> registro.gravado.complete(null));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Falha ao gravar o log de mutações: " + e.getMessage());
+                grupo.forEach(registro -> registro.gravado.completeExceptionally(e));
+            }
+            grupo.clear();
+        }
+        try {
+            descarregarBuffer();
+            canal.force(false);
+            canal.close();
+        } catch (IOException e) {
+            System.err.println("Falha ao fechar o log de mutações: " + e.getMessage());
+        }
+        IllegalStateException fechado = new IllegalStateException("log de mutações fechado");
+        fila.forEach(registro -> registro.gravado.completeExceptionally(fechado));
+    }
+
+    private void anexar(byte[] registro) throws IOException {
+        if (registro.length > buffer.remaining()) {
+            descarregarBuffer();
+        }
+        if (registro.length > buffer.capacity()) {
+            escreverTudo(ByteBuffer.wrap(registro));
+        } else {
+            buffer.put(registro);
+        }
+        registros.increment();
+        bytes.add(registro.length);
+    }
+
+    private void descarregarBuffer() throws IOException {
+        buffer.flip();
+        escreverTudo(buffer);
+        buffer.clear();
+    }
+
+    private void escreverTudo(ByteBuffer origem) throws IOException {
+        while (origem.hasRemaining()) {
+            tamanhoSegmento += canal.write(origem);
+        }
+    }
+
+    private void trocarSegmento(long numero) throws IOException {
+        descarregarBuffer();
+        canal.force(false);
+        canal.close();
+        abrirSegmento(numero);
+    }
+
+    private void abrirSegmento(long numero) throws IOException {
+        canal = FileChannel.open(SegmentosLog.arquivo(diretorio, numero),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        tamanhoSegmento = 0;
+        try (FileChannel pasta = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            pasta.force(true);
+        } catch (IOException e) {
+            // nem todo sistema permite abrir diretórios (Windows)
+        }
+    }
+
+    /**
+     * No modo síncrono, espera o fsync do registro; quem chama faz isso depois de soltar as travas da mutação
+     */
+    private Confirmacao confirmacao(Registro registro) {
+        if (properties.getDurabilidade() != ModoDurabilidade.SINCRONO) {
+            return Confirmacao.IMEDIATA;
+        }
+        return () -> {
+            try {
+                registro.gravado.join();
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Mutação aplicada em memória, mas sem confirmação de gravação no log",
+                        e.getCause());
+            }
+        };
+    }
+
+    private byte[] codificar(int tipo, String armazem, Conteudo conteudo) {
+        SaidaMemoria saida = new SaidaMemoria(128);
+        try {
+            saida.inteiro(tipo);
+            saida.texto(armazem);
+            conteudo.escrever(saida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return SegmentosLog.enquadrar(saida.paraBytes());
+    }
+
+    private void reaplicar(EntradaSnapshot entrada) {
+        int tipo = entrada.inteiro();
+        SecaoSnapshot<?> secao = secao(entrada.texto());
+        switch (tipo) {
+            case SALVAR -> reaplicarGravacao(secao, entrada);
+            case EXCLUIR -> secao.armazem().reaplicarExclusao(entrada.inteiro());
+            case LOTE -> {
+                int quantidade = entrada.inteiro();
+                for (int i = 0; i < quantidade; i++) {
+                    reaplicarGravacao(secao, entrada);
+                }
+            }
+            default -> throw new IllegalStateException("tipo de registro desconhecido: " + tipo);
+        }
+    }
+
+    private static <T> void reaplicarGravacao(SecaoSnapshot<T> secao, EntradaSnapshot entrada) {
+        int id = entrada.inteiro();
+        secao.armazem().reaplicar(id, secao.codificador().ler(entrada));
+    }
+
+    private SecaoSnapshot<?> secao(String armazem) {
+        SecaoSnapshot<?> secao = secoes.get(armazem);
+        if (secao == null) {
+            throw new IllegalStateException("armazém sem codificador no log de mutações: " + armazem);
+        }
+        return secao;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CodificadorSnapshot<T> codificador(String armazem) {
+        return (CodificadorSnapshot<T>) secao(armazem).codificador();
+    }
+
+    @FunctionalInterface
+    private interface Conteudo {
+        void escrever(SaidaMemoria saida) throws IOException;
+    }
+
+    /**
+     * Registro na fila da thread escritora, ou marca de troca de segmento (novoSegmento > 0)
+     */
+    private static final class Registro {
+        private final byte[] bytes;
+        private final long novoSegmento;
+        private final CompletableFuture<Void> gravado = new CompletableFuture<>();
+
+        private Registro(byte[] bytes) {
+            this.bytes = bytes;
+            this.novoSegmento = 0;
+        }
+
+        private Registro(long novoSegmento) {
+            this.bytes = null;
+            this.novoSegmento = novoSegmento;
+        }
+    }
+}
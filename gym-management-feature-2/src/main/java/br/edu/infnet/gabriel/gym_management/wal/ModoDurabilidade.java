@@ -0,0 +1,25 @@
+package br.edu.infnet.gabriel.gym_management.wal;
+
+/**
+ * Quando uma mutação registrada no log está garantida em disco
+ */
+public enum ModoDurabilidade {
+
+    /**
+     * A gravação só retorna depois do fsync. Gravações concorrentes que chegam enquanto o fsync anterior
+     * está em andamento entram no mesmo grupo e dividem o próximo fsync.
+     */
+    SINCRONO,
+
+    /**
+     * A gravação retorna logo após entrar na fila; o fsync roda a cada gym.wal.intervalo-sync.
+     * Uma queda perde no máximo esse intervalo.
+     */
+    PERIODICO,
+
+    /**
+     * Sem fsync: o log vai para o cache de páginas e o sistema operacional decide quando descarregar.
+     * Sobrevive a uma queda do processo, não a uma queda da máquina.
+     */
+    ASSINCRONO
+}
@@ -0,0 +1,93 @@
+package br.edu.infnet.gabriel.gym_management.wal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivos de segmento do log de mutações: mutacoes-NNNNNNNNNNNNNNNN.log, numerados a partir de 1.
+ * Cada registro é [tamanho int][CRC32C int][conteúdo]; o conteúdo segue o formato do snapshot.
+ */
+final class SegmentosLog {
+
+    private static final String PREFIXO = "mutacoes-";
+    private static final String SUFIXO = ".log";
+    static final int CABECALHO_REGISTRO = 8;
+
+    private SegmentosLog() {
+    }
+
+    static Path arquivo(Path diretorio, long numero) {
+        return diretorio.resolve(PREFIXO + String.format("%016d", numero) + SUFIXO);
+    }
+
+    /**
+     * Números dos segmentos existentes, em ordem
+     */
+    static List<Long> listar(Path diretorio) throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        if (!Files.isDirectory(diretorio)) {
+            return numeros;
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.map(arquivo -> arquivo.getFileName().toString())
+                    .filter(nome -> nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO))
+                    .forEach(nome -> numeros.add(Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()))));
+        }
+        numeros.sort(null);
+        return numeros;
+    }
+
+    /**
+     * Monta o registro com tamanho e CRC à frente do conteúdo
+     */
+    static byte[] enquadrar(byte[] conteudo) {
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo);
+        return ByteBuffer.allocate(CABECALHO_REGISTRO + conteudo.length)
+                .putInt(conteudo.length)
+                .putInt((int) crc.getValue())
+                .put(conteudo)
+                .array();
+    }
+
+    /**
+     * Entrega o conteúdo de cada registro íntegro do segmento, em ordem. Para no primeiro registro incompleto
+     * ou com CRC errado (escrita interrompida por uma queda) e devolve quantos bytes válidos foram lidos.
+     */
+    static long ler(Path arquivo, Consumer<ByteBuffer> registro) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new IOException("segmento " + arquivo + " maior que 2 GB");
+            }
+            ByteBuffer conteudo = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            CRC32C crc = new CRC32C();
+            while (conteudo.remaining() >= CABECALHO_REGISTRO) {
+                int inicio = conteudo.position();
+                int tamanhoRegistro = conteudo.getInt();
+                int crcGravado = conteudo.getInt();
+                if (tamanhoRegistro < 0 || tamanhoRegistro > conteudo.remaining()) {
+                    return inicio;
+                }
+                ByteBuffer corpo = conteudo.slice(conteudo.position(), tamanhoRegistro);
+                crc.reset();
+                crc.update(corpo.duplicate());
+                if ((int) crc.getValue() != crcGravado) {
+                    return inicio;
+                }
+                registro.accept(corpo);
+                conteudo.position(conteudo.position() + tamanhoRegistro);
+            }
+            return conteudo.position();
+        }
+    }
+}
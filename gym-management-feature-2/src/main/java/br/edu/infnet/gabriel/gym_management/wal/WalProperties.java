@@ -0,0 +1,36 @@
+package br.edu.infnet.gabriel.gym_management.wal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do log de mutações dos serviços em memória (gym.wal.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.wal")
+public class WalProperties {
+
+    private boolean enabled = false;
+
+    private String diretorio = "data/wal";
+
+    private ModoDurabilidade durabilidade = ModoDurabilidade.SINCRONO;
+
+    /**
+     * Intervalo entre fsyncs no modo PERIODICO
+     */
+    private Duration intervaloSync = Duration.ofMillis(10);
+
+    /**
+     * Máximo de registros juntados em uma escrita (e um fsync)
+     */
+    private int maxGrupo = 4096;
+
+    /**
+     * Tamanho a partir do qual o segmento é trocado mesmo sem snapshot
+     */
+    private DataSize tamanhoSegmento = DataSize.ofMegabytes(256);
+}
@@ -0,0 +1,193 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes.Confirmacao;
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes.Remocao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ArmazemIndexadoTest {
+
+    private final DiarioControlado diario = new DiarioControlado();
+    private ArmazemIndexado<Ficha> armazem;
+
+    @BeforeEach
+    void criar() {
+        armazem = new ArmazemIndexado<>("fichas", diario, Ficha::id, Ficha::id,
+                IllegalArgumentException::new, List.of(
+                        Campo.unico("cpf", Ficha::cpf),
+                        Campo.multiploSemCaixa("plano", Ficha::plano)));
+    }
+
+    @Test
+    void cpfRepetidoERecusadoSemAlterarOArmazem() {
+        armazem.salvar(new Ficha("111", "Gold"));
+        Ficha segunda = armazem.salvar(new Ficha("222", "Gold"));
+
+        assertThatThrownBy(() -> armazem.salvar(new Ficha("111", "Silver"))).isInstanceOf(IllegalArgumentException.class);
+        Ficha alterada = new Ficha("111", "Silver");
+        alterada.id(segunda.id());
+        assertThatThrownBy(() -> armazem.salvar(alterada)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(armazem.buscarPorId(segunda.id()).cpf()).isEqualTo("222");
+        assertThat(armazem.consultar(Consulta.igual("cpf", "222")).primeiro()).isSameAs(segunda);
+        assertThat(armazem.consultar(Consulta.igual("plano", "silver")).paraLista()).isEmpty();
+    }
+
+    @Test
+    void atualizacaoEExclusaoMovemOsIndices() {
+        Ficha ficha = armazem.salvar(new Ficha("111", "Gold"));
+        Ficha alterada = new Ficha("333", "Silver");
+        alterada.id(ficha.id());
+        armazem.salvar(alterada);
+
+        assertThat(armazem.consultar(Consulta.igual("cpf", "111")).paraLista()).isEmpty();
+        assertThat(armazem.consultar(Consulta.igual("plano", "GOLD")).paraLista()).isEmpty();
+        assertThat(armazem.consultar(Consulta.igual("plano", "SILVER")).paraLista()).containsExactly(alterada);
+
+        assertThat(armazem.excluir(ficha.id())).isSameAs(alterada);
+        assertThat(armazem.excluir(ficha.id())).isNull();
+        assertThat(armazem.salvar(new Ficha("333", "Gold")).id()).isEqualTo(2);
+    }
+
+    @Test
+    void loteComCpfRepetidoRecusaTodasAsNovas() {
+        armazem.salvar(new Ficha("111", "Gold"));
+
+        assertThatThrownBy(() -> armazem.salvarTodos(List.of(new Ficha("444", "Gold"), new Ficha("555", "Gold"),
+                new Ficha("444", "Silver")))).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(armazem.tamanho()).isEqualTo(1);
+        assertThat(armazem.consultar(Consulta.igual("plano", "gold")).paraLista()).hasSize(1);
+        armazem.salvarTodos(List.of(new Ficha("444", "Gold"), new Ficha("555", "Gold")));
+        assertThat(armazem.consultar(Consulta.igual("plano", "gold")).paraLista()).hasSize(3);
+    }
+
+    @Test
+    void restaurarRecriaOsIndicesEOContador() {
+        Ficha ficha = new Ficha("111", "Gold");
+        ficha.id(7);
+
+        armazem.restaurar(List.of(ficha), 3);
+
+        assertThat(armazem.consultar(Consulta.igual("cpf", "111")).primeiro()).isSameAs(ficha);
+        assertThat(armazem.salvar(new Ficha("222", "Gold")).id()).isEqualTo(8);
+    }
+
+    @Test
+    void confirmacaoEsperaForaDaTravaDoId() throws Exception {
+        Ficha ficha = armazem.salvar(new Ficha("111", "Gold"));
+        CountDownLatch esperando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        diario.confirmacao = () -> {
+            esperando.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Ficha primeira = new Ficha("222", "Gold");
+        primeira.id(ficha.id());
+        CompletableFuture<Ficha> pendente = CompletableFuture.supplyAsync(() -> armazem.salvar(primeira));
+        assertThat(esperando.await(5, TimeUnit.SECONDS)).isTrue();
+        diario.confirmacao = Confirmacao.IMEDIATA;
+
+        Ficha segunda = new Ficha("333", "Silver");
+        segunda.id(ficha.id());
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> armazem.salvar(segunda));
+        liberar.countDown();
+        pendente.get(5, TimeUnit.SECONDS);
+
+        assertThat(armazem.buscarPorId(ficha.id())).isSameAs(segunda);
+        assertThat(armazem.consultar(Consulta.igual("cpf", "222")).paraLista()).isEmpty();
+        assertThat(armazem.consultar(Consulta.igual("cpf", "333")).primeiro()).isSameAs(segunda);
+    }
+
+    @Test
+    void falhaNaConfirmacaoMantemMapaEIndicesDeAcordo() {
+        Ficha ficha = armazem.salvar(new Ficha("111", "Gold"));
+        Ficha outra = armazem.salvar(new Ficha("222", "Gold"));
+        diario.confirmacao = () -> {
+            throw new IllegalStateException("sem fsync");
+        };
+
+        Ficha alterada = new Ficha("333", "Silver");
+        alterada.id(ficha.id());
+        assertThatThrownBy(() -> armazem.salvar(alterada)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> armazem.salvarTodos(List.of(new Ficha("444", "Silver"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> armazem.excluir(outra.id())).isInstanceOf(IllegalStateException.class);
+
+        assertThat(armazem.listarTodos()).extracting(Ficha::cpf).containsExactlyInAnyOrder("333", "444");
+        for (Ficha atual : armazem.listarTodos()) {
+            assertThat(armazem.consultar(Consulta.igual("cpf", atual.cpf())).primeiro()).isSameAs(atual);
+        }
+        assertThat(armazem.consultar(Consulta.igual("cpf", "111")).paraLista()).isEmpty();
+        assertThat(armazem.consultar(Consulta.igual("cpf", "222")).paraLista()).isEmpty();
+        assertThat(armazem.consultar(Consulta.igual("plano", "gold")).paraLista()).isEmpty();
+        assertThat(armazem.consultar(Consulta.igual("plano", "silver")).paraLista())
+                .containsExactlyInAnyOrderElementsOf(armazem.listarTodos());
+    }
+
+    /**
+     * Aplica como o NENHUM e devolve a confirmação escolhida pelo teste
+     */
+    private static final class DiarioControlado implements DiarioMutacoes {
+        volatile Confirmacao confirmacao = Confirmacao.IMEDIATA;
+
+        @Override
+        public <T> Confirmacao gravar(String armazem, MapaIdConcorrente<T> repositorio, int id, T entidade) {
+            NENHUM.gravar(armazem, repositorio, id, entidade);
+            return confirmacao;
+        }
+
+        @Override
+        public <T> Confirmacao gravarLote(String armazem, MapaIdConcorrente<T> repositorio, Map<Integer, T> lote) {
+            NENHUM.gravarLote(armazem, repositorio, lote);
+            return confirmacao;
+        }
+
+        @Override
+        public <T> Remocao<T> remover(String armazem, MapaIdConcorrente<T> repositorio, int id) {
+            return new Remocao<>(NENHUM.remover(armazem, repositorio, id).entidade(), confirmacao);
+        }
+    }
+
+    private static final class Ficha {
+        private Integer id;
+        private final String cpf;
+        private final String plano;
+
+        private Ficha(String cpf, String plano) {
+            this.cpf = cpf;
+            this.plano = plano;
+        }
+
+        Integer id() {
+            return id;
+        }
+
+        void id(Integer id) {
+            this.id = id;
+        }
+
+        String cpf() {
+            return cpf;
+        }
+
+        String plano() {
+            return plano;
+        }
+    }
+}
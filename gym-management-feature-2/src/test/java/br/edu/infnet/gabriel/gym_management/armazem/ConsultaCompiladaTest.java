@@ -0,0 +1,200 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cada forma de consulta contra um filtro por força bruta sobre todas as entidades do armazém,
+ * num armazém aleatório (semente fixa) com valores nulos, caixas misturadas, atualizações e exclusões.
+ */
+class ConsultaCompiladaTest {
+
+    private static final String[] ESPECIALIDADES = {"Yoga", "yoga", "Pilates", "Cross", null};
+
+    private final Random aleatorio = new Random(1);
+    private ArmazemIndexado<Ficha> armazem;
+
+    @BeforeEach
+    void preencher() {
+        armazem = new ArmazemIndexado<>("fichas", DiarioMutacoes.NENHUM, ficha -> ficha.id, (ficha, id) -> ficha.id = id,
+                IllegalArgumentException::new, List.of(
+                        Campo.unico("cpf", (Ficha ficha) -> ficha.cpf),
+                        Campo.multiploSemCaixa("especialidade", (Ficha ficha) -> ficha.especialidade),
+                        Campo.multiplo("ativo", (Ficha ficha) -> ficha.ativo),
+                        Campo.ordenado("salario", (Ficha ficha) -> ficha.salario),
+                        Campo.ordenado("nome", (Ficha ficha) -> ficha.nome),
+                        Campo.simples("apelido", (Ficha ficha) -> ficha.nome)));
+        for (int i = 0; i < 3000; i++) {
+            salvarIgnorandoConflito(sortear());
+        }
+        for (int i = 0; i < 600; i++) {
+            Ficha ficha = sortear();
+            ficha.id = 1 + aleatorio.nextInt(3000);
+            if (aleatorio.nextBoolean()) {
+                salvarIgnorandoConflito(ficha);
+            } else {
+                armazem.excluir(ficha.id);
+            }
+        }
+    }
+
+    @Test
+    void conjuncaoDeIgualdadeSemCaixaEFaixa() {
+        ConsultaCompilada<Ficha> consulta = armazem.compilar(Consulta.e(
+                Consulta.igual("especialidade", Consulta.parametro(0)),
+                Consulta.entre("salario", Consulta.parametro(1), Consulta.parametro(2))));
+
+        for (int i = 0; i < 100; i++) {
+            String especialidade = ESPECIALIDADES[aleatorio.nextInt(4)];
+            double de = aleatorio.nextInt(1000);
+            double ate = de + aleatorio.nextInt(300) - 50;
+            comparar(consulta.executar(especialidade, de, ate), ficha -> ficha.especialidade != null
+                    && ficha.especialidade.equalsIgnoreCase(especialidade)
+                    && ficha.salario != null && ficha.salario >= de && ficha.salario <= ate);
+        }
+    }
+
+    @Test
+    void disjuncaoDeIndicesNaoRepeteEntidades() {
+        ConsultaCompilada<Ficha> consulta = armazem.compilar(Consulta.ou(
+                Consulta.igual("ativo", false), Consulta.prefixo("nome", Consulta.parametro(0))));
+
+        for (int i = 0; i < 100; i++) {
+            String prefixo = "N" + aleatorio.nextInt(60);
+            comparar(consulta.executar(prefixo), ficha -> Boolean.FALSE.equals(ficha.ativo)
+                    || ficha.nome != null && ficha.nome.startsWith(prefixo));
+        }
+    }
+
+    @Test
+    void disjuncaoComParteSemIndiceVarreOArmazem() {
+        comparar(armazem.consultar(Consulta.ou(Consulta.igual("apelido", "N7"), Consulta.maiorOuIgual("salario", 990.0))),
+                ficha -> "N7".equals(ficha.nome) || ficha.salario != null && ficha.salario >= 990);
+    }
+
+    @Test
+    void conjuncaoComDisjuncaoDentro() {
+        ConsultaCompilada<Ficha> consulta = armazem.compilar(Consulta.e(
+                Consulta.ou(Consulta.igual("especialidade", "pilates"), Consulta.igual("especialidade", "CROSS")),
+                Consulta.menorOuIgual("salario", Consulta.parametro(0)),
+                Consulta.igual("ativo", true)));
+
+        for (int i = 0; i < 100; i++) {
+            double limite = aleatorio.nextInt(1000);
+            comparar(consulta.executar(limite), ficha -> ficha.especialidade != null
+                    && (ficha.especialidade.equalsIgnoreCase("pilates") || ficha.especialidade.equalsIgnoreCase("cross"))
+                    && ficha.salario != null && ficha.salario <= limite && Boolean.TRUE.equals(ficha.ativo));
+        }
+    }
+
+    @Test
+    void prefixoIndexadoFiltradoPorPrefixoSemIndice() {
+        comparar(armazem.consultar(Consulta.e(Consulta.prefixo("nome", "N4"), Consulta.prefixo("apelido", "N49"))),
+                ficha -> ficha.nome != null && ficha.nome.startsWith("N49"));
+    }
+
+    @Test
+    void limitesDaFaixa() {
+        comparar(armazem.consultar(Consulta.entre("salario", 100.0, 100.0)),
+                ficha -> ficha.salario != null && ficha.salario == 100);
+        comparar(armazem.consultar(Consulta.entre("salario", 500.0, 400.0)), ficha -> false);
+        comparar(armazem.consultar(Consulta.menorOuIgual("salario", 10.0)),
+                ficha -> ficha.salario != null && ficha.salario <= 10);
+        comparar(armazem.consultar(Consulta.entre("salario", null, null)), ficha -> ficha.salario != null);
+        comparar(armazem.consultar(Consulta.entre("nome", "N10", "N11")),
+                ficha -> ficha.nome != null && ficha.nome.compareTo("N10") >= 0 && ficha.nome.compareTo("N11") <= 0);
+    }
+
+    @Test
+    void valorNuloNaoEncontraNada() {
+        assertThat(armazem.consultar(Consulta.igual("especialidade", null)).paraLista()).isEmpty();
+        assertThat(armazem.compilar(Consulta.prefixo("nome", Consulta.parametro(0))).executar((Object) null)
+                .paraLista()).isEmpty();
+    }
+
+    @Test
+    void resultadoPreguicosoVeGravacoesFeitasDepoisDaExecucao() {
+        Resultado<Ficha> resultado = armazem.consultar(Consulta.igual("cpf", "novo"));
+        assertThat(resultado.primeiro()).isNull();
+
+        Ficha nova = new Ficha();
+        nova.cpf = "novo";
+        armazem.salvar(nova);
+        assertThat(resultado.primeiro()).isSameAs(nova);
+
+        armazem.excluir(nova.id);
+        assertThat(resultado).isEmpty();
+    }
+
+    @Test
+    void iteradorPulaEntidadeExcluidaAntesDeChegarNela() {
+        Resultado<Ficha> ativos = armazem.consultar(Consulta.igual("ativo", true));
+        List<Ficha> antes = ativos.paraLista();
+        Ficha ultima = antes.get(antes.size() - 1);
+
+        Iterator<Ficha> iterador = ativos.iterator();
+        iterador.next();
+        armazem.excluir(ultima.id);
+
+        List<Ficha> restantes = new ArrayList<>();
+        iterador.forEachRemaining(restantes::add);
+        assertThat(restantes).hasSize(antes.size() - 2).doesNotContain(ultima);
+    }
+
+    @Test
+    void recusaParametrosEmFaltaECampoNaoDeclarado() {
+        ConsultaCompilada<Ficha> consulta = armazem.compilar(Consulta.entre("salario", Consulta.parametro(0),
+                Consulta.parametro(1)));
+
+        assertThatThrownBy(() -> consulta.executar(1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> armazem.compilar(Consulta.igual("inexistente", 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> armazem.compilar(Consulta.ou())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void comparar(Resultado<Ficha> resultado, Predicate<Ficha> filtro) {
+        List<Ficha> obtidas = resultado.paraLista();
+        Set<Ficha> esperadas = armazem.entidades().stream().filter(filtro).collect(Collectors.toSet());
+
+        assertThat(new HashSet<>(obtidas)).hasSameSizeAs(obtidas).isEqualTo(esperadas);
+    }
+
+    private void salvarIgnorandoConflito(Ficha ficha) {
+        try {
+            armazem.salvar(ficha);
+        } catch (IllegalArgumentException e) {
+            // cpf repetido: o armazém recusa, como faria com um usuário
+        }
+    }
+
+    private Ficha sortear() {
+        Ficha ficha = new Ficha();
+        ficha.nome = aleatorio.nextInt(10) == 0 ? null : "N" + aleatorio.nextInt(500);
+        ficha.especialidade = ESPECIALIDADES[aleatorio.nextInt(ESPECIALIDADES.length)];
+        ficha.salario = aleatorio.nextInt(20) == 0 ? null : (double) aleatorio.nextInt(1000);
+        ficha.ativo = aleatorio.nextInt(10) == 0 ? null : aleatorio.nextBoolean();
+        ficha.cpf = aleatorio.nextBoolean() ? null : "c" + aleatorio.nextInt(100_000);
+        return ficha;
+    }
+
+    static final class Ficha {
+        Integer id;
+        String nome;
+        String especialidade;
+        Double salario;
+        Boolean ativo;
+        String cpf;
+    }
+}
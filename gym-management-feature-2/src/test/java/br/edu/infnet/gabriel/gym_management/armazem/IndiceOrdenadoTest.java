@@ -0,0 +1,74 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceOrdenadoTest {
+
+    private IndiceOrdenado<String> indice;
+
+    @BeforeEach
+    void indexar() {
+        indice = new IndiceOrdenado<>(Campo.ordenado("nome", (String nome) -> nome));
+        String[] nomes = {"Ana", "Bruno", "Bruna", "Carla", "Carlos", "Carol", "Davi"};
+        for (int id = 1; id <= nomes.length; id++) {
+            indice.forcar(nomes[id - 1], id);
+        }
+        indice.forcar("Carla", 8);
+    }
+
+    @Test
+    void faixaInclusivaEmOrdemDeValor() {
+        assertThat(ids(indice.faixa("Bruna", "Carla"))).containsExactly(3, 2, 4, 8);
+        assertThat(ids(indice.faixa("Bruno", "Bruno"))).containsExactly(2);
+        assertThat(ids(indice.faixa("Bz", "Ca"))).isEmpty();
+    }
+
+    @Test
+    void limitesAbertosEInvertidos() {
+        assertThat(ids(indice.faixa(null, "Bruna"))).containsExactly(1, 3);
+        assertThat(ids(indice.faixa("Carol", null))).containsExactly(6, 7);
+        assertThat(ids(indice.faixa(null, null))).hasSize(8);
+        assertThat(ids(indice.faixa("Davi", "Ana"))).isEmpty();
+        assertThat(indice.contarFaixa("Davi", "Ana", 100)).isZero();
+    }
+
+    @Test
+    void prefixoParaNaPrimeiraChaveDeFora() {
+        assertThat(ids(indice.prefixo("Car"))).containsExactly(4, 8, 5, 6);
+        assertThat(ids(indice.prefixo("Carl"))).containsExactly(4, 8, 5);
+        assertThat(ids(indice.prefixo("Bruno"))).containsExactly(2);
+        assertThat(ids(indice.prefixo("Z"))).isEmpty();
+        assertThat(ids(indice.prefixo(""))).hasSize(8);
+        assertThat(indice.contarPrefixo("Car", 100)).isEqualTo(4);
+    }
+
+    @Test
+    void contagemParaAoPassarDoLimite() {
+        assertThat(indice.contarFaixa(null, null, 100)).isEqualTo(8);
+        assertThat(indice.contarFaixa(null, null, 2)).isEqualTo(3);
+        assertThat(indice.contarPrefixo("Car", 0)).isEqualTo(2);
+    }
+
+    @Test
+    void chaveSemIdsNaoApareceNaFaixa() {
+        indice.liberar("Bruno", 2);
+        indice.liberar("Carla", 4);
+
+        assertThat(ids(indice.faixa("Bruna", "Carlos"))).containsExactly(3, 8, 5);
+        assertThat(ids(indice.prefixo("Bruno"))).isEmpty();
+        assertThat(indice.contarIguais("Bruno")).isZero();
+    }
+
+    private static List<Integer> ids(Iterator<Integer> iterador) {
+        List<Integer> ids = new ArrayList<>();
+        iterador.forEachRemaining(ids::add);
+        return ids;
+    }
+}
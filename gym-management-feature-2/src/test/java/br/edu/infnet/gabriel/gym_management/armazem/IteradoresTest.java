@@ -0,0 +1,78 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IteradoresTest {
+
+    @Test
+    void achatarPulaConjuntosVaziosEMantemAOrdem() {
+        Iterator<Integer> ids = Iteradores.achatar(List.<Set<Integer>>of(
+                Set.of(), conjunto(1, 2), Set.of(), Set.of(), conjunto(3), Set.of()).iterator());
+
+        List<Integer> lidos = new ArrayList<>();
+        ids.forEachRemaining(lidos::add);
+        assertThat(lidos).containsExactly(1, 2, 3);
+        assertThatThrownBy(ids::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void achatarSoAbreOConjuntoQuandoPrecisa() {
+        AtomicInteger abertos = new AtomicInteger();
+        Iterator<Set<Integer>> conjuntos = List.of(conjunto(1), conjunto(2), conjunto(3)).iterator();
+        Iterator<Integer> ids = Iteradores.achatar(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return conjuntos.hasNext();
+            }
+
+            @Override
+            public Set<Integer> next() {
+                abertos.incrementAndGet();
+                return conjuntos.next();
+            }
+        });
+
+        assertThat(abertos).hasValue(0);
+        assertThat(ids.next()).isEqualTo(1);
+        assertThat(abertos).hasValue(1);
+        assertThat(ids.next()).isEqualTo(2);
+        assertThat(abertos).hasValue(2);
+    }
+
+    @Test
+    void antecipadoCalculaUmaVezPorElemento() {
+        AtomicInteger chamadas = new AtomicInteger();
+        Iterator<Integer> iterador = new Iteradores.Antecipado<>() {
+            @Override
+            protected Integer calcular() {
+                int chamada = chamadas.incrementAndGet();
+                return chamada <= 2 ? chamada : null;
+            }
+        };
+
+        assertThat(iterador.hasNext()).isTrue();
+        assertThat(iterador.hasNext()).isTrue();
+        assertThat(chamadas).hasValue(1);
+        assertThat(iterador.next()).isEqualTo(1);
+        assertThat(iterador.next()).isEqualTo(2);
+        assertThat(iterador.hasNext()).isFalse();
+        assertThat(iterador.hasNext()).isFalse();
+        assertThat(chamadas).hasValue(3);
+        assertThatThrownBy(iterador::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static Set<Integer> conjunto(Integer... ids) {
+        return new LinkedHashSet<>(List.of(ids));
+    }
+}
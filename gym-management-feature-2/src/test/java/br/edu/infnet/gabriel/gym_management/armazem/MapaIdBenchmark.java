@@ -0,0 +1,105 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o MapaIdConcorrente com o ConcurrentHashMap&lt;Integer, T&gt; que os armazéns usavam: busca por ID
+ * direto no mapa e pelo AlunoService.buscarPorId(int). Antes do JMH, o main mede com JOL os bytes por entrada
+ * das duas estruturas com 2 milhões de IDs (só o mapa: as entradas apontam todas para a mesma entidade).
+ *
+ * Execução: mvn test-compile e depois rodar o main desta classe pela IDE
+ * (ou via java -cp com o classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class MapaIdBenchmark {
+
+    private static final int ENTRADAS_JOL = 2_000_000;
+
+    @Param({"100000", "2000000"})
+    private int alunos;
+
+    private ConcurrentHashMap<Integer, Aluno> concurrentHashMap;
+    private MapaIdConcorrente<Aluno> mapaId;
+    private AlunoService service;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void carregar() {
+        service = new AlunoService();
+        List<Aluno> lote = new ArrayList<>(alunos);
+        for (int i = 0; i < alunos; i++) {
+            Aluno aluno = new Aluno("MAT" + i, "Gold", "2024-01-01", true);
+            aluno.setNome("Aluno " + i);
+            aluno.setEmail("aluno" + i + "@email.com");
+            aluno.setCpf("CPF" + i);
+            lote.add(aluno);
+        }
+        service.salvarTodos(lote);
+        concurrentHashMap = new ConcurrentHashMap<>();
+        mapaId = new MapaIdConcorrente<>();
+        for (Aluno aluno : lote) {
+            concurrentHashMap.put(aluno.getId(), aluno);
+            mapaId.gravar(aluno.getId(), aluno);
+        }
+    }
+
+    /**
+     * Percorre os IDs com um passo primo, fora da faixa de Integer em cache
+     */
+    private int proximo() {
+        proximo = (proximo + 7919) % alunos;
+        return proximo + 1;
+    }
+
+    @Benchmark
+    public Aluno concurrentHashMap() {
+        return concurrentHashMap.get(proximo());
+    }
+
+    @Benchmark
+    public Aluno mapaId() {
+        return mapaId.buscar(proximo());
+    }
+
+    @Benchmark
+    public Aluno servico() {
+        return service.buscarPorId(proximo());
+    }
+
+    private static void medirMemoria() {
+        Object entidade = new Object();
+        ConcurrentHashMap<Integer, Object> concurrentHashMap = new ConcurrentHashMap<>();
+        MapaIdConcorrente<Object> mapaId = new MapaIdConcorrente<>();
+        for (int id = 1; id <= ENTRADAS_JOL; id++) {
+            concurrentHashMap.put(id, entidade);
+            mapaId.gravar(id, entidade);
+        }
+        long bytesConcurrentHashMap = GraphLayout.parseInstance(concurrentHashMap).totalSize();
+        long bytesMapaId = GraphLayout.parseInstance(mapaId).totalSize();
+        System.out.printf("ConcurrentHashMap<Integer, T>: %d bytes, %.1f por entrada%n",
+                bytesConcurrentHashMap, bytesConcurrentHashMap / (double) ENTRADAS_JOL);
+        System.out.printf("MapaIdConcorrente<T>:          %d bytes, %.1f por entrada%n",
+                bytesMapaId, bytesMapaId / (double) ENTRADAS_JOL);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        medirMemoria();
+        new Runner(new OptionsBuilder().include(MapaIdBenchmark.class.getSimpleName()).build()).run();
+    }
+}
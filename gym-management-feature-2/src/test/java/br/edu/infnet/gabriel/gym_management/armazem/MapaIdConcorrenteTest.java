@@ -0,0 +1,154 @@
+package br.edu.infnet.gabriel.gym_management.armazem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MapaIdConcorrenteTest {
+
+    @Test
+    void operacoesAleatoriasBatemComHashMap() {
+        Random aleatorio = new Random(3);
+        MapaIdConcorrente<Integer> mapa = new MapaIdConcorrente<>();
+        Map<Integer, Integer> referencia = new HashMap<>();
+
+        for (int i = 0; i < 300_000; i++) {
+            int id = aleatorio.nextInt(20_000) - 1_000;
+            int operacao = aleatorio.nextInt(10);
+            if (operacao < 5) {
+                assertThat(mapa.gravar(id, i)).isEqualTo(referencia.put(id, i));
+            } else if (operacao < 8) {
+                assertThat(mapa.remover(id)).isEqualTo(referencia.remove(id));
+            } else if (operacao < 9) {
+                assertThat(mapa.alterar(id, atual -> atual == null ? null : atual + 1))
+                        .isEqualTo(referencia.computeIfPresent(id, (chave, atual) -> atual + 1));
+            } else {
+                assertThat(mapa.buscar(id)).isEqualTo(referencia.get(id));
+            }
+            if (i % 50_000 == 0) {
+                assertThat(mapa.tamanho()).isEqualTo(referencia.size());
+                assertThat(mapa.valores()).containsExactlyInAnyOrderElementsOf(referencia.values());
+            }
+        }
+
+        for (int id = -1_000; id < 19_000; id++) {
+            assertThat(mapa.buscar(id)).isEqualTo(referencia.get(id));
+        }
+        assertThat(mapa.valores()).containsExactlyInAnyOrderElementsOf(referencia.values());
+    }
+
+    @Test
+    void cresceAlemDaCapacidadeInicialELimpa() {
+        MapaIdConcorrente<String> mapa = new MapaIdConcorrente<>();
+        Map<Integer, String> lote = new HashMap<>();
+        IntStream.rangeClosed(1, 100_000).forEach(id -> lote.put(id, "E" + id));
+        mapa.gravarTodos(lote);
+        mapa.gravar(Integer.MIN_VALUE, "minimo");
+        mapa.gravar(0, "zero");
+
+        assertThat(mapa.tamanho()).isEqualTo(100_002);
+        assertThat(mapa.buscar(77_777)).isEqualTo("E77777");
+        assertThat(mapa.buscar(Integer.MIN_VALUE)).isEqualTo("minimo");
+        assertThat(mapa.buscar(100_001)).isNull();
+
+        mapa.limpar();
+        assertThat(mapa.tamanho()).isZero();
+        assertThat(mapa.valores()).isEmpty();
+        assertThat(mapa.buscar(0)).isNull();
+    }
+
+    @Test
+    void removidoVoltaAoSerGravadoDeNovo() {
+        MapaIdConcorrente<String> mapa = new MapaIdConcorrente<>();
+        mapa.gravar(5, "a");
+        mapa.remover(5);
+        assertThat(mapa.buscar(5)).isNull();
+        assertThat(mapa.alterar(5, atual -> atual == null ? "b" : atual + "!")).isEqualTo("b");
+        assertThat(mapa.alterar(5, atual -> null)).isNull();
+        assertThat(mapa.tamanho()).isZero();
+        assertThatThrownBy(() -> mapa.gravar(1, null)).isInstanceOf(NullPointerException.class);
+    }
+
+    /**
+     * Cada escritor tem as suas chaves e grava [chave, rodada], com exclusões no meio. Os leitores nunca podem
+     * ver a entidade de outra chave, nem pela busca nem pela iteração; no fim só a última rodada sobra.
+     */
+    @Test
+    void leitoresConcorrentesNuncaVeemEntidadeDeOutraChave() throws Exception {
+        int escritores = 8;
+        int porEscritor = 20_000;
+        int rodadas = 10;
+        MapaIdConcorrente<long[]> mapa = new MapaIdConcorrente<>();
+        AtomicBoolean fim = new AtomicBoolean();
+        ExecutorService threads = Executors.newFixedThreadPool(escritores + 4);
+        try {
+            List<Future<?>> gravacoes = new ArrayList<>();
+            for (int escritor = 0; escritor < escritores; escritor++) {
+                int deslocamento = escritor;
+                gravacoes.add(threads.submit(() -> {
+                    Random aleatorio = new Random(deslocamento);
+                    for (int rodada = 1; rodada <= rodadas; rodada++) {
+                        for (int i = 0; i < porEscritor; i++) {
+                            int id = i * escritores + deslocamento;
+                            if (rodada < rodadas && aleatorio.nextInt(10) == 0) {
+                                mapa.remover(id);
+                            } else {
+                                mapa.gravar(id, new long[]{id, rodada});
+                            }
+                        }
+                    }
+                }));
+            }
+            List<Future<Long>> leituras = new ArrayList<>();
+            for (int leitor = 0; leitor < 4; leitor++) {
+                Random aleatorio = new Random(100 + leitor);
+                leituras.add(threads.submit(() -> {
+                    long lidos = 0;
+                    while (!fim.get()) {
+                        int id = aleatorio.nextInt(escritores * porEscritor);
+                        long[] entidade = mapa.buscar(id);
+                        if (entidade != null) {
+                            assertThat(entidade[0]).isEqualTo(id);
+                            lidos++;
+                        }
+                        if (aleatorio.nextInt(20_000) == 0) {
+                            for (long[] atual : mapa.valores()) {
+                                long[] buscado = mapa.buscar((int) atual[0]);
+                                assertThat(buscado == null || buscado[0] == atual[0]).isTrue();
+                            }
+                        }
+                    }
+                    return lidos;
+                }));
+            }
+
+            for (Future<?> gravacao : gravacoes) {
+                gravacao.get();
+            }
+            fim.set(true);
+            for (Future<Long> leitura : leituras) {
+                assertThat(leitura.get()).isPositive();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        for (int id = 0; id < escritores * porEscritor; id++) {
+            assertThat(mapa.buscar(id)).containsExactly(id, rodadas);
+        }
+        assertThat(mapa.tamanho()).isEqualTo(escritores * porEscritor);
+        assertThat(mapa.valores()).hasSize(escritores * porEscritor);
+    }
+}
@@ -0,0 +1,133 @@
+package br.edu.infnet.gabriel.gym_management.loader;
+
+import br.edu.infnet.gabriel.gym_management.model.Endereco;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o parser antigo (BufferedReader + split + trim) com o LeitorMapeado
+ * sobre um arquivo de instrutores gerado no setup.
+ *
+ * Execução: mvn test-compile e depois rodar o main desta classe pela IDE
+ * (ou via java -cp com o classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ParserBenchmark {
+
+    private static final String LINHA =
+            "João Silva %d;joao%d@gmail.com;123.456.%03d-10;11999999999;REG%d;Musculação;5000.%02d;true;"
+                    + "01310-100;Avenida Paulista;Apto %d;100;Bela Vista;São Paulo;SP;São Paulo\n";
+
+    @Param({"100000", "1000000"})
+    private int linhas;
+
+    private Path arquivo;
+    private InstrutorLoader carregador;
+
+    @Setup(Level.Trial)
+    public void gerarArquivo() throws IOException {
+        arquivo = Files.createTempFile("instrutores-benchmark", ".txt");
+        StringBuilder conteudo = new StringBuilder(linhas * 180);
+        for (int i = 0; i < linhas; i++) {
+            conteudo.append(LINHA.formatted(i, i, i % 1000, i, i % 100, i));
+        }
+        Files.writeString(arquivo, conteudo, StandardCharsets.UTF_8);
+        carregador = new InstrutorLoader(null, null, new CargaProperties());
+    }
+
+    @TearDown(Level.Trial)
+    public void removerArquivo() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public void parserAntigo(Blackhole bh) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                bh.consume(parsearLinhaAntiga(linha));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapeadoUmaThread(Blackhole bh) throws IOException {
+        CamposLinha campos = new CamposLinha(17);
+        for (LeitorMapeado.Trecho trecho : LeitorMapeado.mapear(arquivo, 1)) {
+            LeitorMapeado.percorrer(trecho, campos, linha -> bh.consume(carregador.converter(linha)));
+        }
+    }
+
+    @Benchmark
+    public long mapeadoParalelo() throws IOException {
+        List<LeitorMapeado.Trecho> trechos = LeitorMapeado.mapear(arquivo, Runtime.getRuntime().availableProcessors());
+        return trechos.parallelStream()
+                .mapToLong(trecho -> {
+                    CamposLinha campos = new CamposLinha(17);
+                    long[] convertidos = {0};
+                    LeitorMapeado.percorrer(trecho, campos, linha -> {
+                        if (carregador.converter(linha) != null) {
+                            convertidos[0]++;
+                        }
+                    });
+                    return convertidos[0];
+                })
+                .sum();
+    }
+
+    /**
+     * Cópia do InstrutorLoader.parsearLinha anterior ao LeitorMapeado
+     */
+    private static Instrutor parsearLinhaAntiga(String linha) {
+        String[] partes = linha.split(";");
+        if (partes.length != 16) {
+            return null;
+        }
+        Endereco endereco = new Endereco();
+        endereco.setCep(partes[8].trim());
+        endereco.setLogradouro(partes[9].trim());
+        endereco.setComplemento(partes[10].trim());
+        endereco.setUnidade(partes[11].trim());
+        endereco.setBairro(partes[12].trim());
+        endereco.setLocalidade(partes[13].trim());
+        endereco.setUf(partes[14].trim());
+        endereco.setEstado(partes[15].trim());
+
+        Instrutor instrutor = new Instrutor();
+        instrutor.setNome(partes[0].trim());
+        instrutor.setEmail(partes[1].trim());
+        instrutor.setCpf(partes[2].trim());
+        instrutor.setTelefone(partes[3].trim());
+        instrutor.setRegistro(partes[4].trim());
+        instrutor.setEspecialidade(partes[5].trim());
+        instrutor.setSalario(Double.parseDouble(partes[6].trim()));
+        instrutor.setStatus(Boolean.parseBoolean(partes[7].trim()));
+        instrutor.setEndereco(endereco);
+        return instrutor;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
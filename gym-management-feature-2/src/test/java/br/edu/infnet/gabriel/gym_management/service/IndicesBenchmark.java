@@ -0,0 +1,119 @@
+package br.edu.infnet.gabriel.gym_management.service;
+
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara as buscas do AlunoService pelos índices com a varredura de repositorio.values() usada antes
+ * deles. Com os índices o tempo não muda de 100 mil para 1 milhão de alunos; as listas por plano e status
+ * custam proporcionalmente ao resultado (100 alunos no plano Diamante, 1 em cada 1000 inativo).
+ *
+ * Execução: mvn test-compile e depois rodar o main desta classe pela IDE
+ * (ou via java -cp com o classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class IndicesBenchmark {
+
+    private static final String[] PLANOS = {"Gold", "Silver", "Bronze"};
+
+    @Param({"100000", "1000000"})
+    private int alunos;
+
+    private AlunoService service;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void carregar() {
+        service = new AlunoService();
+        List<Aluno> lote = new ArrayList<>(alunos);
+        for (int i = 0; i < alunos; i++) {
+            Aluno aluno = new Aluno("MAT" + i, i % (alunos / 100) == 0 ? "Diamante" : PLANOS[i % PLANOS.length],
+                    "2024-01-01", i % 1000 != 0);
+            aluno.setNome("Aluno " + i);
+            aluno.setEmail("aluno" + i + "@email.com");
+            aluno.setCpf(cpf(i));
+            lote.add(aluno);
+        }
+        service.salvarTodos(lote);
+    }
+
+    /**
+     * Percorre os alunos com um passo primo, para as buscas não repetirem a mesma chave
+     */
+    private int proximo() {
+        proximo = (proximo + 7919) % alunos;
+        return proximo;
+    }
+
+    @Benchmark
+    public Aluno cpfIndice() {
+        return service.buscarPorCpf(cpf(proximo()));
+    }
+
+    @Benchmark
+    public Aluno cpfVarredura() {
+        String cpf = cpf(proximo());
+        return service.entidades().stream()
+                .filter(a -> a.getCpf() != null && a.getCpf().equals(cpf))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public Aluno matriculaIndice() {
+        return service.buscarPorMatricula("MAT" + proximo());
+    }
+
+    @Benchmark
+    public Aluno matriculaVarredura() {
+        String matricula = "MAT" + proximo();
+        return service.entidades().stream()
+                .filter(a -> a.getMatricula() != null && a.getMatricula().equals(matricula))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public List<Aluno> planoIndice() {
+        return service.buscarPorPlano("diamante").paraLista();
+    }
+
+    @Benchmark
+    public List<Aluno> planoVarredura() {
+        return service.entidades().stream()
+                .filter(a -> a.getPlano() != null && a.getPlano().equalsIgnoreCase("diamante"))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Aluno> inativosIndice() {
+        return service.buscarPorStatus(false).paraLista();
+    }
+
+    @Benchmark
+    public List<Aluno> inativosVarredura() {
+        return service.entidades().stream()
+                .filter(a -> Boolean.FALSE.equals(a.getStatus()))
+                .toList();
+    }
+
+    private static String cpf(int i) {
+        return String.format("%03d.%03d.%03d-%02d", i / 1_000_000 % 1000, i / 1000 % 1000, i % 1000, i % 97);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IndicesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package br.edu.infnet.gabriel.gym_management.snapshot;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Endereco;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import br.edu.infnet.gabriel.gym_management.service.EnderecoService;
+import br.edu.infnet.gabriel.gym_management.service.InstrutorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArquivoSnapshotTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void restauraRegistrosContadoresEReferenciasDeEndereco() throws IOException {
+        Armazens origem = new Armazens();
+        origem.academias.salvar(new Academia(null, "Academia Elite", "98.765.432/0001-99", "Rua A, 10", null, true));
+        for (int i = 0; i < 3; i++) {
+            origem.alunos.salvar(aluno(i));
+        }
+        origem.alunos.excluir(2);
+        Endereco endereco = origem.enderecos.salvar(new Endereco(null, "20000-000", "Rua B", null, null, "Centro",
+                "Rio de Janeiro", "RJ", "Rio de Janeiro"));
+        origem.instrutores.salvar(instrutor("João Silva", endereco));
+        origem.instrutores.salvar(instrutor("Maria Santos", null));
+
+        Path arquivo = diretorio.resolve("gym.snap");
+        ResultadoSnapshot gravado = ArquivoSnapshot.gravar(arquivo, origem.secoes(), 0);
+        assertThat(gravado.getRegistros()).containsEntry("alunos", 2).containsEntry("instrutores", 2);
+        assertThat(Files.size(arquivo)).isEqualTo(gravado.getBytes());
+        assertThat(diretorio.resolve("gym.snap.tmp")).doesNotExist();
+
+        Armazens destino = new Armazens();
+        ArquivoSnapshot.restaurar(arquivo, destino.secoes());
+
+        assertThat(destino.academias.listarTodos()).containsExactlyInAnyOrderElementsOf(origem.academias.listarTodos());
+        assertThat(destino.alunos.listarTodos()).containsExactlyInAnyOrderElementsOf(origem.alunos.listarTodos());
+        assertThat(destino.instrutores.listarTodos()).containsExactlyInAnyOrderElementsOf(origem.instrutores.listarTodos());
+        Instrutor restaurado = destino.instrutores.buscarPorId(1);
+        assertThat(restaurado.getEndereco()).isSameAs(destino.enderecos.buscarPorId(endereco.getId()));
+        assertThat(destino.alunos.salvar(aluno(9)).getId()).isEqualTo(4);
+    }
+
+    @Test
+    void recusaArquivoCorrompidoSemAlterarOsArmazens() throws IOException {
+        Armazens origem = new Armazens();
+        origem.alunos.salvar(aluno(0));
+        Path arquivo = diretorio.resolve("gym.snap");
+        ArquivoSnapshot.gravar(arquivo, origem.secoes(), 0);
+
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        conteudo[40] ^= 0x5A;
+        Files.write(arquivo, conteudo);
+
+        Armazens destino = new Armazens();
+        destino.alunos.salvar(aluno(1));
+        assertThatThrownBy(() -> ArquivoSnapshot.restaurar(arquivo, destino.secoes())).isInstanceOf(IOException.class);
+        assertThat(destino.alunos.listarTodos()).hasSize(1);
+    }
+
+    private static Aluno aluno(int i) {
+        Aluno aluno = new Aluno("MAT00" + i, "Gold", "2024-01-0" + (i + 1), i % 2 == 0);
+        aluno.setNome("Aluno " + i);
+        aluno.setEmail("aluno" + i + "@email.com");
+        aluno.setCpf("000.000.000-0" + i);
+        return aluno;
+    }
+
+    private static Instrutor instrutor(String nome, Endereco endereco) {
+        Instrutor instrutor = new Instrutor("CREF-" + nome.length(), "Musculação", 5000.0, true, endereco);
+        instrutor.setNome(nome);
+        instrutor.setEmail(nome.toLowerCase().replace(' ', '.') + "@email.com");
+        instrutor.setCpf("111.111.111-1" + nome.length());
+        return instrutor;
+    }
+
+    private static class Armazens {
+        private final AcademyService academias = new AcademyService();
+        private final AlunoService alunos = new AlunoService();
+        private final EnderecoService enderecos = new EnderecoService();
+        private final InstrutorService instrutores = new InstrutorService();
+
+        private List<SecaoSnapshot<?>> secoes() {
+            return List.of(
+                    new SecaoSnapshot<>("academias", academias, new Codificadores.AcademiaCodificador()),
+                    new SecaoSnapshot<>("alunos", alunos, new Codificadores.AlunoCodificador()),
+                    new SecaoSnapshot<>("enderecos", enderecos, new Codificadores.EnderecoCodificador()),
+                    new SecaoSnapshot<>("instrutores", instrutores, new Codificadores.InstrutorCodificador(enderecos)));
+        }
+    }
+}
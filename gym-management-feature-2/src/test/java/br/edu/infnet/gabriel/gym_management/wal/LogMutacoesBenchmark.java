@@ -0,0 +1,125 @@
+package br.edu.infnet.gabriel.gym_management.wal;
+
+import br.edu.infnet.gabriel.gym_management.armazem.DiarioMutacoes;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import br.edu.infnet.gabriel.gym_management.snapshot.Codificadores;
+import br.edu.infnet.gabriel.gym_management.snapshot.SecaoSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Vazão de gravações concorrentes no AlunoService em cada modo de durabilidade do log de mutações,
+ * contra o serviço sem log (NENHUM). Com SINCRONO, o número de fsyncs por iteração mostra o group commit.
+ *
+ * Execução: mvn test-compile e depois rodar o main desta classe pela IDE
+ * (ou via java -cp com o classpath de teste). O diretório temporário deve ficar no disco que se quer medir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Threads(16)
+public class LogMutacoesBenchmark {
+
+    private static final int ALUNOS = 100_000;
+
+    @Param({"NENHUM", "ASSINCRONO", "PERIODICO", "SINCRONO"})
+    private String modo;
+
+    private Path diretorio;
+    private LogMutacoes log;
+    private AlunoService alunos;
+    private long sincronizacoesAntes;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        diretorio = Files.createTempDirectory("wal-benchmark");
+        if (modo.equals("NENHUM")) {
+            alunos = new AlunoService(DiarioMutacoes.NENHUM);
+        } else {
+            WalProperties properties = new WalProperties();
+            properties.setEnabled(true);
+            properties.setDiretorio(diretorio.toString());
+            properties.setDurabilidade(ModoDurabilidade.valueOf(modo));
+            log = new LogMutacoes(properties);
+            alunos = new AlunoService(log);
+            log.usarSecoes(List.of(new SecaoSnapshot<>(AlunoService.ARMAZEM, alunos, new Codificadores.AlunoCodificador())));
+            log.start();
+        }
+        alunos.salvarTodos(IntStream.range(0, ALUNOS).mapToObj(LogMutacoesBenchmark::aluno).toList());
+    }
+
+    @Setup(Level.Iteration)
+    public void marcar() {
+        if (log != null) {
+            sincronizacoesAntes = log.getSincronizacoes();
+        }
+    }
+
+    /**
+     * Corta o segmento e apaga os anteriores, como faria um snapshot, para o diretório não crescer entre iterações
+     */
+    @TearDown(Level.Iteration)
+    public void cortar() {
+        if (log != null) {
+            System.out.println("fsyncs na iteração: " + (log.getSincronizacoes() - sincronizacoesAntes));
+            log.descartarAnteriores(log.cortar());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        if (log != null) {
+            log.stop();
+        }
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            for (Path arquivo : arquivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sequencia {
+        private int proximo;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            proximo = (int) (Thread.currentThread().getId() * 7919);
+        }
+    }
+
+    @Benchmark
+    public Aluno atualizar(Sequencia sequencia) {
+        int i = Math.floorMod(sequencia.proximo++, ALUNOS);
+        Aluno aluno = aluno(i);
+        aluno.setId(i + 1);
+        return alunos.salvar(aluno);
+    }
+
+    private static Aluno aluno(int i) {
+        Aluno aluno = new Aluno("MAT" + i, "Gold", "2024-01-01", true);
+        aluno.setNome("Aluno " + i);
+        aluno.setEmail("aluno" + i + "@email.com");
+        aluno.setCpf(String.format("%011d", i));
+        return aluno;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LogMutacoesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
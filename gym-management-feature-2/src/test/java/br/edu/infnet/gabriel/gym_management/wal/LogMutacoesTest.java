@@ -0,0 +1,206 @@
+package br.edu.infnet.gabriel.gym_management.wal;
+
+import br.edu.infnet.gabriel.gym_management.exception.AlunoNaoEncontradoException;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import br.edu.infnet.gabriel.gym_management.snapshot.ArquivoSnapshot;
+import br.edu.infnet.gabriel.gym_management.snapshot.Codificadores;
+import br.edu.infnet.gabriel.gym_management.snapshot.ResultadoSnapshot;
+import br.edu.infnet.gabriel.gym_management.snapshot.SecaoSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogMutacoesTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final List<LogMutacoes> abertos = new ArrayList<>();
+
+    @AfterEach
+    void fechar() {
+        abertos.forEach(LogMutacoes::stop);
+    }
+
+    @Test
+    void reaplicaSobreOSnapshotSoOQueVeioDepoisDoCorte() throws IOException {
+        LogMutacoes log = novoLog(ModoDurabilidade.SINCRONO);
+        AlunoService origem = new AlunoService(log);
+        iniciar(log, origem);
+        origem.salvar(aluno(0));
+        origem.salvar(aluno(1));
+
+        Path arquivo = diretorio.resolve("gym.snap");
+        long marca = log.cortar();
+        ArquivoSnapshot.gravar(arquivo, secoes(origem), marca);
+        log.descartarAnteriores(marca);
+
+        Aluno alterado = aluno(10);
+        alterado.setId(1);
+        origem.salvar(alterado);
+        origem.excluir(2);
+        origem.salvar(aluno(2));
+        log.stop();
+
+        LogMutacoes reaberto = novoLog(ModoDurabilidade.SINCRONO);
+        AlunoService destino = new AlunoService(reaberto);
+        iniciar(reaberto, destino);
+        ResultadoSnapshot resultado = ArquivoSnapshot.restaurar(arquivo, secoes(destino));
+        assertThat(destino.listarTodos()).hasSize(2);
+
+        assertThat(reaberto.reproduzir(resultado.getMarcaLog())).isTrue();
+
+        assertThat(destino.listarTodos()).containsExactlyInAnyOrderElementsOf(origem.listarTodos());
+        assertThat(destino.buscarPorId(1).getNome()).isEqualTo("Aluno 10");
+        assertThat(destino.listarTodos()).extracting(Aluno::getId).containsExactlyInAnyOrder(1, 3);
+    }
+
+    @Test
+    void ultimoRegistroTruncadoEDescartadoSemPerderOsAnteriores() throws IOException {
+        gravarCincoAlunos();
+        Path segmento = SegmentosLog.arquivo(diretorio, 1);
+        byte[] conteudo = Files.readAllBytes(segmento);
+        Files.write(segmento, Arrays.copyOf(conteudo, conteudo.length - 3));
+
+        LogMutacoes reaberto = novoLog(ModoDurabilidade.SINCRONO);
+        AlunoService destino = new AlunoService(reaberto);
+        iniciar(reaberto, destino);
+        assertThat(reaberto.reproduzir(-1)).isTrue();
+
+        assertThat(destino.listarTodos()).extracting(Aluno::getNome)
+                .containsExactlyInAnyOrder("Aluno 0", "Aluno 1", "Aluno 2", "Aluno 3");
+    }
+
+    @Test
+    void ultimoRegistroComCrcErradoEDescartadoSemPerderOsAnteriores() throws IOException {
+        gravarCincoAlunos();
+        Path segmento = SegmentosLog.arquivo(diretorio, 1);
+        byte[] conteudo = Files.readAllBytes(segmento);
+        conteudo[conteudo.length - 1] ^= 0x5A;
+        Files.write(segmento, conteudo);
+
+        LogMutacoes reaberto = novoLog(ModoDurabilidade.SINCRONO);
+        AlunoService destino = new AlunoService(reaberto);
+        iniciar(reaberto, destino);
+        reaberto.reproduzir(-1);
+
+        assertThat(destino.listarTodos()).extracting(Aluno::getId).containsExactlyInAnyOrder(1, 2, 3, 4);
+    }
+
+    @Test
+    void sincronoSoRetornaDepoisDoFsync() throws IOException {
+        LogMutacoes log = novoLog(ModoDurabilidade.SINCRONO);
+        AlunoService alunos = new AlunoService(log);
+        iniciar(log, alunos);
+
+        for (int i = 0; i < 20; i++) {
+            long antes = log.getSincronizacoes();
+            alunos.salvar(aluno(i));
+
+            assertThat(log.getSincronizacoes()).as("fsyncs depois da gravação %d", i).isGreaterThan(antes);
+            long[] lidos = new long[1];
+            SegmentosLog.ler(SegmentosLog.arquivo(diretorio, 1), registro -> lidos[0]++);
+            assertThat(lidos[0]).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    void assincronoNaoEsperaOFsync() {
+        LogMutacoes log = novoLog(ModoDurabilidade.ASSINCRONO);
+        AlunoService alunos = new AlunoService(log);
+        iniciar(log, alunos);
+
+        for (int i = 0; i < 20; i++) {
+            alunos.salvar(aluno(i));
+        }
+
+        assertThat(alunos.listarTodos()).hasSize(20);
+        assertThat(log.getSincronizacoes()).isZero();
+    }
+
+    @Test
+    void falhaNaGravacaoDoLogDeixaMapaEIndicesDeAcordo() throws Exception {
+        LogMutacoes log = novoLog(ModoDurabilidade.SINCRONO);
+        AlunoService alunos = new AlunoService(log);
+        iniciar(log, alunos);
+        alunos.salvar(aluno(0));
+        alunos.salvar(aluno(1));
+        fecharCanal(log);
+
+        Aluno alterado = aluno(5);
+        alterado.setId(1);
+        assertThatThrownBy(() -> alunos.salvar(alterado)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> alunos.salvarTodos(List.of(aluno(6), aluno(7))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> alunos.excluir(2)).isInstanceOf(IllegalStateException.class);
+
+        List<Aluno> todos = alunos.listarTodos();
+        assertThat(todos).extracting(Aluno::getNome).containsExactlyInAnyOrder("Aluno 5", "Aluno 6", "Aluno 7");
+        for (Aluno aluno : todos) {
+            assertThat(alunos.buscarPorCpf(aluno.getCpf())).isSameAs(aluno);
+            assertThat(alunos.buscarPorMatricula(aluno.getMatricula())).isSameAs(aluno);
+        }
+        assertThat(alunos.buscarPorPlano("gold").paraLista()).containsExactlyInAnyOrderElementsOf(todos);
+        assertThatThrownBy(() -> alunos.buscarPorCpf(aluno(0).getCpf())).isInstanceOf(AlunoNaoEncontradoException.class);
+        assertThatThrownBy(() -> alunos.buscarPorCpf(aluno(1).getCpf())).isInstanceOf(AlunoNaoEncontradoException.class);
+    }
+
+    private void gravarCincoAlunos() {
+        LogMutacoes log = novoLog(ModoDurabilidade.SINCRONO);
+        AlunoService origem = new AlunoService(log);
+        iniciar(log, origem);
+        for (int i = 0; i < 5; i++) {
+            origem.salvar(aluno(i));
+        }
+        log.stop();
+    }
+
+    private LogMutacoes novoLog(ModoDurabilidade modo) {
+        WalProperties properties = new WalProperties();
+        properties.setEnabled(true);
+        properties.setDiretorio(diretorio.toString());
+        properties.setDurabilidade(modo);
+        LogMutacoes log = new LogMutacoes(properties);
+        abertos.add(log);
+        return log;
+    }
+
+    /**
+     * Fecha o segmento por baixo da thread escritora: a próxima escrita falha como um disco com erro
+     */
+    private static void fecharCanal(LogMutacoes log) throws Exception {
+        Field canal = LogMutacoes.class.getDeclaredField("canal");
+        canal.setAccessible(true);
+        ((FileChannel) canal.get(log)).close();
+    }
+
+    private static void iniciar(LogMutacoes log, AlunoService alunos) {
+        log.usarSecoes(secoes(alunos));
+        log.start();
+    }
+
+    private static List<SecaoSnapshot<?>> secoes(AlunoService alunos) {
+        return List.of(new SecaoSnapshot<>(AlunoService.ARMAZEM, alunos, new Codificadores.AlunoCodificador()));
+    }
+
+    private static Aluno aluno(int i) {
+        Aluno aluno = new Aluno("MAT" + i, "Gold", "2024-01-01", true);
+        aluno.setNome("Aluno " + i);
+        aluno.setEmail("aluno" + i + "@email.com");
+        aluno.setCpf(String.format("%011d", i));
+        return aluno;
+    }
+}
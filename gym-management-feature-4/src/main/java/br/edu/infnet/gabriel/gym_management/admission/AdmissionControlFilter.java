@@ -0,0 +1,85 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Controle de admissão na frente dos controllers.
+ * Cada requisição da API ocupa uma vaga do {@link AimdLimiter}; quando não há vaga para a classe
+ * do endpoint a requisição é recusada na hora com 503 e Retry-After, em vez de enfileirar no Tomcat
+ * e no pool de conexões. Respostas em streaming liberam a vaga quando o processamento assíncrono termina.
+ * Só as classes com latência alvo servem de amostra para o limite.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final EndpointClassifier classifier;
+    private final AimdLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final String retryAfter;
+    private final Map<ClasseEndpoint, Long> latenciasAlvoNanos = new EnumMap<>(ClasseEndpoint.class);
+    private final Map<ClasseEndpoint, Counter> recusadas = new EnumMap<>(ClasseEndpoint.class);
+
+    public AdmissionControlFilter(EndpointClassifier classifier, AdmissionProperties properties,
+                                  ObjectMapper objectMapper, MeterRegistry registry) {
+        this.classifier = classifier;
+        this.objectMapper = objectMapper;
+        this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        this.limiter = new AimdLimiter(properties.getLimiteInicial(), properties.getLimiteMinimo(),
+                properties.getLimiteMaximo(), properties.getFatorReducao());
+        properties.getLatenciasAlvo().forEach((classe, alvo) -> latenciasAlvoNanos.put(classe, alvo.toNanos()));
+        Gauge.builder("gym.admission.limit", limiter, AimdLimiter::getLimite).register(registry);
+        Gauge.builder("gym.admission.inflight", limiter, AimdLimiter::getEmAndamento).register(registry);
+        for (ClasseEndpoint classe : ClasseEndpoint.values()) {
+            recusadas.put(classe, Counter.builder("gym.admission.rejected")
+                    .tag("class", classe.name())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ClasseEndpoint classe = classifier.classificar(request);
+        if (classe == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tentarAdquirir(classe.getFracaoPadrao())) {
+            recusadas.get(classe).increment();
+            RespostaSobrecarga.escrever(request, response, objectMapper, retryAfter,
+                    "Servidor sobrecarregado, tente novamente em instantes");
+            return;
+        }
+        long inicio = System.nanoTime();
+        Long alvo = latenciasAlvoNanos.get(classe);
+        LiberacaoAssincrona liberacao = new LiberacaoAssincrona(response, falhou -> {
+            if (alvo == null) {
+                limiter.liberarSemAmostra();
+            } else {
+                limiter.liberar(inicio, System.nanoTime(), alvo, falhou);
+            }
+        });
+        boolean falhou = true;
+        try {
+            chain.doFilter(request, response);
+            falhou = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(liberacao);
+            } else {
+                liberacao.liberar(falhou || response.getStatus() >= 500);
+            }
+        }
+    }
+}
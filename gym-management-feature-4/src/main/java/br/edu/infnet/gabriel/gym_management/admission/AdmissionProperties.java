@@ -0,0 +1,44 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Propriedades do limitador adaptativo de concorrência (gym.admission.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.admission")
+public class AdmissionProperties {
+
+    private boolean enabled;
+
+    private int limiteInicial = 20;
+
+    private int limiteMinimo = 4;
+
+    private int limiteMaximo = 200;
+
+    /**
+     * Latência alvo por classe de endpoint: requisições mais lentas que o alvo da sua classe (ou com erro 5xx)
+     * reduzem o limite. Classes sem alvo, como os relatórios e streams, não ajustam o limite.
+     * Exemplo: gym.admission.latencias-alvo.listagem=1s
+     */
+    private Map<ClasseEndpoint, Duration> latenciasAlvo = new EnumMap<>(Map.of(
+            ClasseEndpoint.CONSULTA_CHAVE, Duration.ofMillis(250),
+            ClasseEndpoint.ESCRITA, Duration.ofMillis(500),
+            ClasseEndpoint.LISTAGEM, Duration.ofSeconds(1)));
+
+    /**
+     * Fator multiplicativo aplicado ao limite a cada requisição lenta
+     */
+    private double fatorReducao = 0.9;
+
+    /**
+     * Valor do cabeçalho Retry-After das respostas 503
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,76 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+/**
+ * Limite de concorrência adaptativo no esquema AIMD (additive increase, multiplicative decrease).
+ * Cada requisição concluída dentro da latência alvo da sua classe soma 1 ao limite, desde que o limite atual
+ * esteja sendo usado; uma requisição lenta ou com erro multiplica o limite pelo fator de redução. Requisições
+ * sem latência alvo (relatórios e streams, lentos por natureza) só liberam a vaga, sem ajustar o limite.
+ * <p>
+ * A redução acontece no máximo uma vez por janela: as requisições admitidas antes da última redução viram a mesma
+ * sobrecarga que a causou, então terminam lentas sem que isso diga algo sobre o limite novo. Só uma requisição
+ * que começou depois da última redução pode reduzir de novo, como no controle de congestionamento do TCP
+ * (uma redução por RTT).
+ */
+public class AimdLimiter {
+
+    private final int minimo;
+    private final int maximo;
+    private final double fatorReducao;
+    private double limite;
+    private int emAndamento;
+    private boolean reduzido;
+    private long ultimaReducaoNanos;
+
+    public AimdLimiter(int inicial, int minimo, int maximo, double fatorReducao) {
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.fatorReducao = fatorReducao;
+    }
+
+    /**
+     * Tenta ocupar uma vaga, usando no máximo a fração informada do limite atual
+     */
+    public synchronized boolean tentarAdquirir(double fracao) {
+        int permitidas = Math.max(1, (int) (limite * fracao));
+        if (emAndamento >= permitidas) {
+            return false;
+        }
+        emAndamento++;
+        return true;
+    }
+
+    /**
+     * Libera a vaga e ajusta o limite pela latência observada, comparada à latência alvo da classe do endpoint
+     *
+     * @param inicioNanos Quando a requisição foi admitida ({@link System#nanoTime()})
+     * @param fimNanos    Quando a requisição terminou, no mesmo relógio
+     */
+    public synchronized void liberar(long inicioNanos, long fimNanos, long latenciaAlvoNanos, boolean falhou) {
+        int ocupadas = emAndamento--;
+        if (falhou || fimNanos - inicioNanos > latenciaAlvoNanos) {
+            if (!reduzido || inicioNanos - ultimaReducaoNanos >= 0) {
+                limite = Math.max(minimo, limite * fatorReducao);
+                reduzido = true;
+                ultimaReducaoNanos = fimNanos;
+            }
+        } else if (ocupadas * 2 >= limite) {
+            limite = Math.min(maximo, limite + 1);
+        }
+    }
+
+    /**
+     * Libera a vaga sem usar a requisição como amostra
+     */
+    public synchronized void liberarSemAmostra() {
+        emAndamento--;
+    }
+
+    public synchronized int getLimite() {
+        return (int) limite;
+    }
+
+    public synchronized int getEmAndamento() {
+        return emAndamento;
+    }
+}
@@ -0,0 +1,64 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compartimento isolado de concorrência para uma classe de endpoint.
+ * Uma rajada de relatórios ocupa apenas as permissões do seu compartimento e nunca as do check-in;
+ * as conexões do pool são separadas pela {@link ParticaoConexoes}.
+ */
+public class Bulkhead {
+
+    private final int permissoes;
+    private final Semaphore semaforo;
+    private final long esperaNanos;
+    private final Timer espera;
+    private final Counter recusadas;
+
+    public Bulkhead(String nome, int permissoes, Duration espera, MeterRegistry registry) {
+        this.permissoes = permissoes;
+        this.semaforo = new Semaphore(permissoes, true);
+        this.esperaNanos = espera.toNanos();
+        this.espera = Timer.builder("gym.bulkhead.wait").tag("bulkhead", nome).register(registry);
+        this.recusadas = Counter.builder("gym.bulkhead.rejected").tag("bulkhead", nome).register(registry);
+        Gauge.builder("gym.bulkhead.active", this, Bulkhead::ativas).tag("bulkhead", nome).register(registry);
+        Gauge.builder("gym.bulkhead.queued", semaforo, Semaphore::getQueueLength).tag("bulkhead", nome).register(registry);
+        Gauge.builder("gym.bulkhead.saturation", this, b -> (double) b.ativas() / b.permissoes)
+                .tag("bulkhead", nome).register(registry);
+    }
+
+    /**
+     * Aguarda uma permissão até o tempo de espera configurado, bloqueando a thread da requisição;
+     * com espera zero, recusa na hora se o compartimento está cheio
+     *
+     * @return false se o compartimento continuou cheio
+     */
+    public boolean entrar() throws InterruptedException {
+        long inicio = System.nanoTime();
+        boolean obtida = esperaNanos == 0 ? semaforo.tryAcquire() : semaforo.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS);
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (!obtida) {
+            recusadas.increment();
+        }
+        return obtida;
+    }
+
+    public void sair() {
+        semaforo.release();
+    }
+
+    public int getPermissoes() {
+        return permissoes;
+    }
+
+    private int ativas() {
+        return permissoes - semaforo.availablePermits();
+    }
+}
@@ -0,0 +1,65 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encaminha cada requisição da API ao bulkhead da sua classe de endpoint.
+ * Se o compartimento continuar cheio após o tempo de espera, responde 503 com Retry-After; listagens e relatórios
+ * não esperam, para não prender threads do Tomcat atrás de consultas lentas.
+ * As buscas por chave são marcadas para usar as conexões reservadas da {@link ParticaoConexoes}.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final EndpointClassifier classifier;
+    private final Map<ClasseEndpoint, Bulkhead> bulkheads;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(EndpointClassifier classifier, Map<ClasseEndpoint, Bulkhead> bulkheads, ObjectMapper objectMapper) {
+        this.classifier = classifier;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ClasseEndpoint classe = classifier.classificar(request);
+        Bulkhead bulkhead = classe != null ? bulkheads.get(classe) : null;
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            if (!bulkhead.entrar()) {
+                RespostaSobrecarga.escrever(request, response, objectMapper, "1",
+                        "Capacidade para este tipo de consulta esgotada, tente novamente em instantes");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrompido aguardando o bulkhead " + classe, e);
+        }
+        LiberacaoAssincrona liberacao = new LiberacaoAssincrona(response, falhou -> bulkhead.sair());
+        if (classe == ClasseEndpoint.CONSULTA_CHAVE) {
+            ParticaoConexoes.entrarCheckin();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ParticaoConexoes.sairCheckin();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(liberacao);
+            } else {
+                liberacao.liberar(false);
+            }
+        }
+    }
+}
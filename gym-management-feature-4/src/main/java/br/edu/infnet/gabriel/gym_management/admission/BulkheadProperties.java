@@ -0,0 +1,53 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Propriedades dos bulkheads por classe de endpoint (gym.bulkhead.*).
+ * Exemplo: gym.bulkhead.compartimentos.relatorio.permissoes=3
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled;
+
+    /**
+     * Conexões do pool reservadas para as buscas por chave (check-in): as demais requisições e os jobs
+     * usam no máximo maximumPoolSize menos esta reserva
+     */
+    private int conexoesReservadasCheckin = 4;
+
+    private Map<ClasseEndpoint, Compartimento> compartimentos = new EnumMap<>(Map.of(
+            ClasseEndpoint.CONSULTA_CHAVE, new Compartimento(200, Duration.ofMillis(50)),
+            ClasseEndpoint.ESCRITA, new Compartimento(100, Duration.ofMillis(500)),
+            ClasseEndpoint.LISTAGEM, new Compartimento(50, Duration.ZERO),
+            ClasseEndpoint.RELATORIO, new Compartimento(10, Duration.ZERO)));
+
+    /**
+     * Limites de um compartimento
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Compartimento {
+
+        /**
+         * Requisições simultâneas permitidas
+         */
+        private int permissoes;
+
+        /**
+         * Tempo máximo de espera por uma permissão antes de responder 503. A espera ocupa a thread do Tomcat:
+         * nas classes lentas (listagens, relatórios) o padrão é zero, recusando na hora quando o compartimento está cheio
+         */
+        private Duration espera;
+    }
+}
@@ -0,0 +1,41 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+/**
+ * Classes de endpoint usadas no controle de admissão.
+ * A fração indica quanto do limite de concorrência atual cada classe pode ocupar:
+ * buscas por chave podem usar o limite inteiro, enquanto listagens e relatórios
+ * são recusados primeiro quando o servidor está sob pressão.
+ */
+public enum ClasseEndpoint {
+
+    /**
+     * Buscas por ID, CPF, matrícula ou registro
+     */
+    CONSULTA_CHAVE(1.0),
+
+    /**
+     * POST, PUT, PATCH e DELETE
+     */
+    ESCRITA(0.8),
+
+    /**
+     * Filtros por plano, status, especialidade, academia etc.
+     */
+    LISTAGEM(0.6),
+
+    /**
+     * Relatórios pesados: listas completas sem paginação, streams NDJSON, estatísticas,
+     * academias com instrutores, faixas de salário e mínimo de alunos
+     */
+    RELATORIO(0.4);
+
+    private final double fracaoPadrao;
+
+    ClasseEndpoint(double fracaoPadrao) {
+        this.fracaoPadrao = fracaoPadrao;
+    }
+
+    public double getFracaoPadrao() {
+        return fracaoPadrao;
+    }
+}
@@ -0,0 +1,67 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Classifica as requisições da API pelo método HTTP e pelo caminho.
+ * Caminhos fora da API (actuator, console H2, administração) não são classificados.
+ */
+@Component
+public class EndpointClassifier {
+
+    private static final Pattern API = Pattern.compile("^/(academias|alunos|instrutores|enderecos)(/.*)?$");
+
+    private static final List<Pattern> CONSULTAS_CHAVE = List.of(
+            Pattern.compile("^/(academias|alunos|instrutores|enderecos)/\\d+$"),
+            Pattern.compile("^/(alunos|instrutores)/cpf/[^/]+$"),
+            Pattern.compile("^/alunos/matricula/[^/]+$"),
+            Pattern.compile("^/instrutores/registro/[^/]+$"));
+
+    private static final List<Pattern> RELATORIOS = List.of(
+            Pattern.compile("^/(academias|alunos|instrutores|enderecos)$"),
+            Pattern.compile("^/[a-z]+/estatisticas$"),
+            Pattern.compile("^/academias/ativas-com-instrutores$"),
+            Pattern.compile("^/academias/minimo-alunos/[^/]+$"),
+            Pattern.compile("^/instrutores/salario(-acima/[^/]+)?$"));
+
+    /**
+     * Classe da requisição, ou null se ela não passa pelo controle de admissão
+     */
+    public ClasseEndpoint classificar(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        if (!API.matcher(caminho).matches()) {
+            return null;
+        }
+        if (!"GET".equals(request.getMethod())) {
+            return ClasseEndpoint.ESCRITA;
+        }
+        if (algumCasa(CONSULTAS_CHAVE, caminho)) {
+            return ClasseEndpoint.CONSULTA_CHAVE;
+        }
+        if (algumCasa(RELATORIOS, caminho) || streaming(request)) {
+            return ClasseEndpoint.RELATORIO;
+        }
+        return ClasseEndpoint.LISTAGEM;
+    }
+
+    private static boolean algumCasa(List<Pattern> padroes, String caminho) {
+        for (Pattern padrao : padroes) {
+            if (padrao.matcher(caminho).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean streaming(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return "true".equals(request.getParameter("stream"))
+                || (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE));
+    }
+}
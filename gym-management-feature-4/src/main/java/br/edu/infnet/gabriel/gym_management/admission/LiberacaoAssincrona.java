@@ -0,0 +1,51 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Executa a liberação de uma vaga uma única vez, seja ao fim da requisição síncrona,
+ * seja quando o processamento assíncrono (respostas em streaming) termina.
+ * O callback recebe true se a requisição falhou (erro, timeout ou status 5xx).
+ */
+class LiberacaoAssincrona implements AsyncListener {
+
+    private final AtomicBoolean liberada = new AtomicBoolean();
+    private final HttpServletResponse response;
+    private final Consumer<Boolean> liberar;
+
+    LiberacaoAssincrona(HttpServletResponse response, Consumer<Boolean> liberar) {
+        this.response = response;
+        this.liberar = liberar;
+    }
+
+    void liberar(boolean falhou) {
+        if (liberada.compareAndSet(false, true)) {
+            liberar.accept(falhou);
+        }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        liberar(response.getStatus() >= 500);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        liberar(true);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        liberar(true);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        event.getAsyncContext().addListener(this);
+    }
+}
@@ -0,0 +1,159 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Partição do pool principal entre o check-in e o restante da aplicação.
+ * Toda conexão pedida ao pool fora de uma requisição de check-in (escritas, listagens, relatórios, jobs
+ * em lote) ocupa uma vaga de maximumPoolSize menos as conexões reservadas; quando elas acabam, o pedido
+ * espera até o connectionTimeout do Hikari e falha como o próprio pool falharia. As buscas por chave não
+ * passam pela partição, então sempre encontram ao menos as conexões reservadas livres.
+ * <p>
+ * O limite é lido do pool a cada pedido e acompanha o dimensionamento adaptativo. Intercepta os
+ * HikariDataSource registrados como beans, exceto a réplica de leitura, que tem pool próprio.
+ */
+@Aspect
+public class ParticaoConexoes {
+
+    private static final ThreadLocal<Boolean> CHECKIN = new ThreadLocal<>();
+
+    private final int reservadas;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition liberada = lock.newCondition();
+    private final Counter recusadas;
+    private int emUso;
+
+    public ParticaoConexoes(int reservadas, MeterRegistry registry) {
+        this.reservadas = reservadas;
+        this.recusadas = Counter.builder("gym.bulkhead.connections.rejected").register(registry);
+        Gauge.builder("gym.bulkhead.connections.active", this, ParticaoConexoes::emUso).register(registry);
+    }
+
+    /**
+     * Marca a thread atual como atendendo uma requisição de check-in, que usa as conexões reservadas
+     */
+    public static void entrarCheckin() {
+        CHECKIN.set(Boolean.TRUE);
+    }
+
+    public static void sairCheckin() {
+        CHECKIN.remove();
+    }
+
+    @Around("execution(java.sql.Connection com.zaxxer.hikari.HikariDataSource.getConnection(..)) && !bean(replicaDataSource)")
+    public Object obterConexao(ProceedingJoinPoint pjp) throws Throwable {
+        if (!(pjp.getTarget() instanceof HikariDataSource pool)) {
+            return pjp.proceed();
+        }
+        return obter(pool, () -> (Connection) pjp.proceed());
+    }
+
+    /**
+     * Obtém a conexão do pool; fora do check-in, só depois de ocupar uma vaga da partição
+     */
+    Connection obter(HikariDataSource pool, FonteConexao fonte) throws Throwable {
+        if (Boolean.TRUE.equals(CHECKIN.get())) {
+            return fonte.obter();
+        }
+        ocupar(pool);
+        try {
+            return liberarAoFechar(fonte.obter());
+        } catch (Throwable e) {
+            desocupar();
+            throw e;
+        }
+    }
+
+    /**
+     * Ocupa uma vaga da partição, esperando até o connectionTimeout do pool
+     */
+    void ocupar(HikariDataSource pool) throws SQLTransientConnectionException, InterruptedException {
+        long restante = TimeUnit.MILLISECONDS.toNanos(pool.getConnectionTimeout());
+        lock.lockInterruptibly();
+        try {
+            while (emUso >= pool.getMaximumPoolSize() - reservadas) {
+                if (restante <= 0) {
+                    recusadas.increment();
+                    throw new SQLTransientConnectionException(String.format(
+                            "Partição sem check-in esgotada: %d conexões em uso, %d reservadas ao check-in",
+                            emUso, reservadas));
+                }
+                restante = liberada.awaitNanos(restante);
+            }
+            emUso++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void desocupar() {
+        lock.lock();
+        try {
+            emUso--;
+            liberada.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int emUso() {
+        lock.lock();
+        try {
+            return emUso;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve a vaga da partição quando a conexão é fechada (devolvida ao pool)
+     */
+    Connection liberarAoFechar(Connection conexao) {
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if (metodo.getName().equals("close") && fechada.compareAndSet(false, true)) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            desocupar();
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    interface FonteConexao {
+
+        Connection obter() throws Throwable;
+    }
+}
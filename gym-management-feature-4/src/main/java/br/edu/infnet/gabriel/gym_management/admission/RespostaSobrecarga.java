@@ -0,0 +1,36 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import br.edu.infnet.gabriel.gym_management.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Escreve a resposta 503 (com Retry-After e ErrorResponse) usada pelos filtros de admissão e bulkhead.
+ */
+final class RespostaSobrecarga {
+
+    private RespostaSobrecarga() {
+    }
+
+    static void escrever(HttpServletRequest request, HttpServletResponse response, ObjectMapper objectMapper,
+                         String retryAfter, String mensagem) throws IOException {
+        ErrorResponse corpo = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message(mensagem)
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), corpo);
+    }
+}
@@ -0,0 +1,204 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aquece a aplicação depois das cargas de subida (os ApplicationRunners terminam antes do ApplicationReadyEvent)
+ * e antes do readiness: o AquecimentoHealthIndicator mantém o grupo readiness em DOWN até o fim.
+ *
+ * Cada etapa roda uma primeira rodada fria, medida operação a operação; depois as rodadas se repetem em
+ * gym.aquecimento.paralelismo threads até o orçamento ou o total de rodadas acabar; por fim uma rodada
+ * aquecida é medida do mesmo jeito. A diferença entre as duas é o ganho de latência da primeira requisição.
+ * Falhas não impedem o readiness: são contadas e aparecem no resultado.
+ */
+public class Aquecimento implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(Aquecimento.class);
+
+    private final List<EtapaAquecimento> etapas;
+    private final AquecimentoProperties properties;
+    private final Map<String, ResultadoEtapa> resultados = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile boolean concluido;
+    private volatile boolean encerrando;
+    private volatile long duracaoMs;
+    private volatile String erro;
+
+    public Aquecimento(List<EtapaAquecimento> etapas, AquecimentoProperties properties) {
+        this.etapas = etapas;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!properties.isEnabled()) {
+            concluido = true;
+            return;
+        }
+        Thread thread = new Thread(this::aquecer, "aquecimento");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isConcluido() {
+        return concluido;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    /**
+     * Erro que interrompeu o aquecimento, ou null
+     */
+    public String getErro() {
+        return erro;
+    }
+
+    public Map<String, ResultadoEtapa> getResultados() {
+        synchronized (resultados) {
+            return new LinkedHashMap<>(resultados);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        encerrando = true;
+    }
+
+    private void aquecer() {
+        long inicio = System.nanoTime();
+        long prazo = inicio + properties.getOrcamento().toNanos();
+        try {
+            List<EstadoEtapa> estados = new ArrayList<>();
+            for (EtapaAquecimento etapa : etapas) {
+                List<OperacaoAquecimento> operacoes = etapa.operacoes();
+                if (!operacoes.isEmpty()) {
+                    estados.add(primeiraRodada(etapa.getNome(), operacoes));
+                }
+            }
+            repetir(estados, prazo);
+            for (EstadoEtapa estado : estados) {
+                resultados.put(estado.nome, rodadaFinal(estado));
+            }
+            duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            imprimirResumo();
+        } catch (Exception e) {
+            erro = e.getMessage();
+            duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            log.warn("Aquecimento interrompido depois de {} ms: {}", duracaoMs, erro, e);
+        } finally {
+            concluido = true;
+        }
+    }
+
+    private EstadoEtapa primeiraRodada(String nome, List<OperacaoAquecimento> operacoes) {
+        EstadoEtapa estado = new EstadoEtapa(nome);
+        for (OperacaoAquecimento operacao : operacoes) {
+            long nanos = executar(estado, operacao, true);
+            if (operacao.repetir(nanos)) {
+                estado.repetidas.add(operacao);
+                estado.primeiraNanos += nanos;
+            }
+        }
+        estado.rodadas.incrementAndGet();
+        return estado;
+    }
+
+    /**
+     * Rodadas repetidas em paralelo; cada thread pega a próxima rodada até o total (contando a primeira e a final)
+     * ou o prazo acabar
+     */
+    private void repetir(List<EstadoEtapa> estados, long prazo) throws Exception {
+        AtomicInteger proxima = new AtomicInteger(1);
+        AtomicInteger numeroThread = new AtomicInteger();
+        int threads = Math.max(1, properties.getParalelismo());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "aquecimento-" + numeroThread.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                execucoes.add(executor.submit(() -> {
+                    while (!encerrando && System.nanoTime() < prazo && proxima.getAndIncrement() < properties.getRodadas() - 1) {
+                        for (EstadoEtapa estado : estados) {
+                            for (OperacaoAquecimento operacao : estado.repetidas) {
+                                executar(estado, operacao, false);
+                            }
+                            estado.rodadas.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> execucao : execucoes) {
+                execucao.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResultadoEtapa rodadaFinal(EstadoEtapa estado) {
+        long finalNanos = 0;
+        for (OperacaoAquecimento operacao : estado.repetidas) {
+            finalNanos += executar(estado, operacao, false);
+        }
+        estado.rodadas.incrementAndGet();
+        int operacoes = estado.repetidas.size();
+        return new ResultadoEtapa(estado.nome, operacoes, estado.rodadas.get(), estado.falhas.get(),
+                operacoes > 0 ? estado.primeiraNanos / 1e6 / operacoes : 0,
+                operacoes > 0 ? finalNanos / 1e6 / operacoes : 0);
+    }
+
+    private long executar(EstadoEtapa estado, OperacaoAquecimento operacao, boolean primeira) {
+        long inicio = System.nanoTime();
+        try {
+            operacao.acao().call();
+        } catch (Exception e) {
+            estado.falhas.incrementAndGet();
+            if (primeira) {
+                log.warn("Aquecimento: {} falhou: {}", operacao.nome(), e.getMessage());
+            }
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private void imprimirResumo() {
+        StringBuilder resumo = new StringBuilder("Aquecimento concluído em ").append(duracaoMs).append(" ms:");
+        for (ResultadoEtapa resultado : getResultados().values()) {
+            resumo.append(String.format(" %s %d operações x %d rodadas, %.2f ms -> %.2f ms por operação (%.0fx), %d falhas;",
+                    resultado.getEtapa(), resultado.getOperacoes(), resultado.getRodadas(),
+                    resultado.getPrimeiraMs(), resultado.getFinalMs(), resultado.getGanho(), resultado.getFalhas()));
+        }
+        log.info(resumo.toString());
+    }
+
+    private static final class EstadoEtapa {
+        private final String nome;
+        private final List<OperacaoAquecimento> repetidas = new ArrayList<>();
+        private final AtomicLong rodadas = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+        private long primeiraNanos;
+
+        private EstadoEtapa(String nome) {
+            this.nome = nome;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Health "aquecimento": fica DOWN até o aquecimento terminar. Faz parte do grupo readiness,
+ * então o balanceador só envia tráfego depois que consultas, serializers e JIT estão aquecidos.
+ * Ao final traz a latência por operação da primeira rodada e da rodada aquecida de cada etapa.
+ */
+public class AquecimentoHealthIndicator implements HealthIndicator {
+
+    private final Aquecimento aquecimento;
+
+    public AquecimentoHealthIndicator(Aquecimento aquecimento) {
+        this.aquecimento = aquecimento;
+    }
+
+    @Override
+    public Health health() {
+        if (!aquecimento.isConcluido()) {
+            return Health.down().withDetail("aquecimento", "em andamento").build();
+        }
+        Health.Builder saude = Health.up()
+                .withDetail("duracaoMs", aquecimento.getDuracaoMs())
+                .withDetail("etapas", aquecimento.getResultados());
+        if (aquecimento.getErro() != null) {
+            saude.withDetail("erro", aquecimento.getErro());
+        }
+        return saude.build();
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Propriedades do aquecimento antes do readiness (gym.aquecimento.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.aquecimento")
+public class AquecimentoProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Tempo máximo do aquecimento; esgotado, a aplicação fica pronta com o que foi aquecido
+     */
+    private Duration orcamento = Duration.ofSeconds(20);
+
+    /**
+     * Rodadas de cada etapa, se o orçamento não acabar antes
+     */
+    private int rodadas = 500;
+
+    /**
+     * Threads que repetem as rodadas ao mesmo tempo (cada uma prepara as consultas em uma conexão do pool)
+     */
+    private int paralelismo = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Consultas que passam disso na primeira execução (listas grandes) rodam só uma vez
+     */
+    private Duration consultaLenta = Duration.ofMillis(100);
+
+    /**
+     * Consultas que não devem rodar no aquecimento, como Repositorio.metodo (ex.: AlunoRepository.findByStatus)
+     */
+    private Set<String> ignorar = new LinkedHashSet<>();
+
+    /**
+     * Amostra de requisições para repetir (Resource do Spring, ex.: file:data/amostra-requisicoes.txt).
+     * Uma requisição por linha, "METODO caminho"; só GET e HEAD são repetidos.
+     */
+    private String amostra;
+}
@@ -0,0 +1,166 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Executa cada query method dos repositórios da aplicação (e findById/existsById), pelo proxy do Spring Data,
+ * em uma transação somente leitura: o Hibernate monta e guarda o plano da consulta, o H2 prepara o statement
+ * na conexão e o JIT compila o caminho repositório -> Hibernate -> JDBC.
+ * Os argumentos só precisam ter o tipo certo; os valores escolhidos trazem poucas linhas.
+ * Métodos @Modifying, de gravação ou listados em gym.aquecimento.ignorar ficam de fora.
+ */
+public class ConsultasAquecimento implements EtapaAquecimento {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultasAquecimento.class);
+
+    private static final List<String> HERDADOS = List.of("findById", "existsById");
+
+    private final List<Repository<?, ?>> repositorios;
+    private final TransactionTemplate leitura;
+    private final AquecimentoProperties properties;
+
+    public ConsultasAquecimento(List<Repository<?, ?>> repositorios, PlatformTransactionManager transactionManager,
+                                AquecimentoProperties properties) {
+        this.repositorios = repositorios;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    @Override
+    public String getNome() {
+        return "consultas";
+    }
+
+    @Override
+    public List<OperacaoAquecimento> operacoes() {
+        List<OperacaoAquecimento> operacoes = new ArrayList<>();
+        for (Repository<?, ?> repositorio : repositorios) {
+            for (Class<?> interfaceRepositorio : AopProxyUtils.proxiedUserInterfaces(repositorio)) {
+                if (!interfaceRepositorio.isAnnotationPresent(org.springframework.stereotype.Repository.class)) {
+                    continue;
+                }
+                for (Method metodo : metodos(interfaceRepositorio)) {
+                    String nome = interfaceRepositorio.getSimpleName() + "." + metodo.getName();
+                    if (properties.getIgnorar().contains(nome)) {
+                        continue;
+                    }
+                    Object[] argumentos = argumentos(metodo);
+                    if (argumentos == null) {
+                        log.debug("Aquecimento: {} ignorado (tipo de parâmetro sem valor de exemplo)", nome);
+                        continue;
+                    }
+                    operacoes.add(new OperacaoAquecimento(nome, () -> executar(repositorio, metodo, argumentos),
+                            properties.getConsultaLenta()));
+                }
+            }
+        }
+        return operacoes;
+    }
+
+    private static List<Method> metodos(Class<?> interfaceRepositorio) {
+        List<Method> metodos = new ArrayList<>();
+        for (Method metodo : interfaceRepositorio.getDeclaredMethods()) {
+            if (!metodo.isDefault() && !Modifier.isStatic(metodo.getModifiers()) && !metodo.isAnnotationPresent(Modifying.class)) {
+                metodos.add(metodo);
+            }
+        }
+        for (Method metodo : interfaceRepositorio.getMethods()) {
+            if (HERDADOS.contains(metodo.getName()) && metodo.getParameterCount() == 1) {
+                metodos.add(metodo);
+            }
+        }
+        metodos.sort(Comparator.comparing(Method::getName));
+        return metodos;
+    }
+
+    private Object executar(Repository<?, ?> repositorio, Method metodo, Object[] argumentos) {
+        return leitura.execute(status -> {
+            try {
+                Object resultado = metodo.invoke(repositorio, argumentos);
+                if (resultado instanceof Stream<?> stream) {
+                    try (stream) {
+                        return stream.findFirst().isPresent();
+                    }
+                }
+                return resultado instanceof Optional<?> optional ? optional.isPresent() : resultado;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(metodo.getName() + ": " + e.getCause(), e.getCause());
+            }
+        });
+    }
+
+    /**
+     * Valores de exemplo por tipo de parâmetro, ou null se algum tipo não é suportado.
+     * IDs e números altos e textos que não existem evitam trazer a tabela inteira (o ID dos repositórios é Long).
+     */
+    private static Object[] argumentos(Method metodo) {
+        Type[] tipos = metodo.getGenericParameterTypes();
+        Object[] argumentos = new Object[tipos.length];
+        for (int i = 0; i < tipos.length; i++) {
+            argumentos[i] = exemplo(tipos[i]);
+            if (argumentos[i] == null) {
+                return null;
+            }
+        }
+        return argumentos;
+    }
+
+    private static Object exemplo(Type tipo) {
+        if (tipo instanceof ParameterizedType parametrizado && parametrizado.getRawType() instanceof Class<?> bruto
+                && Collection.class.isAssignableFrom(bruto)) {
+            Object elemento = exemplo(parametrizado.getActualTypeArguments()[0]);
+            return elemento != null ? List.of(elemento) : null;
+        }
+        if (tipo == String.class) {
+            return "aquecimento";
+        }
+        if (tipo == Long.class || tipo == long.class) {
+            return Long.MAX_VALUE;
+        }
+        if (tipo == Integer.class || tipo == int.class) {
+            return Integer.MAX_VALUE;
+        }
+        if (tipo == Double.class || tipo == double.class) {
+            return Double.MAX_VALUE;
+        }
+        if (tipo == Boolean.class || tipo == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (tipo == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (tipo == Limit.class) {
+            return Limit.of(1);
+        }
+        if (tipo == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        if (tipo instanceof TypeVariable<?>) {
+            return Long.MAX_VALUE;
+        }
+        return null;
+    }
+}
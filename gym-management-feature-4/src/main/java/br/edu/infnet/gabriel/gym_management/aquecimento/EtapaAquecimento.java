@@ -0,0 +1,16 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import java.util.List;
+
+/**
+ * Etapa do aquecimento: um conjunto fixo de operações repetidas a cada rodada.
+ */
+public interface EtapaAquecimento {
+
+    String getNome();
+
+    /**
+     * Operações da etapa, na ordem em que cada rodada as executa; lista vazia pula a etapa
+     */
+    List<OperacaoAquecimento> operacoes() throws Exception;
+}
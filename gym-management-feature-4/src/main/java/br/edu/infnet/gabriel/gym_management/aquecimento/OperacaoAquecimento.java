@@ -0,0 +1,19 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Operação de aquecimento. Uma exceção conta como falha, sem interromper a etapa.
+ * Se a primeira execução passar do limite (nulo = sem limite), a operação não se repete nas rodadas seguintes.
+ */
+public record OperacaoAquecimento(String nome, Callable<?> acao, Duration limite) {
+
+    public OperacaoAquecimento(String nome, Callable<?> acao) {
+        this(nome, acao, null);
+    }
+
+    boolean repetir(long primeiraNanos) {
+        return limite == null || primeiraNanos <= limite.toNanos();
+    }
+}
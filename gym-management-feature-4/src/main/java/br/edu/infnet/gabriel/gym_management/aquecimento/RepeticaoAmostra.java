@@ -0,0 +1,93 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Repete, pela porta HTTP da própria aplicação, uma amostra de requisições gravada (gym.aquecimento.amostra):
+ * filtros, controllers, serviços, caches e conversores passam pelo mesmo caminho do tráfego real.
+ * Formato: uma requisição por linha, "METODO caminho" (ex.: "GET /alunos/42"); linhas vazias e "#" são ignoradas.
+ * Só GET e HEAD são repetidos, para não alterar dados; respostas 5xx contam como falha.
+ */
+public class RepeticaoAmostra implements EtapaAquecimento {
+
+    private static final Logger log = LoggerFactory.getLogger(RepeticaoAmostra.class);
+
+    private final AquecimentoProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final Environment environment;
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    public RepeticaoAmostra(AquecimentoProperties properties, ResourceLoader resourceLoader, Environment environment) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.environment = environment;
+    }
+
+    @Override
+    public String getNome() {
+        return "amostra";
+    }
+
+    @Override
+    public List<OperacaoAquecimento> operacoes() throws Exception {
+        String porta = environment.getProperty("local.server.port");
+        if (properties.getAmostra() == null || porta == null) {
+            return List.of();
+        }
+        Resource amostra = resourceLoader.getResource(properties.getAmostra());
+        if (!amostra.exists()) {
+            log.warn("Aquecimento: amostra {} não encontrada", properties.getAmostra());
+            return List.of();
+        }
+        List<OperacaoAquecimento> operacoes = new ArrayList<>();
+        int ignoradas = 0;
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(amostra.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] partes = linha.split("\\s+", 2);
+                String metodo = partes[0].toUpperCase(Locale.ROOT);
+                if (partes.length < 2 || !(metodo.equals("GET") || metodo.equals("HEAD")) || !partes[1].startsWith("/")) {
+                    ignoradas++;
+                    continue;
+                }
+                HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + partes[1]))
+                        .method(metodo, HttpRequest.BodyPublishers.noBody())
+                        .header("Accept", "application/json")
+                        .build();
+                operacoes.add(new OperacaoAquecimento(linha, () -> repetir(requisicao)));
+            }
+        }
+        if (ignoradas > 0) {
+            log.info("Aquecimento: {} linhas da amostra ignoradas (só GET e HEAD com caminho são repetidos)", ignoradas);
+        }
+        return operacoes;
+    }
+
+    private int repetir(HttpRequest requisicao) throws Exception {
+        int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 500) {
+            throw new IllegalStateException(requisicao.method() + " " + requisicao.uri().getPath() + " respondeu " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,26 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resultado de uma etapa do aquecimento: latência média por operação na primeira rodada (fria)
+ * e na rodada final (aquecida), depois de todas as rodadas repetidas.
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoEtapa {
+    private String etapa;
+    private int operacoes;
+    private long rodadas;
+    private long falhas;
+    private double primeiraMs;
+    private double finalMs;
+
+    /**
+     * Quantas vezes a operação aquecida ficou mais rápida que a primeira
+     */
+    public double getGanho() {
+        return finalMs > 0 ? primeiraMs / finalMs : 0;
+    }
+}
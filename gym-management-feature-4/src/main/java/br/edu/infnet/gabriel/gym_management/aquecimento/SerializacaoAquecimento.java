@@ -0,0 +1,86 @@
+package br.edu.infnet.gabriel.gym_management.aquecimento;
+
+import br.edu.infnet.gabriel.gym_management.dataset.GeradorDataset;
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializa e desserializa grafos representativos (academia com alunos e instrutores, lista de alunos,
+ * instrutor com endereço) em cada conversor Jackson registrado (JSON, CBOR, Smile), com o ObjectMapper do
+ * próprio conversor: assim os serializers de cada entidade já estão montados e compilados antes da primeira resposta.
+ */
+public class SerializacaoAquecimento implements EtapaAquecimento {
+
+    private static final int ALUNOS_POR_ACADEMIA = 20;
+    private static final int INSTRUTORES_POR_ACADEMIA = 5;
+
+    private final HttpMessageConverters conversores;
+
+    public SerializacaoAquecimento(HttpMessageConverters conversores) {
+        this.conversores = conversores;
+    }
+
+    @Override
+    public String getNome() {
+        return "serializacao";
+    }
+
+    @Override
+    public List<OperacaoAquecimento> operacoes() throws Exception {
+        GeradorDataset gerador = new GeradorDataset(42, LocalDate.now(), 1, 0);
+        Academia academia = gerador.academia(0);
+        academia.setId(1L);
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i < ALUNOS_POR_ACADEMIA; i++) {
+            Aluno aluno = gerador.aluno(i);
+            aluno.setId((long) i + 1);
+            academia.adicionarAluno(aluno);
+            alunos.add(aluno);
+        }
+        for (int i = 0; i < INSTRUTORES_POR_ACADEMIA; i++) {
+            Instrutor instrutor = gerador.instrutor(i);
+            instrutor.setId((long) i + 1);
+            academia.adicionarInstrutor(instrutor);
+        }
+        Instrutor instrutor = academia.getInstrutores().get(0);
+
+        List<OperacaoAquecimento> operacoes = new ArrayList<>();
+        for (Map.Entry<String, ObjectMapper> entrada : mappers().entrySet()) {
+            String formato = entrada.getKey();
+            ObjectMapper mapper = entrada.getValue();
+            byte[] aluno = mapper.writeValueAsBytes(alunos.get(0));
+            byte[] instrutorSerializado = mapper.writeValueAsBytes(instrutor);
+            operacoes.add(new OperacaoAquecimento(formato + " academia", () -> mapper.writeValueAsBytes(academia)));
+            operacoes.add(new OperacaoAquecimento(formato + " alunos", () -> mapper.writeValueAsBytes(alunos)));
+            operacoes.add(new OperacaoAquecimento(formato + " instrutor", () -> mapper.writeValueAsBytes(instrutor)));
+            operacoes.add(new OperacaoAquecimento(formato + " leitura aluno", () -> mapper.readValue(aluno, Aluno.class)));
+            operacoes.add(new OperacaoAquecimento(formato + " leitura instrutor",
+                    () -> mapper.readValue(instrutorSerializado, Instrutor.class)));
+        }
+        return operacoes;
+    }
+
+    /**
+     * ObjectMapper de cada conversor Jackson, pelo tipo de mídia principal
+     */
+    private Map<String, ObjectMapper> mappers() {
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        for (HttpMessageConverter<?> conversor : conversores.getConverters()) {
+            if (conversor instanceof AbstractJackson2HttpMessageConverter jackson && !jackson.getSupportedMediaTypes().isEmpty()) {
+                mappers.putIfAbsent(jackson.getSupportedMediaTypes().get(0).toString(), jackson.getObjectMapper());
+            }
+        }
+        return mappers;
+    }
+}
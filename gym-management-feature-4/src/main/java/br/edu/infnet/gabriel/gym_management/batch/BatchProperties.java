@@ -0,0 +1,62 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Propriedades dos jobs em lote (gym.batch.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.batch")
+public class BatchProperties {
+
+    /**
+     * Registros lidos e processados por transação
+     */
+    private int tamanhoChunk = 500;
+
+    /**
+     * Threads que processam faixas ao mesmo tempo; cada uma ocupa uma conexão do pool durante o chunk
+     */
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Faixas de IDs por thread, para que uma faixa mais densa não segure o job sozinha
+     */
+    private int faixasPorThread = 4;
+
+    /**
+     * Tentativas de cada chunk antes de a faixa ser dada como falha
+     */
+    private int tentativas = 3;
+
+    /**
+     * Intervalo entre os registros de progresso no log
+     */
+    private Duration relatorio = Duration.ofSeconds(10);
+
+    /**
+     * Retoma, quando a aplicação fica pronta, os jobs que pararam no meio
+     */
+    private boolean retomarNaSubida = true;
+
+    /**
+     * Expressão cron de cada job agendado (nome do job -> cron)
+     */
+    private Map<String, String> agendamentos = new LinkedHashMap<>();
+
+    /**
+     * Duração de cada plano, procurada pela palavra no nome do plano (sem acento, sem distinção de maiúsculas)
+     */
+    private Map<String, Period> duracaoPlanos = new LinkedHashMap<>(Map.of(
+            "mensal", Period.ofMonths(1),
+            "bimestral", Period.ofMonths(2),
+            "trimestral", Period.ofMonths(3),
+            "semestral", Period.ofMonths(6),
+            "anual", Period.ofYears(1)));
+}
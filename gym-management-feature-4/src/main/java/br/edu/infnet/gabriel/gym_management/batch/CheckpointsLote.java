@@ -0,0 +1,63 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Checkpoints dos jobs em lote, na tabela batch_checkpoints da base principal (shard 0 com sharding).
+ * Usa o mesmo DataSource das transações JPA, então o avanço da faixa é confirmado junto com o chunk.
+ */
+public class CheckpointsLote {
+
+    private final JdbcTemplate jdbc;
+
+    public CheckpointsLote(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Cria a tabela, se necessário
+     */
+    public void inicializar() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS batch_checkpoints ("
+                + "job VARCHAR(100) NOT NULL, faixa INT NOT NULL, inicio BIGINT NOT NULL, fim BIGINT NOT NULL, "
+                + "ultimo_id BIGINT NOT NULL, processados BIGINT NOT NULL, afetados BIGINT NOT NULL, "
+                + "concluida BOOLEAN NOT NULL, atualizado_em TIMESTAMP NOT NULL, PRIMARY KEY (job, faixa))");
+    }
+
+    public List<FaixaLote> carregar(String job) {
+        return jdbc.query("SELECT faixa, inicio, fim, ultimo_id, processados, afetados, concluida "
+                        + "FROM batch_checkpoints WHERE job = ? ORDER BY faixa",
+                (rs, linha) -> new FaixaLote(rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                        rs.getLong(5), rs.getLong(6), rs.getBoolean(7)),
+                job);
+    }
+
+    /**
+     * Descarta os checkpoints de uma execução anterior e grava as faixas de uma nova
+     */
+    public void substituir(String job, List<FaixaLote> faixas) {
+        jdbc.update("DELETE FROM batch_checkpoints WHERE job = ?", job);
+        Timestamp agora = Timestamp.from(Instant.now());
+        jdbc.batchUpdate("INSERT INTO batch_checkpoints "
+                        + "(job, faixa, inicio, fim, ultimo_id, processados, afetados, concluida, atualizado_em) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                faixas.stream()
+                        .map(f -> new Object[]{job, f.numero(), f.inicio(), f.fim(), f.ultimoId(), f.processados(),
+                                f.afetados(), f.concluida(), agora})
+                        .toList());
+    }
+
+    /**
+     * Registra o chunk confirmado: novo último ID, totais acumulados e se a faixa terminou
+     */
+    public void avancar(String job, int faixa, long ultimoId, int processados, int afetados, boolean concluida) {
+        jdbc.update("UPDATE batch_checkpoints SET ultimo_id = ?, processados = processados + ?, "
+                        + "afetados = afetados + ?, concluida = ?, atualizado_em = ? WHERE job = ? AND faixa = ?",
+                ultimoId, processados, afetados, concluida, Timestamp.from(Instant.now()), job, faixa);
+    }
+}
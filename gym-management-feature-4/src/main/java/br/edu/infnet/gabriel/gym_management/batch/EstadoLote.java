@@ -0,0 +1,14 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+/**
+ * Estado de um job em lote. INTERROMPIDO: há checkpoints de faixas não concluídas, mas o job
+ * não está rodando neste processo (parou por falha, cancelamento ou reinício da aplicação).
+ */
+public enum EstadoLote {
+    NAO_EXECUTADO,
+    EM_EXECUCAO,
+    CONCLUIDO,
+    CANCELADO,
+    FALHOU,
+    INTERROMPIDO
+}
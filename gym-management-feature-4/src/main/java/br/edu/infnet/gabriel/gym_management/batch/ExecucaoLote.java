@@ -0,0 +1,88 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execução de um job neste processo: contadores atualizados pelas threads das faixas e sinal de cancelamento.
+ */
+class ExecucaoLote {
+
+    private final String job;
+    private final Instant inicio = Instant.now();
+    private final long nanoInicio = System.nanoTime();
+    private final int faixas;
+    private final AtomicInteger faixasConcluidas = new AtomicInteger();
+    private final long processadosAntes;
+    private final long afetadosAntes;
+    private final LongAdder processados = new LongAdder();
+    private final LongAdder afetados = new LongAdder();
+    private volatile boolean cancelada;
+    private volatile EstadoLote estado = EstadoLote.EM_EXECUCAO;
+    private volatile long nanoFim;
+    private volatile String erro;
+    private long processadosNoRelatorio;
+    private long nanoRelatorio = nanoInicio;
+
+    ExecucaoLote(String job, List<FaixaLote> faixas) {
+        this.job = job;
+        this.faixas = faixas.size();
+        this.faixasConcluidas.set((int) faixas.stream().filter(FaixaLote::concluida).count());
+        this.processadosAntes = faixas.stream().mapToLong(FaixaLote::processados).sum();
+        this.afetadosAntes = faixas.stream().mapToLong(FaixaLote::afetados).sum();
+    }
+
+    void chunk(int processados, int afetados) {
+        this.processados.add(processados);
+        this.afetados.add(afetados);
+    }
+
+    void faixaConcluida() {
+        faixasConcluidas.incrementAndGet();
+    }
+
+    void cancelar() {
+        cancelada = true;
+    }
+
+    boolean isCancelada() {
+        return cancelada;
+    }
+
+    boolean emExecucao() {
+        return estado == EstadoLote.EM_EXECUCAO;
+    }
+
+    void encerrar(Throwable falha) {
+        nanoFim = System.nanoTime();
+        if (falha != null) {
+            erro = falha.getMessage();
+            estado = EstadoLote.FALHOU;
+        } else {
+            estado = cancelada ? EstadoLote.CANCELADO : EstadoLote.CONCLUIDO;
+        }
+    }
+
+    /**
+     * Registros por segundo desde o relatório anterior (chamado só pela thread de relatório)
+     */
+    double taxaRecente() {
+        long agora = System.nanoTime();
+        long total = processados.sum();
+        double taxa = (total - processadosNoRelatorio) / Math.max(1e-9, (agora - nanoRelatorio) / 1e9);
+        processadosNoRelatorio = total;
+        nanoRelatorio = agora;
+        return taxa;
+    }
+
+    SituacaoLote situacao() {
+        long fim = nanoFim != 0 ? nanoFim : System.nanoTime();
+        double segundos = (fim - nanoInicio) / 1e9;
+        long processadosAgora = processados.sum();
+        return new SituacaoLote(job, estado, inicio, (fim - nanoInicio) / 1_000_000, faixas, faixasConcluidas.get(),
+                processadosAntes + processadosAgora, afetadosAntes + afetados.sum(),
+                segundos > 0 ? processadosAgora / segundos : 0, erro);
+    }
+}
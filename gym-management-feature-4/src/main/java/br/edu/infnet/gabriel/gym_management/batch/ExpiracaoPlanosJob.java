@@ -0,0 +1,81 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import br.edu.infnet.gabriel.gym_management.cache.AlunoCache;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import br.edu.infnet.gabriel.gym_management.writebehind.FilaStatus;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Job "expiracao-planos": inativa os alunos ativos cujo plano venceu (dataInicio + duração do plano antes de hoje).
+ * Planos sem duração conhecida e datas inválidas são ignorados. Cada chunk vira um único
+ * UPDATE ... WHERE id IN (...); os alunos expirados saem do cache e, se tinham status pendente
+ * no write-behind, o pendente passa a ser o inativo.
+ */
+@Component
+public class ExpiracaoPlanosJob extends JobAlunos {
+
+    private final AlunoCache alunoCache;
+    private final FilaStatus filaStatus;
+    private final Map<String, Period> duracaoPlanos;
+    private final Clock relogio = Clock.systemDefaultZone();
+
+    public ExpiracaoPlanosJob(AlunoRepository alunoRepository, AlunoCache alunoCache, FilaStatus filaStatus,
+                              BatchProperties properties) {
+        super(alunoRepository);
+        this.alunoCache = alunoCache;
+        this.filaStatus = filaStatus;
+        this.duracaoPlanos = properties.getDuracaoPlanos();
+    }
+
+    @Override
+    public String getNome() {
+        return "expiracao-planos";
+    }
+
+    @Override
+    public int processar(List<Aluno> chunk) {
+        LocalDate hoje = LocalDate.now(relogio);
+        List<Long> expirados = chunk.stream()
+                .filter(aluno -> Boolean.TRUE.equals(aluno.getStatus()))
+                .filter(aluno -> vencimento(aluno).filter(hoje::isAfter).isPresent())
+                .map(Aluno::getId)
+                .toList();
+        if (expirados.isEmpty()) {
+            return 0;
+        }
+        alunoRepository.updateStatus(expirados, false);
+        alunoCache.invalidarIds(expirados);
+        expirados.forEach(id -> filaStatus.substituirSePendente(id, false));
+        return expirados.size();
+    }
+
+    private Optional<LocalDate> vencimento(Aluno aluno) {
+        if (aluno.getPlano() == null || aluno.getDataInicio() == null) {
+            return Optional.empty();
+        }
+        String plano = Normalizer.normalize(aluno.getPlano(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        Optional<Period> duracao = duracaoPlanos.entrySet().stream()
+                .filter(entrada -> plano.contains(entrada.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst();
+        try {
+            LocalDate inicio = LocalDate.parse(aluno.getDataInicio());
+            return duracao.map(inicio::plus);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
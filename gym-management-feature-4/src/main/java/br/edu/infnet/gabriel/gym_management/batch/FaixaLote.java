@@ -0,0 +1,8 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+/**
+ * Faixa de IDs (inicio..fim) de um job e o checkpoint dela: último ID processado e totais.
+ */
+public record FaixaLote(int numero, long inicio, long fim, long ultimoId, long processados, long afetados,
+                        boolean concluida) {
+}
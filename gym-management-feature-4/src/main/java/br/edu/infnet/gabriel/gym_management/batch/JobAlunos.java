@@ -0,0 +1,54 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base dos jobs sobre a tabela alunos: intervalos e leitura por keyset via AlunoRepository.
+ * Com sharding, as consultas vão a todas as shards e o roteamento junta os chunks em ordem de ID, cortados
+ * no limite. Um registro que mudou de shard leva o ID da faixa de origem, então os intervalos das shards se
+ * sobrepõem e são unidos antes de virar faixas.
+ */
+public abstract class JobAlunos implements JobLote<Aluno> {
+
+    protected final AlunoRepository alunoRepository;
+
+    protected JobAlunos(AlunoRepository alunoRepository) {
+        this.alunoRepository = alunoRepository;
+    }
+
+    @Override
+    public List<long[]> intervalos() {
+        List<long[]> porShard = alunoRepository.findIntervalosIds().stream()
+                .filter(intervalo -> intervalo[0] != null && intervalo[1] != null)
+                .map(intervalo -> new long[]{((Number) intervalo[0]).longValue(), ((Number) intervalo[1]).longValue()})
+                .sorted(Comparator.comparingLong(intervalo -> intervalo[0]))
+                .toList();
+        List<long[]> unidos = new ArrayList<>();
+        for (long[] intervalo : porShard) {
+            long[] anterior = unidos.isEmpty() ? null : unidos.get(unidos.size() - 1);
+            if (anterior != null && intervalo[0] <= anterior[1]) {
+                anterior[1] = Math.max(anterior[1], intervalo[1]);
+            } else {
+                unidos.add(intervalo);
+            }
+        }
+        return unidos;
+    }
+
+    @Override
+    public List<Aluno> ler(long depoisDe, long ate, int tamanho) {
+        return alunoRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(depoisDe, ate, Limit.of(tamanho));
+    }
+
+    @Override
+    public long id(Aluno aluno) {
+        return Objects.requireNonNull(aluno.getId());
+    }
+}
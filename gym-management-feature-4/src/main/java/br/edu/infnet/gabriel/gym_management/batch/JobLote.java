@@ -0,0 +1,30 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import java.util.List;
+
+/**
+ * Job que percorre uma tabela por keyset, em chunks de IDs crescentes.
+ * Cada chunk (ler + processar) roda numa transação própria junto com o checkpoint da faixa,
+ * então processar deve ser idempotente: um chunk interrompido é refeito na retomada.
+ */
+public interface JobLote<T> {
+
+    String getNome();
+
+    /**
+     * Intervalos [menor, maior] de IDs existentes, sem sobreposição; com shards, até um por base
+     */
+    List<long[]> intervalos();
+
+    /**
+     * Até tamanho registros com depoisDe < id <= ate, em ordem crescente de ID
+     */
+    List<T> ler(long depoisDe, long ate, int tamanho);
+
+    long id(T registro);
+
+    /**
+     * Processa o chunk e devolve quantos registros foram afetados (alterados ou sinalizados)
+     */
+    int processar(List<T> chunk);
+}
@@ -0,0 +1,310 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa os jobs em lote. Os intervalos de IDs de cada job são divididos em faixas
+ * (paralelismo x faixasPorThread, proporcionais ao tamanho de cada intervalo) e as faixas são percorridas
+ * por keyset em paralelo, num pool de paralelismo threads. Cada chunk é uma transação que lê, processa
+ * e avança o checkpoint da faixa; um job interrompido continua do último chunk confirmado.
+ * O progresso vai para o log a cada gym.batch.relatorio e para as métricas gym.batch.*.
+ */
+public class MotorLotes implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorLotes.class);
+
+    private final Map<String, JobLote<?>> jobs = new LinkedHashMap<>();
+    private final CheckpointsLote checkpoints;
+    private final TransactionTemplate escrita;
+    private final BatchProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, ExecucaoLote> execucoes = new ConcurrentHashMap<>();
+    private final Map<String, ExecutorService> threads = new ConcurrentHashMap<>();
+    private ScheduledExecutorService relatorio;
+
+    public MotorLotes(List<JobLote<?>> jobs, CheckpointsLote checkpoints, PlatformTransactionManager transactionManager,
+                      BatchProperties properties, MeterRegistry registry) {
+        jobs.forEach(job -> this.jobs.put(job.getNome(), job));
+        this.checkpoints = checkpoints;
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public Set<String> nomes() {
+        return jobs.keySet();
+    }
+
+    /**
+     * Inicia o job em segundo plano. Com retomar, continua a execução anterior se ela tem faixas não concluídas;
+     * sem retomar, ou se a anterior terminou, recomeça do primeiro ID
+     */
+    public SituacaoLote iniciar(String nome, boolean retomar) {
+        JobLote<?> job = job(nome);
+        synchronized (execucoes) {
+            ExecucaoLote atual = execucoes.get(nome);
+            if (atual != null && atual.emExecucao()) {
+                throw new IllegalStateException("Job " + nome + " já está em execução");
+            }
+            List<FaixaLote> faixas = escrita.execute(status -> preparar(job, retomar));
+            ExecucaoLote execucao = new ExecucaoLote(nome, faixas);
+            execucoes.put(nome, execucao);
+            executar(job, execucao, faixas.stream().filter(faixa -> !faixa.concluida()).toList());
+            return execucao.situacao();
+        }
+    }
+
+    /**
+     * Pede o cancelamento; as faixas param ao fim do chunk em andamento
+     */
+    public SituacaoLote cancelar(String nome) {
+        job(nome);
+        ExecucaoLote execucao = execucoes.get(nome);
+        if (execucao == null || !execucao.emExecucao()) {
+            throw new IllegalStateException("Job " + nome + " não está em execução");
+        }
+        execucao.cancelar();
+        return execucao.situacao();
+    }
+
+    public SituacaoLote situacao(String nome) {
+        job(nome);
+        ExecucaoLote execucao = execucoes.get(nome);
+        if (execucao != null) {
+            return execucao.situacao();
+        }
+        List<FaixaLote> faixas = checkpoints.carregar(nome);
+        EstadoLote estado = faixas.isEmpty() ? EstadoLote.NAO_EXECUTADO
+                : faixas.stream().allMatch(FaixaLote::concluida) ? EstadoLote.CONCLUIDO : EstadoLote.INTERROMPIDO;
+        return new SituacaoLote(nome, estado, null, 0, faixas.size(),
+                (int) faixas.stream().filter(FaixaLote::concluida).count(),
+                faixas.stream().mapToLong(FaixaLote::processados).sum(),
+                faixas.stream().mapToLong(FaixaLote::afetados).sum(), 0, null);
+    }
+
+    private JobLote<?> job(String nome) {
+        JobLote<?> job = jobs.get(nome);
+        if (job == null) {
+            throw new IllegalArgumentException("Job desconhecido: " + nome);
+        }
+        return job;
+    }
+
+    private List<FaixaLote> preparar(JobLote<?> job, boolean retomar) {
+        List<FaixaLote> salvas = checkpoints.carregar(job.getNome());
+        if (retomar && salvas.stream().anyMatch(faixa -> !faixa.concluida())) {
+            log.info("Job {}: retomando {} de {} faixas", job.getNome(),
+                    salvas.stream().filter(faixa -> !faixa.concluida()).count(), salvas.size());
+            return salvas;
+        }
+        List<FaixaLote> faixas = dividir(job.intervalos(), Math.max(1, properties.getParalelismo() * properties.getFaixasPorThread()));
+        checkpoints.substituir(job.getNome(), faixas);
+        return faixas;
+    }
+
+    /**
+     * Divide cada intervalo em faixas contíguas, em quantidade proporcional à sua largura (no mínimo uma)
+     */
+    static List<FaixaLote> dividir(List<long[]> intervalos, int totalFaixas) {
+        double larguraTotal = intervalos.stream().mapToDouble(intervalo -> intervalo[1] - intervalo[0] + 1.0).sum();
+        List<FaixaLote> faixas = new ArrayList<>();
+        for (long[] intervalo : intervalos) {
+            long largura = intervalo[1] - intervalo[0] + 1;
+            long quantidade = Math.min(largura, Math.max(1, Math.round(totalFaixas * largura / larguraTotal)));
+            long passo = (largura + quantidade - 1) / quantidade;
+            for (long inicio = intervalo[0]; inicio <= intervalo[1]; inicio += passo) {
+                long fim = Math.min(intervalo[1], inicio + passo - 1);
+                faixas.add(new FaixaLote(faixas.size(), inicio, fim, inicio - 1, 0, 0, false));
+            }
+        }
+        return faixas;
+    }
+
+    private void executar(JobLote<?> job, ExecucaoLote execucao, List<FaixaLote> pendentes) {
+        if (pendentes.isEmpty()) {
+            execucao.encerrar(null);
+            log.info("Job {}: nada a processar", job.getNome());
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(Math.max(1, properties.getParalelismo()), pendentes.size()),
+                fabrica("lote-" + job.getNome() + "-"));
+        threads.put(job.getNome(), pool);
+        CompletableFuture<?>[] faixas = pendentes.stream()
+                .map(faixa -> CompletableFuture.runAsync(() -> percorrer(job, execucao, faixa), pool))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(faixas).whenComplete((ok, falha) -> {
+            pool.shutdown();
+            threads.remove(job.getNome(), pool);
+            execucao.encerrar(falha != null ? (falha.getCause() != null ? falha.getCause() : falha) : null);
+            SituacaoLote situacao = execucao.situacao();
+            log.info("Job {} {}: {} registros, {} afetados, {}/{} faixas em {} ms ({} registros/s)",
+                    job.getNome(), situacao.getEstado(), situacao.getProcessados(), situacao.getAfetados(),
+                    situacao.getFaixasConcluidas(), situacao.getFaixas(), situacao.getDuracaoMs(),
+                    Math.round(situacao.getRegistrosPorSegundo()));
+        });
+        log.info("Job {} iniciado: {} faixas pendentes, {} threads, chunks de {}", job.getNome(), pendentes.size(),
+                Math.min(properties.getParalelismo(), pendentes.size()), properties.getTamanhoChunk());
+    }
+
+    /**
+     * Percorre uma faixa chunk a chunk, cada um na sua transação com o checkpoint
+     */
+    private <T> void percorrer(JobLote<T> job, ExecucaoLote execucao, FaixaLote faixa) {
+        String nome = job.getNome();
+        int tamanho = properties.getTamanhoChunk();
+        Timer tempoChunk = registry.timer("gym.batch.chunk", "job", nome);
+        Counter registros = registry.counter("gym.batch.registros", "job", nome);
+        Counter afetados = registry.counter("gym.batch.afetados", "job", nome);
+        long ultimoId = faixa.ultimoId();
+        while (!execucao.isCancelada()) {
+            long depoisDe = ultimoId;
+            Passo passo = tempoChunk.record(() -> comTentativas(nome, faixa, () -> escrita.execute(status -> {
+                List<T> chunk = job.ler(depoisDe, faixa.fim(), tamanho);
+                if (chunk.isEmpty()) {
+                    checkpoints.avancar(nome, faixa.numero(), depoisDe, 0, 0, true);
+                    return new Passo(depoisDe, 0, 0, true);
+                }
+                int afetadosChunk = job.processar(chunk);
+                long ultimo = job.id(chunk.get(chunk.size() - 1));
+                boolean fim = chunk.size() < tamanho || ultimo >= faixa.fim();
+                checkpoints.avancar(nome, faixa.numero(), ultimo, chunk.size(), afetadosChunk, fim);
+                return new Passo(ultimo, chunk.size(), afetadosChunk, fim);
+            })));
+            execucao.chunk(passo.processados(), passo.afetados());
+            registros.increment(passo.processados());
+            afetados.increment(passo.afetados());
+            ultimoId = passo.ultimoId();
+            if (passo.fim()) {
+                execucao.faixaConcluida();
+                return;
+            }
+        }
+    }
+
+    private Passo comTentativas(String nome, FaixaLote faixa, Supplier<Passo> chunk) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return chunk.get();
+            } catch (RuntimeException e) {
+                if (tentativa >= properties.getTentativas()) {
+                    throw e;
+                }
+                log.warn("Job {}: chunk da faixa {} falhou (tentativa {} de {}): {}", nome, faixa.numero(),
+                        tentativa, properties.getTentativas(), e.getMessage());
+                try {
+                    Thread.sleep(100L * tentativa);
+                } catch (InterruptedException interrompida) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retoma os jobs com faixas pendentes quando a aplicação fica pronta (gym.batch.retomar-na-subida)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarInterrompidos() {
+        if (!properties.isRetomarNaSubida()) {
+            return;
+        }
+        for (String nome : jobs.keySet()) {
+            if (situacao(nome).getEstado() == EstadoLote.INTERROMPIDO) {
+                iniciar(nome, true);
+            }
+        }
+    }
+
+    /**
+     * Disparo pelo agendamento: se o job ainda estiver rodando, a execução agendada é pulada
+     */
+    public void iniciarAgendado(String nome) {
+        try {
+            iniciar(nome, true);
+        } catch (IllegalStateException e) {
+            log.warn("Execução agendada do job {} ignorada: {}", nome, e.getMessage());
+        }
+    }
+
+    private void relatar() {
+        execucoes.values().stream().filter(ExecucaoLote::emExecucao).forEach(execucao -> {
+            double taxa = execucao.taxaRecente();
+            SituacaoLote situacao = execucao.situacao();
+            log.info("Job {}: {} registros, {} afetados, {}/{} faixas, {} registros/s (média {})",
+                    situacao.getJob(), situacao.getProcessados(), situacao.getAfetados(), situacao.getFaixasConcluidas(),
+                    situacao.getFaixas(), Math.round(taxa), Math.round(situacao.getRegistrosPorSegundo()));
+        });
+    }
+
+    private static ThreadFactory fabrica(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void start() {
+        checkpoints.inicializar();
+        relatorio = Executors.newSingleThreadScheduledExecutor(fabrica("lote-relatorio-"));
+        long intervalo = properties.getRelatorio().toMillis();
+        relatorio.scheduleAtFixedRate(this::relatar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancela os jobs em andamento e espera o chunk atual de cada faixa terminar;
+     * os checkpoints ficam na tabela para a retomada
+     */
+    @Override
+    public void stop() {
+        if (relatorio == null) {
+            return;
+        }
+        relatorio.shutdownNow();
+        relatorio = null;
+        execucoes.values().forEach(ExecucaoLote::cancelar);
+        threads.values().forEach(pool -> {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return relatorio != null;
+    }
+
+    private record Passo(long ultimoId, int processados, int afetados, boolean fim) {
+    }
+}
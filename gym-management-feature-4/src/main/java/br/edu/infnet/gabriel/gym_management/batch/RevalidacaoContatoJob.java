@@ -0,0 +1,55 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Job "revalidacao-contato": confere email e telefone de cada aluno com as regras atuais do Bean Validation
+ * (dados gravados antes de uma regra mudar, ou importados por fora da API). Não altera nada:
+ * cada aluno inválido vai para o log com o ID e os campos reprovados, e conta como afetado.
+ */
+@Component
+public class RevalidacaoContatoJob extends JobAlunos {
+
+    private static final Logger log = LoggerFactory.getLogger(RevalidacaoContatoJob.class);
+    private static final List<String> CAMPOS = List.of("email", "telefone");
+
+    private final Validator validator;
+
+    public RevalidacaoContatoJob(AlunoRepository alunoRepository, Validator validator) {
+        super(alunoRepository);
+        this.validator = validator;
+    }
+
+    @Override
+    public String getNome() {
+        return "revalidacao-contato";
+    }
+
+    @Override
+    public int processar(List<Aluno> chunk) {
+        int invalidos = 0;
+        for (Aluno aluno : chunk) {
+            Set<String> reprovados = CAMPOS.stream()
+                    .flatMap(campo -> validator.validateProperty(aluno, campo).stream())
+                    .map(ConstraintViolation::getPropertyPath)
+                    .map(Object::toString)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            if (!reprovados.isEmpty()) {
+                invalidos++;
+                log.warn("Aluno {} com contato inválido: {}", aluno.getId(), reprovados);
+            }
+        }
+        return invalidos;
+    }
+}
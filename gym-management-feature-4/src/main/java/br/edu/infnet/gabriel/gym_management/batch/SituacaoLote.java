@@ -0,0 +1,25 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Progresso de um job em lote. processados e afetados somam as execuções retomadas;
+ * registrosPorSegundo considera só a execução atual.
+ */
+@Data
+@AllArgsConstructor
+public class SituacaoLote {
+    private String job;
+    private EstadoLote estado;
+    private Instant inicio;
+    private long duracaoMs;
+    private int faixas;
+    private int faixasConcluidas;
+    private long processados;
+    private long afetados;
+    private double registrosPorSegundo;
+    private String erro;
+}
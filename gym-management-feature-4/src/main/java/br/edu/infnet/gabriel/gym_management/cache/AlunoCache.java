@@ -0,0 +1,98 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import br.edu.infnet.gabriel.gym_management.datasource.ReplicaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Caches de leitura de alunos: por ID, por plano e por academia.
+ * Guardam snapshots imutáveis; a invalidação remove apenas as chaves afetadas pelo estado anterior e
+ * pelo novo estado do aluno alterado.
+ */
+@Component
+public class AlunoCache {
+
+    private final SnapshotCache<Long, AlunoSnapshot> porId;
+    private final SnapshotCache<String, List<AlunoSnapshot>> porPlano;
+    private final SnapshotCache<Long, List<AlunoSnapshot>> porAcademia;
+
+    public AlunoCache(CacheProperties properties, Optional<ReplicaProperties> replica, MeterRegistry registry) {
+        Duration expiracao = properties.expiracao(replica);
+        this.porId = new SnapshotCache<>("alunos.porId", properties.getMaximumSize(), expiracao, registry);
+        this.porPlano = new SnapshotCache<>("alunos.porPlano", properties.getMaximumListas(), expiracao, registry);
+        this.porAcademia = new SnapshotCache<>("alunos.porAcademia", properties.getMaximumListas(), expiracao, registry);
+    }
+
+    public AlunoSnapshot porId(Long id, Function<Long, AlunoSnapshot> carregar) {
+        return porId.obter(id, carregar);
+    }
+
+    public List<AlunoSnapshot> porPlano(String plano, Function<String, List<AlunoSnapshot>> carregar) {
+        return porPlano.obter(chavePlano(plano), carregar);
+    }
+
+    public List<AlunoSnapshot> porAcademia(Long academiaId, Function<Long, List<AlunoSnapshot>> carregar) {
+        return porAcademia.obter(academiaId, carregar);
+    }
+
+    /**
+     * Invalida as entradas ligadas aos estados informados (null é ignorado)
+     */
+    public void invalidar(AlunoSnapshot... estados) {
+        List<AlunoSnapshot> afetados = Arrays.stream(estados).filter(Objects::nonNull).toList();
+        SnapshotCache.aoConcluir(() -> {
+            List<String> planos = new ArrayList<>();
+            List<Long> academias = new ArrayList<>();
+            for (AlunoSnapshot estado : afetados) {
+                porId.invalidar(estado.id());
+                if (estado.plano() != null) {
+                    planos.add(chavePlano(estado.plano()));
+                }
+                if (estado.academiaId() != null) {
+                    academias.add(estado.academiaId());
+                }
+            }
+            porPlano.invalidarTodas(planos);
+            porAcademia.invalidarTodas(academias);
+        });
+    }
+
+    /**
+     * Invalida os alunos informados e as listas que os contêm, sem conhecer o estado anterior
+     * (status gravados em lote pelo write-behind)
+     */
+    public void invalidarIds(Collection<Long> ids) {
+        Set<Long> alterados = Set.copyOf(ids);
+        SnapshotCache.aoConcluir(() -> {
+            porId.invalidarTodas(alterados);
+            porPlano.invalidarSe(lista -> lista.stream().anyMatch(aluno -> alterados.contains(aluno.id())));
+            porAcademia.invalidarSe(lista -> lista.stream().anyMatch(aluno -> alterados.contains(aluno.id())));
+        });
+    }
+
+    /**
+     * Invalida tudo que envolve alunos da academia (academia alterada ou excluída)
+     */
+    public void invalidarDaAcademia(Long academiaId) {
+        SnapshotCache.aoConcluir(() -> {
+            porAcademia.invalidar(academiaId);
+            porId.invalidarSe(aluno -> academiaId.equals(aluno.academiaId()));
+            porPlano.invalidarSe(lista -> lista.stream().anyMatch(aluno -> academiaId.equals(aluno.academiaId())));
+        });
+    }
+
+    private static String chavePlano(String plano) {
+        return plano.toLowerCase(Locale.ROOT);
+    }
+}
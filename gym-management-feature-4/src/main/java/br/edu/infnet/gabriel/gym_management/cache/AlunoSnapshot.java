@@ -0,0 +1,41 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+
+/**
+ * Cópia imutável de um Aluno guardada em cache.
+ * Da academia guarda apenas o ID, que também é a chave usada na invalidação.
+ */
+public record AlunoSnapshot(Long id, String nome, String email, String cpf, String telefone, String matricula,
+                            String plano, String dataInicio, Boolean status, Long academiaId) {
+
+    public static AlunoSnapshot de(Aluno aluno) {
+        return new AlunoSnapshot(aluno.getId(), aluno.getNome(), aluno.getEmail(), aluno.getCpf(), aluno.getTelefone(),
+                aluno.getMatricula(), aluno.getPlano(), aluno.getDataInicio(), aluno.getStatus(),
+                aluno.getAcademia() != null ? aluno.getAcademia().getId() : null);
+    }
+
+    /**
+     * Cria uma nova entidade (desanexada) com os dados do snapshot.
+     * A academia vem apenas com o ID preenchido.
+     */
+    public Aluno paraEntidade() {
+        Aluno aluno = new Aluno();
+        aluno.setId(id);
+        aluno.setNome(nome);
+        aluno.setEmail(email);
+        aluno.setCpf(cpf);
+        aluno.setTelefone(telefone);
+        aluno.setMatricula(matricula);
+        aluno.setPlano(plano);
+        aluno.setDataInicio(dataInicio);
+        aluno.setStatus(status);
+        if (academiaId != null) {
+            Academia academia = new Academia();
+            academia.setId(academiaId);
+            aluno.setAcademia(academia);
+        }
+        return aluno;
+    }
+}
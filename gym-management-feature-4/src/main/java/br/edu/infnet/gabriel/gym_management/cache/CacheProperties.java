@@ -0,0 +1,43 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import br.edu.infnet.gabriel.gym_management.datasource.ReplicaProperties;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Propriedades dos caches de serviço (gym.cache.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.cache")
+public class CacheProperties {
+
+    /**
+     * Máximo de entidades por cache de busca por ID
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Máximo de listas por cache de finder (plano, especialidade, academia)
+     */
+    private long maximumListas = 500;
+
+    /**
+     * Tempo máximo de vida de uma entrada, mesmo sem invalidação
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * Tempo de vida efetivo das entradas. Com a réplica ligada, as faltas carregam da réplica e podem trazer
+     * o estado anterior a uma escrita cuja invalidação já passou; limitar a expiração a max-staleness
+     * impede que esse valor atrasado dure mais do que o próprio atraso tolerado da réplica.
+     */
+    public Duration expiracao(Optional<ReplicaProperties> replica) {
+        return replica.filter(ReplicaProperties::isEnabled)
+                .map(ReplicaProperties::getMaxStaleness)
+                .filter(maximo -> maximo.compareTo(expireAfterWrite) < 0)
+                .orElse(expireAfterWrite);
+    }
+}
@@ -0,0 +1,26 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import br.edu.infnet.gabriel.gym_management.model.Endereco;
+
+/**
+ * Cópia imutável de um Endereco guardada em cache.
+ */
+public record EnderecoSnapshot(Long id, String cep, String logradouro, String complemento, String unidade,
+                               String bairro, String localidade, String uf, String estado) {
+
+    public static EnderecoSnapshot de(Endereco endereco) {
+        if (endereco == null) {
+            return null;
+        }
+        return new EnderecoSnapshot(endereco.getId(), endereco.getCep(), endereco.getLogradouro(),
+                endereco.getComplemento(), endereco.getUnidade(), endereco.getBairro(),
+                endereco.getLocalidade(), endereco.getUf(), endereco.getEstado());
+    }
+
+    /**
+     * Cria uma nova entidade (desanexada) com os dados do snapshot
+     */
+    public Endereco paraEntidade() {
+        return new Endereco(id, cep, logradouro, complemento, unidade, bairro, localidade, uf, estado);
+    }
+}
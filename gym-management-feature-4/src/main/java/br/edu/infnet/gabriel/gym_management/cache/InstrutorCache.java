@@ -0,0 +1,91 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import br.edu.infnet.gabriel.gym_management.datasource.ReplicaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caches de leitura de instrutores: por ID, por especialidade, por academia e ativos por academia.
+ * Guardam snapshots imutáveis; a invalidação remove apenas as chaves afetadas pelo estado anterior e
+ * pelo novo estado do instrutor alterado.
+ */
+@Component
+public class InstrutorCache {
+
+    private final SnapshotCache<Long, InstrutorSnapshot> porId;
+    private final SnapshotCache<String, List<InstrutorSnapshot>> porEspecialidade;
+    private final SnapshotCache<Long, List<InstrutorSnapshot>> porAcademia;
+    private final SnapshotCache<Long, List<InstrutorSnapshot>> ativosPorAcademia;
+
+    public InstrutorCache(CacheProperties properties, Optional<ReplicaProperties> replica, MeterRegistry registry) {
+        Duration expiracao = properties.expiracao(replica);
+        this.porId = new SnapshotCache<>("instrutores.porId", properties.getMaximumSize(), expiracao, registry);
+        this.porEspecialidade = new SnapshotCache<>("instrutores.porEspecialidade", properties.getMaximumListas(), expiracao, registry);
+        this.porAcademia = new SnapshotCache<>("instrutores.porAcademia", properties.getMaximumListas(), expiracao, registry);
+        this.ativosPorAcademia = new SnapshotCache<>("instrutores.ativosPorAcademia", properties.getMaximumListas(), expiracao, registry);
+    }
+
+    public InstrutorSnapshot porId(Long id, Function<Long, InstrutorSnapshot> carregar) {
+        return porId.obter(id, carregar);
+    }
+
+    public List<InstrutorSnapshot> porEspecialidade(String especialidade, Function<String, List<InstrutorSnapshot>> carregar) {
+        return porEspecialidade.obter(chaveEspecialidade(especialidade), carregar);
+    }
+
+    public List<InstrutorSnapshot> porAcademia(Long academiaId, Function<Long, List<InstrutorSnapshot>> carregar) {
+        return porAcademia.obter(academiaId, carregar);
+    }
+
+    public List<InstrutorSnapshot> ativosPorAcademia(Long academiaId, Function<Long, List<InstrutorSnapshot>> carregar) {
+        return ativosPorAcademia.obter(academiaId, carregar);
+    }
+
+    /**
+     * Invalida as entradas ligadas aos estados informados (null é ignorado)
+     */
+    public void invalidar(InstrutorSnapshot... estados) {
+        List<InstrutorSnapshot> afetados = Arrays.stream(estados).filter(Objects::nonNull).toList();
+        SnapshotCache.aoConcluir(() -> {
+            List<String> especialidades = new ArrayList<>();
+            List<Long> academias = new ArrayList<>();
+            for (InstrutorSnapshot estado : afetados) {
+                porId.invalidar(estado.id());
+                if (estado.especialidade() != null) {
+                    especialidades.add(chaveEspecialidade(estado.especialidade()));
+                }
+                if (estado.academiaId() != null) {
+                    academias.add(estado.academiaId());
+                }
+            }
+            porEspecialidade.invalidarTodas(especialidades);
+            porAcademia.invalidarTodas(academias);
+            ativosPorAcademia.invalidarTodas(academias);
+        });
+    }
+
+    /**
+     * Invalida tudo que envolve instrutores da academia (academia alterada ou excluída)
+     */
+    public void invalidarDaAcademia(Long academiaId) {
+        SnapshotCache.aoConcluir(() -> {
+            porAcademia.invalidar(academiaId);
+            ativosPorAcademia.invalidar(academiaId);
+            porId.invalidarSe(instrutor -> academiaId.equals(instrutor.academiaId()));
+            porEspecialidade.invalidarSe(lista -> lista.stream().anyMatch(instrutor -> academiaId.equals(instrutor.academiaId())));
+        });
+    }
+
+    private static String chaveEspecialidade(String especialidade) {
+        return especialidade.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+
+/**
+ * Cópia imutável de um Instrutor (com endereço) guardada em cache.
+ * Da academia guarda apenas o ID, que também é a chave usada na invalidação.
+ */
+public record InstrutorSnapshot(Long id, String nome, String email, String cpf, String telefone, String registro,
+                                String especialidade, Double salario, Boolean status, EnderecoSnapshot endereco,
+                                Long academiaId) {
+
+    public static InstrutorSnapshot de(Instrutor instrutor) {
+        return new InstrutorSnapshot(instrutor.getId(), instrutor.getNome(), instrutor.getEmail(), instrutor.getCpf(),
+                instrutor.getTelefone(), instrutor.getRegistro(), instrutor.getEspecialidade(), instrutor.getSalario(),
+                instrutor.getStatus(), EnderecoSnapshot.de(instrutor.getEndereco()),
+                instrutor.getAcademia() != null ? instrutor.getAcademia().getId() : null);
+    }
+
+    /**
+     * Cria uma nova entidade (desanexada) com os dados do snapshot.
+     * A academia vem apenas com o ID preenchido.
+     */
+    public Instrutor paraEntidade() {
+        Instrutor instrutor = new Instrutor();
+        instrutor.setId(id);
+        instrutor.setNome(nome);
+        instrutor.setEmail(email);
+        instrutor.setCpf(cpf);
+        instrutor.setTelefone(telefone);
+        instrutor.setRegistro(registro);
+        instrutor.setEspecialidade(especialidade);
+        instrutor.setSalario(salario);
+        instrutor.setStatus(status);
+        instrutor.setEndereco(endereco != null ? endereco.paraEntidade() : null);
+        if (academiaId != null) {
+            Academia academia = new Academia();
+            academia.setId(academiaId);
+            instrutor.setAcademia(academia);
+        }
+        return instrutor;
+    }
+}
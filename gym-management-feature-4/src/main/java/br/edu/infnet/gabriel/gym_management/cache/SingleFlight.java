@@ -0,0 +1,73 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes ("single flight").
+ * Enquanto uma carga para a chave está em andamento, as demais chamadas com a mesma chave
+ * aguardam e recebem o mesmo resultado em vez de repetir a consulta. Nada é guardado depois que
+ * a carga termina: a próxima chamada consulta o banco de novo.
+ *
+ * @param <K> Tipo da chave
+ * @param <V> Tipo do resultado; deve ser imutável, pois é compartilhado entre as threads
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final Counter executadas;
+    private final Counter coalescidas;
+
+    public SingleFlight(String nome, MeterRegistry registry) {
+        this.executadas = Counter.builder("gym.singleflight.calls")
+                .description("Cargas executadas no banco")
+                .tag("name", nome)
+                .register(registry);
+        this.coalescidas = Counter.builder("gym.singleflight.coalesced")
+                .description("Chamadas atendidas pela carga de outra thread")
+                .tag("name", nome)
+                .register(registry);
+    }
+
+    /**
+     * Executa a carga ou aguarda a que já está em andamento para a mesma chave
+     */
+    public V executar(K chave, Supplier<V> carregar) {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            coalescidas.increment();
+            return aguardar(existente);
+        }
+        executadas.increment();
+        try {
+            V valor = carregar.get();
+            nova.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fábrica de {@link SingleFlight} com métricas registradas no Micrometer.
+ */
+@Component
+public class SingleFlights {
+
+    private final MeterRegistry registry;
+
+    public SingleFlights(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Cria um SingleFlight cujas métricas levam a tag name informada
+     */
+    public <K, V> SingleFlight<K, V> criar(String nome) {
+        return new SingleFlight<>(nome, registry);
+    }
+}
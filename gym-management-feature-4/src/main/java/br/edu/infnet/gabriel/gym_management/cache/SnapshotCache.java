@@ -0,0 +1,76 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache Caffeine de snapshots imutáveis, com limite de tamanho, expiração e métricas
+ * (cache.gets hit/miss, cache.evictions, cache.load.duration) publicadas no Micrometer.
+ *
+ * @param <K> Tipo da chave
+ * @param <V> Tipo do valor (snapshot ou lista de snapshots)
+ */
+public class SnapshotCache<K, V> {
+
+    private final Cache<K, V> cache;
+
+    public SnapshotCache(String nome, long maximumSize, Duration expireAfterWrite, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, nome);
+    }
+
+    /**
+     * Devolve o valor em cache ou carrega e guarda. Valores null não são guardados.
+     */
+    public V obter(K chave, Function<K, V> carregar) {
+        return cache.get(chave, carregar);
+    }
+
+    public void invalidar(K chave) {
+        cache.invalidate(chave);
+    }
+
+    public void invalidarTodas(Collection<K> chaves) {
+        cache.invalidateAll(chaves);
+    }
+
+    /**
+     * Remove as entradas cujo valor atende ao predicado
+     */
+    public void invalidarSe(Predicate<V> predicado) {
+        cache.asMap().values().removeIf(predicado);
+    }
+
+    public void limpar() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Executa a invalidação agora e de novo ao fim da transação corrente, se houver.
+     * A segunda execução descarta valores recarregados por leitores concorrentes antes do commit.
+     */
+    public static void aoConcluir(Runnable invalidacao) {
+        invalidacao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+}
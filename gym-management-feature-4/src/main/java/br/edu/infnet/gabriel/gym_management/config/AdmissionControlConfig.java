@@ -0,0 +1,34 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.admission.AdmissionControlFilter;
+import br.edu.infnet.gabriel.gym_management.admission.AdmissionProperties;
+import br.edu.infnet.gabriel.gym_management.admission.EndpointClassifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra o filtro de controle de admissão (gym.admission.enabled, desligado por padrão).
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "gym.admission", name = "enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(EndpointClassifier classifier,
+                                                                                 AdmissionProperties properties,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry registry) {
+        FilterRegistrationBean<AdmissionControlFilter> registro = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(classifier, properties, objectMapper, registry));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registro.addUrlPatterns("/*");
+        return registro;
+    }
+}
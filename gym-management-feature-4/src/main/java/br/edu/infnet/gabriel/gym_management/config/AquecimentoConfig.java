@@ -0,0 +1,45 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.aquecimento.Aquecimento;
+import br.edu.infnet.gabriel.gym_management.aquecimento.AquecimentoHealthIndicator;
+import br.edu.infnet.gabriel.gym_management.aquecimento.AquecimentoProperties;
+import br.edu.infnet.gabriel.gym_management.aquecimento.ConsultasAquecimento;
+import br.edu.infnet.gabriel.gym_management.aquecimento.EtapaAquecimento;
+import br.edu.infnet.gabriel.gym_management.aquecimento.RepeticaoAmostra;
+import br.edu.infnet.gabriel.gym_management.aquecimento.SerializacaoAquecimento;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * Aquecimento antes do readiness (gym.aquecimento.*): consultas dos repositórios, serialização das entidades
+ * e, se configurada, a repetição de uma amostra de requisições. Os beans existem mesmo com enabled=false,
+ * porque o health "aquecimento" faz parte do grupo readiness; desligado, ele fica UP logo na subida.
+ */
+@Configuration
+@EnableConfigurationProperties(AquecimentoProperties.class)
+public class AquecimentoConfig {
+
+    @Bean
+    public Aquecimento aquecimento(AquecimentoProperties properties, List<Repository<?, ?>> repositorios,
+                                   PlatformTransactionManager transactionManager, HttpMessageConverters conversores,
+                                   ResourceLoader resourceLoader, Environment environment) {
+        List<EtapaAquecimento> etapas = List.of(
+                new ConsultasAquecimento(repositorios, transactionManager, properties),
+                new SerializacaoAquecimento(conversores),
+                new RepeticaoAmostra(properties, resourceLoader, environment));
+        return new Aquecimento(etapas, properties);
+    }
+
+    @Bean
+    public AquecimentoHealthIndicator aquecimentoHealthIndicator(Aquecimento aquecimento) {
+        return new AquecimentoHealthIndicator(aquecimento);
+    }
+}
@@ -0,0 +1,58 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.batch.BatchProperties;
+import br.edu.infnet.gabriel.gym_management.batch.CheckpointsLote;
+import br.edu.infnet.gabriel.gym_management.batch.JobLote;
+import br.edu.infnet.gabriel.gym_management.batch.MotorLotes;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Jobs em lote (gym.batch.*): motor com checkpoints na base principal e agendamento por cron
+ * dos jobs listados em gym.batch.agendamentos.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig implements SchedulingConfigurer {
+
+    private final BatchProperties properties;
+    private final List<JobLote<?>> jobs;
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry registry;
+
+    public BatchConfig(BatchProperties properties, List<JobLote<?>> jobs, DataSource dataSource,
+                       PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.jobs = jobs;
+        this.dataSource = dataSource;
+        this.transactionManager = transactionManager;
+        this.registry = registry;
+    }
+
+    @Bean
+    public MotorLotes motorLotes() {
+        return new MotorLotes(jobs, new CheckpointsLote(dataSource), transactionManager, properties, registry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        MotorLotes motor = motorLotes();
+        properties.getAgendamentos().forEach((job, cron) -> {
+            if (!motor.nomes().contains(job)) {
+                throw new IllegalStateException("gym.batch.agendamentos." + job + ": job desconhecido; disponíveis: " + motor.nomes());
+            }
+            registrar.addCronTask(() -> motor.iniciarAgendado(job), cron);
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.admission.Bulkhead;
+import br.edu.infnet.gabriel.gym_management.admission.BulkheadFilter;
+import br.edu.infnet.gabriel.gym_management.admission.BulkheadProperties;
+import br.edu.infnet.gabriel.gym_management.admission.ClasseEndpoint;
+import br.edu.infnet.gabriel.gym_management.admission.EndpointClassifier;
+import br.edu.infnet.gabriel.gym_management.admission.ParticaoConexoes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bulkheads por classe de endpoint (gym.bulkhead.enabled, desligado por padrão).
+ * Além dos compartimentos, particiona o pool principal: fora do check-in, a aplicação usa no máximo
+ * maximumPoolSize menos as conexões reservadas ({@link ParticaoConexoes}).
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(prefix = "gym.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadConfig.class);
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(EndpointClassifier classifier, BulkheadProperties properties,
+                                                                 MeterRegistry registry, ObjectMapper objectMapper) {
+        Map<ClasseEndpoint, Bulkhead> bulkheads = new EnumMap<>(ClasseEndpoint.class);
+        properties.getCompartimentos().forEach((classe, compartimento) -> bulkheads.put(classe,
+                new Bulkhead(classe.name().toLowerCase(), compartimento.getPermissoes(), compartimento.getEspera(), registry)));
+        FilterRegistrationBean<BulkheadFilter> registro = new FilterRegistrationBean<>(
+                new BulkheadFilter(classifier, bulkheads, objectMapper));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registro.addUrlPatterns("/*");
+        return registro;
+    }
+
+    /**
+     * Não depende do DataSource: o aspecto precisa existir antes do pool para interceptá-lo
+     */
+    @Bean
+    public static ParticaoConexoes particaoConexoes(BulkheadProperties properties, MeterRegistry registry) {
+        if (properties.getConexoesReservadasCheckin() < 1) {
+            throw new IllegalStateException("gym.bulkhead.conexoes-reservadas-checkin deve ser ao menos 1");
+        }
+        log.info("{} conexões do pool reservadas ao check-in", properties.getConexoesReservadasCheckin());
+        return new ParticaoConexoes(properties.getConexoesReservadasCheckin(), registry);
+    }
+}
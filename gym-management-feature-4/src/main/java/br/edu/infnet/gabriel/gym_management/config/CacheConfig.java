@@ -0,0 +1,14 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita as propriedades dos caches de serviço (gym.cache.*).
+ * Os caches em si (AlunoCache, InstrutorCache) são componentes do pacote cache.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+}
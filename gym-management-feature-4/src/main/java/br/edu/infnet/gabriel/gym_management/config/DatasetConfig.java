@@ -0,0 +1,54 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.dataset.DatasetProperties;
+import br.edu.infnet.gabriel.gym_management.dataset.DestinoBanco;
+import br.edu.infnet.gabriel.gym_management.dataset.DestinoDataset;
+import br.edu.infnet.gabriel.gym_management.dataset.DestinoNdjson;
+import br.edu.infnet.gabriel.gym_management.dataset.DestinoTexto;
+import br.edu.infnet.gabriel.gym_management.dataset.GeracaoDataset;
+import br.edu.infnet.gabriel.gym_management.dataset.GeradorDataset;
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import br.edu.infnet.gabriel.gym_management.service.InstrutorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Gerador de massa de dados para benchmarks (gym.dataset.*), só com gym.dataset.enabled=true.
+ * O formato escolhe o destino: importação no banco, arquivos texto dos loaders ou NDJSON.
+ */
+@Configuration
+@EnableConfigurationProperties(DatasetProperties.class)
+@ConditionalOnProperty(prefix = "gym.dataset", name = "enabled", havingValue = "true")
+public class DatasetConfig {
+
+    @Bean
+    public GeradorDataset geradorDataset(DatasetProperties properties) {
+        LocalDate referencia = properties.getDataReferencia() != null ? properties.getDataReferencia() : LocalDate.now();
+        return new GeradorDataset(properties.getSemente(), referencia, properties.getAcademias(), properties.getSemAcademia());
+    }
+
+    @Bean
+    public GeracaoDataset geracaoDataset(DatasetProperties properties, GeradorDataset geradorDataset,
+                                         ObjectProvider<AcademyService> academyService,
+                                         ObjectProvider<AlunoService> alunoService,
+                                         ObjectProvider<InstrutorService> instrutorService,
+                                         ObjectProvider<AcademiaRepository> academiaRepository,
+                                         ObjectProvider<ObjectMapper> objectMapper) {
+        GeracaoDataset.validar(properties);
+        DestinoDataset destino = switch (properties.getFormato()) {
+            case BANCO -> new DestinoBanco(academyService.getObject(), alunoService.getObject(), instrutorService.getObject(),
+                    academiaRepository.getObject(), geradorDataset, properties.getAcademias());
+            case TEXTO -> new DestinoTexto(properties.getDiretorio());
+            case NDJSON -> new DestinoNdjson(properties.getDiretorio(), objectMapper.getObject());
+        };
+        return new GeracaoDataset(properties, geradorDataset, destino);
+    }
+}
@@ -0,0 +1,23 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração da camada JPA exposta pela API.
+ * open-in-view fica desligado (application.properties): a sessão do Hibernate termina com a transação
+ * do serviço. Nos testes (gym.jpa.lazy-guard.enabled em src/test/resources), o LazyLoadingGuardModule acusa
+ * qualquer associação que o serviço tenha esquecido de carregar; o módulo entra em todos os ObjectMappers do
+ * Spring Boot (JSON, CBOR e Smile).
+ */
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "gym.jpa.lazy-guard.enabled", havingValue = "true")
+    public Module lazyLoadingGuardModule() {
+        return new LazyLoadingGuardModule();
+    }
+}
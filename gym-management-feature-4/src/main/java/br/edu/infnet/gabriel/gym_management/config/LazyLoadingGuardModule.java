@@ -0,0 +1,65 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import jakarta.persistence.Entity;
+import org.hibernate.Hibernate;
+
+import java.util.List;
+
+/**
+ * Módulo Jackson que impede a serialização de associações lazy não carregadas.
+ * Com open-in-view desligado, os serviços devem devolver entidades com tudo o que a resposta precisa;
+ * se uma coleção ou proxy chegar ao Jackson sem inicializar, a serialização falha na hora com o nome
+ * da entidade e do campo, em vez de um LazyInitializationException genérico (ou, com sessão aberta,
+ * de um SELECT por registro).
+ */
+public class LazyLoadingGuardModule extends SimpleModule {
+
+    public LazyLoadingGuardModule() {
+        super("LazyLoadingGuardModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                if (!beanDesc.getBeanClass().isAnnotationPresent(Entity.class)) {
+                    return beanProperties;
+                }
+                return beanProperties.stream()
+                        .map(writer -> associacao(writer.getType()) ? new Guarda(writer, beanDesc.getBeanClass()) : writer)
+                        .toList();
+            }
+        });
+    }
+
+    private static boolean associacao(JavaType tipo) {
+        return tipo.isContainerType() || tipo.getRawClass().isAnnotationPresent(Entity.class);
+    }
+
+    private static class Guarda extends BeanPropertyWriter {
+
+        private final Class<?> entidade;
+
+        Guarda(BeanPropertyWriter base, Class<?> entidade) {
+            super(base);
+            this.entidade = entidade;
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            Object valor = get(bean);
+            if (valor != null && !Hibernate.isInitialized(valor)) {
+                throw JsonMappingException.from(gen, "Associação lazy " + entidade.getSimpleName() + "." + getName()
+                        + " não foi carregada dentro da transação do serviço");
+            }
+            super.serializeAsField(bean, gen, prov);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.pool.DimensionadorPool;
+import br.edu.infnet.gabriel.gym_management.pool.PoolEndpoint;
+import br.edu.infnet.gabriel.gym_management.pool.PoolMonitor;
+import br.edu.infnet.gabriel.gym_management.pool.PoolProperties;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Observação dos pools de conexão e dimensionamento adaptativo (gym.pool.*).
+ * Acompanha os HikariDataSource registrados como beans (primária, réplica, shard 0)
+ * e os pools das demais shards, que não são beans.
+ */
+@Configuration
+@EnableConfigurationProperties(PoolProperties.class)
+public class PoolConfig {
+
+    @Bean
+    public PoolMonitor poolMonitor(ObjectProvider<HikariDataSource> hikariDataSources,
+                                   ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                                   MeterRegistry registry, PoolProperties properties) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        hikariDataSources.orderedStream().forEach(pools::add);
+        shardRoutingDataSource.ifAvailable(roteador -> {
+            for (int i = 0; i < roteador.total(); i++) {
+                if (roteador.shard(i) instanceof HikariDataSource shard && pools.stream().noneMatch(p -> p == shard)) {
+                    pools.add(shard);
+                }
+            }
+        });
+        PoolProperties.Adaptativo adaptativo = properties.getAdaptativo();
+        DimensionadorPool dimensionador = new DimensionadorPool(adaptativo.getMinimo(), adaptativo.getMaximo(),
+                adaptativo.getEsperaAlvo().toNanos() / 1e6, adaptativo.getUsoLimite().toNanos() / 1e6, adaptativo.getPasso());
+        return new PoolMonitor(pools, registry, dimensionador, properties.getIntervalo(),
+                adaptativo.getHistorico(), adaptativo.isEnabled());
+    }
+
+    @Bean
+    public PoolEndpoint poolEndpoint(PoolMonitor poolMonitor) {
+        return new PoolEndpoint(poolMonitor);
+    }
+}
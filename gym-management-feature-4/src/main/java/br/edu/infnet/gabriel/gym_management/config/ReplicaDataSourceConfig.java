@@ -0,0 +1,64 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.datasource.ReadWriteRoutingDataSource;
+import br.edu.infnet.gabriel.gym_management.datasource.ReplicaProperties;
+import br.edu.infnet.gabriel.gym_management.datasource.ReplicaSynchronizer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuração do roteamento leitura/escrita.
+ * Ativada com gym.datasource.replica.enabled=true; sem ela o Spring Boot mantém o DataSource padrão.
+ * Transações readOnly vão para a réplica (um segundo H2 local alimentado pela primária)
+ * enquanto o atraso estiver dentro de gym.datasource.replica.max-staleness.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "gym.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties replica) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSynchronizer replicaSynchronizer(HikariDataSource primariaDataSource, HikariDataSource replicaDataSource,
+                                                   ReplicaProperties replica) {
+        return new ReplicaSynchronizer(primariaDataSource, replicaDataSource, replica.getSyncInterval(),
+                replica.getMaxStaleness(), replica.getRetryAfterFailure());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primariaDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaSynchronizer replicaSynchronizer) {
+        ReadWriteRoutingDataSource roteador = new ReadWriteRoutingDataSource(
+                primariaDataSource, replicaDataSource, replicaSynchronizer);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+}
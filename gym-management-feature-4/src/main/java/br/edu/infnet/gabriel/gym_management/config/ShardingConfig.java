@@ -0,0 +1,110 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.sharding.ShardDirectory;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardRebalancer;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardRoutingAspect;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardRoutingDataSource;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardSchemaInitializer;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração do particionamento horizontal por academia.
+ * Ativada com gym.sharding.enabled=true; não pode ser combinada com a réplica de leitura.
+ * Academias e endereços avulsos ficam na shard 0; alunos e instrutores ficam na shard da sua academia.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "gym.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    public ShardingConfig(@Value("${gym.datasource.replica.enabled:false}") boolean replicaAtiva) {
+        if (replicaAtiva) {
+            throw new IllegalStateException("gym.sharding.enabled e gym.datasource.replica.enabled não podem ser usados juntos");
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource shardZeroDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * As shards 1..N-1 não são beans, então as métricas hikaricp.* delas são ligadas aqui
+     */
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource shardZeroDataSource, ShardingProperties sharding,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(shardZeroDataSource);
+        for (int i = 0; i < sharding.getUrls().size(); i++) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(sharding.getUrls().get(i))
+                    .username(sharding.getUsername())
+                    .password(sharding.getPassword())
+                    .build();
+            shard.setPoolName("shard-" + (i + 1));
+            meterRegistry.ifAvailable(registry -> shard.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            shards.add(shard);
+        }
+        ShardRoutingDataSource roteador = new ShardRoutingDataSource(shards);
+        roteador.afterPropertiesSet();
+        return roteador;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * O diretório usa o DataSource das transações JPA, para gravar na transação da shard 0 em curso
+     */
+    @Bean
+    public ShardDirectory shardDirectory(DataSource dataSource, ShardRoutingDataSource shardRoutingDataSource) {
+        return new ShardDirectory(dataSource, shardRoutingDataSource.total());
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardRoutingDataSource shardRoutingDataSource,
+                                                         ShardDirectory shardDirectory, ShardingProperties sharding) {
+        return new ShardSchemaInitializer(entityManagerFactory, shardRoutingDataSource, shardDirectory, sharding.getIdSpan());
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRoutingDataSource shardRoutingDataSource, ShardDirectory shardDirectory) {
+        return new ShardRebalancer(shardRoutingDataSource, shardDirectory);
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardRoutingDataSource shardRoutingDataSource, ShardDirectory shardDirectory,
+                                                 ShardRebalancer shardRebalancer,
+                                                 PlatformTransactionManager transactionManager,
+                                                 EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        return new ShardRoutingAspect(shardRoutingDataSource, shardDirectory, shardRebalancer,
+                transactionManager, entityManagerFactory, dataSource);
+    }
+}
@@ -0,0 +1,82 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.timing.CamadasAspect;
+import br.edu.infnet.gabriel.gym_management.timing.ConversorCronometrado;
+import br.edu.infnet.gabriel.gym_management.timing.JdbcTimingListener;
+import br.edu.infnet.gabriel.gym_management.timing.RegistroTempos;
+import br.edu.infnet.gabriel.gym_management.timing.ServerTimingFilter;
+import br.edu.infnet.gabriel.gym_management.timing.TimingEndpoint;
+import br.edu.infnet.gabriel.gym_management.timing.TimingProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Medição do tempo de cada requisição por camada (gym.timing.enabled, ativo por padrão):
+ * controller, serviço e repositório por AOP, pool e JDBC por eventos de sessão do Hibernate,
+ * e serialização pelos conversores Jackson. O resultado vai no cabeçalho Server-Timing e,
+ * por amostragem, para o endpoint /actuator/timing.
+ */
+@Configuration
+@EnableConfigurationProperties(TimingProperties.class)
+@ConditionalOnProperty(prefix = "gym.timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TimingConfig {
+
+    @Bean
+    public RegistroTempos registroTempos(TimingProperties properties) {
+        return new RegistroTempos(properties.getCapacidade(), properties.getAmostragem(),
+                properties.getLenta().toNanos() / 1e6);
+    }
+
+    /**
+     * Antes do controle de admissão, para que o total inclua a espera nos bulkheads
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(RegistroTempos registroTempos) {
+        FilterRegistrationBean<ServerTimingFilter> registro = new FilterRegistrationBean<>(new ServerTimingFilter(registroTempos));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registro.addUrlPatterns("/*");
+        return registro;
+    }
+
+    @Bean
+    public CamadasAspect camadasAspect() {
+        return new CamadasAspect();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcTimingCustomizer() {
+        return propriedades -> propriedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+    }
+
+    /**
+     * Roda por último, depois das demais configurações dos conversores Jackson
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public WebMvcConfigurer conversoresCronometrados() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> conversores) {
+                conversores.replaceAll(conversor -> conversor instanceof AbstractJackson2HttpMessageConverter jackson
+                        ? new ConversorCronometrado(jackson) : conversor);
+            }
+        };
+    }
+
+    @Bean
+    public TimingEndpoint timingEndpoint(RegistroTempos registroTempos) {
+        return new TimingEndpoint(registroTempos);
+    }
+}
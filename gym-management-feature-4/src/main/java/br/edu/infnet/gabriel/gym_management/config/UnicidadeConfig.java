@@ -0,0 +1,14 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.unicidade.UnicidadeProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita as propriedades dos filtros de unicidade (gym.unicidade.*).
+ * O filtro em si (FiltroUnicidade) é um componente do pacote unicidade.
+ */
+@Configuration
+@EnableConfigurationProperties(UnicidadeProperties.class)
+public class UnicidadeConfig {
+}
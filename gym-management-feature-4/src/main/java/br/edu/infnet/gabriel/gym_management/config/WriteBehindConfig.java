@@ -0,0 +1,14 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.writebehind.WriteBehindProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita as propriedades do write-behind de status (gym.write-behind.*).
+ * A fila em si (FilaStatus) é um componente do pacote writebehind e só inicia com gym.write-behind.enabled=true.
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+}
@@ -2,6 +2,7 @@ package br.edu.infnet.gabriel.gym_management.controller;
 
 import br.edu.infnet.gabriel.gym_management.model.Academia;
 import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import br.edu.infnet.gabriel.gym_management.unicidade.ResultadoImportacao;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -107,6 +108,15 @@ public class AcademyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(salva);
     }
 
+    /**
+     * POST /academias/importacao
+     * Importa um lote de academias; CNPJs duplicados voltam em "rejeitados" sem derrubar o lote
+     */
+    @PostMapping("/importacao")
+    public ResponseEntity<ResultadoImportacao> importar(@RequestBody List<@Valid Academia> academias) {
+        return ResponseEntity.ok(academyService.importar(academias));
+    }
+
     /**
      * PUT /academias/{id}
      * Atualiza uma academia existente
@@ -2,10 +2,13 @@ package br.edu.infnet.gabriel.gym_management.controller;
 
 import br.edu.infnet.gabriel.gym_management.model.Aluno;
 import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import br.edu.infnet.gabriel.gym_management.unicidade.ResultadoImportacao;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -20,9 +23,11 @@ import java.util.Map;
 public class AlunoController {
 
     private final AlunoService alunoService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
 
-    public AlunoController(AlunoService alunoService) {
+    public AlunoController(AlunoService alunoService, NdjsonStreamWriter ndjsonStreamWriter) {
         this.alunoService = alunoService;
+        this.ndjsonStreamWriter = ndjsonStreamWriter;
     }
 
     /**
@@ -35,6 +40,20 @@ public class AlunoController {
         return ResponseEntity.ok(alunos);
     }
 
+    /**
+     * GET /alunos (Accept: application/x-ndjson ou ?stream=true)
+     * Transmite todos os alunos em NDJSON, uma linha por registro, lendo do banco via cursor
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return ndjsonStreamWriter.<Aluno>transmitir(consumidor -> alunoService.percorrerTodos(consumidor));
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodosParam() {
+        return transmitirTodos();
+    }
+
     /**
      * GET /alunos/{id}
      * Busca um aluno por ID
@@ -85,6 +104,20 @@ public class AlunoController {
         return ResponseEntity.ok(alunos);
     }
 
+    /**
+     * GET /alunos/status/{status} (Accept: application/x-ndjson ou ?stream=true)
+     * Transmite alunos por status em NDJSON, uma linha por registro, lendo do banco via cursor
+     */
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirPorStatus(@PathVariable Boolean status) {
+        return ndjsonStreamWriter.<Aluno>transmitir(consumidor -> alunoService.percorrerPorStatus(status, consumidor));
+    }
+
+    @GetMapping(value = "/status/{status}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirPorStatusParam(@PathVariable Boolean status) {
+        return transmitirPorStatus(status);
+    }
+
     /**
      * GET /alunos/plano/{plano}/status/{status}
      * Busca alunos por plano e status
@@ -125,6 +158,20 @@ public class AlunoController {
         return ResponseEntity.ok(alunos);
     }
 
+    /**
+     * GET /alunos/sem-academia (Accept: application/x-ndjson ou ?stream=true)
+     * Transmite alunos sem academia em NDJSON, uma linha por registro, lendo do banco via cursor
+     */
+    @GetMapping(value = "/sem-academia", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirSemAcademia() {
+        return ndjsonStreamWriter.<Aluno>transmitir(consumidor -> alunoService.percorrerSemAcademia(consumidor));
+    }
+
+    @GetMapping(value = "/sem-academia", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirSemAcademiaParam() {
+        return transmitirSemAcademia();
+    }
+
     /**
      * GET /alunos/periodo
      * Busca alunos por período de início (query parameters)
@@ -157,6 +204,15 @@ public class AlunoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(salvo);
     }
 
+    /**
+     * POST /alunos/importacao
+     * Importa um lote de alunos; CPF, email ou matrícula duplicados voltam em "rejeitados" sem derrubar o lote
+     */
+    @PostMapping("/importacao")
+    public ResponseEntity<ResultadoImportacao> importar(@RequestBody List<@Valid Aluno> alunos) {
+        return ResponseEntity.ok(alunoService.importar(alunos));
+    }
+
     /**
      * PUT /alunos/{id}
      * Atualiza um aluno existente
@@ -2,10 +2,13 @@ package br.edu.infnet.gabriel.gym_management.controller;
 
 import br.edu.infnet.gabriel.gym_management.model.Instrutor;
 import br.edu.infnet.gabriel.gym_management.service.InstrutorService;
+import br.edu.infnet.gabriel.gym_management.unicidade.ResultadoImportacao;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -20,9 +23,11 @@ import java.util.Map;
 public class InstrutorController {
 
     private final InstrutorService instrutorService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
 
-    public InstrutorController(InstrutorService instrutorService) {
+    public InstrutorController(InstrutorService instrutorService, NdjsonStreamWriter ndjsonStreamWriter) {
         this.instrutorService = instrutorService;
+        this.ndjsonStreamWriter = ndjsonStreamWriter;
     }
 
     @GetMapping
@@ -31,6 +36,16 @@ public class InstrutorController {
         return ResponseEntity.ok(instrutores);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return ndjsonStreamWriter.<Instrutor>transmitir(consumidor -> instrutorService.percorrerTodos(consumidor));
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodosParam() {
+        return transmitirTodos();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Instrutor> buscarPorId(@PathVariable Long id) {
         Instrutor instrutor = instrutorService.buscarPorId(id);
@@ -61,6 +76,16 @@ public class InstrutorController {
         return ResponseEntity.ok(instrutores);
     }
 
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirPorStatus(@PathVariable Boolean status) {
+        return ndjsonStreamWriter.<Instrutor>transmitir(consumidor -> instrutorService.percorrerPorStatus(status, consumidor));
+    }
+
+    @GetMapping(value = "/status/{status}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirPorStatusParam(@PathVariable Boolean status) {
+        return transmitirPorStatus(status);
+    }
+
     @GetMapping("/especialidade/{especialidade}/status/{status}")
     public ResponseEntity<List<Instrutor>> buscarPorEspecialidadeEStatus(@PathVariable String especialidade, @PathVariable Boolean status) {
         List<Instrutor> instrutores = instrutorService.buscarPorEspecialidadeEStatus(especialidade, status);
@@ -99,6 +124,16 @@ public class InstrutorController {
         return ResponseEntity.ok(instrutores);
     }
 
+    @GetMapping(value = "/sem-academia", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirSemAcademia() {
+        return ndjsonStreamWriter.<Instrutor>transmitir(consumidor -> instrutorService.percorrerSemAcademia(consumidor));
+    }
+
+    @GetMapping(value = "/sem-academia", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirSemAcademiaParam() {
+        return transmitirSemAcademia();
+    }
+
     @GetMapping("/cidade/{cidade}")
     public ResponseEntity<List<Instrutor>> buscarPorCidade(@PathVariable String cidade) {
         List<Instrutor> instrutores = instrutorService.buscarPorCidade(cidade);
@@ -117,6 +152,11 @@ public class InstrutorController {
         return ResponseEntity.status(HttpStatus.CREATED).body(salvo);
     }
 
+    @PostMapping("/importacao")
+    public ResponseEntity<ResultadoImportacao> importar(@RequestBody List<@Valid Instrutor> instrutores) {
+        return ResponseEntity.ok(instrutorService.importar(instrutores));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Instrutor> atualizar(@PathVariable Long id, @Valid @RequestBody Instrutor instrutorAtualizado) {
         Instrutor instrutor = instrutorService.buscarPorId(id);
@@ -0,0 +1,73 @@
+package br.edu.infnet.gabriel.gym_management.controller;
+
+import br.edu.infnet.gabriel.gym_management.batch.MotorLotes;
+import br.edu.infnet.gabriel.gym_management.batch.SituacaoLote;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Controlador REST de administração dos jobs em lote.
+ * Todos os endpoints utilizam o prefixo "/admin/lotes".
+ */
+@RestController
+@RequestMapping("/admin/lotes")
+public class LoteAdminController {
+
+    private final MotorLotes motorLotes;
+
+    public LoteAdminController(MotorLotes motorLotes) {
+        this.motorLotes = motorLotes;
+    }
+
+    /**
+     * GET /admin/lotes
+     * Lista os jobs disponíveis e o progresso de cada um
+     */
+    @GetMapping
+    public ResponseEntity<List<SituacaoLote>> listar() {
+        return ResponseEntity.ok(motorLotes.nomes().stream().map(motorLotes::situacao).toList());
+    }
+
+    /**
+     * GET /admin/lotes/{nome}
+     * Progresso do job: faixas concluídas, registros processados e afetados, registros por segundo
+     */
+    @GetMapping("/{nome}")
+    public ResponseEntity<SituacaoLote> situacao(@PathVariable String nome) {
+        return ResponseEntity.ok(executar(() -> motorLotes.situacao(nome)));
+    }
+
+    /**
+     * POST /admin/lotes/{nome}?retomar=true
+     * Inicia o job em segundo plano; por padrão continua a execução interrompida, se houver
+     */
+    @PostMapping("/{nome}")
+    public ResponseEntity<SituacaoLote> iniciar(@PathVariable String nome,
+                                                @RequestParam(defaultValue = "true") boolean retomar) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(executar(() -> motorLotes.iniciar(nome, retomar)));
+    }
+
+    /**
+     * DELETE /admin/lotes/{nome}
+     * Cancela o job ao fim dos chunks em andamento; os checkpoints permitem retomar depois
+     */
+    @DeleteMapping("/{nome}")
+    public ResponseEntity<SituacaoLote> cancelar(@PathVariable String nome) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(executar(() -> motorLotes.cancelar(nome)));
+    }
+
+    private static SituacaoLote executar(Supplier<SituacaoLote> operacao) {
+        try {
+            return operacao.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.infnet.gabriel.gym_management.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Componente que monta respostas NDJSON (application/x-ndjson) em modo streaming.
+ * Cada entidade é escrita pelo gerador de streaming do Jackson assim que chega do banco,
+ * uma por linha, sem montar a lista inteira em memória.
+ */
+@Component
+public class NdjsonStreamWriter {
+
+    private static final int FLUSH_A_CADA = 100;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    public NdjsonStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Cria a resposta NDJSON a partir de uma fonte que entrega as entidades uma a uma.
+     *
+     * @param fonte Função que percorre os dados e os repassa ao consumidor recebido
+     * @return ResponseEntity com o corpo em streaming
+     */
+    public <T> ResponseEntity<StreamingResponseBody> transmitir(Consumer<Consumer<T>> fonte) {
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                gerador.setRootValueSeparator(null);
+                int[] escritos = {0};
+                fonte.accept(item -> {
+                    escrever(gerador, item);
+                    if (++escritos[0] % FLUSH_A_CADA == 0) {
+                        descarregar(gerador);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
+    private void escrever(JsonGenerator gerador, Object item) {
+        try {
+            writer.writeValue(gerador, item);
+            gerador.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void descarregar(JsonGenerator gerador) {
+        try {
+            gerador.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
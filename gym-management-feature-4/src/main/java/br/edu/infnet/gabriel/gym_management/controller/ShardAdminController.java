@@ -0,0 +1,60 @@
+package br.edu.infnet.gabriel.gym_management.controller;
+
+import br.edu.infnet.gabriel.gym_management.sharding.ShardDirectory;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardRebalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST de administração das shards.
+ * Disponível apenas com gym.sharding.enabled=true. Todos os endpoints utilizam o prefixo "/admin/shards".
+ */
+@RestController
+@RequestMapping("/admin/shards")
+@ConditionalOnProperty(prefix = "gym.sharding", name = "enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private final ShardRebalancer shardRebalancer;
+    private final ShardDirectory shardDirectory;
+
+    public ShardAdminController(ShardRebalancer shardRebalancer, ShardDirectory shardDirectory) {
+        this.shardRebalancer = shardRebalancer;
+        this.shardDirectory = shardDirectory;
+    }
+
+    /**
+     * GET /admin/shards
+     * Lista a quantidade de alunos e instrutores em cada shard
+     */
+    @GetMapping
+    public ResponseEntity<List<ShardRebalancer.Distribuicao>> distribuicao() {
+        return ResponseEntity.ok(shardRebalancer.distribuicao());
+    }
+
+    /**
+     * GET /admin/shards/academias/{academiaId}
+     * Informa a shard de uma academia
+     */
+    @GetMapping("/academias/{academiaId}")
+    public ResponseEntity<Map<String, Object>> shardDaAcademia(@PathVariable Long academiaId) {
+        return ResponseEntity.ok(Map.of("academiaId", academiaId, "shard", shardDirectory.shardDaAcademia(academiaId)));
+    }
+
+    /**
+     * POST /admin/shards/academias/{academiaId}/mover/{destino}
+     * Move os alunos e instrutores de uma academia para outra shard
+     */
+    @PostMapping("/academias/{academiaId}/mover/{destino}")
+    public ResponseEntity<ShardRebalancer.Resultado> moverAcademia(@PathVariable Long academiaId, @PathVariable int destino) {
+        if (destino < 0 || destino >= shardDirectory.totalShards()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Shard de destino inválida: " + destino);
+        }
+        return ResponseEntity.ok(shardRebalancer.moverAcademia(academiaId, destino));
+    }
+}
@@ -0,0 +1,79 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Propriedades do gerador de massa de dados (gym.dataset.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.dataset")
+public class DatasetProperties {
+
+    /**
+     * Gera a massa na subida da aplicação
+     */
+    private boolean enabled = false;
+
+    /**
+     * Mesma semente, mesmos totais e mesma data de referência geram exatamente os mesmos registros
+     */
+    private long semente = 42;
+
+    /**
+     * Data a partir da qual as datas de início são sorteadas (até três anos antes); vazia, usa a data atual
+     */
+    private LocalDate dataReferencia;
+
+    private int academias = 1_000;
+
+    /**
+     * No máximo 1.000.000 (matrículas MAT000000 a MAT999999)
+     */
+    private int alunos = 100_000;
+
+    /**
+     * No máximo 1.000.000 (registros REG000000 a REG999999)
+     */
+    private int instrutores = 5_000;
+
+    /**
+     * Fração de alunos e instrutores sem academia
+     */
+    private double semAcademia = 0.1;
+
+    private Formato formato = Formato.BANCO;
+
+    /**
+     * Diretório dos arquivos nos formatos TEXTO e NDJSON
+     */
+    private Path diretorio = Path.of("data", "dataset");
+
+    /**
+     * Registros por lote (uma importação, no formato BANCO)
+     */
+    private int tamanhoLote = 1_000;
+
+    /**
+     * Importações simultâneas no formato BANCO
+     */
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+    public enum Formato {
+        /**
+         * Grava pelas importações em lote dos serviços (triagem de unicidade, cache, sharding)
+         */
+        BANCO,
+        /**
+         * academias.txt, alunos.txt e instrutores.txt no formato dos loaders da feature 2
+         */
+        TEXTO,
+        /**
+         * academias.ndjson, alunos.ndjson e instrutores.ndjson, um JSON por linha como na API
+         */
+        NDJSON
+    }
+}
@@ -0,0 +1,99 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.service.AcademyService;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import br.edu.infnet.gabriel.gym_management.service.InstrutorService;
+import br.edu.infnet.gabriel.gym_management.unicidade.ResultadoImportacao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grava a massa pelas importações em lote dos serviços, como um cliente de POST /.../importacao.
+ * Os IDs das academias gravadas são guardados por índice para vincular alunos e instrutores;
+ * numa segunda execução com a mesma semente, as academias recusadas por CNPJ repetido são buscadas pelo CNPJ.
+ */
+public class DestinoBanco implements DestinoDataset {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinoBanco.class);
+
+    private final AcademyService academyService;
+    private final AlunoService alunoService;
+    private final InstrutorService instrutorService;
+    private final AcademiaRepository academiaRepository;
+    private final GeradorDataset gerador;
+    private final Long[] idsAcademias;
+    private final AtomicLong rejeitados = new AtomicLong();
+
+    public DestinoBanco(AcademyService academyService, AlunoService alunoService, InstrutorService instrutorService,
+                        AcademiaRepository academiaRepository, GeradorDataset gerador, int academias) {
+        this.academyService = academyService;
+        this.alunoService = alunoService;
+        this.instrutorService = instrutorService;
+        this.academiaRepository = academiaRepository;
+        this.gerador = gerador;
+        this.idsAcademias = new Long[academias];
+    }
+
+    @Override
+    public void academias(int primeiro, List<Academia> lote) {
+        contar(academyService.importar(lote));
+        for (int i = 0; i < lote.size(); i++) {
+            Academia academia = lote.get(i);
+            idsAcademias[primeiro + i] = academia.getId() != null ? academia.getId()
+                    : academiaRepository.findByCnpj(academia.getCnpj()).map(Academia::getId).orElse(null);
+        }
+    }
+
+    @Override
+    public void alunos(int primeiro, List<Aluno> lote) {
+        for (int i = 0; i < lote.size(); i++) {
+            lote.get(i).setAcademia(referencia(gerador.academiaDoAluno(primeiro + i)));
+        }
+        contar(alunoService.importar(lote));
+    }
+
+    @Override
+    public void instrutores(int primeiro, List<Instrutor> lote) {
+        for (int i = 0; i < lote.size(); i++) {
+            lote.get(i).setAcademia(referencia(gerador.academiaDoInstrutor(primeiro + i)));
+        }
+        contar(instrutorService.importar(lote));
+    }
+
+    /**
+     * Academia só com o ID, como nos snapshots do cache
+     */
+    private Academia referencia(int indice) {
+        Long id = indice >= 0 ? idsAcademias[indice] : null;
+        if (id == null) {
+            return null;
+        }
+        Academia academia = new Academia();
+        academia.setId(id);
+        return academia;
+    }
+
+    private void contar(ResultadoImportacao resultado) {
+        rejeitados.addAndGet(resultado.getRejeitados().size());
+    }
+
+    @Override
+    public boolean paralelo() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (rejeitados.get() > 0) {
+            log.warn("Dataset: {} registros recusados por chave já cadastrada (execução anterior com a mesma semente?)",
+                    rejeitados.get());
+        }
+    }
+}
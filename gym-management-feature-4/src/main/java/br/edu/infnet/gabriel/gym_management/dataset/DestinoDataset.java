@@ -0,0 +1,30 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+
+import java.util.List;
+
+/**
+ * Destino da massa gerada. Os lotes chegam por tipo (academias, depois alunos, depois instrutores);
+ * primeiro é o índice do primeiro registro do lote no gerador.
+ */
+public interface DestinoDataset extends AutoCloseable {
+
+    void academias(int primeiro, List<Academia> lote);
+
+    void alunos(int primeiro, List<Aluno> lote);
+
+    void instrutores(int primeiro, List<Instrutor> lote);
+
+    /**
+     * Se aceita lotes de várias threads ao mesmo tempo; senão, recebe os lotes em ordem
+     */
+    default boolean paralelo() {
+        return false;
+    }
+
+    @Override
+    void close();
+}
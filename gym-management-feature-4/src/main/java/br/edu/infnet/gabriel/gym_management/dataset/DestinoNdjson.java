@@ -0,0 +1,78 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Grava academias.ndjson, alunos.ndjson e instrutores.ndjson, um registro JSON por linha,
+ * com o ObjectMapper da aplicação (mesmo formato dos streams NDJSON da API). Sem IDs nem vínculo com a academia.
+ */
+public class DestinoNdjson implements DestinoDataset {
+
+    private final ObjectWriter json;
+    private final OutputStream academias;
+    private final OutputStream alunos;
+    private final OutputStream instrutores;
+
+    public DestinoNdjson(Path diretorio, ObjectMapper objectMapper) {
+        this.json = objectMapper.writer();
+        try {
+            Files.createDirectories(diretorio);
+            academias = abrir(diretorio.resolve("academias.ndjson"));
+            alunos = abrir(diretorio.resolve("alunos.ndjson"));
+            instrutores = abrir(diretorio.resolve("instrutores.ndjson"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar os arquivos do dataset em " + diretorio, e);
+        }
+    }
+
+    private static OutputStream abrir(Path arquivo) throws IOException {
+        return new BufferedOutputStream(Files.newOutputStream(arquivo), 1 << 16);
+    }
+
+    @Override
+    public void academias(int primeiro, List<Academia> lote) {
+        escrever(academias, lote);
+    }
+
+    @Override
+    public void alunos(int primeiro, List<Aluno> lote) {
+        escrever(alunos, lote);
+    }
+
+    @Override
+    public void instrutores(int primeiro, List<Instrutor> lote) {
+        escrever(instrutores, lote);
+    }
+
+    private void escrever(OutputStream saida, List<?> lote) {
+        try {
+            for (Object registro : lote) {
+                saida.write(json.writeValueAsBytes(registro));
+                saida.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (academias; alunos; instrutores) {
+            // fecha os três arquivos, mesmo que um falhe
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
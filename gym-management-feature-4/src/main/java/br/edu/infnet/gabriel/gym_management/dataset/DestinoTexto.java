@@ -0,0 +1,99 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Endereco;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Grava academias.txt, alunos.txt e instrutores.txt no formato lido pelos loaders da feature 2
+ * (campos separados por ";", comentários com "#"). Os arquivos podem ser usados com gym.carga.*=file:...
+ * Esse formato não tem o vínculo com a academia.
+ */
+public class DestinoTexto implements DestinoDataset {
+
+    private final BufferedWriter academias;
+    private final BufferedWriter alunos;
+    private final BufferedWriter instrutores;
+
+    public DestinoTexto(Path diretorio) {
+        try {
+            Files.createDirectories(diretorio);
+            academias = abrir(diretorio.resolve("academias.txt"), "nome;cnpj;endereco;telefone;statusAtivo");
+            alunos = abrir(diretorio.resolve("alunos.txt"), "nome;email;cpf;telefone;matricula;plano;dataInicio;status");
+            instrutores = abrir(diretorio.resolve("instrutores.txt"), "nome;email;cpf;telefone;registro;especialidade;"
+                    + "salario;status;cep;logradouro;complemento;unidade;bairro;localidade;uf;estado");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar os arquivos do dataset em " + diretorio, e);
+        }
+    }
+
+    private static BufferedWriter abrir(Path arquivo, String formato) throws IOException {
+        BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8);
+        escritor.write("# Gerado pelo GeradorDataset\n# Formato: " + formato + "\n");
+        return escritor;
+    }
+
+    @Override
+    public void academias(int primeiro, List<Academia> lote) {
+        escrever(academias, lote, a -> linha(a.getNome(), a.getCnpj(), a.getEndereco(), a.getTelefone(), a.getStatusAtivo()));
+    }
+
+    @Override
+    public void alunos(int primeiro, List<Aluno> lote) {
+        escrever(alunos, lote, a -> linha(a.getNome(), a.getEmail(), a.getCpf(), a.getTelefone(), a.getMatricula(),
+                a.getPlano(), a.getDataInicio(), a.getStatus()));
+    }
+
+    @Override
+    public void instrutores(int primeiro, List<Instrutor> lote) {
+        escrever(instrutores, lote, i -> {
+            Endereco e = i.getEndereco();
+            return linha(i.getNome(), i.getEmail(), i.getCpf(), i.getTelefone(), i.getRegistro(), i.getEspecialidade(),
+                    String.format(Locale.ROOT, "%.2f", i.getSalario()), i.getStatus(), e.getCep(), e.getLogradouro(),
+                    e.getComplemento(), e.getUnidade(), e.getBairro(), e.getLocalidade(), e.getUf(), e.getEstado());
+        });
+    }
+
+    private static String linha(Object... campos) {
+        StringBuilder linha = new StringBuilder();
+        for (Object campo : campos) {
+            if (!linha.isEmpty()) {
+                linha.append(';');
+            }
+            linha.append(Objects.toString(campo, ""));
+        }
+        return linha.append('\n').toString();
+    }
+
+    private static <T> void escrever(Writer escritor, List<T> lote, Function<T, String> formatar) {
+        try {
+            for (T registro : lote) {
+                escritor.write(formatar.apply(registro));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (academias; alunos; instrutores) {
+            // fecha os três arquivos, mesmo que um falhe
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+/**
+ * CPFs e CNPJs sintéticos com dígitos verificadores válidos, formatados como nas validações das entidades.
+ * A base de cada documento é uma permutação do índice (multiplicação por um número primo com 10^n),
+ * então índices distintos geram documentos distintos sem precisar guardar os já emitidos.
+ */
+final class Documentos {
+
+    private static final long BASES_CPF = 1_000_000_000L;
+    private static final long MULTIPLICADOR_CPF = 387_420_489L;
+    private static final long RAIZES_CNPJ = 100_000_000L;
+    private static final long MULTIPLICADOR_CNPJ = 43_046_721L;
+    private static final int[] PESOS_CNPJ_1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] PESOS_CNPJ_2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private Documentos() {
+    }
+
+    /**
+     * CPF XXX.XXX.XXX-XX do índice (0 a 999.999.999); o deslocamento troca a sequência inteira
+     */
+    static String cpf(long indice, long deslocamento) {
+        long base = (indice * MULTIPLICADOR_CPF + Math.floorMod(deslocamento, BASES_CPF)) % BASES_CPF;
+        int[] d = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            d[i] = (int) (base % 10);
+            base /= 10;
+        }
+        d[9] = verificador(d, 9, 10);
+        d[10] = verificador(d, 10, 11);
+        return String.format("%d%d%d.%d%d%d.%d%d%d-%d%d", d[0], d[1], d[2], d[3], d[4], d[5], d[6], d[7], d[8], d[9], d[10]);
+    }
+
+    /**
+     * CNPJ XX.XXX.XXX/0001-XX (matriz) do índice (0 a 99.999.999)
+     */
+    static String cnpj(long indice, long deslocamento) {
+        long raiz = (indice * MULTIPLICADOR_CNPJ + Math.floorMod(deslocamento, RAIZES_CNPJ)) % RAIZES_CNPJ;
+        int[] d = new int[14];
+        for (int i = 7; i >= 0; i--) {
+            d[i] = (int) (raiz % 10);
+            raiz /= 10;
+        }
+        d[11] = 1;
+        d[12] = verificador(d, PESOS_CNPJ_1);
+        d[13] = verificador(d, PESOS_CNPJ_2);
+        return String.format("%d%d.%d%d%d.%d%d%d/%d%d%d%d-%d%d", d[0], d[1], d[2], d[3], d[4], d[5], d[6], d[7],
+                d[8], d[9], d[10], d[11], d[12], d[13]);
+    }
+
+    /**
+     * Dígito do CPF: pesos decrescentes a partir de pesoInicial sobre os primeiros quantidade dígitos
+     */
+    private static int verificador(int[] digitos, int quantidade, int pesoInicial) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (pesoInicial - i);
+        }
+        return digito(soma);
+    }
+
+    private static int verificador(int[] digitos, int[] pesos) {
+        int soma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            soma += digitos[i] * pesos[i];
+        }
+        return digito(soma);
+    }
+
+    private static int digito(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
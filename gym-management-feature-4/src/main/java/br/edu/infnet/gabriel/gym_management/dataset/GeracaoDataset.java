@@ -0,0 +1,103 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Gera a massa de dados na subida (gym.dataset.enabled=true): academias, depois alunos, depois instrutores,
+ * em lotes de tamanhoLote. No banco, os lotes de cada tipo são importados em paralelo; em arquivo, em ordem.
+ * Registra no log a quantidade e os registros por segundo de cada tipo.
+ */
+public class GeracaoDataset implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeracaoDataset.class);
+
+    private final DatasetProperties properties;
+    private final GeradorDataset gerador;
+    private final DestinoDataset destino;
+
+    public GeracaoDataset(DatasetProperties properties, GeradorDataset gerador, DestinoDataset destino) {
+        this.properties = properties;
+        this.gerador = gerador;
+        this.destino = destino;
+    }
+
+    /**
+     * Confere os totais antes de gerar qualquer registro
+     */
+    public static void validar(DatasetProperties properties) {
+        if (properties.getAlunos() > GeradorDataset.MAXIMO_PESSOAS || properties.getInstrutores() > GeradorDataset.MAXIMO_PESSOAS) {
+            throw new IllegalStateException("gym.dataset: matrículas (MAT\\d{3,6}) e registros (REG\\d{3,6}) limitam alunos e instrutores a "
+                    + GeradorDataset.MAXIMO_PESSOAS);
+        }
+        if (properties.getAcademias() > GeradorDataset.MAXIMO_ACADEMIAS) {
+            throw new IllegalStateException("gym.dataset: no máximo " + GeradorDataset.MAXIMO_ACADEMIAS + " academias");
+        }
+        if (properties.getTamanhoLote() < 1) {
+            throw new IllegalStateException("gym.dataset.tamanho-lote deve ser positivo");
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Dataset: gerando {} academias, {} alunos e {} instrutores (semente {}, formato {})",
+                properties.getAcademias(), properties.getAlunos(), properties.getInstrutores(),
+                properties.getSemente(), properties.getFormato());
+        try (destino) {
+            gerar("academias", properties.getAcademias(), gerador::academia, destino::academias);
+            gerar("alunos", properties.getAlunos(), gerador::aluno, destino::alunos);
+            gerar("instrutores", properties.getInstrutores(), gerador::instrutor, destino::instrutores);
+        }
+    }
+
+    private <T> void gerar(String tipo, int total, IntFunction<T> fabrica, Lote<T> gravar) throws InterruptedException, ExecutionException {
+        long inicio = System.nanoTime();
+        int tamanho = properties.getTamanhoLote();
+        if (destino.paralelo()) {
+            ExecutorService threads = Executors.newFixedThreadPool(Math.max(1, properties.getParalelismo()));
+            try {
+                List<Future<?>> lotes = new ArrayList<>();
+                for (int primeiro = 0; primeiro < total; primeiro += tamanho) {
+                    int inicioLote = primeiro;
+                    lotes.add(threads.submit(() -> gravar.gravar(inicioLote, lote(inicioLote, total, fabrica))));
+                }
+                for (Future<?> lote : lotes) {
+                    lote.get();
+                }
+            } finally {
+                threads.shutdownNow();
+            }
+        } else {
+            for (int primeiro = 0; primeiro < total; primeiro += tamanho) {
+                gravar.gravar(primeiro, lote(primeiro, total, fabrica));
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        log.info("Dataset: {} {} em {} s ({} registros/s)", total, tipo, String.format("%.1f", segundos),
+                Math.round(total / Math.max(segundos, 1e-9)));
+    }
+
+    private <T> List<T> lote(int primeiro, int total, IntFunction<T> fabrica) {
+        int ultimo = Math.min(total, primeiro + properties.getTamanhoLote());
+        List<T> lote = new ArrayList<>(ultimo - primeiro);
+        for (int indice = primeiro; indice < ultimo; indice++) {
+            lote.add(fabrica.apply(indice));
+        }
+        return lote;
+    }
+
+    @FunctionalInterface
+    private interface Lote<T> {
+        void gravar(int primeiro, List<T> lote);
+    }
+}
@@ -0,0 +1,219 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Endereco;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import br.edu.infnet.gabriel.gym_management.model.Pessoa;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico de academias, alunos e instrutores (com endereço) que passam nas validações das entidades.
+ * Cada registro depende só da semente, do tipo e do índice: o mesmo índice gera sempre o mesmo registro,
+ * em qualquer ordem e em qualquer thread. Matrículas e registros seguem o índice (MAT000000 a MAT999999),
+ * CPFs e CNPJs são permutações do índice com dígitos verificadores válidos, e emails levam o índice.
+ */
+public class GeradorDataset {
+
+    /**
+     * MAT\d{3,6} e REG\d{3,6} admitem no máximo um milhão de valores distintos
+     */
+    public static final int MAXIMO_PESSOAS = 1_000_000;
+    public static final int MAXIMO_ACADEMIAS = 100_000_000;
+
+    private static final int ACADEMIA = 1;
+    private static final int ALUNO = 2;
+    private static final int INSTRUTOR = 3;
+    private static final long CPF_INSTRUTORES = 500_000_000L;
+
+    private static final List<String> PRENOMES = List.of(
+            "Ana", "Maria", "Juliana", "Camila", "Beatriz", "Fernanda", "Larissa", "Patrícia", "Aline", "Bruna",
+            "Gabriela", "Letícia", "Mariana", "Amanda", "Luana", "Carolina", "Vanessa", "Raquel", "Isabela", "Sofia",
+            "João", "Pedro", "Lucas", "Gabriel", "Rafael", "Gustavo", "Felipe", "Bruno", "Rodrigo", "Thiago",
+            "Carlos", "Marcelo", "Eduardo", "Daniel", "Matheus", "André", "Leonardo", "Diego", "Vinícius", "José");
+
+    private static final List<String> SOBRENOMES = List.of(
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa",
+            "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas");
+
+    private static final List<String> DOMINIOS = List.of(
+            "gmail.com", "gmail.com", "gmail.com", "gmail.com", "hotmail.com", "hotmail.com", "outlook.com",
+            "yahoo.com.br", "uol.com.br", "bol.com.br");
+
+    private static final List<String> NOMES_ACADEMIA = List.of(
+            "Força Total", "Corpo em Movimento", "Vida Ativa", "Energia Fitness", "Espaço Saúde", "Performance",
+            "Movimento Livre", "Fit Center", "Atlética", "Ponto Forte", "Equilíbrio", "Top Fitness");
+
+    private static final List<String> PLANOS = List.of("Plano Mensal", "Plano Trimestral", "Plano Semestral", "Plano Anual");
+    private static final double[] PESOS_PLANOS = {0.46, 0.18, 0.12, 0.24};
+
+    private static final List<String> ESPECIALIDADES = List.of(
+            "Musculação", "Funcional", "Crossfit", "Pilates", "Yoga", "Natação", "Spinning", "Dança");
+    private static final double[] PESOS_ESPECIALIDADES = {0.40, 0.18, 0.10, 0.12, 0.08, 0.05, 0.04, 0.03};
+
+    private final long semente;
+    private final LocalDate dataReferencia;
+    private final int academias;
+    private final double semAcademia;
+
+    /**
+     * @param academias   total de academias, para distribuir alunos e instrutores entre elas
+     * @param semAcademia fração de alunos e instrutores sem academia
+     */
+    public GeradorDataset(long semente, LocalDate dataReferencia, int academias, double semAcademia) {
+        this.semente = semente;
+        this.dataReferencia = dataReferencia;
+        this.academias = academias;
+        this.semAcademia = semAcademia;
+    }
+
+    public Academia academia(int indice) {
+        SplittableRandom aleatorio = aleatorio(ACADEMIA, indice);
+        Localidades.Cidade cidade = Localidades.cidade(aleatorio);
+        Academia academia = new Academia();
+        academia.setNome("Academia " + Localidades.sortear(NOMES_ACADEMIA, aleatorio) + " " + cidade.nome() + " " + (indice + 1));
+        academia.setCnpj(Documentos.cnpj(indice, misturar(semente)));
+        academia.setEndereco(Localidades.logradouro(aleatorio) + ", " + aleatorio.nextInt(1, 5000) + " - "
+                + Localidades.sortear(Localidades.BAIRROS, aleatorio) + ", " + cidade.nome() + "/" + cidade.uf());
+        academia.setTelefone(aleatorio.nextInt(3) == 0 ? celular(cidade, aleatorio) : fixo(cidade, aleatorio));
+        academia.setStatusAtivo(aleatorio.nextDouble() < 0.92);
+        return academia;
+    }
+
+    /**
+     * Academia do aluno (índice entre 0 e academias - 1) ou -1 se o aluno não tem academia
+     */
+    public int academiaDoAluno(int indice) {
+        return academiaSorteada(aleatorio(ALUNO, indice));
+    }
+
+    public int academiaDoInstrutor(int indice) {
+        return academiaSorteada(aleatorio(INSTRUTOR, indice));
+    }
+
+    public Aluno aluno(int indice) {
+        SplittableRandom aleatorio = aleatorio(ALUNO, indice);
+        int academia = academiaSorteada(aleatorio);
+        Localidades.Cidade cidade = cidade(academia, aleatorio);
+        Aluno aluno = new Aluno();
+        preencherPessoa(aluno, indice, indice, cidade, aleatorio);
+        aluno.setMatricula(String.format("MAT%06d", indice));
+        aluno.setPlano(ponderado(PLANOS, PESOS_PLANOS, aleatorio));
+        LocalDate inicio = dataReferencia.minusDays(diasDesdeInicio(aleatorio));
+        aluno.setDataInicio(inicio.toString());
+        boolean recente = inicio.isAfter(dataReferencia.minusDays(60));
+        aluno.setStatus(aleatorio.nextDouble() < (recente ? 0.97 : 0.80));
+        return aluno;
+    }
+
+    public Instrutor instrutor(int indice) {
+        SplittableRandom aleatorio = aleatorio(INSTRUTOR, indice);
+        int academia = academiaSorteada(aleatorio);
+        Localidades.Cidade cidade = cidade(academia, aleatorio);
+        Instrutor instrutor = new Instrutor();
+        preencherPessoa(instrutor, CPF_INSTRUTORES + indice, indice, cidade, aleatorio);
+        instrutor.setRegistro(String.format("REG%06d", indice));
+        instrutor.setEspecialidade(ponderado(ESPECIALIDADES, PESOS_ESPECIALIDADES, aleatorio));
+        double salario = 1_800 + 4_500 * Math.pow(aleatorio.nextDouble(), 2) + aleatorio.nextDouble(-300, 300);
+        instrutor.setSalario(Math.max(1_320, Math.round(salario / 50) * 50.0));
+        instrutor.setStatus(aleatorio.nextDouble() < 0.90);
+        instrutor.setEndereco(endereco(cidade, aleatorio));
+        return instrutor;
+    }
+
+    private void preencherPessoa(Pessoa pessoa, long indiceCpf, int indice,
+                                 Localidades.Cidade cidade, SplittableRandom aleatorio) {
+        String prenome = Localidades.sortear(PRENOMES, aleatorio);
+        String sobrenome = Localidades.sortear(SOBRENOMES, aleatorio);
+        String ultimoNome = Localidades.sortear(SOBRENOMES, aleatorio);
+        pessoa.setNome(prenome + " " + sobrenome + " " + ultimoNome);
+        pessoa.setEmail(semAcento(prenome + "." + ultimoNome).toLowerCase(Locale.ROOT) + "." + indice + "@"
+                + Localidades.sortear(DOMINIOS, aleatorio));
+        pessoa.setCpf(Documentos.cpf(indiceCpf, misturar(semente)));
+        pessoa.setTelefone(aleatorio.nextInt(4) == 0
+                ? String.format("%d9%08d", cidade.ddd(), aleatorio.nextInt(100_000_000))
+                : celular(cidade, aleatorio));
+    }
+
+    private Endereco endereco(Localidades.Cidade cidade, SplittableRandom aleatorio) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(Localidades.cep(cidade, aleatorio));
+        endereco.setLogradouro(Localidades.logradouro(aleatorio));
+        if (aleatorio.nextDouble() < 0.4) {
+            endereco.setComplemento("Apto " + aleatorio.nextInt(1, 30) + String.format("%02d", aleatorio.nextInt(1, 9)));
+        }
+        endereco.setUnidade(String.valueOf(aleatorio.nextInt(1, 5000)));
+        endereco.setBairro(Localidades.sortear(Localidades.BAIRROS, aleatorio));
+        endereco.setLocalidade(cidade.nome());
+        endereco.setUf(cidade.uf());
+        endereco.setEstado(cidade.estado());
+        return endereco;
+    }
+
+    /**
+     * Poucas academias concentram muitos alunos: a posição é sorteada com densidade maior nos índices baixos
+     */
+    private int academiaSorteada(SplittableRandom aleatorio) {
+        if (academias == 0 || aleatorio.nextDouble() < semAcademia) {
+            return -1;
+        }
+        return (int) Math.min(academias - 1, (long) (academias * Math.pow(aleatorio.nextDouble(), 1.6)));
+    }
+
+    /**
+     * Cidade da academia (a primeira escolha do gerador da academia) ou, sem academia, uma sorteada
+     */
+    private Localidades.Cidade cidade(int academia, SplittableRandom aleatorio) {
+        return Localidades.cidade(academia >= 0 ? aleatorio(ACADEMIA, academia) : aleatorio);
+    }
+
+    /**
+     * Mais matrículas recentes: até três anos antes da data de referência, com densidade decrescente
+     */
+    private static long diasDesdeInicio(SplittableRandom aleatorio) {
+        return (long) (3 * 365 * Math.pow(aleatorio.nextDouble(), 1.8));
+    }
+
+    private static String celular(Localidades.Cidade cidade, SplittableRandom aleatorio) {
+        return String.format("(%d) 9%04d-%04d", cidade.ddd(), aleatorio.nextInt(10_000), aleatorio.nextInt(10_000));
+    }
+
+    private static String fixo(Localidades.Cidade cidade, SplittableRandom aleatorio) {
+        return String.format("(%d) %d%03d-%04d", cidade.ddd(), aleatorio.nextInt(2, 6), aleatorio.nextInt(1_000), aleatorio.nextInt(10_000));
+    }
+
+    private static String ponderado(List<String> opcoes, double[] pesos, SplittableRandom aleatorio) {
+        double alvo = aleatorio.nextDouble();
+        for (int i = 0; i < pesos.length; i++) {
+            alvo -= pesos[i];
+            if (alvo < 0) {
+                return opcoes.get(i);
+            }
+        }
+        return opcoes.get(opcoes.size() - 1);
+    }
+
+    private static String semAcento(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    private SplittableRandom aleatorio(int tipo, long indice) {
+        return new SplittableRandom(misturar(semente * 31 + tipo) ^ misturar(indice));
+    }
+
+    /**
+     * Finalizador do SplitMix64, para que sementes vizinhas não gerem sequências correlacionadas
+     */
+    private static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,106 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Cidades reais das 27 UFs, com DDD, faixa de CEP e peso aproximado pela população,
+ * além de bairros e logradouros comuns para montar os endereços.
+ */
+final class Localidades {
+
+    record Cidade(String nome, String uf, String estado, int ddd, int cepInicial, int cepFinal, double peso) {
+    }
+
+    static final List<Cidade> CIDADES = List.of(
+            new Cidade("São Paulo", "SP", "São Paulo", 11, 1000, 5999, 12.0),
+            new Cidade("Campinas", "SP", "São Paulo", 19, 13000, 13139, 1.2),
+            new Cidade("Santos", "SP", "São Paulo", 13, 11000, 11099, 0.4),
+            new Cidade("Ribeirão Preto", "SP", "São Paulo", 16, 14000, 14114, 0.7),
+            new Cidade("São José dos Campos", "SP", "São Paulo", 12, 12200, 12248, 0.7),
+            new Cidade("Sorocaba", "SP", "São Paulo", 15, 18000, 18109, 0.7),
+            new Cidade("São Carlos", "SP", "São Paulo", 16, 13560, 13579, 0.25),
+            new Cidade("Rio de Janeiro", "RJ", "Rio de Janeiro", 21, 20000, 23799, 6.7),
+            new Cidade("Niterói", "RJ", "Rio de Janeiro", 21, 24000, 24399, 0.5),
+            new Cidade("Duque de Caxias", "RJ", "Rio de Janeiro", 21, 25000, 25299, 0.9),
+            new Cidade("Belo Horizonte", "MG", "Minas Gerais", 31, 30000, 31999, 2.5),
+            new Cidade("Uberlândia", "MG", "Minas Gerais", 34, 38400, 38419, 0.7),
+            new Cidade("Juiz de Fora", "MG", "Minas Gerais", 32, 36000, 36099, 0.6),
+            new Cidade("Vitória", "ES", "Espírito Santo", 27, 29000, 29099, 0.35),
+            new Cidade("Curitiba", "PR", "Paraná", 41, 80000, 82999, 1.9),
+            new Cidade("Londrina", "PR", "Paraná", 43, 86000, 86099, 0.6),
+            new Cidade("Florianópolis", "SC", "Santa Catarina", 48, 88000, 88099, 0.5),
+            new Cidade("Joinville", "SC", "Santa Catarina", 47, 89200, 89239, 0.6),
+            new Cidade("Porto Alegre", "RS", "Rio Grande do Sul", 51, 90000, 91999, 1.4),
+            new Cidade("Caxias do Sul", "RS", "Rio Grande do Sul", 54, 95000, 95124, 0.5),
+            new Cidade("Salvador", "BA", "Bahia", 71, 40000, 42599, 2.4),
+            new Cidade("Recife", "PE", "Pernambuco", 81, 50000, 52999, 1.5),
+            new Cidade("Fortaleza", "CE", "Ceará", 85, 60000, 61599, 2.4),
+            new Cidade("Brasília", "DF", "Distrito Federal", 61, 70000, 72799, 2.8),
+            new Cidade("Goiânia", "GO", "Goiás", 62, 74000, 74899, 1.4),
+            new Cidade("Manaus", "AM", "Amazonas", 92, 69000, 69099, 2.0),
+            new Cidade("Belém", "PA", "Pará", 91, 66000, 66999, 1.3),
+            new Cidade("São Luís", "MA", "Maranhão", 98, 65000, 65099, 1.0),
+            new Cidade("João Pessoa", "PB", "Paraíba", 83, 58000, 58099, 0.8),
+            new Cidade("Natal", "RN", "Rio Grande do Norte", 84, 59000, 59159, 0.8),
+            new Cidade("Maceió", "AL", "Alagoas", 82, 57000, 57099, 0.9),
+            new Cidade("Teresina", "PI", "Piauí", 86, 64000, 64099, 0.8),
+            new Cidade("Aracaju", "SE", "Sergipe", 79, 49000, 49099, 0.6),
+            new Cidade("Cuiabá", "MT", "Mato Grosso", 65, 78000, 78109, 0.6),
+            new Cidade("Campo Grande", "MS", "Mato Grosso do Sul", 67, 79000, 79129, 0.9),
+            new Cidade("Porto Velho", "RO", "Rondônia", 69, 76800, 76834, 0.5),
+            new Cidade("Palmas", "TO", "Tocantins", 63, 77000, 77270, 0.3),
+            new Cidade("Rio Branco", "AC", "Acre", 68, 69900, 69923, 0.4),
+            new Cidade("Macapá", "AP", "Amapá", 96, 68900, 68914, 0.5),
+            new Cidade("Boa Vista", "RR", "Roraima", 95, 69300, 69339, 0.4));
+
+    static final List<String> BAIRROS = List.of(
+            "Centro", "Jardim América", "Vila Nova", "Boa Vista", "Santa Cruz", "São José", "Jardim Paulista",
+            "Vila Mariana", "Cidade Nova", "Parque das Nações", "Santo Antônio", "Bela Vista", "Jardim Europa",
+            "Vila Operária", "Alto da Boa Vista", "Planalto");
+
+    static final List<String> TIPOS_LOGRADOURO = List.of("Rua", "Rua", "Rua", "Avenida", "Avenida", "Travessa", "Alameda");
+
+    static final List<String> NOMES_LOGRADOURO = List.of(
+            "das Flores", "Brasil", "XV de Novembro", "Sete de Setembro", "Getúlio Vargas", "Tiradentes",
+            "Santos Dumont", "Rio Branco", "Dom Pedro II", "Marechal Deodoro", "José Bonifácio", "São João",
+            "da Independência", "Presidente Vargas", "Barão de Mauá", "das Palmeiras", "Castro Alves", "Rui Barbosa");
+
+    private static final double[] ACUMULADO = new double[CIDADES.size()];
+
+    static {
+        double soma = 0;
+        for (int i = 0; i < CIDADES.size(); i++) {
+            soma += CIDADES.get(i).peso();
+            ACUMULADO[i] = soma;
+        }
+    }
+
+    private Localidades() {
+    }
+
+    /**
+     * Cidade sorteada com probabilidade proporcional ao peso
+     */
+    static Cidade cidade(SplittableRandom aleatorio) {
+        double alvo = aleatorio.nextDouble(ACUMULADO[ACUMULADO.length - 1]);
+        for (int i = 0; i < ACUMULADO.length; i++) {
+            if (alvo < ACUMULADO[i]) {
+                return CIDADES.get(i);
+            }
+        }
+        return CIDADES.get(CIDADES.size() - 1);
+    }
+
+    static String cep(Cidade cidade, SplittableRandom aleatorio) {
+        return String.format("%05d-%03d", aleatorio.nextInt(cidade.cepInicial(), cidade.cepFinal() + 1), aleatorio.nextInt(1000));
+    }
+
+    static String logradouro(SplittableRandom aleatorio) {
+        return sortear(TIPOS_LOGRADOURO, aleatorio) + " " + sortear(NOMES_LOGRADOURO, aleatorio);
+    }
+
+    static <T> T sortear(List<T> opcoes, SplittableRandom aleatorio) {
+        return opcoes.get(aleatorio.nextInt(opcoes.size()));
+    }
+}
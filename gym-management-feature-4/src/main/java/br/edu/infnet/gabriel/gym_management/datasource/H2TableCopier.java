@@ -0,0 +1,154 @@
+package br.edu.infnet.gabriel.gym_management.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utilitário JDBC para copiar esquema e linhas entre bancos H2.
+ * Usado pela réplica de leitura e pelo rebalanceamento de shards.
+ */
+public final class H2TableCopier {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private H2TableCopier() {
+    }
+
+    /**
+     * Verifica se a tabela existe no schema PUBLIC
+     */
+    public static boolean possuiTabela(Connection conexao, String tabela) throws SQLException {
+        try (ResultSet rs = conexao.getMetaData().getTables(null, "PUBLIC", tabela.toUpperCase(), new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Recria no destino o esquema da origem (tabelas, constraints e sequências), sem dados.
+     * Os gatilhos e a tabela de mudanças da réplica ficam só na origem.
+     */
+    public static void copiarEsquema(Connection origem, Connection destino) throws SQLException {
+        List<String> comandos = new ArrayList<>();
+        try (Statement st = origem.createStatement(); ResultSet rs = st.executeQuery("SCRIPT NODATA")) {
+            while (rs.next()) {
+                String comando = rs.getString(1);
+                if (!comando.contains(RegistroMudancas.class.getName()) && !comando.contains(RegistroMudancas.TABELA.toUpperCase())) {
+                    comandos.add(comando);
+                }
+            }
+        }
+        try (Statement st = destino.createStatement()) {
+            for (String comando : comandos) {
+                st.execute(comando);
+            }
+        }
+    }
+
+    /**
+     * Copia as linhas da tabela que atendem ao filtro, preservando os valores de todas as colunas (inclusive IDs).
+     *
+     * @param filtro Cláusula WHERE sem a palavra-chave, ou null para copiar tudo
+     * @return Quantidade de linhas copiadas
+     */
+    public static int copiarLinhas(Connection origem, Connection destino, String tabela,
+                                   String filtro, Object... parametros) throws SQLException {
+        String select = "SELECT * FROM " + tabela + (filtro != null ? " WHERE " + filtro : "");
+        try (PreparedStatement consulta = origem.prepareStatement(select)) {
+            for (int i = 0; i < parametros.length; i++) {
+                consulta.setObject(i + 1, parametros[i]);
+            }
+            try (ResultSet rs = consulta.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int colunas = meta.getColumnCount();
+                StringBuilder nomes = new StringBuilder();
+                StringBuilder marcadores = new StringBuilder();
+                for (int i = 1; i <= colunas; i++) {
+                    nomes.append(i > 1 ? ", " : "").append(meta.getColumnName(i));
+                    marcadores.append(i > 1 ? ", " : "").append('?');
+                }
+                String insert = "INSERT INTO " + tabela + " (" + nomes + ") VALUES (" + marcadores + ")";
+                int copiadas = 0;
+                try (PreparedStatement ps = destino.prepareStatement(insert)) {
+                    while (rs.next()) {
+                        for (int i = 1; i <= colunas; i++) {
+                            ps.setObject(i, rs.getObject(i));
+                        }
+                        ps.addBatch();
+                        if (++copiadas % TAMANHO_LOTE == 0) {
+                            ps.executeBatch();
+                        }
+                    }
+                    ps.executeBatch();
+                }
+                return copiadas;
+            }
+        }
+    }
+
+    /**
+     * Grava no destino (MERGE pela chave ID) as linhas da origem com os IDs informados.
+     *
+     * @return IDs que não existem mais na origem
+     */
+    public static Set<Long> mesclarLinhas(Connection origem, Connection destino, String tabela,
+                                          Collection<Long> ids) throws SQLException {
+        Set<Long> ausentes = new HashSet<>(ids);
+        List<Long> lista = new ArrayList<>(ids);
+        for (int inicio = 0; inicio < lista.size(); inicio += TAMANHO_LOTE) {
+            List<Long> lote = lista.subList(inicio, Math.min(inicio + TAMANHO_LOTE, lista.size()));
+            String select = "SELECT * FROM " + tabela + " WHERE id IN (" + marcadores(lote.size()) + ")";
+            try (PreparedStatement consulta = origem.prepareStatement(select)) {
+                for (int i = 0; i < lote.size(); i++) {
+                    consulta.setLong(i + 1, lote.get(i));
+                }
+                try (ResultSet rs = consulta.executeQuery()) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    int colunas = meta.getColumnCount();
+                    StringBuilder nomes = new StringBuilder();
+                    for (int i = 1; i <= colunas; i++) {
+                        nomes.append(i > 1 ? ", " : "").append(meta.getColumnName(i));
+                    }
+                    String merge = "MERGE INTO " + tabela + " (" + nomes + ") KEY (ID) VALUES (" + marcadores(colunas) + ")";
+                    try (PreparedStatement ps = destino.prepareStatement(merge)) {
+                        while (rs.next()) {
+                            for (int i = 1; i <= colunas; i++) {
+                                ps.setObject(i, rs.getObject(i));
+                            }
+                            ausentes.remove(rs.getLong("ID"));
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                    }
+                }
+            }
+        }
+        return ausentes;
+    }
+
+    /**
+     * Exclui do destino as linhas com os IDs informados
+     */
+    public static void excluirLinhas(Connection destino, String tabela, Collection<Long> ids) throws SQLException {
+        try (PreparedStatement ps = destino.prepareStatement("DELETE FROM " + tabela + " WHERE id = ?")) {
+            for (Long id : ids) {
+                ps.setLong(1, id);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.infnet.gabriel.gym_management.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource que envia transações somente leitura para a réplica e o restante para a primária.
+ * A réplica só é usada enquanto o ReplicaSynchronizer a considera dentro da tolerância: se ela
+ * estiver atrasada ou a última sincronização falhar, a leitura cai para a primária.
+ *
+ * Deve ser envolvido por um LazyConnectionDataSourceProxy, para que a conexão só seja obtida
+ * depois que a transação já foi marcada como somente leitura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIA, REPLICA }
+
+    private final ReplicaSynchronizer synchronizer;
+
+    public ReadWriteRoutingDataSource(DataSource primaria, DataSource replica, ReplicaSynchronizer synchronizer) {
+        this.synchronizer = synchronizer;
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (somenteLeitura && synchronizer.dentroDaTolerancia()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIA;
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.infnet.gabriel.gym_management.datasource;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Gatilho H2 que anota em replica_mudancas o ID de cada linha inserida, alterada ou excluída na primária.
+ * Roda na conexão de quem gravou, então a anotação é confirmada ou desfeita junto com a gravação;
+ * o ReplicaSynchronizer consome as anotações para copiar à réplica só as linhas que mudaram.
+ */
+public class RegistroMudancas implements Trigger {
+
+    public static final String TABELA = "replica_mudancas";
+
+    private String tabela;
+    private int colunaId;
+
+    /**
+     * Cria a tabela de mudanças e os gatilhos das tabelas informadas, se ainda não existirem
+     */
+    public static void instalar(Connection conexao, List<String> tabelas) throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS " + TABELA + " (seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "tabela VARCHAR(64) NOT NULL, id BIGINT NOT NULL)");
+            for (String tabela : tabelas) {
+                st.execute("CREATE TRIGGER IF NOT EXISTS replica_" + tabela + " AFTER INSERT, UPDATE, DELETE ON " + tabela
+                        + " FOR EACH ROW CALL '" + RegistroMudancas.class.getName() + "'");
+            }
+        }
+    }
+
+    @Override
+    public void init(Connection conexao, String schema, String gatilho, String tabela,
+                     boolean antes, int tipo) throws SQLException {
+        this.tabela = tabela.toLowerCase();
+        try (ResultSet rs = conexao.getMetaData().getColumns(null, schema, tabela, "ID")) {
+            if (!rs.next()) {
+                throw new SQLException("Tabela " + tabela + " sem coluna ID");
+            }
+            colunaId = rs.getInt("ORDINAL_POSITION") - 1;
+        }
+    }
+
+    @Override
+    public void fire(Connection conexao, Object[] antiga, Object[] nova) throws SQLException {
+        Object[] linha = nova != null ? nova : antiga;
+        try (PreparedStatement ps = conexao.prepareStatement("INSERT INTO " + TABELA + " (tabela, id) VALUES (?, ?)")) {
+            ps.setString(1, tabela);
+            ps.setObject(2, linha[colunaId]);
+            ps.executeUpdate();
+        }
+    }
+}
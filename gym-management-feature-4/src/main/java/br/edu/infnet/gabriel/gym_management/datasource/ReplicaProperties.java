@@ -0,0 +1,38 @@
+package br.edu.infnet.gabriel.gym_management.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configurações da réplica de leitura (prefixo "gym.datasource.replica").
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.datasource.replica")
+public class ReplicaProperties {
+
+    /**
+     * Liga o roteamento de transações somente leitura para a réplica
+     */
+    private boolean enabled = false;
+
+    private String url = "jdbc:h2:mem:gymdb-replica;DB_CLOSE_DELAY=-1";
+    private String username = "sa";
+    private String password = "";
+
+    /**
+     * Atraso máximo tolerado na réplica; acima disso as leituras voltam para a primária
+     */
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    /**
+     * Intervalo entre as rodadas que levam as mudanças da primária para a réplica
+     */
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    /**
+     * Tempo em que a réplica fica fora do roteamento após uma sincronização com falha
+     */
+    private Duration retryAfterFailure = Duration.ofSeconds(10);
+}
@@ -0,0 +1,210 @@
+package br.edu.infnet.gabriel.gym_management.datasource;
+
+import org.h2.engine.IsolationLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alimenta a réplica H2 local a partir da primária.
+ * Substitui a replicação de um banco real: o esquema é copiado uma vez (SCRIPT NODATA) e os dados
+ * uma vez por completo; depois, a cada intervalo, só as linhas anotadas pelos gatilhos de
+ * RegistroMudancas são regravadas ou excluídas na réplica, numa única transação.
+ * Cada rodada lê a primária numa transação SNAPSHOT, então a réplica avança de um estado
+ * consistente da primária para outro e nunca passa por tabelas vazias ou pela metade.
+ * O atraso da réplica é medido a partir do instante do snapshot lido na última rodada bem-sucedida.
+ */
+public class ReplicaSynchronizer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSynchronizer.class);
+
+    /**
+     * Tabelas em ordem de inserção (pais antes dos filhos); as exclusões usam a ordem inversa
+     */
+    private static final List<String> TABELAS = List.of("academias", "enderecos", "instrutores", "alunos");
+
+    private final DataSource primaria;
+    private final DataSource replica;
+    private final Duration syncInterval;
+    private final Duration maxStaleness;
+    private final Duration retryAfterFailure;
+    private volatile Instant dadosAte;
+    private volatile Instant indisponivelAte = Instant.MIN;
+    private boolean copiaCompleta;
+    private ScheduledExecutorService executor;
+
+    public ReplicaSynchronizer(DataSource primaria, DataSource replica, Duration syncInterval,
+                               Duration maxStaleness, Duration retryAfterFailure) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.syncInterval = syncInterval;
+        this.maxStaleness = maxStaleness;
+        this.retryAfterFailure = retryAfterFailure;
+    }
+
+    /**
+     * Indica se a réplica pode atender leituras: atualizada o suficiente e sem falha recente de sincronização
+     */
+    public boolean dentroDaTolerancia() {
+        Instant ultima = dadosAte;
+        Instant agora = Instant.now();
+        return ultima != null && agora.isAfter(indisponivelAte)
+                && Duration.between(ultima, agora).compareTo(maxStaleness) <= 0;
+    }
+
+    /**
+     * Atraso atual da réplica, ou null se ela ainda não foi sincronizada
+     */
+    public Duration atraso() {
+        Instant ultima = dadosAte;
+        return ultima == null ? null : Duration.between(ultima, Instant.now());
+    }
+
+    /**
+     * Leva para a réplica as mudanças da primária desde a última rodada
+     */
+    public synchronized void sincronizar() {
+        try (Connection origem = primaria.getConnection(); Connection destino = replica.getConnection()) {
+            if (!H2TableCopier.possuiTabela(origem, "alunos")) {
+                return;
+            }
+            if (!copiaCompleta) {
+                RegistroMudancas.instalar(origem, TABELAS);
+                if (!H2TableCopier.possuiTabela(destino, "alunos")) {
+                    H2TableCopier.copiarEsquema(origem, destino);
+                }
+            }
+            origem.setAutoCommit(false);
+            origem.setTransactionIsolation(IsolationLevel.SNAPSHOT.getJdbc());
+            destino.setAutoCommit(false);
+            try {
+                Instant instante = Instant.now();
+                List<Long> sequencias = new ArrayList<>();
+                Map<String, Set<Long>> mudancas = lerMudancas(origem, sequencias);
+                if (copiaCompleta) {
+                    aplicarMudancas(origem, destino, mudancas);
+                } else {
+                    copiarTudo(origem, destino);
+                }
+                destino.commit();
+                descartarMudancas(origem, sequencias);
+                origem.commit();
+                copiaCompleta = true;
+                dadosAte = instante;
+            } catch (SQLException e) {
+                destino.rollback();
+                origem.rollback();
+                throw e;
+            } finally {
+                destino.setAutoCommit(true);
+                origem.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            indisponivelAte = Instant.now().plus(retryAfterFailure);
+            log.warn("Falha ao sincronizar a réplica, leituras voltam para a primária por {}: {}", retryAfterFailure, e.getMessage());
+        }
+    }
+
+    /**
+     * IDs anotados no snapshot, por tabela; as sequências lidas são acrescentadas à lista
+     */
+    private Map<String, Set<Long>> lerMudancas(Connection origem, List<Long> sequencias) throws SQLException {
+        Map<String, Set<Long>> mudancas = new HashMap<>();
+        try (Statement st = origem.createStatement();
+             ResultSet rs = st.executeQuery("SELECT seq, tabela, id FROM " + RegistroMudancas.TABELA)) {
+            while (rs.next()) {
+                sequencias.add(rs.getLong(1));
+                mudancas.computeIfAbsent(rs.getString(2), t -> new HashSet<>()).add(rs.getLong(3));
+            }
+        }
+        return mudancas;
+    }
+
+    /**
+     * Regrava as linhas alteradas (pais antes dos filhos) e depois exclui as que sumiram (filhos antes dos pais)
+     */
+    private void aplicarMudancas(Connection origem, Connection destino,
+                                 Map<String, Set<Long>> idsPorTabela) throws SQLException {
+        Map<String, Set<Long>> excluidos = new HashMap<>();
+        for (String tabela : TABELAS) {
+            Set<Long> ids = idsPorTabela.get(tabela);
+            if (ids != null) {
+                excluidos.put(tabela, H2TableCopier.mesclarLinhas(origem, destino, tabela, ids));
+            }
+        }
+        for (int i = TABELAS.size() - 1; i >= 0; i--) {
+            Set<Long> ids = excluidos.get(TABELAS.get(i));
+            if (ids != null && !ids.isEmpty()) {
+                H2TableCopier.excluirLinhas(destino, TABELAS.get(i), ids);
+            }
+        }
+    }
+
+    /**
+     * Primeira rodada: substitui o conteúdo da réplica pelo snapshot inteiro da primária
+     */
+    private void copiarTudo(Connection origem, Connection destino) throws SQLException {
+        for (int i = TABELAS.size() - 1; i >= 0; i--) {
+            try (Statement st = destino.createStatement()) {
+                st.executeUpdate("DELETE FROM " + TABELAS.get(i));
+            }
+        }
+        for (String tabela : TABELAS) {
+            H2TableCopier.copiarLinhas(origem, destino, tabela, null);
+        }
+    }
+
+    /**
+     * Remove só as anotações lidas; as de transações confirmadas depois do snapshot ficam para a próxima rodada
+     */
+    private void descartarMudancas(Connection origem, List<Long> sequencias) throws SQLException {
+        try (PreparedStatement ps = origem.prepareStatement("DELETE FROM " + RegistroMudancas.TABELA + " WHERE seq = ?")) {
+            for (Long seq : sequencias) {
+                ps.setLong(1, seq);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::sincronizar, 0, syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+}
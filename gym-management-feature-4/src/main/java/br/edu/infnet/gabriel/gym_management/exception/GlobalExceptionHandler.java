@@ -0,0 +1,42 @@
+package br.edu.infnet.gabriel.gym_management.exception;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Erros da negociação de formato (JSON, CBOR ou Smile).
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * Content-Type do corpo sem conversor (415); a resposta sai no formato negociado pelo Accept
+     */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> tratarFormatoNaoSuportado(HttpMediaTypeNotSupportedException ex,
+                                                                   HttpServletRequest request) {
+        ErrorResponse corpo = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value())
+                .error(HttpStatus.UNSUPPORTED_MEDIA_TYPE.getReasonPhrase())
+                .message("Formato não suportado: " + ex.getContentType() + "; aceitos: " + ex.getSupportedMediaTypes())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(corpo);
+    }
+
+    /**
+     * Nenhum formato do Accept é produzido (406). Sem corpo: não há formato aceito pelo cliente para ele.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> tratarFormatoNaoAceito() {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+}
@@ -9,6 +9,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +19,8 @@ import java.util.List;
  * Entidade que representa uma Academia no sistema.
  * Contém informações essenciais como identificação, contato e status operacional.
  * Possui relacionamento OneToMany com Instrutores e Alunos.
+ * As coleções usam SUBSELECT: ao inicializar a coleção de uma academia, o Hibernate carrega a mesma
+ * coleção de todas as academias trazidas pela consulta original em um único SELECT, em vez de um por academia.
  */
 @Entity
 @Table(name = "academias")
@@ -52,10 +56,12 @@ public class Academia {
     private Boolean statusAtivo;
 
     @OneToMany(mappedBy = "academia", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     @JsonManagedReference("academia-instrutores")
     private List<Instrutor> instrutores = new ArrayList<>();
 
     @OneToMany(mappedBy = "academia", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     @JsonManagedReference("academia-alunos")
     private List<Aluno> alunos = new ArrayList<>();
 
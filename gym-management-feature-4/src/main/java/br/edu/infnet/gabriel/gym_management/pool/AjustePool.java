@@ -0,0 +1,19 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Alteração de tamanho aplicada a um pool, pelo modo adaptativo ou manualmente.
+ */
+@Data
+@AllArgsConstructor
+public class AjustePool {
+    private Instant instante;
+    private String pool;
+    private int de;
+    private int para;
+    private String motivo;
+}
@@ -0,0 +1,66 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+/**
+ * Regra do dimensionamento adaptativo, aplicada a uma amostra por vez:
+ * uso médio da conexão acima do limite indica banco saturado e o pool encolhe pelo passo
+ * (mais conexões só aumentariam a fila dentro do banco); espera por conexão acima do alvo,
+ * threads aguardando ou timeouts fazem o pool crescer pelo passo; com menos da metade do pool
+ * ocupada e espera baixa, o pool devolve uma conexão. O resultado fica sempre entre mínimo e máximo.
+ */
+public class DimensionadorPool {
+
+    private final int minimo;
+    private final int maximo;
+    private final double esperaAlvoMs;
+    private final double usoLimiteMs;
+    private final int passo;
+
+    public DimensionadorPool(int minimo, int maximo, double esperaAlvoMs, double usoLimiteMs, int passo) {
+        if (minimo < 1 || maximo < minimo) {
+            throw new IllegalArgumentException("Limites do pool inválidos: mínimo " + minimo + ", máximo " + maximo);
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.esperaAlvoMs = esperaAlvoMs;
+        this.usoLimiteMs = usoLimiteMs;
+        this.passo = Math.max(1, passo);
+    }
+
+    /**
+     * Novo tamanho para o pool da amostra; motivo nulo quando o tamanho não muda
+     */
+    public Decisao decidir(EstadoPool estado) {
+        int atual = estado.getMaximo();
+        if (atual < minimo || atual > maximo) {
+            return ajustar(atual, atual, "fora dos limites configurados");
+        }
+        if (estado.getAquisicoes() > 0 && estado.getUsoMedioMs() > usoLimiteMs) {
+            return ajustar(atual, atual - passo,
+                    String.format("uso médio de %.1f ms acima de %.0f ms", estado.getUsoMedioMs(), usoLimiteMs));
+        }
+        if (estado.getAquisicaoMediaMs() > esperaAlvoMs || estado.getAguardando() > 0 || estado.getTimeouts() > 0) {
+            return ajustar(atual, atual + passo,
+                    String.format("espera média de %.1f ms, %d aguardando, %d timeouts",
+                            estado.getAquisicaoMediaMs(), estado.getAguardando(), estado.getTimeouts()));
+        }
+        if (estado.getAtivas() * 2 < atual && estado.getAquisicaoMediaMs() * 2 <= esperaAlvoMs) {
+            return ajustar(atual, atual - 1, String.format("%d de %d conexões ativas", estado.getAtivas(), atual));
+        }
+        return new Decisao(atual, null);
+    }
+
+    private Decisao ajustar(int atual, int desejado, String motivo) {
+        int novo = Math.max(minimo, Math.min(maximo, desejado));
+        return new Decisao(novo, novo == atual ? null : motivo);
+    }
+
+    /**
+     * Tamanho decidido e o motivo da mudança
+     */
+    public record Decisao(int tamanho, String motivo) {
+
+        public boolean mudou() {
+            return motivo != null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Amostra de um pool de conexões: contadores instantâneos do Hikari e médias da última janela.
+ */
+@Data
+@AllArgsConstructor
+public class EstadoPool {
+    private String pool;
+    private int ativas;
+    private int ociosas;
+    private int total;
+    /**
+     * Threads aguardando uma conexão no momento da amostra
+     */
+    private int aguardando;
+    private int maximo;
+    private int minimoOcioso;
+    /**
+     * Conexões entregues na janela
+     */
+    private long aquisicoes;
+    private double aquisicaoMediaMs;
+    private double usoMedioMs;
+    /**
+     * Pedidos de conexão que estouraram o connectionTimeout na janela
+     */
+    private long timeouts;
+}
@@ -0,0 +1,46 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint /actuator/pool: amostras dos pools de conexão e ajustes recentes.
+ * POST /actuator/pool {"adaptativo": true|false} liga ou desliga o modo adaptativo;
+ * POST /actuator/pool/{nome} {"maximo": N} altera o tamanho de um pool.
+ */
+@Endpoint(id = "pool")
+public class PoolEndpoint {
+
+    private final PoolMonitor monitor;
+
+    public PoolEndpoint(PoolMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("adaptativo", monitor.isAdaptativo());
+        estado.put("pools", monitor.estados());
+        estado.put("ajustes", monitor.ajustes());
+        return estado;
+    }
+
+    @WriteOperation
+    public Map<String, Object> alternarAdaptativo(boolean adaptativo) {
+        monitor.setAdaptativo(adaptativo);
+        return estado();
+    }
+
+    @WriteOperation
+    @Nullable
+    public AjustePool redimensionar(@Selector String nome, int maximo) {
+        return monitor.redimensionar(nome, maximo).orElse(null);
+    }
+}
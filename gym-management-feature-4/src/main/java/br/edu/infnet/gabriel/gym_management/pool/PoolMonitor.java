@@ -0,0 +1,215 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amostra periodicamente os pools Hikari da aplicação (primária, réplica e shards).
+ * Ativas, ociosas e aguardando vêm do HikariPoolMXBean; espera de aquisição e tempo de uso
+ * são médias da janela, calculadas pela diferença entre duas leituras dos timers
+ * hikaricp.connections.acquire e hikaricp.connections.usage do Micrometer.
+ * Com o modo adaptativo ligado, cada amostra passa pelo DimensionadorPool e o novo tamanho
+ * é aplicado em tempo de execução pelo HikariConfigMXBean.
+ */
+public class PoolMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolMonitor.class);
+
+    private final List<HikariDataSource> pools;
+    private final MeterRegistry registry;
+    private final DimensionadorPool dimensionador;
+    private final Duration intervalo;
+    private final int historico;
+    private final Map<HikariDataSource, Leitura> anteriores = new IdentityHashMap<>();
+    private final Deque<AjustePool> ajustes = new ArrayDeque<>();
+    private volatile List<EstadoPool> ultimaAmostra = List.of();
+    private volatile boolean adaptativo;
+    private ScheduledExecutorService executor;
+
+    public PoolMonitor(List<HikariDataSource> pools, MeterRegistry registry, DimensionadorPool dimensionador,
+                       Duration intervalo, int historico, boolean adaptativo) {
+        this.pools = List.copyOf(pools);
+        this.registry = registry;
+        this.dimensionador = dimensionador;
+        this.intervalo = intervalo;
+        this.historico = historico;
+        this.adaptativo = adaptativo;
+    }
+
+    /**
+     * Amostras da última janela, uma por pool já iniciado
+     */
+    public List<EstadoPool> estados() {
+        return ultimaAmostra;
+    }
+
+    /**
+     * Ajustes mais recentes, do mais novo para o mais antigo
+     */
+    public synchronized List<AjustePool> ajustes() {
+        return new ArrayList<>(ajustes);
+    }
+
+    public boolean isAdaptativo() {
+        return adaptativo;
+    }
+
+    public void setAdaptativo(boolean adaptativo) {
+        this.adaptativo = adaptativo;
+        log.info("Dimensionamento adaptativo dos pools {}", adaptativo ? "ligado" : "desligado");
+    }
+
+    /**
+     * Altera manualmente o tamanho máximo de um pool; com o modo adaptativo ligado,
+     * a próxima amostra pode reajustá-lo
+     */
+    public Optional<AjustePool> redimensionar(String nome, int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O pool precisa de ao menos uma conexão");
+        }
+        return pools.stream()
+                .filter(pool -> nome.equals(pool.getPoolName()))
+                .findFirst()
+                .map(pool -> aplicar(pool, tamanho, "manual"));
+    }
+
+    synchronized void amostrar() {
+        List<EstadoPool> estados = new ArrayList<>(pools.size());
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean == null) {
+                continue;
+            }
+            EstadoPool estado = medir(pool, mxBean);
+            estados.add(estado);
+            if (adaptativo) {
+                DimensionadorPool.Decisao decisao = dimensionador.decidir(estado);
+                if (decisao.mudou()) {
+                    aplicar(pool, decisao.tamanho(), decisao.motivo());
+                }
+            }
+        }
+        ultimaAmostra = List.copyOf(estados);
+    }
+
+    private EstadoPool medir(HikariDataSource pool, HikariPoolMXBean mxBean) {
+        String nome = pool.getPoolName();
+        Leitura atual = new Leitura(
+                timer("hikaricp.connections.acquire", nome),
+                timer("hikaricp.connections.usage", nome),
+                contador("hikaricp.connections.timeout", nome));
+        Leitura anterior = anteriores.getOrDefault(pool, Leitura.VAZIA);
+        anteriores.put(pool, atual);
+
+        long aquisicoes = atual.aquisicoes - anterior.aquisicoes;
+        long usos = atual.usos - anterior.usos;
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        return new EstadoPool(nome,
+                mxBean.getActiveConnections(),
+                mxBean.getIdleConnections(),
+                mxBean.getTotalConnections(),
+                mxBean.getThreadsAwaitingConnection(),
+                config.getMaximumPoolSize(),
+                config.getMinimumIdle(),
+                aquisicoes,
+                aquisicoes > 0 ? (atual.aquisicaoMs - anterior.aquisicaoMs) / aquisicoes : 0,
+                usos > 0 ? (atual.usoMs - anterior.usoMs) / usos : 0,
+                (long) (atual.timeouts - anterior.timeouts));
+    }
+
+    private synchronized AjustePool aplicar(HikariDataSource pool, int tamanho, String motivo) {
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        int anterior = config.getMaximumPoolSize();
+        if (tamanho < anterior && config.getMinimumIdle() > tamanho) {
+            config.setMinimumIdle(tamanho);
+        }
+        config.setMaximumPoolSize(tamanho);
+        AjustePool ajuste = new AjustePool(Instant.now(), pool.getPoolName(), anterior, tamanho, motivo);
+        ajustes.addFirst(ajuste);
+        while (ajustes.size() > historico) {
+            ajustes.removeLast();
+        }
+        Counter.builder("gym.pool.ajustes")
+                .tag("pool", ajuste.getPool())
+                .tag("direcao", tamanho >= anterior ? "aumento" : "reducao")
+                .register(registry)
+                .increment();
+        log.info("Pool {}: {} -> {} conexões ({})", ajuste.getPool(), anterior, tamanho, motivo);
+        return ajuste;
+    }
+
+    private Timer timer(String nome, String pool) {
+        return registry.find(nome).tag("pool", pool).timer();
+    }
+
+    private Counter contador(String nome, String pool) {
+        return registry.find(nome).tag("pool", pool).counter();
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pool-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::amostrarComSeguranca, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void amostrarComSeguranca() {
+        try {
+            amostrar();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao amostrar os pools de conexão: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Valores acumulados dos medidores do Micrometer numa leitura
+     */
+    private record Leitura(long aquisicoes, double aquisicaoMs, long usos, double usoMs, double timeouts) {
+
+        static final Leitura VAZIA = new Leitura(0, 0, 0, 0, 0);
+
+        Leitura(Timer aquisicao, Timer uso, Counter timeout) {
+            this(aquisicao != null ? aquisicao.count() : 0,
+                    aquisicao != null ? aquisicao.totalTime(TimeUnit.MILLISECONDS) : 0,
+                    uso != null ? uso.count() : 0,
+                    uso != null ? uso.totalTime(TimeUnit.MILLISECONDS) : 0,
+                    timeout != null ? timeout.count() : 0);
+        }
+    }
+}
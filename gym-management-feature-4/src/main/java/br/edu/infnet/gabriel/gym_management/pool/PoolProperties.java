@@ -0,0 +1,63 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriedades da observação e do dimensionamento adaptativo dos pools Hikari (gym.pool.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.pool")
+public class PoolProperties {
+
+    /**
+     * Intervalo entre duas amostras; as médias de aquisição e uso valem para a janela entre elas
+     */
+    private Duration intervalo = Duration.ofSeconds(5);
+
+    private Adaptativo adaptativo = new Adaptativo();
+
+    /**
+     * Limites e alvos do modo adaptativo
+     */
+    @Data
+    public static class Adaptativo {
+
+        /**
+         * Ligado, o maximumPoolSize de cada pool é ajustado a cada amostra
+         */
+        private boolean enabled = false;
+
+        /**
+         * Menor tamanho permitido; deve cobrir a partição dos bulkheads (gym.bulkhead.*)
+         */
+        private int minimo = 10;
+
+        /**
+         * Maior tamanho permitido
+         */
+        private int maximo = 40;
+
+        /**
+         * Espera média por uma conexão acima da qual o pool cresce
+         */
+        private Duration esperaAlvo = Duration.ofMillis(5);
+
+        /**
+         * Tempo médio de uso da conexão acima do qual o banco é considerado saturado e o pool encolhe
+         */
+        private Duration usoLimite = Duration.ofMillis(250);
+
+        /**
+         * Conexões somadas ou retiradas a cada ajuste por espera ou saturação
+         */
+        private int passo = 2;
+
+        /**
+         * Quantidade de ajustes recentes mantidos para consulta no endpoint
+         */
+        private int historico = 50;
+    }
+}
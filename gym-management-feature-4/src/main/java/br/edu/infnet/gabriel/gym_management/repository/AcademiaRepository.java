@@ -1,13 +1,18 @@
 package br.edu.infnet.gabriel.gym_management.repository;
 
 import br.edu.infnet.gabriel.gym_management.model.Academia;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório JPA para a entidade Academia.
@@ -47,5 +52,20 @@ public interface AcademiaRepository extends JpaRepository<Academia, Long> {
      * Conta academias ativas
      */
     Long countByStatusAtivo(Boolean statusAtivo);
-}
 
+    /**
+     * Dentre os CNPJs informados, devolve os já cadastrados (conferência exata da triagem de unicidade)
+     */
+    @Query("SELECT a.cnpj FROM Academia a WHERE a.cnpj IN :valores")
+    List<String> findCnpjsExistentes(@Param("valores") Collection<String> valores);
+
+    /**
+     * Percorre os CNPJs cadastrados, para construir o filtro de unicidade
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.cnpj FROM Academia a")
+    Stream<String> streamCnpjs();
+}
@@ -1,13 +1,20 @@
 package br.edu.infnet.gabriel.gym_management.repository;
 
 import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório JPA para a entidade Aluno.
@@ -43,8 +50,10 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
 
     /**
      * Busca alunos por academia (usando relacionamento)
+     * Compara a chave estrangeira, sem join com academias, que só existem na shard 0 quando há sharding
      */
-    List<Aluno> findByAcademiaId(Long academiaId);
+    @Query("SELECT a FROM Aluno a WHERE a.academia.id = :academiaId")
+    List<Aluno> findByAcademiaId(@Param("academiaId") Long academiaId);
 
     /**
      * Busca alunos ativos de uma academia específica (JPQL)
@@ -67,5 +76,105 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
      * Busca alunos sem academia
      */
     List<Aluno> findByAcademiaIsNull();
-}
 
+    /**
+     * Percorre todos os alunos com cursor forward-only (streaming).
+     * Exige transação ativa e o Stream deve ser fechado após o uso.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Aluno a")
+    Stream<Aluno> streamAll();
+
+    /**
+     * Percorre alunos por status com cursor forward-only (streaming)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Aluno a WHERE a.status = :status")
+    Stream<Aluno> streamByStatus(@Param("status") Boolean status);
+
+    /**
+     * Percorre alunos sem academia com cursor forward-only (streaming)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Aluno a WHERE a.academia IS NULL")
+    Stream<Aluno> streamByAcademiaIsNull();
+
+    /**
+     * Dentre os CPFs informados, devolve os já cadastrados (conferência exata da triagem de unicidade)
+     */
+    @Query("SELECT a.cpf FROM Aluno a WHERE a.cpf IN :valores")
+    List<String> findCpfsExistentes(@Param("valores") Collection<String> valores);
+
+    /**
+     * Dentre os emails informados, devolve os já cadastrados (conferência exata da triagem de unicidade)
+     */
+    @Query("SELECT a.email FROM Aluno a WHERE a.email IN :valores")
+    List<String> findEmailsExistentes(@Param("valores") Collection<String> valores);
+
+    /**
+     * Dentre os matrículas informados, devolve os já cadastrados (conferência exata da triagem de unicidade)
+     */
+    @Query("SELECT a.matricula FROM Aluno a WHERE a.matricula IN :valores")
+    List<String> findMatriculasExistentes(@Param("valores") Collection<String> valores);
+
+    /**
+     * Percorre os CPFs cadastrados, para construir o filtro de unicidade
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.cpf FROM Aluno a")
+    Stream<String> streamCpfs();
+
+    /**
+     * Percorre os emails cadastrados, para construir o filtro de unicidade
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.email FROM Aluno a")
+    Stream<String> streamEmails();
+
+    /**
+     * Percorre os matrículas cadastrados, para construir o filtro de unicidade
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.matricula FROM Aluno a")
+    Stream<String> streamMatriculas();
+
+    /**
+     * Grava o mesmo status em vários alunos de uma vez (descarga do write-behind)
+     */
+    @Modifying
+    @Query("UPDATE Aluno a SET a.status = :status WHERE a.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Boolean status);
+
+    /**
+     * Menor e maior ID de alunos; com sharding, uma linha por shard (jobs em lote)
+     */
+    @Query("SELECT MIN(a.id), MAX(a.id) FROM Aluno a")
+    List<Object[]> findIntervalosIds();
+
+    /**
+     * Próximo chunk da leitura por keyset: até limite alunos com depoisDe < id <= ate, em ordem de ID (jobs em lote)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Aluno> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long depoisDe, Long ate, Limit limite);
+}
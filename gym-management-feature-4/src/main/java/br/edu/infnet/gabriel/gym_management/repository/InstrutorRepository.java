@@ -1,13 +1,18 @@
 package br.edu.infnet.gabriel.gym_management.repository;
 
 import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório JPA para a entidade Instrutor.
@@ -48,8 +53,10 @@ public interface InstrutorRepository extends JpaRepository<Instrutor, Long> {
 
     /**
      * Busca instrutores por academia
+     * Compara a chave estrangeira, sem join com academias, que só existem na shard 0 quando há sharding
      */
-    List<Instrutor> findByAcademiaId(Long academiaId);
+    @Query("SELECT i FROM Instrutor i WHERE i.academia.id = :academiaId")
+    List<Instrutor> findByAcademiaId(@Param("academiaId") Long academiaId);
 
     /**
      * Busca instrutores ativos de uma academia específica (JPQL)
@@ -78,5 +85,87 @@ public interface InstrutorRepository extends JpaRepository<Instrutor, Long> {
      */
     @Query("SELECT i FROM Instrutor i JOIN i.endereco e WHERE LOWER(e.localidade) = LOWER(:cidade)")
     List<Instrutor> findByEnderecoLocalidade(@Param("cidade") String cidade);
-}
 
+    /**
+     * Percorre todos os instrutores com cursor forward-only (streaming).
+     * O endereço vem no mesmo SELECT para evitar uma consulta extra por linha.
+     * Exige transação ativa e o Stream deve ser fechado após o uso.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT i FROM Instrutor i LEFT JOIN FETCH i.endereco")
+    Stream<Instrutor> streamAll();
+
+    /**
+     * Percorre instrutores por status com cursor forward-only (streaming)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT i FROM Instrutor i LEFT JOIN FETCH i.endereco WHERE i.status = :status")
+    Stream<Instrutor> streamByStatus(@Param("status") Boolean status);
+
+    /**
+     * Percorre instrutores sem academia com cursor forward-only (streaming)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT i FROM Instrutor i LEFT JOIN FETCH i.endereco WHERE i.academia IS NULL")
+    Stream<Instrutor> streamByAcademiaIsNull();
+
+    /**
+     * Dentre os CPFs informados, devolve os já cadastrados (conferência exata da triagem de unicidade)
+     */
+    @Query("SELECT i.cpf FROM Instrutor i WHERE i.cpf IN :valores")
+    List<String> findCpfsExistentes(@Param("valores") Collection<String> valores);
+
+    /**
+     * Dentre os emails informados, devolve os já cadastrados (conferência exata da triagem de unicidade)
+     */
+    @Query("SELECT i.email FROM Instrutor i WHERE i.email IN :valores")
+    List<String> findEmailsExistentes(@Param("valores") Collection<String> valores);
+
+    /**
+     * Dentre os registros informados, devolve os já cadastrados (conferência exata da triagem de unicidade)
+     */
+    @Query("SELECT i.registro FROM Instrutor i WHERE i.registro IN :valores")
+    List<String> findRegistrosExistentes(@Param("valores") Collection<String> valores);
+
+    /**
+     * Percorre os CPFs cadastrados, para construir o filtro de unicidade
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i.cpf FROM Instrutor i")
+    Stream<String> streamCpfs();
+
+    /**
+     * Percorre os emails cadastrados, para construir o filtro de unicidade
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i.email FROM Instrutor i")
+    Stream<String> streamEmails();
+
+    /**
+     * Percorre os registros cadastrados, para construir o filtro de unicidade
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i.registro FROM Instrutor i")
+    Stream<String> streamRegistros();
+}
@@ -1,88 +1,179 @@
 package br.edu.infnet.gabriel.gym_management.service;
 
+import br.edu.infnet.gabriel.gym_management.cache.AlunoCache;
+import br.edu.infnet.gabriel.gym_management.cache.InstrutorCache;
+import br.edu.infnet.gabriel.gym_management.cache.SingleFlight;
+import br.edu.infnet.gabriel.gym_management.cache.SingleFlights;
 import br.edu.infnet.gabriel.gym_management.model.Academia;
 import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.unicidade.ChaveUnica;
+import br.edu.infnet.gabriel.gym_management.unicidade.FiltroUnicidade;
+import br.edu.infnet.gabriel.gym_management.unicidade.Rejeicao;
+import br.edu.infnet.gabriel.gym_management.unicidade.ResultadoImportacao;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Serviço responsável pela gestão de Academias.
  * Utiliza JPA Repository para persistência de dados.
+ * Consultas e estatísticas rodam em transações somente leitura: o Hibernate não faz flush
+ * nem guarda snapshots para dirty checking, e a conexão pode ser roteada para a réplica.
  * IDs são gerados automaticamente via JPA (IDENTITY strategy).
+ * Alterar ou excluir uma academia invalida os caches de alunos e instrutores ligados a ela.
+ * Com open-in-view desligado, toda academia devolvida já sai com alunos e instrutores carregados
+ * dentro da transação do serviço (ver comColecoes).
+ * CNPJs gravados alimentam o FiltroUnicidade, usado na triagem das importações em lote.
  */
 @Service
 public class AcademyService implements CrudService<Academia, Long> {
 
+    private static final Map<ChaveUnica, Function<Academia, String>> CHAVES = Map.of(ChaveUnica.ACADEMIA_CNPJ, Academia::getCnpj);
+
     private final AcademiaRepository academiaRepository;
+    private final AlunoCache alunoCache;
+    private final InstrutorCache instrutorCache;
+    private final SingleFlight<String, Map<String, Long>> estatisticas;
+    private final TransactionTemplate leitura;
+    private final FiltroUnicidade filtroUnicidade;
 
-    public AcademyService(AcademiaRepository academiaRepository) {
+    public AcademyService(AcademiaRepository academiaRepository, AlunoCache alunoCache, InstrutorCache instrutorCache,
+                          SingleFlights singleFlights, PlatformTransactionManager transactionManager,
+                          FiltroUnicidade filtroUnicidade) {
         this.academiaRepository = academiaRepository;
+        this.alunoCache = alunoCache;
+        this.instrutorCache = instrutorCache;
+        this.estatisticas = singleFlights.criar("academias.estatisticas");
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.filtroUnicidade = filtroUnicidade;
     }
 
     @Override
+    @Transactional
     public Academia salvar(Academia academia) {
-        return academiaRepository.save(academia);
+        Academia salva = academiaRepository.save(academia);
+        if (academia.getId() != null) {
+            invalidarDependentes(salva.getId());
+        }
+        filtroUnicidade.registrar(List.of(salva), CHAVES);
+        return comColecoes(salva);
+    }
+
+    /**
+     * Importa um lote de academias, sempre como novos registros.
+     * CNPJs já cadastrados ou repetidos no lote são devolvidos como rejeitados; os demais são gravados juntos.
+     */
+    @Transactional
+    public ResultadoImportacao importar(List<Academia> academias) {
+        academias.forEach(academia -> academia.setId(null));
+        List<Rejeicao> rejeitados = filtroUnicidade.triar(academias, CHAVES);
+        Set<Integer> recusados = rejeitados.stream().map(Rejeicao::getIndice).collect(Collectors.toSet());
+        List<Academia> aceitos = IntStream.range(0, academias.size())
+                .filter(i -> !recusados.contains(i))
+                .mapToObj(academias::get)
+                .toList();
+        List<Academia> salvas = academiaRepository.saveAll(aceitos);
+        filtroUnicidade.registrar(salvas, CHAVES);
+        return new ResultadoImportacao(academias.size(), salvas.size(), rejeitados);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Academia buscarPorId(Long id) {
-        return academiaRepository.findById(id).orElse(null);
+        return academiaRepository.findById(id).map(this::comColecoes).orElse(null);
     }
 
     @Override
+    @Transactional
     public Boolean excluir(Long id) {
         if (academiaRepository.existsById(id)) {
             academiaRepository.deleteById(id);
+            invalidarDependentes(id);
             return true;
         }
         return false;
     }
 
+    private void invalidarDependentes(Long academiaId) {
+        alunoCache.invalidarDaAcademia(academiaId);
+        instrutorCache.invalidarDaAcademia(academiaId);
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<Academia> listarTodos() {
-        return academiaRepository.findAll();
+        return comColecoes(academiaRepository.findAll());
     }
 
     /**
      * Busca academias por status
      */
+    @Transactional(readOnly = true)
     public List<Academia> buscarPorStatus(Boolean status) {
-        return academiaRepository.findByStatusAtivo(status);
+        return comColecoes(academiaRepository.findByStatusAtivo(status));
     }
 
     /**
      * Busca academias por nome (contém)
      */
+    @Transactional(readOnly = true)
     public List<Academia> buscarPorNome(String nome) {
-        return academiaRepository.findByNomeContainingIgnoreCase(nome);
+        return comColecoes(academiaRepository.findByNomeContainingIgnoreCase(nome));
     }
 
     /**
      * Busca academias ativas com instrutores
      */
+    @Transactional(readOnly = true)
     public List<Academia> buscarAcademiasAtivasComInstrutores() {
-        return academiaRepository.findAcademiasAtivasComInstrutores();
+        return comColecoes(academiaRepository.findAcademiasAtivasComInstrutores());
     }
 
     /**
      * Busca academias com mínimo de alunos
      */
+    @Transactional(readOnly = true)
     public List<Academia> buscarAcademiasComMinimoAlunos(int minAlunos) {
-        return academiaRepository.findAcademiasComMinimoAlunos(minAlunos);
+        return comColecoes(academiaRepository.findAcademiasComMinimoAlunos(minAlunos));
     }
 
     /**
      * Obtém estatísticas sobre academias
      */
     public Map<String, Long> obterEstatisticas() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("total", academiaRepository.count());
-        stats.put("ativas", academiaRepository.countByStatusAtivo(true));
-        stats.put("inativas", academiaRepository.countByStatusAtivo(false));
-        return stats;
+        return new HashMap<>(estatisticas.executar("academias", () -> leitura.execute(status -> {
+            Map<String, Long> stats = new HashMap<>();
+            stats.put("total", academiaRepository.count());
+            stats.put("ativas", academiaRepository.countByStatusAtivo(true));
+            stats.put("inativas", academiaRepository.countByStatusAtivo(false));
+            return Map.copyOf(stats);
+        })));
+    }
+
+    /**
+     * Inicializa alunos e instrutores ainda dentro da transação. Com @Fetch(SUBSELECT) em Academia,
+     * a primeira academia dispara um SELECT por coleção para todas as academias da lista.
+     */
+    private List<Academia> comColecoes(List<Academia> academias) {
+        academias.forEach(this::comColecoes);
+        return academias;
+    }
+
+    private Academia comColecoes(Academia academia) {
+        Hibernate.initialize(academia.getInstrutores());
+        Hibernate.initialize(academia.getAlunos());
+        return academia;
     }
 }
 
@@ -1,63 +1,170 @@
 package br.edu.infnet.gabriel.gym_management.service;
 
+import br.edu.infnet.gabriel.gym_management.cache.AlunoCache;
+import br.edu.infnet.gabriel.gym_management.cache.AlunoSnapshot;
+import br.edu.infnet.gabriel.gym_management.cache.SingleFlight;
+import br.edu.infnet.gabriel.gym_management.cache.SingleFlights;
 import br.edu.infnet.gabriel.gym_management.model.Aluno;
 import br.edu.infnet.gabriel.gym_management.model.Academia;
 import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
 import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
 import br.edu.infnet.gabriel.gym_management.exception.AlunoInvalidoException;
 import br.edu.infnet.gabriel.gym_management.exception.AlunoNaoEncontradoException;
+import br.edu.infnet.gabriel.gym_management.unicidade.ChaveUnica;
+import br.edu.infnet.gabriel.gym_management.unicidade.FiltroUnicidade;
+import br.edu.infnet.gabriel.gym_management.unicidade.Rejeicao;
+import br.edu.infnet.gabriel.gym_management.unicidade.ResultadoImportacao;
+import br.edu.infnet.gabriel.gym_management.writebehind.FilaStatus;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pela gestão de Alunos.
  * Utiliza JPA Repository para persistência de dados.
+ * Consultas e estatísticas rodam em transações somente leitura: o Hibernate não faz flush
+ * nem guarda snapshots para dirty checking, e a conexão pode ser roteada para a réplica.
+ * buscarPorId, buscarPorPlano e buscarPorAcademia passam pelo AlunoCache, que guarda snapshots imutáveis
+ * e devolve sempre uma cópia nova da entidade; as operações de escrita invalidam as chaves afetadas.
+ * Buscas simultâneas pelo mesmo CPF ou matrícula, e pedidos simultâneos de estatísticas, compartilham
+ * uma única consulta em andamento (SingleFlight).
+ * Nas buscas com cache ou SingleFlight, só a carga (a falta no cache, ou a chamada que executa a consulta)
+ * abre a transação somente leitura, pelo TransactionTemplate leitura; acertos e chamadas coalescidas não
+ * ocupam conexão.
+ * CPF, email e matrícula gravados alimentam o FiltroUnicidade, usado na triagem das importações em lote.
+ * Com o write-behind ligado, ativar e inativar passam pela FilaStatus, e as leituras sobrepõem o status pendente.
  */
 @Service
 public class AlunoService implements CrudService<Aluno, Long> {
 
+    private static final Map<ChaveUnica, Function<Aluno, String>> CHAVES = new EnumMap<>(Map.of(
+            ChaveUnica.ALUNO_CPF, Aluno::getCpf,
+            ChaveUnica.ALUNO_EMAIL, Aluno::getEmail,
+            ChaveUnica.ALUNO_MATRICULA, Aluno::getMatricula));
+
     private final AlunoRepository alunoRepository;
     private final AcademiaRepository academiaRepository;
+    private final EntityManager entityManager;
+    private final AlunoCache alunoCache;
+    private final SingleFlight<String, Optional<AlunoSnapshot>> buscasPorCpf;
+    private final SingleFlight<String, Optional<AlunoSnapshot>> buscasPorMatricula;
+    private final SingleFlight<String, Map<String, Long>> estatisticas;
+    private final TransactionTemplate leitura;
+    private final TransactionTemplate escrita;
+    private final FiltroUnicidade filtroUnicidade;
+    private final FilaStatus filaStatus;
 
-    public AlunoService(AlunoRepository alunoRepository, AcademiaRepository academiaRepository) {
+    public AlunoService(AlunoRepository alunoRepository, AcademiaRepository academiaRepository, EntityManager entityManager,
+                        AlunoCache alunoCache, SingleFlights singleFlights, PlatformTransactionManager transactionManager,
+                        FiltroUnicidade filtroUnicidade, FilaStatus filaStatus) {
         this.alunoRepository = alunoRepository;
         this.academiaRepository = academiaRepository;
+        this.entityManager = entityManager;
+        this.alunoCache = alunoCache;
+        this.buscasPorCpf = singleFlights.criar("alunos.cpf");
+        this.buscasPorMatricula = singleFlights.criar("alunos.matricula");
+        this.estatisticas = singleFlights.criar("alunos.estatisticas");
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.filtroUnicidade = filtroUnicidade;
+        this.filaStatus = filaStatus;
     }
 
     @Override
+    @Transactional
     public Aluno salvar(Aluno aluno) {
         validarAluno(aluno);
-        return alunoRepository.save(aluno);
+        AlunoSnapshot anterior = aluno.getId() != null
+                ? alunoRepository.findById(aluno.getId()).map(AlunoSnapshot::de).orElse(null)
+                : null;
+        filaStatus.substituirSePendente(aluno.getId(), aluno.getStatus());
+        Aluno salvo = alunoRepository.save(aluno);
+        alunoCache.invalidar(anterior, AlunoSnapshot.de(salvo));
+        filtroUnicidade.registrar(List.of(salvo), CHAVES);
+        return salvo;
+    }
+
+    /**
+     * Importa um lote de alunos, sempre como novos registros.
+     * CPF, email e matrícula passam antes pela triagem do FiltroUnicidade: registros que repetem uma chave
+     * já cadastrada ou de outro registro do lote voltam como rejeitados e os demais são gravados juntos,
+     * em vez de o lote inteiro falhar na restrição unique.
+     */
+    @Transactional
+    public ResultadoImportacao importar(List<Aluno> alunos) {
+        alunos.forEach(aluno -> {
+            validarAluno(aluno);
+            aluno.setId(null);
+        });
+        List<Rejeicao> rejeitados = filtroUnicidade.triar(alunos, CHAVES);
+        Set<Integer> recusados = rejeitados.stream().map(Rejeicao::getIndice).collect(Collectors.toSet());
+        List<Aluno> aceitos = IntStream.range(0, alunos.size())
+                .filter(i -> !recusados.contains(i))
+                .mapToObj(alunos::get)
+                .toList();
+        List<Aluno> salvos = alunoRepository.saveAll(aceitos);
+        alunoCache.invalidar(salvos.stream().map(AlunoSnapshot::de).toArray(AlunoSnapshot[]::new));
+        filtroUnicidade.registrar(salvos, CHAVES);
+        return new ResultadoImportacao(alunos.size(), salvos.size(), rejeitados);
     }
 
+    /**
+     * Busca um aluno pelo ID, passando pelo cache.
+     * Em caso de acerto nenhuma conexão é aberta; a falta carrega numa transação somente leitura.
+     */
     @Override
     public Aluno buscarPorId(Long id) {
-        return alunoRepository.findById(id)
-                .orElseThrow(() -> new AlunoNaoEncontradoException("Aluno com ID " + id + " não encontrado"));
+        AlunoSnapshot snapshot = alunoCache.porId(id, chave -> ler(() -> alunoRepository.findById(chave).map(AlunoSnapshot::de).orElse(null)));
+        if (snapshot == null) {
+            throw new AlunoNaoEncontradoException("Aluno com ID " + id + " não encontrado");
+        }
+        return filaStatus.aplicar(snapshot.paraEntidade());
     }
 
     @Override
+    @Transactional
     public Boolean excluir(Long id) {
-        if (alunoRepository.existsById(id)) {
-            alunoRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return alunoRepository.findById(id)
+                .map(aluno -> {
+                    AlunoSnapshot anterior = AlunoSnapshot.de(aluno);
+                    alunoRepository.deleteById(id);
+                    alunoCache.invalidar(anterior);
+                    filaStatus.descartarSePendente(id);
+                    return true;
+                })
+                .orElse(false);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Aluno> listarTodos() {
-        return alunoRepository.findAll();
+        return filaStatus.aplicar(alunoRepository.findAll());
     }
 
     /**
      * Busca um aluno pelo CPF.
+     * Só a chamada que executa a consulta abre a transação somente leitura, para que as chamadas coalescidas
+     * não segurem conexões enquanto aguardam.
      */
     public Aluno buscarPorCpf(String cpf) {
-        return alunoRepository.findByCpf(cpf)
+        return buscasPorCpf.executar(cpf, () -> ler(() -> alunoRepository.findByCpf(cpf).map(AlunoSnapshot::de)))
+                .map(snapshot -> filaStatus.aplicar(snapshot.paraEntidade()))
                 .orElseThrow(() -> new AlunoNaoEncontradoException("Aluno com CPF " + cpf + " não encontrado"));
     }
 
@@ -65,106 +172,197 @@ public class AlunoService implements CrudService<Aluno, Long> {
      * Busca um aluno pela matrícula.
      */
     public Aluno buscarPorMatricula(String matricula) {
-        return alunoRepository.findByMatricula(matricula)
+        return buscasPorMatricula.executar(matricula, () -> ler(() -> alunoRepository.findByMatricula(matricula).map(AlunoSnapshot::de)))
+                .map(snapshot -> filaStatus.aplicar(snapshot.paraEntidade()))
                 .orElseThrow(() -> new AlunoNaoEncontradoException("Aluno com matrícula " + matricula + " não encontrado"));
     }
 
     /**
-     * Busca alunos por plano.
+     * Busca alunos por plano (via cache).
      */
     public List<Aluno> buscarPorPlano(String plano) {
-        return alunoRepository.findByPlanoIgnoreCase(plano);
+        return filaStatus.aplicar(paraEntidades(alunoCache.porPlano(plano, chave -> ler(() -> paraSnapshots(alunoRepository.findByPlanoIgnoreCase(plano))))));
     }
 
     /**
      * Inativa um aluno (altera status para false).
+     * Com o write-behind ligado, a mudança é confirmada ao entrar no journal e gravada no banco em lote.
      */
     public Aluno inativar(Long id) {
-        Aluno aluno = buscarPorId(id);
-        aluno.setStatus(false);
-        return alunoRepository.save(aluno);
+        return alterarStatus(id, false);
     }
 
     /**
      * Ativa um aluno (altera status para true).
+     * Com o write-behind ligado, a mudança é confirmada ao entrar no journal e gravada no banco em lote.
      */
     public Aluno ativar(Long id) {
-        Aluno aluno = buscarPorId(id);
-        aluno.setStatus(true);
-        return alunoRepository.save(aluno);
+        return alterarStatus(id, true);
     }
 
     /**
      * Busca alunos por status
      */
+    @Transactional(readOnly = true)
     public List<Aluno> buscarPorStatus(Boolean status) {
-        return alunoRepository.findByStatus(status);
+        return filaStatus.aplicar(alunoRepository.findByStatus(status), status);
     }
 
     /**
      * Busca alunos por plano e status
      */
+    @Transactional(readOnly = true)
     public List<Aluno> buscarPorPlanoEStatus(String plano, Boolean status) {
-        return alunoRepository.findByPlanoIgnoreCaseAndStatus(plano, status);
+        return filaStatus.aplicar(alunoRepository.findByPlanoIgnoreCaseAndStatus(plano, status), status);
     }
 
     /**
-     * Busca alunos de uma academia
+     * Busca alunos de uma academia (via cache)
      */
     public List<Aluno> buscarPorAcademia(Long academiaId) {
-        return alunoRepository.findByAcademiaId(academiaId);
+        return filaStatus.aplicar(paraEntidades(alunoCache.porAcademia(academiaId, chave -> ler(() -> paraSnapshots(alunoRepository.findByAcademiaId(chave))))));
     }
 
     /**
      * Busca alunos ativos de uma academia
      */
+    @Transactional(readOnly = true)
     public List<Aluno> buscarAlunosAtivosDeAcademia(Long academiaId) {
-        return alunoRepository.findAlunosAtivosDeAcademia(academiaId);
+        return filaStatus.aplicar(alunoRepository.findAlunosAtivosDeAcademia(academiaId), true);
     }
 
     /**
      * Busca alunos por período de início
      */
+    @Transactional(readOnly = true)
     public List<Aluno> buscarPorPeriodo(String dataInicio, String dataFim) {
-        return alunoRepository.findByDataInicioBetween(dataInicio, dataFim);
+        return filaStatus.aplicar(alunoRepository.findByDataInicioBetween(dataInicio, dataFim));
     }
 
     /**
      * Busca alunos sem academia
      */
+    @Transactional(readOnly = true)
     public List<Aluno> buscarSemAcademia() {
-        return alunoRepository.findByAcademiaIsNull();
+        return filaStatus.aplicar(alunoRepository.findByAcademiaIsNull());
     }
 
     /**
      * Vincula um aluno a uma academia
      */
+    @Transactional
     public Aluno vincularAcademia(Long alunoId, Long academiaId) {
-        Aluno aluno = buscarPorId(alunoId);
+        Aluno aluno = carregar(alunoId);
+        AlunoSnapshot anterior = AlunoSnapshot.de(aluno);
         Academia academia = academiaRepository.findById(academiaId)
             .orElseThrow(() -> new AlunoInvalidoException("Academia com ID " + academiaId + " não encontrada"));
         aluno.setAcademia(academia);
-        return alunoRepository.save(aluno);
+        Aluno salvo = alunoRepository.save(aluno);
+        alunoCache.invalidar(anterior, AlunoSnapshot.de(salvo));
+        return filaStatus.aplicar(salvo);
     }
 
     /**
      * Desvincula um aluno de sua academia
      */
+    @Transactional
     public Aluno desvincularAcademia(Long alunoId) {
-        Aluno aluno = buscarPorId(alunoId);
+        Aluno aluno = carregar(alunoId);
+        AlunoSnapshot anterior = AlunoSnapshot.de(aluno);
         aluno.setAcademia(null);
-        return alunoRepository.save(aluno);
+        Aluno salvo = alunoRepository.save(aluno);
+        alunoCache.invalidar(anterior, AlunoSnapshot.de(salvo));
+        return filaStatus.aplicar(salvo);
     }
 
     /**
-     * Obtém estatísticas sobre alunos
+     * Obtém estatísticas sobre alunos.
+     * As contagens rodam numa transação somente leitura aberta só pela chamada que executa a carga.
      */
     public Map<String, Long> obterEstatisticas() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("total", alunoRepository.count());
-        stats.put("ativos", alunoRepository.countByStatus(true));
-        stats.put("inativos", alunoRepository.countByStatus(false));
-        return stats;
+        return new HashMap<>(estatisticas.executar("alunos", () -> leitura.execute(status -> {
+            Map<String, Long> stats = new HashMap<>();
+            stats.put("total", alunoRepository.count());
+            stats.put("ativos", alunoRepository.countByStatus(true));
+            stats.put("inativos", alunoRepository.countByStatus(false));
+            return Map.copyOf(stats);
+        })));
+    }
+
+    /**
+     * Percorre todos os alunos em modo streaming, entregando um por vez ao consumidor.
+     * Cada entidade é desanexada do contexto de persistência logo após o uso,
+     * mantendo o consumo de memória constante independente do tamanho do resultado.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<Aluno> consumidor) {
+        percorrer(alunoRepository.streamAll(), consumidor);
+    }
+
+    /**
+     * Percorre alunos por status em modo streaming
+     */
+    @Transactional(readOnly = true)
+    public void percorrerPorStatus(Boolean status, Consumer<Aluno> consumidor) {
+        percorrer(alunoRepository.streamByStatus(status), aluno -> {
+            if (status.equals(aluno.getStatus())) {
+                consumidor.accept(aluno);
+            }
+        });
+    }
+
+    /**
+     * Percorre alunos sem academia em modo streaming
+     */
+    @Transactional(readOnly = true)
+    public void percorrerSemAcademia(Consumer<Aluno> consumidor) {
+        percorrer(alunoRepository.streamByAcademiaIsNull(), consumidor);
+    }
+
+    private void percorrer(Stream<Aluno> alunos, Consumer<Aluno> consumidor) {
+        try (alunos) {
+            alunos.forEach(aluno -> {
+                entityManager.detach(aluno);
+                consumidor.accept(filaStatus.aplicar(aluno));
+            });
+        }
+    }
+
+    /**
+     * Carrega a entidade gerenciada direto do repositório (escritas nunca partem do cache)
+     */
+    private Aluno carregar(Long id) {
+        return alunoRepository.findById(id)
+                .orElseThrow(() -> new AlunoNaoEncontradoException("Aluno com ID " + id + " não encontrado"));
+    }
+
+    private Aluno alterarStatus(Long id, Boolean status) {
+        if (filaStatus.isAtivo()) {
+            return filaStatus.enfileirar(buscarPorId(id), status);
+        }
+        return escrita.execute(transacao -> {
+            Aluno aluno = carregar(id);
+            AlunoSnapshot anterior = AlunoSnapshot.de(aluno);
+            aluno.setStatus(status);
+            Aluno salvo = alunoRepository.save(aluno);
+            alunoCache.invalidar(anterior, AlunoSnapshot.de(salvo));
+            return salvo;
+        });
+    }
+
+    /**
+     * Executa a carga de um cache ou SingleFlight numa transação somente leitura (roteável para a réplica)
+     */
+    private <R> R ler(Supplier<R> carga) {
+        return leitura.execute(status -> carga.get());
+    }
+
+    private static List<AlunoSnapshot> paraSnapshots(List<Aluno> alunos) {
+        return alunos.stream().map(AlunoSnapshot::de).toList();
+    }
+
+    private static List<Aluno> paraEntidades(List<AlunoSnapshot> snapshots) {
+        return snapshots.stream().map(AlunoSnapshot::paraEntidade).collect(Collectors.toList());
     }
 
     /**
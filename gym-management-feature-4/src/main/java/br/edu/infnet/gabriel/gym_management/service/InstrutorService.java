@@ -1,102 +1,204 @@
 package br.edu.infnet.gabriel.gym_management.service;
 
+import br.edu.infnet.gabriel.gym_management.cache.InstrutorCache;
+import br.edu.infnet.gabriel.gym_management.cache.InstrutorSnapshot;
+import br.edu.infnet.gabriel.gym_management.cache.SingleFlight;
+import br.edu.infnet.gabriel.gym_management.cache.SingleFlights;
 import br.edu.infnet.gabriel.gym_management.model.Instrutor;
 import br.edu.infnet.gabriel.gym_management.model.Academia;
 import br.edu.infnet.gabriel.gym_management.repository.InstrutorRepository;
 import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
 import br.edu.infnet.gabriel.gym_management.exception.InstrutorInvalidoException;
 import br.edu.infnet.gabriel.gym_management.exception.InstrutorNaoEncontradoException;
+import br.edu.infnet.gabriel.gym_management.unicidade.ChaveUnica;
+import br.edu.infnet.gabriel.gym_management.unicidade.FiltroUnicidade;
+import br.edu.infnet.gabriel.gym_management.unicidade.Rejeicao;
+import br.edu.infnet.gabriel.gym_management.unicidade.ResultadoImportacao;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pela gestão de Instrutores.
  * Utiliza JPA Repository para persistência de dados.
+ * Consultas e estatísticas rodam em transações somente leitura: o Hibernate não faz flush
+ * nem guarda snapshots para dirty checking, e a conexão pode ser roteada para a réplica.
+ * buscarPorId, buscarPorEspecialidade, buscarPorAcademia e buscarInstrutoresAtivosDeAcademia passam pelo
+ * InstrutorCache, que guarda snapshots imutáveis e devolve sempre uma cópia nova da entidade;
+ * as operações de escrita invalidam as chaves afetadas.
+ * Buscas simultâneas pelo mesmo CPF ou registro, e pedidos simultâneos de estatísticas, compartilham
+ * uma única consulta em andamento (SingleFlight).
+ * Nas buscas com cache ou SingleFlight, só a carga abre a transação somente leitura, pelo TransactionTemplate
+ * leitura; acertos e chamadas coalescidas não ocupam conexão.
+ * CPF, email e registro gravados alimentam o FiltroUnicidade, usado na triagem das importações em lote.
  */
 @Service
 public class InstrutorService implements CrudService<Instrutor, Long> {
 
+    private static final Map<ChaveUnica, Function<Instrutor, String>> CHAVES = new EnumMap<>(Map.of(
+            ChaveUnica.INSTRUTOR_CPF, Instrutor::getCpf,
+            ChaveUnica.INSTRUTOR_EMAIL, Instrutor::getEmail,
+            ChaveUnica.INSTRUTOR_REGISTRO, Instrutor::getRegistro));
+
     private final InstrutorRepository instrutorRepository;
     private final AcademiaRepository academiaRepository;
+    private final EntityManager entityManager;
+    private final InstrutorCache instrutorCache;
+    private final SingleFlight<String, Optional<InstrutorSnapshot>> buscasPorCpf;
+    private final SingleFlight<String, Optional<InstrutorSnapshot>> buscasPorRegistro;
+    private final SingleFlight<String, Map<String, Long>> estatisticas;
+    private final TransactionTemplate leitura;
+    private final FiltroUnicidade filtroUnicidade;
 
-    public InstrutorService(InstrutorRepository instrutorRepository, AcademiaRepository academiaRepository) {
+    public InstrutorService(InstrutorRepository instrutorRepository, AcademiaRepository academiaRepository, EntityManager entityManager,
+                            InstrutorCache instrutorCache, SingleFlights singleFlights, PlatformTransactionManager transactionManager,
+                            FiltroUnicidade filtroUnicidade) {
         this.instrutorRepository = instrutorRepository;
         this.academiaRepository = academiaRepository;
+        this.entityManager = entityManager;
+        this.instrutorCache = instrutorCache;
+        this.buscasPorCpf = singleFlights.criar("instrutores.cpf");
+        this.buscasPorRegistro = singleFlights.criar("instrutores.registro");
+        this.estatisticas = singleFlights.criar("instrutores.estatisticas");
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.filtroUnicidade = filtroUnicidade;
     }
 
     @Override
+    @Transactional
     public Instrutor salvar(Instrutor instrutor) {
         validarInstrutor(instrutor);
-        return instrutorRepository.save(instrutor);
+        InstrutorSnapshot anterior = instrutor.getId() != null
+                ? instrutorRepository.findById(instrutor.getId()).map(InstrutorSnapshot::de).orElse(null)
+                : null;
+        Instrutor salvo = instrutorRepository.save(instrutor);
+        instrutorCache.invalidar(anterior, InstrutorSnapshot.de(salvo));
+        filtroUnicidade.registrar(List.of(salvo), CHAVES);
+        return salvo;
+    }
+
+    /**
+     * Importa um lote de instrutores (com seus endereços), sempre como novos registros.
+     * CPF, email e registro passam antes pela triagem do FiltroUnicidade: registros que repetem uma chave
+     * já cadastrada ou de outro registro do lote voltam como rejeitados e os demais são gravados juntos.
+     */
+    @Transactional
+    public ResultadoImportacao importar(List<Instrutor> instrutores) {
+        instrutores.forEach(instrutor -> {
+            validarInstrutor(instrutor);
+            instrutor.setId(null);
+            if (instrutor.getEndereco() != null) {
+                instrutor.getEndereco().setId(null);
+            }
+        });
+        List<Rejeicao> rejeitados = filtroUnicidade.triar(instrutores, CHAVES);
+        Set<Integer> recusados = rejeitados.stream().map(Rejeicao::getIndice).collect(Collectors.toSet());
+        List<Instrutor> aceitos = IntStream.range(0, instrutores.size())
+                .filter(i -> !recusados.contains(i))
+                .mapToObj(instrutores::get)
+                .toList();
+        List<Instrutor> salvos = instrutorRepository.saveAll(aceitos);
+        instrutorCache.invalidar(salvos.stream().map(InstrutorSnapshot::de).toArray(InstrutorSnapshot[]::new));
+        filtroUnicidade.registrar(salvos, CHAVES);
+        return new ResultadoImportacao(instrutores.size(), salvos.size(), rejeitados);
     }
 
+    /**
+     * Busca um instrutor pelo ID, passando pelo cache.
+     * Em caso de acerto nenhuma conexão é aberta; a falta carrega numa transação somente leitura.
+     */
     @Override
     public Instrutor buscarPorId(Long id) {
-        return instrutorRepository.findById(id)
-                .orElseThrow(() -> new InstrutorNaoEncontradoException("Instrutor com ID " + id + " não encontrado"));
+        InstrutorSnapshot snapshot = instrutorCache.porId(id, chave -> ler(() -> instrutorRepository.findById(chave).map(InstrutorSnapshot::de).orElse(null)));
+        if (snapshot == null) {
+            throw new InstrutorNaoEncontradoException("Instrutor com ID " + id + " não encontrado");
+        }
+        return snapshot.paraEntidade();
     }
 
     @Override
+    @Transactional
     public Boolean excluir(Long id) {
-        if (instrutorRepository.existsById(id)) {
-            instrutorRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return instrutorRepository.findById(id)
+                .map(instrutor -> {
+                    InstrutorSnapshot anterior = InstrutorSnapshot.de(instrutor);
+                    instrutorRepository.deleteById(id);
+                    instrutorCache.invalidar(anterior);
+                    return true;
+                })
+                .orElse(false);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Instrutor> listarTodos() {
         return instrutorRepository.findAll();
     }
 
     /**
      * Busca um instrutor pelo CPF.
+     * Só a chamada que executa a consulta abre a transação somente leitura, para que as chamadas coalescidas
+     * não segurem conexões enquanto aguardam.
      */
     public Instrutor buscarPorCpf(String cpf) {
-        return instrutorRepository.findByCpf(cpf)
+        return buscasPorCpf.executar(cpf, () -> ler(() -> instrutorRepository.findByCpf(cpf).map(InstrutorSnapshot::de)))
+                .map(InstrutorSnapshot::paraEntidade)
                 .orElseThrow(() -> new InstrutorNaoEncontradoException("Instrutor com CPF " + cpf + " não encontrado"));
     }
 
     /**
-     * Busca instrutores pela especialidade.
+     * Busca instrutores pela especialidade (via cache).
      */
     public List<Instrutor> buscarPorEspecialidade(String especialidade) {
-        return instrutorRepository.findByEspecialidadeIgnoreCase(especialidade);
+        return paraEntidades(instrutorCache.porEspecialidade(especialidade,
+                chave -> ler(() -> paraSnapshots(instrutorRepository.findByEspecialidadeIgnoreCase(especialidade)))));
     }
 
     /**
      * Inativa um instrutor (altera status para false via PATCH).
      */
+    @Transactional
     public Instrutor inativar(Long id) {
-        Instrutor instrutor = buscarPorId(id);
-        instrutor.setStatus(false);
-        return instrutorRepository.save(instrutor);
+        return alterarStatus(id, false);
     }
 
     /**
      * Ativa um instrutor (altera status para true).
      */
+    @Transactional
     public Instrutor ativar(Long id) {
-        Instrutor instrutor = buscarPorId(id);
-        instrutor.setStatus(true);
-        return instrutorRepository.save(instrutor);
+        return alterarStatus(id, true);
     }
 
     /**
      * Busca um instrutor pelo registro
      */
     public Instrutor buscarPorRegistro(String registro) {
-        return instrutorRepository.findByRegistro(registro)
+        return buscasPorRegistro.executar(registro, () -> ler(() -> instrutorRepository.findByRegistro(registro).map(InstrutorSnapshot::de)))
+                .map(InstrutorSnapshot::paraEntidade)
                 .orElseThrow(() -> new InstrutorNaoEncontradoException("Instrutor com registro " + registro + " não encontrado"));
     }
 
     /**
      * Busca instrutores por status
      */
+    @Transactional(readOnly = true)
     public List<Instrutor> buscarPorStatus(Boolean status) {
         return instrutorRepository.findByStatus(status);
     }
@@ -104,6 +206,7 @@ public class InstrutorService implements CrudService<Instrutor, Long> {
     /**
      * Busca instrutores por especialidade e status
      */
+    @Transactional(readOnly = true)
     public List<Instrutor> buscarPorEspecialidadeEStatus(String especialidade, Boolean status) {
         return instrutorRepository.findByEspecialidadeIgnoreCaseAndStatus(especialidade, status);
     }
@@ -111,6 +214,7 @@ public class InstrutorService implements CrudService<Instrutor, Long> {
     /**
      * Busca instrutores por faixa de salário
      */
+    @Transactional(readOnly = true)
     public List<Instrutor> buscarPorFaixaSalario(Double min, Double max) {
         return instrutorRepository.findBySalarioBetween(min, max);
     }
@@ -118,6 +222,7 @@ public class InstrutorService implements CrudService<Instrutor, Long> {
     /**
      * Busca instrutores com salário acima de um valor
      */
+    @Transactional(readOnly = true)
     public List<Instrutor> buscarComSalarioAcima(Double valor) {
         return instrutorRepository.findInstrutoresComSalarioAcima(valor);
     }
@@ -126,19 +231,22 @@ public class InstrutorService implements CrudService<Instrutor, Long> {
      * Busca instrutores de uma academia
      */
     public List<Instrutor> buscarPorAcademia(Long academiaId) {
-        return instrutorRepository.findByAcademiaId(academiaId);
+        return paraEntidades(instrutorCache.porAcademia(academiaId,
+                chave -> ler(() -> paraSnapshots(instrutorRepository.findByAcademiaId(chave)))));
     }
 
     /**
      * Busca instrutores ativos de uma academia
      */
     public List<Instrutor> buscarInstrutoresAtivosDeAcademia(Long academiaId) {
-        return instrutorRepository.findInstrutoresAtivosDeAcademia(academiaId);
+        return paraEntidades(instrutorCache.ativosPorAcademia(academiaId,
+                chave -> ler(() -> paraSnapshots(instrutorRepository.findInstrutoresAtivosDeAcademia(chave)))));
     }
 
     /**
      * Busca instrutores sem academia
      */
+    @Transactional(readOnly = true)
     public List<Instrutor> buscarSemAcademia() {
         return instrutorRepository.findByAcademiaIsNull();
     }
@@ -146,6 +254,7 @@ public class InstrutorService implements CrudService<Instrutor, Long> {
     /**
      * Busca instrutores por cidade do endereço
      */
+    @Transactional(readOnly = true)
     public List<Instrutor> buscarPorCidade(String cidade) {
         return instrutorRepository.findByEnderecoLocalidade(cidade);
     }
@@ -153,32 +262,109 @@ public class InstrutorService implements CrudService<Instrutor, Long> {
     /**
      * Vincula um instrutor a uma academia
      */
+    @Transactional
     public Instrutor vincularAcademia(Long instrutorId, Long academiaId) {
-        Instrutor instrutor = buscarPorId(instrutorId);
+        Instrutor instrutor = carregar(instrutorId);
+        InstrutorSnapshot anterior = InstrutorSnapshot.de(instrutor);
         Academia academia = academiaRepository.findById(academiaId)
             .orElseThrow(() -> new InstrutorInvalidoException("Academia com ID " + academiaId + " não encontrada"));
         instrutor.setAcademia(academia);
-        return instrutorRepository.save(instrutor);
+        Instrutor salvo = instrutorRepository.save(instrutor);
+        instrutorCache.invalidar(anterior, InstrutorSnapshot.de(salvo));
+        return salvo;
     }
 
     /**
      * Desvincula um instrutor de sua academia
      */
+    @Transactional
     public Instrutor desvincularAcademia(Long instrutorId) {
-        Instrutor instrutor = buscarPorId(instrutorId);
+        Instrutor instrutor = carregar(instrutorId);
+        InstrutorSnapshot anterior = InstrutorSnapshot.de(instrutor);
         instrutor.setAcademia(null);
-        return instrutorRepository.save(instrutor);
+        Instrutor salvo = instrutorRepository.save(instrutor);
+        instrutorCache.invalidar(anterior, InstrutorSnapshot.de(salvo));
+        return salvo;
     }
 
     /**
      * Obtém estatísticas sobre instrutores
      */
     public Map<String, Long> obterEstatisticas() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("total", instrutorRepository.count());
-        stats.put("ativos", instrutorRepository.countByStatus(true));
-        stats.put("inativos", instrutorRepository.countByStatus(false));
-        return stats;
+        return new HashMap<>(estatisticas.executar("instrutores", () -> leitura.execute(status -> {
+            Map<String, Long> stats = new HashMap<>();
+            stats.put("total", instrutorRepository.count());
+            stats.put("ativos", instrutorRepository.countByStatus(true));
+            stats.put("inativos", instrutorRepository.countByStatus(false));
+            return Map.copyOf(stats);
+        })));
+    }
+
+    /**
+     * Percorre todos os instrutores em modo streaming, entregando um por vez ao consumidor.
+     * Cada entidade é desanexada do contexto de persistência logo após o uso,
+     * mantendo o consumo de memória constante independente do tamanho do resultado.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerTodos(Consumer<Instrutor> consumidor) {
+        percorrer(instrutorRepository.streamAll(), consumidor);
+    }
+
+    /**
+     * Percorre instrutores por status em modo streaming
+     */
+    @Transactional(readOnly = true)
+    public void percorrerPorStatus(Boolean status, Consumer<Instrutor> consumidor) {
+        percorrer(instrutorRepository.streamByStatus(status), consumidor);
+    }
+
+    /**
+     * Percorre instrutores sem academia em modo streaming
+     */
+    @Transactional(readOnly = true)
+    public void percorrerSemAcademia(Consumer<Instrutor> consumidor) {
+        percorrer(instrutorRepository.streamByAcademiaIsNull(), consumidor);
+    }
+
+    private void percorrer(Stream<Instrutor> instrutores, Consumer<Instrutor> consumidor) {
+        try (instrutores) {
+            instrutores.forEach(instrutor -> {
+                consumidor.accept(instrutor);
+                entityManager.detach(instrutor);
+            });
+        }
+    }
+
+    /**
+     * Carrega a entidade gerenciada direto do repositório (escritas nunca partem do cache)
+     */
+    private Instrutor carregar(Long id) {
+        return instrutorRepository.findById(id)
+                .orElseThrow(() -> new InstrutorNaoEncontradoException("Instrutor com ID " + id + " não encontrado"));
+    }
+
+    private Instrutor alterarStatus(Long id, Boolean status) {
+        Instrutor instrutor = carregar(id);
+        InstrutorSnapshot anterior = InstrutorSnapshot.de(instrutor);
+        instrutor.setStatus(status);
+        Instrutor salvo = instrutorRepository.save(instrutor);
+        instrutorCache.invalidar(anterior, InstrutorSnapshot.de(salvo));
+        return salvo;
+    }
+
+    /**
+     * Executa a carga de um cache ou SingleFlight numa transação somente leitura (roteável para a réplica)
+     */
+    private <R> R ler(Supplier<R> carga) {
+        return leitura.execute(status -> carga.get());
+    }
+
+    private static List<InstrutorSnapshot> paraSnapshots(List<Instrutor> instrutores) {
+        return instrutores.stream().map(InstrutorSnapshot::de).toList();
+    }
+
+    private static List<Instrutor> paraEntidades(List<InstrutorSnapshot> snapshots) {
+        return snapshots.stream().map(InstrutorSnapshot::paraEntidade).collect(Collectors.toList());
     }
 
     /**
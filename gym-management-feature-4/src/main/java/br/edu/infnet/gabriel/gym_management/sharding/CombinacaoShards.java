@@ -0,0 +1,178 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.NullValueInNestedPathException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Como juntar os resultados de um método de repositório executado em todas as shards, derivado do próprio método.
+ * A ordenação vem do nome (OrderBy...), do ORDER BY da @Query ou de um parâmetro Sort; o limite vem de Top/First
+ * ou de um parâmetro Limit. Cada shard devolve a sua parte já ordenada e limitada, então basta reordenar a
+ * concatenação e cortar de novo no limite.
+ * <p>
+ * Paginação (Pageable, Page, Slice) e arrays não têm como ser juntados assim e são recusados antes de ir às shards.
+ */
+final class CombinacaoShards {
+
+    private static final Pattern ORDER_BY = Pattern.compile("(?is)\\border\\s+by\\s+(.+)$");
+    private static final Pattern CRITERIO = Pattern.compile("(?i)^(?:\\w+\\.)?([\\w.]+)(?:\\s+(asc|desc))?$");
+
+    private final String metodo;
+    private final Sort ordem;
+    private final Integer limite;
+
+    private CombinacaoShards(String metodo, Sort ordem, Integer limite) {
+        this.metodo = metodo;
+        this.ordem = ordem;
+        this.limite = limite;
+    }
+
+    /**
+     * @param dominio A entidade do repositório, para interpretar os nomes derivados
+     * @throws InvalidDataAccessApiUsageException Se o resultado do método não pode ser juntado entre shards
+     */
+    static CombinacaoShards de(Method metodo, Class<?> dominio) {
+        Class<?> retorno = metodo.getReturnType();
+        if (Arrays.stream(metodo.getParameterTypes()).anyMatch(Pageable.class::isAssignableFrom)
+                || Slice.class.isAssignableFrom(retorno) || retorno.isArray()) {
+            throw recusa(metodo.getName(), "paginação e arrays não podem ser juntados entre shards");
+        }
+        Query query = metodo.getAnnotation(Query.class);
+        if (query != null) {
+            return new CombinacaoShards(metodo.getName(), ordemDaConsulta(metodo.getName(), query.value()), null);
+        }
+        if (metodo.isDefault() || metodo.getDeclaringClass().getName().startsWith("org.springframework.")) {
+            return new CombinacaoShards(metodo.getName(), Sort.unsorted(), null);
+        }
+        PartTree arvore = new PartTree(metodo.getName(), dominio);
+        return new CombinacaoShards(metodo.getName(), arvore.getSort(), arvore.isLimiting() ? arvore.getMaxResults() : null);
+    }
+
+    /**
+     * Streams são concatenados shard a shard, sem reordenar: os ordenados ou limitados são recusados
+     */
+    void verificarStream(Object[] args) {
+        if (ordem(args).isSorted() || limite(args) != null) {
+            throw recusa(metodo, "streams ordenados ou limitados não podem ser concatenados entre shards");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Object combinar(Object[] args, List<Object> parciais) {
+        Object primeiro = parciais.get(0);
+        if (primeiro instanceof Collection<?>) {
+            List<Object> todos = new ArrayList<>();
+            parciais.forEach(parcial -> todos.addAll((Collection<Object>) parcial));
+            Sort ordenacao = ordem(args);
+            if (ordenacao.isSorted()) {
+                todos.sort(comparador(ordenacao));
+            }
+            Integer maximo = limite(args);
+            return maximo != null && todos.size() > maximo ? new ArrayList<>(todos.subList(0, maximo)) : todos;
+        }
+        if (primeiro instanceof Optional<?>) {
+            return parciais.stream().map(p -> (Optional<?>) p).filter(Optional::isPresent).findFirst().orElse(Optional.empty());
+        }
+        if (primeiro instanceof Long) {
+            return parciais.stream().mapToLong(p -> (Long) p).sum();
+        }
+        if (primeiro instanceof Integer) {
+            return parciais.stream().mapToInt(p -> (Integer) p).sum();
+        }
+        if (primeiro instanceof Boolean) {
+            return parciais.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        return parciais.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    private Sort ordem(Object[] args) {
+        Sort ordenacao = ordem;
+        for (Object arg : args) {
+            if (arg instanceof Sort sort) {
+                ordenacao = ordenacao.and(sort);
+            }
+        }
+        return ordenacao;
+    }
+
+    private Integer limite(Object[] args) {
+        Integer maximo = limite;
+        for (Object arg : args) {
+            if (arg instanceof Limit dinamico && dinamico.isLimited()) {
+                maximo = maximo == null ? dinamico.max() : Math.min(maximo, dinamico.max());
+            }
+        }
+        return maximo;
+    }
+
+    private static Sort ordemDaConsulta(String metodo, String consulta) {
+        Matcher orderBy = ORDER_BY.matcher(consulta.trim());
+        if (!orderBy.find()) {
+            return Sort.unsorted();
+        }
+        List<Sort.Order> criterios = new ArrayList<>();
+        for (String parte : orderBy.group(1).split(",")) {
+            Matcher criterio = CRITERIO.matcher(parte.trim());
+            if (!criterio.matches()) {
+                throw recusa(metodo, "ORDER BY " + orderBy.group(1).trim() + " não pode ser refeito entre shards");
+            }
+            criterios.add("desc".equalsIgnoreCase(criterio.group(2))
+                    ? Sort.Order.desc(criterio.group(1)) : Sort.Order.asc(criterio.group(1)));
+        }
+        return Sort.by(criterios);
+    }
+
+    /**
+     * Compara como o H2: sem NULLS FIRST/LAST explícito, nulo é o menor valor
+     */
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> comparador(Sort sort) {
+        Comparator<Object> comparador = (a, b) -> 0;
+        for (Sort.Order criterio : sort) {
+            Comparator<Comparable<Object>> valores = Comparator.naturalOrder();
+            if (criterio.isDescending()) {
+                valores = valores.reversed();
+            }
+            boolean nulosPrimeiro = switch (criterio.getNullHandling()) {
+                case NULLS_FIRST -> true;
+                case NULLS_LAST -> false;
+                case NATIVE -> criterio.isAscending();
+            };
+            comparador = comparador.thenComparing(entidade -> (Comparable<Object>) valor(entidade, criterio),
+                    nulosPrimeiro ? Comparator.nullsFirst(valores) : Comparator.nullsLast(valores));
+        }
+        return comparador;
+    }
+
+    private static Object valor(Object entidade, Sort.Order criterio) {
+        Object valor;
+        try {
+            valor = new BeanWrapperImpl(entidade).getPropertyValue(criterio.getProperty());
+        } catch (NullValueInNestedPathException e) {
+            return null;
+        }
+        return criterio.isIgnoreCase() && valor instanceof String texto ? texto.toLowerCase(Locale.ROOT) : valor;
+    }
+
+    private static InvalidDataAccessApiUsageException recusa(String metodo, String motivo) {
+        return new InvalidDataAccessApiUsageException(metodo + ": " + motivo);
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Guarda, por thread, a shard em que as operações de banco devem ser executadas.
+ * Sem shard definida, o roteador usa a shard 0.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Shard definida para a thread atual, ou null
+     */
+    public static Integer atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Executa a ação com a shard informada e restaura a anterior ao final
+     */
+    public static <T> T em(int shard, Supplier<T> acao) {
+        Integer anterior = definir(shard);
+        try {
+            return acao.get();
+        } finally {
+            restaurar(anterior);
+        }
+    }
+
+    /**
+     * Define a shard da thread e devolve a que estava definida antes
+     */
+    static Integer definir(int shard) {
+        Integer anterior = ATUAL.get();
+        ATUAL.set(shard);
+        return anterior;
+    }
+
+    static void restaurar(Integer anterior) {
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diretório das shards, guardado na shard 0.
+ * <ul>
+ *     <li>academia_shard: academias movidas pelo rebalanceamento; as demais ficam na shard academiaId mod N
+ *     e registros sem academia ficam na shard 0;</li>
+ *     <li>registro_academia: a academia de cada aluno e instrutor, de onde sai a shard da linha sem consultar
+ *     as shards;</li>
+ *     <li>chave_unica: email, CPF, matrícula e registro de todas as shards, com chave primária que garante a
+ *     unicidade entre elas.</li>
+ * </ul>
+ * Usa o DataSource das transações JPA fora de qualquer shard definida, então as gravações entram na transação
+ * da shard 0 em curso e são confirmadas ou desfeitas junto com ela.
+ */
+public class ShardDirectory {
+
+    /**
+     * Colunas únicas de cada tabela roteada
+     */
+    public static final Map<String, List<String>> CHAVES_UNICAS = Map.of(
+            "alunos", List.of("email", "cpf", "matricula"),
+            "instrutores", List.of("email", "cpf", "registro"));
+
+    private final JdbcTemplate shardZero;
+    private final int totalShards;
+    private final Map<Long, Integer> realocadas = new ConcurrentHashMap<>();
+
+    public ShardDirectory(DataSource shardZero, int totalShards) {
+        this.shardZero = new JdbcTemplate(shardZero);
+        this.totalShards = totalShards;
+    }
+
+    /**
+     * Cria as tabelas do diretório (se necessário) e carrega as realocações gravadas
+     */
+    public void inicializar() {
+        shardZero.execute("CREATE TABLE IF NOT EXISTS academia_shard (academia_id BIGINT PRIMARY KEY, shard INT NOT NULL)");
+        shardZero.execute("CREATE TABLE IF NOT EXISTS registro_academia (tabela VARCHAR(32) NOT NULL, id BIGINT NOT NULL, "
+                + "academia_id BIGINT, PRIMARY KEY (tabela, id))");
+        shardZero.execute("CREATE INDEX IF NOT EXISTS registro_academia_academia ON registro_academia (academia_id)");
+        shardZero.execute("CREATE TABLE IF NOT EXISTS chave_unica (tabela VARCHAR(32) NOT NULL, campo VARCHAR(32) NOT NULL, "
+                + "valor VARCHAR(255) NOT NULL, id BIGINT NOT NULL, PRIMARY KEY (tabela, campo, valor))");
+        shardZero.execute("CREATE INDEX IF NOT EXISTS chave_unica_registro ON chave_unica (tabela, id)");
+        shardZero.query("SELECT academia_id, shard FROM academia_shard",
+                rs -> {
+                    realocadas.put(rs.getLong(1), rs.getInt(2));
+                });
+    }
+
+    /**
+     * Shard que guarda os dados da academia
+     */
+    public int shardDaAcademia(Long academiaId) {
+        if (academiaId == null) {
+            return 0;
+        }
+        Integer realocada = realocadas.get(academiaId);
+        return realocada != null ? realocada : (int) Math.floorMod(academiaId, (long) totalShards);
+    }
+
+    /**
+     * Shard em que está o aluno ou instrutor, ou null se ele não está no diretório
+     */
+    public Integer shardDoRegistro(String tabela, Long id) {
+        List<Long> academias = shardZero.query("SELECT academia_id FROM registro_academia WHERE tabela = ? AND id = ?",
+                (rs, linha) -> rs.getObject(1, Long.class), tabela, id);
+        return academias.isEmpty() ? null : shardDaAcademia(academias.get(0));
+    }
+
+    /**
+     * Grava a academia e as chaves únicas de um aluno ou instrutor.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException se outra linha, de qualquer shard, já usa uma das chaves
+     */
+    public void registrarRegistro(String tabela, Long id, Long academiaId, Map<String, String> chaves) {
+        shardZero.update("MERGE INTO registro_academia (tabela, id, academia_id) KEY (tabela, id) VALUES (?, ?, ?)",
+                tabela, id, academiaId);
+        shardZero.update("DELETE FROM chave_unica WHERE tabela = ? AND id = ?", tabela, id);
+        chaves.forEach((campo, valor) -> shardZero.update(
+                "INSERT INTO chave_unica (tabela, campo, valor, id) VALUES (?, ?, ?, ?)", tabela, campo, valor, id));
+    }
+
+    /**
+     * Indica se o diretório ainda não tem nenhum aluno ou instrutor
+     */
+    public boolean semRegistros() {
+        return shardZero.queryForObject("SELECT COUNT(*) FROM registro_academia", Long.class) == 0;
+    }
+
+    /**
+     * Remove um aluno ou instrutor excluído
+     */
+    public void removerRegistro(String tabela, Long id) {
+        shardZero.update("DELETE FROM chave_unica WHERE tabela = ? AND id = ?", tabela, id);
+        shardZero.update("DELETE FROM registro_academia WHERE tabela = ? AND id = ?", tabela, id);
+    }
+
+    /**
+     * Grava a nova shard de uma academia
+     */
+    public void registrar(Long academiaId, int shard) {
+        shardZero.update("MERGE INTO academia_shard (academia_id, shard) KEY (academia_id) VALUES (?, ?)", academiaId, shard);
+        aposCommit(() -> realocadas.put(academiaId, shard));
+    }
+
+    /**
+     * Remove a academia e os alunos e instrutores dela do diretório (usado quando a academia é excluída)
+     */
+    public void remover(Long academiaId) {
+        shardZero.update("DELETE FROM chave_unica WHERE (tabela, id) IN "
+                + "(SELECT tabela, id FROM registro_academia WHERE academia_id = ?)", academiaId);
+        shardZero.update("DELETE FROM registro_academia WHERE academia_id = ?", academiaId);
+        shardZero.update("DELETE FROM academia_shard WHERE academia_id = ?", academiaId);
+        aposCommit(() -> realocadas.remove(academiaId));
+    }
+
+    public int totalShards() {
+        return totalShards;
+    }
+
+    /**
+     * Academias cuja shard difere do cálculo padrão
+     */
+    public Map<Long, Integer> realocadas() {
+        return Map.copyOf(realocadas);
+    }
+
+    /**
+     * O mapa em memória só muda quando a transação da shard 0 é confirmada
+     */
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
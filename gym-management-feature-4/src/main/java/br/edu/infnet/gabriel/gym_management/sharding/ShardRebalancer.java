@@ -0,0 +1,212 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import br.edu.infnet.gabriel.gym_management.datasource.H2TableCopier;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Move alunos e instrutores (com seus endereços) entre shards, preservando os IDs.
+ * A cópia é gravada no destino, o diretório é atualizado e só então as linhas são apagadas da origem.
+ * Enquanto uma academia é movida, as operações roteadas ficam bloqueadas (lock de escrita).
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private final ShardRoutingDataSource shards;
+    private final ShardDirectory directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ShardRebalancer(ShardRoutingDataSource shards, ShardDirectory directory) {
+        this.shards = shards;
+        this.directory = directory;
+    }
+
+    /**
+     * Lock compartilhado pelas operações roteadas
+     */
+    public Lock operacoes() {
+        return lock.readLock();
+    }
+
+    /**
+     * Quantidade de alunos e instrutores guardados em cada shard
+     */
+    public List<Distribuicao> distribuicao() {
+        List<Distribuicao> resultado = new ArrayList<>();
+        for (int shard = 0; shard < shards.total(); shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(shards.shard(shard));
+            resultado.add(new Distribuicao(shard,
+                    jdbc.queryForObject("SELECT COUNT(*) FROM alunos", Long.class),
+                    jdbc.queryForObject("SELECT COUNT(*) FROM instrutores", Long.class)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Move todos os alunos e instrutores de uma academia para a shard de destino
+     */
+    public Resultado moverAcademia(Long academiaId, int destino) {
+        if (destino < 0 || destino >= shards.total()) {
+            throw new IllegalArgumentException("Shard de destino inválida: " + destino);
+        }
+        lock.writeLock().lock();
+        try {
+            int origem = directory.shardDaAcademia(academiaId);
+            if (origem == destino) {
+                return new Resultado(academiaId, origem, destino, 0, 0);
+            }
+            int[] movidos = mover(origem, destino, "academia_id = ?", "academia_id = ?", academiaId,
+                    () -> directory.registrar(academiaId, destino));
+            log.info("Academia {} movida da shard {} para a shard {} ({} alunos, {} instrutores)",
+                    academiaId, origem, destino, movidos[0], movidos[1]);
+            return new Resultado(academiaId, origem, destino, movidos[0], movidos[1]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move um único aluno ou instrutor (ex.: quando é vinculado a uma academia de outra shard) usando as conexões
+     * da transação em curso; nada é confirmado aqui
+     */
+    public void moverRegistro(String tabela, Long id, Connection de, Connection para) throws SQLException {
+        if ("alunos".equals(tabela)) {
+            copiar(de, para, "id = ?", null, id);
+            excluir(de, "id = ?", null, id);
+        } else {
+            copiar(de, para, null, "id = ?", id);
+            excluir(de, null, "id = ?", id);
+        }
+    }
+
+    /**
+     * Apaga os alunos e instrutores vinculados à academia e tira a academia do diretório, na transação em curso.
+     * Na shard 0 a conexão é null: o cascade do JPA já remove os dependentes junto com a academia.
+     */
+    public void removerDependentes(Long academiaId, Connection conexaoDaShard) throws SQLException {
+        if (conexaoDaShard != null) {
+            excluir(conexaoDaShard, "academia_id = ?", "academia_id = ?", academiaId);
+        }
+        directory.remover(academiaId);
+    }
+
+    private int[] mover(int origem, int destino, String filtroAlunos, String filtroInstrutores, Object parametro,
+                        Runnable aposCopia) {
+        try (Connection de = shards.shard(origem).getConnection(); Connection para = shards.shard(destino).getConnection()) {
+            int[] copiados;
+            para.setAutoCommit(false);
+            try {
+                copiados = copiar(de, para, filtroAlunos, filtroInstrutores, parametro);
+                para.commit();
+            } catch (SQLException e) {
+                para.rollback();
+                throw e;
+            } finally {
+                para.setAutoCommit(true);
+            }
+            aposCopia.run();
+            de.setAutoCommit(false);
+            try {
+                excluir(de, filtroAlunos, filtroInstrutores, parametro);
+                de.commit();
+            } catch (SQLException e) {
+                de.rollback();
+                throw e;
+            } finally {
+                de.setAutoCommit(true);
+            }
+            return copiados;
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException(
+                    "Falha ao mover registros da shard " + origem + " para a shard " + destino, e);
+        }
+    }
+
+    /**
+     * Copia as linhas (instrutores com seus endereços) preservando os IDs
+     *
+     * @return Alunos e instrutores copiados
+     */
+    private int[] copiar(Connection de, Connection para, String filtroAlunos, String filtroInstrutores, Object parametro)
+            throws SQLException {
+        int alunos = 0;
+        int instrutores = 0;
+        if (filtroInstrutores != null) {
+            H2TableCopier.copiarLinhas(de, para, "enderecos",
+                    "id IN (SELECT endereco_id FROM instrutores WHERE " + filtroInstrutores + ")", parametro);
+            instrutores = H2TableCopier.copiarLinhas(de, para, "instrutores", filtroInstrutores, parametro);
+        }
+        if (filtroAlunos != null) {
+            alunos = H2TableCopier.copiarLinhas(de, para, "alunos", filtroAlunos, parametro);
+        }
+        return new int[]{alunos, instrutores};
+    }
+
+    private void excluir(Connection conexao, String filtroAlunos, String filtroInstrutores, Object parametro)
+            throws SQLException {
+        if (filtroAlunos != null) {
+            executar(conexao, "DELETE FROM alunos WHERE " + filtroAlunos, parametro);
+        }
+        if (filtroInstrutores != null) {
+            List<Long> enderecos = new ArrayList<>();
+            try (PreparedStatement ps = conexao.prepareStatement(
+                    "SELECT endereco_id FROM instrutores WHERE endereco_id IS NOT NULL AND " + filtroInstrutores)) {
+                ps.setObject(1, parametro);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        enderecos.add(rs.getLong(1));
+                    }
+                }
+            }
+            executar(conexao, "DELETE FROM instrutores WHERE " + filtroInstrutores, parametro);
+            for (Long endereco : enderecos) {
+                executar(conexao, "DELETE FROM enderecos WHERE id = ?", endereco);
+            }
+        }
+    }
+
+    private void executar(Connection conexao, String sql, Object parametro) throws SQLException {
+        try (PreparedStatement ps = conexao.prepareStatement(sql)) {
+            ps.setObject(1, parametro);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Resumo de uma movimentação entre shards
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Resultado {
+        private Long academiaId;
+        private int origem;
+        private int destino;
+        private int alunosMovidos;
+        private int instrutoresMovidos;
+    }
+
+    /**
+     * Ocupação de uma shard
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Distribuicao {
+        private int shard;
+        private Long alunos;
+        private Long instrutores;
+    }
+}
@@ -0,0 +1,316 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import br.edu.infnet.gabriel.gym_management.model.Pessoa;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Roteia as chamadas de AlunoRepository e InstrutorRepository para as shards.
+ * <ul>
+ *     <li>Métodos com parâmetro academiaId vão direto para a shard da academia;</li>
+ *     <li>save vai para a shard da academia da entidade (movendo a linha se a academia mudou de shard) e grava
+ *     no {@link ShardDirectory} a academia e as chaves únicas do registro;</li>
+ *     <li>findById/existsById/deleteById/delete vão para a shard que o diretório indica para o ID;</li>
+ *     <li>os demais métodos (findByCpf, findByStatus, count...) são executados em todas as shards e os
+ *     resultados são combinados ({@link CombinacaoShards}), reordenados e cortados conforme o método.</li>
+ * </ul>
+ * As chamadas entram na transação de quem chamou ({@link TransacoesShard}): a shard 0 usa a própria transação
+ * JPA e as demais shards são confirmadas ou desfeitas junto com ela. Sem transação em curso, a chamada abre uma.
+ * Consultas espalhadas por todas as shards fora de uma transação de escrita rodam em paralelo, cada shard
+ * na sua transação somente leitura. Chamadas feitas com uma shard já definida passam direto.
+ */
+@Aspect
+public class ShardRoutingAspect {
+
+    private final ShardRoutingDataSource shards;
+    private final ShardDirectory directory;
+    private final ShardRebalancer rebalancer;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final TransactionTemplate escrita;
+    private final TransactionTemplate leitura;
+    private final ExecutorService executor;
+    private final Map<Method, CombinacaoShards> combinacoes = new ConcurrentHashMap<>();
+
+    /**
+     * @param dataSource DataSource das transações JPA, de onde sai a conexão da shard 0 na transação em curso
+     */
+    public ShardRoutingAspect(ShardRoutingDataSource shards, ShardDirectory directory, ShardRebalancer rebalancer,
+                              PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory,
+                              DataSource dataSource) {
+        this.shards = shards;
+        this.directory = directory;
+        this.rebalancer = rebalancer;
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.executor = Executors.newFixedThreadPool(shards.total(), r -> {
+            Thread thread = new Thread(r, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Around("(target(br.edu.infnet.gabriel.gym_management.repository.AlunoRepository)"
+            + " || target(br.edu.infnet.gabriel.gym_management.repository.InstrutorRepository))"
+            + " && !execution(* java.lang.Object.*(..))")
+    public Object rotear(ProceedingJoinPoint pjp) throws Throwable {
+        if (ShardContext.atual() != null) {
+            return pjp.proceed();
+        }
+        String metodo = pjp.getSignature().getName();
+        if (metodo.startsWith("stream")) {
+            combinacao(pjp).verificarStream(pjp.getArgs());
+            return transmitir(pjp);
+        }
+        boolean emTransacao = TransactionSynchronizationManager.isActualTransactionActive();
+        if (espalhaPorTodas(pjp, metodo) && somenteLeitura(metodo)
+                && (!emTransacao || TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return espalharEmParalelo(pjp);
+        }
+        if (emTransacao) {
+            return rotearNaTransacao(pjp, metodo);
+        }
+        return (somenteLeitura(metodo) ? leitura : escrita).execute(status -> rotearNaTransacao(pjp, metodo));
+    }
+
+    /**
+     * Ao excluir uma academia, remove antes os dependentes guardados na shard dela, na mesma transação
+     */
+    @Around("target(br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository)"
+            + " && (execution(* deleteById(..)) || execution(* delete(..)))")
+    public Object removerDependentes(ProceedingJoinPoint pjp) {
+        Object alvo = pjp.getArgs()[0];
+        Long academiaId = alvo instanceof Academia academia ? academia.getId() : (Long) alvo;
+        return escrita.execute(status -> {
+            if (academiaId != null) {
+                TransacoesShard transacoes = transacoes();
+                int shard = directory.shardDaAcademia(academiaId);
+                try {
+                    rebalancer.removerDependentes(academiaId, shard == 0 ? null : transacoes.conexao(shard));
+                } catch (SQLException e) {
+                    throw new DataAccessResourceFailureException("Falha ao remover dados da academia " + academiaId, e);
+                }
+            }
+            return invocar(pjp);
+        });
+    }
+
+    private Object rotearNaTransacao(ProceedingJoinPoint pjp, String metodo) {
+        TransacoesShard transacoes = transacoes();
+        String tabela = pjp.getTarget() instanceof AlunoRepository ? "alunos" : "instrutores";
+        Object[] args = pjp.getArgs();
+        switch (metodo) {
+            case "save", "saveAndFlush" -> {
+                return salvar(transacoes, repositorio(pjp), tabela, args[0]);
+            }
+            case "saveAll", "saveAllAndFlush" -> {
+                List<Object> salvos = new ArrayList<>();
+                for (Object entidade : (Iterable<?>) args[0]) {
+                    salvos.add(salvar(transacoes, repositorio(pjp), tabela, entidade));
+                }
+                return salvos;
+            }
+            case "findById", "existsById", "deleteById" -> {
+                return porId(transacoes, pjp, tabela, (Long) args[0], metodo);
+            }
+            case "delete" -> {
+                return porId(transacoes, pjp, tabela, ((Pessoa) args[0]).getId(), metodo);
+            }
+            default -> {
+                int indice = indiceAcademia(pjp);
+                if (indice >= 0) {
+                    return naShard(transacoes, directory.shardDaAcademia((Long) args[indice]), () -> invocar(pjp));
+                }
+                CombinacaoShards combinacao = combinacao(pjp);
+                List<Object> parciais = new ArrayList<>();
+                for (int shard = 0; shard < shards.total(); shard++) {
+                    parciais.add(naShard(transacoes, shard, () -> invocar(pjp)));
+                }
+                return combinacao.combinar(args, parciais);
+            }
+        }
+    }
+
+    private TransacoesShard transacoes() {
+        return TransacoesShard.daTransacao(shards, entityManagerFactory, rebalancer.operacoes());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CrudRepository<Object, Long> repositorio(ProceedingJoinPoint pjp) {
+        return (CrudRepository<Object, Long>) pjp.getTarget();
+    }
+
+    private Object salvar(TransacoesShard transacoes, CrudRepository<Object, Long> repositorio, String tabela, Object entidade) {
+        Long academiaId = academiaDe(entidade);
+        int destino = directory.shardDaAcademia(academiaId);
+        Long id = ((Pessoa) entidade).getId();
+        Integer atual = id != null ? directory.shardDoRegistro(tabela, id) : null;
+        if (atual != null && atual != destino) {
+            mover(transacoes, tabela, entidade, id, atual, destino);
+        }
+        Pessoa salvo = (Pessoa) naShard(transacoes, destino, () -> repositorio.save(entidade));
+        directory.registrarRegistro(tabela, salvo.getId(), academiaId, chavesUnicas(salvo));
+        return salvo;
+    }
+
+    /**
+     * Leva a linha para a shard da nova academia dentro da transação em curso. A entidade é descarregada e
+     * desanexada da sessão de origem, para que o save seguinte a grave só no destino.
+     */
+    private void mover(TransacoesShard transacoes, String tabela, Object entidade, Long id, int atual, int destino) {
+        EntityManager origem = atual == 0
+                ? EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                : transacoes.sessao(atual);
+        if (origem != null) {
+            origem.flush();
+            if (origem.contains(entidade)) {
+                origem.detach(entidade);
+            }
+        }
+        Connection conexaoZero = atual == 0 || destino == 0 ? DataSourceUtils.getConnection(dataSource) : null;
+        try {
+            rebalancer.moverRegistro(tabela, id,
+                    atual == 0 ? conexaoZero : transacoes.conexao(atual),
+                    destino == 0 ? conexaoZero : transacoes.conexao(destino));
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException(
+                    "Falha ao mover o registro " + id + " da shard " + atual + " para a shard " + destino, e);
+        } finally {
+            DataSourceUtils.releaseConnection(conexaoZero, dataSource);
+        }
+    }
+
+    private Object porId(TransacoesShard transacoes, ProceedingJoinPoint pjp, String tabela, Long id, String metodo) {
+        Integer shard = id != null ? directory.shardDoRegistro(tabela, id) : null;
+        if (shard == null) {
+            return switch (metodo) {
+                case "findById" -> Optional.empty();
+                case "existsById" -> false;
+                default -> null;
+            };
+        }
+        Object resultado = naShard(transacoes, shard, () -> invocar(pjp));
+        if (!somenteLeitura(metodo)) {
+            directory.removerRegistro(tabela, id);
+        }
+        return resultado;
+    }
+
+    private Object espalharEmParalelo(ProceedingJoinPoint pjp) throws Throwable {
+        CombinacaoShards combinacao = combinacao(pjp);
+        List<Future<Object>> futuros = IntStream.range(0, shards.total())
+                .mapToObj(shard -> executor.submit(() -> leitura.execute(status ->
+                        naShard(transacoes(), shard, () -> invocar(pjp)))))
+                .toList();
+        List<Object> parciais = new ArrayList<>();
+        try {
+            for (Future<Object> futuro : futuros) {
+                parciais.add(futuro.get());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+        return combinacao.combinar(pjp.getArgs(), parciais);
+    }
+
+    private CombinacaoShards combinacao(ProceedingJoinPoint pjp) {
+        Class<?> dominio = pjp.getTarget() instanceof AlunoRepository ? Aluno.class : Instrutor.class;
+        return combinacoes.computeIfAbsent(((MethodSignature) pjp.getSignature()).getMethod(),
+                metodo -> CombinacaoShards.de(metodo, dominio));
+    }
+
+    /**
+     * Concatena os streams das shards, uma shard por vez, todos dentro da transação de quem chamou,
+     * que mantém as conexões abertas até o fim da leitura
+     */
+    private Stream<?> transmitir(ProceedingJoinPoint pjp) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new InvalidDataAccessApiUsageException("Streams das shards precisam de uma transação em volta");
+        }
+        TransacoesShard transacoes = transacoes();
+        return IntStream.range(0, shards.total()).boxed()
+                .flatMap(shard -> (Stream<?>) naShard(transacoes, shard, () -> invocar(pjp)));
+    }
+
+    private Object naShard(TransacoesShard transacoes, int shard, Supplier<Object> acao) {
+        return ShardContext.em(shard, () -> transacoes.executar(shard, acao));
+    }
+
+    private static Object invocar(ProceedingJoinPoint pjp) {
+        try {
+            return pjp.proceed(pjp.getArgs());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private static int indiceAcademia(ProceedingJoinPoint pjp) {
+        return Arrays.asList(((MethodSignature) pjp.getSignature()).getParameterNames()).indexOf("academiaId");
+    }
+
+    private static boolean espalhaPorTodas(ProceedingJoinPoint pjp, String metodo) {
+        return !metodo.startsWith("save") && !metodo.endsWith("ById") && !"delete".equals(metodo) && indiceAcademia(pjp) < 0;
+    }
+
+    private static boolean somenteLeitura(String metodo) {
+        return metodo.startsWith("find") || metodo.startsWith("count") || metodo.startsWith("exists");
+    }
+
+    private static Long academiaDe(Object entidade) {
+        Academia academia = entidade instanceof Aluno aluno ? aluno.getAcademia() : ((Instrutor) entidade).getAcademia();
+        return academia != null ? academia.getId() : null;
+    }
+
+    private static Map<String, String> chavesUnicas(Pessoa pessoa) {
+        Map<String, String> chaves = new LinkedHashMap<>();
+        chaves.put("email", pessoa.getEmail());
+        chaves.put("cpf", pessoa.getCpf());
+        if (pessoa instanceof Aluno aluno) {
+            chaves.put("matricula", aluno.getMatricula());
+        } else if (pessoa instanceof Instrutor instrutor) {
+            chaves.put("registro", instrutor.getRegistro());
+        }
+        return chaves;
+    }
+}
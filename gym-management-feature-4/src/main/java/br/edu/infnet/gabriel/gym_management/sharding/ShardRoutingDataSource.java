@@ -0,0 +1,47 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource que direciona cada conexão para a shard definida em {@link ShardContext}.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < this.shards.size(); i++) {
+            destinos.put(i, this.shards.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(this.shards.get(0));
+        setLenientFallback(false);
+    }
+
+    /**
+     * Quantidade de shards configuradas
+     */
+    public int total() {
+        return shards.size();
+    }
+
+    /**
+     * DataSource físico de uma shard, para acesso JDBC direto
+     */
+    public DataSource shard(int indice) {
+        return shards.get(indice);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.atual();
+        return shard != null ? shard : 0;
+    }
+}
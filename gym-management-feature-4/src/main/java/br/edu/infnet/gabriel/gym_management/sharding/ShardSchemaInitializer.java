@@ -0,0 +1,127 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import br.edu.infnet.gabriel.gym_management.datasource.H2TableCopier;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepara as shards adicionais depois que o Hibernate cria o esquema na shard 0.
+ * Em cada shard: copia o esquema, remove as FKs para academias (que só existem na shard 0)
+ * e reinicia as colunas identity na faixa de IDs da shard, para que os IDs sejam únicos entre shards.
+ * Se o diretório ainda não conhece nenhum aluno ou instrutor, registra os que já existem nas shards.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private static final List<String> TABELAS_COM_IDENTITY = List.of("enderecos", "instrutores", "alunos");
+
+    private final ShardRoutingDataSource shards;
+    private final ShardDirectory directory;
+    private final long idSpan;
+
+    /**
+     * Recebe o EntityManagerFactory apenas para garantir que o esquema da shard 0 já foi criado
+     */
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardRoutingDataSource shards,
+                                  ShardDirectory directory, long idSpan) {
+        this.shards = shards;
+        this.directory = directory;
+        this.idSpan = idSpan;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        directory.inicializar();
+        try (Connection origem = shards.shard(0).getConnection()) {
+            for (int shard = 1; shard < shards.total(); shard++) {
+                try (Connection destino = shards.shard(shard).getConnection()) {
+                    if (!H2TableCopier.possuiTabela(destino, "alunos")) {
+                        H2TableCopier.copiarEsquema(origem, destino);
+                    }
+                    removerChavesParaAcademias(destino);
+                    reiniciarIdentities(destino, shard);
+                }
+            }
+        }
+        if (directory.semRegistros()) {
+            for (int shard = 0; shard < shards.total(); shard++) {
+                indexar(shard);
+            }
+        }
+        log.info("Sharding ativo com {} shards", shards.total());
+    }
+
+    private void indexar(int shard) throws SQLException {
+        try (Connection conexao = shards.shard(shard).getConnection(); Statement st = conexao.createStatement()) {
+            for (Map.Entry<String, List<String>> tabela : ShardDirectory.CHAVES_UNICAS.entrySet()) {
+                List<String> campos = tabela.getValue();
+                try (ResultSet rs = st.executeQuery("SELECT id, academia_id, " + String.join(", ", campos)
+                        + " FROM " + tabela.getKey())) {
+                    while (rs.next()) {
+                        Map<String, String> chaves = new LinkedHashMap<>();
+                        for (int i = 0; i < campos.size(); i++) {
+                            chaves.put(campos.get(i), rs.getString(i + 3));
+                        }
+                        try {
+                            directory.registrarRegistro(tabela.getKey(), rs.getLong(1), rs.getObject(2, Long.class), chaves);
+                        } catch (DuplicateKeyException e) {
+                            log.warn("{} {} da shard {} repete uma chave única de outra shard", tabela.getKey(), rs.getLong(1), shard);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void removerChavesParaAcademias(Connection conexao) throws SQLException {
+        String consulta = """
+                SELECT fk.TABLE_NAME, fk.CONSTRAINT_NAME
+                FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS rc
+                JOIN INFORMATION_SCHEMA.TABLE_CONSTRAINTS fk
+                  ON fk.CONSTRAINT_SCHEMA = rc.CONSTRAINT_SCHEMA AND fk.CONSTRAINT_NAME = rc.CONSTRAINT_NAME
+                JOIN INFORMATION_SCHEMA.TABLE_CONSTRAINTS pk
+                  ON pk.CONSTRAINT_SCHEMA = rc.UNIQUE_CONSTRAINT_SCHEMA AND pk.CONSTRAINT_NAME = rc.UNIQUE_CONSTRAINT_NAME
+                WHERE pk.TABLE_NAME = 'ACADEMIAS'
+                """;
+        List<String> comandos = new ArrayList<>();
+        try (Statement st = conexao.createStatement(); ResultSet rs = st.executeQuery(consulta)) {
+            while (rs.next()) {
+                comandos.add("ALTER TABLE " + rs.getString(1) + " DROP CONSTRAINT " + rs.getString(2));
+            }
+        }
+        try (Statement st = conexao.createStatement()) {
+            for (String comando : comandos) {
+                st.execute(comando);
+            }
+        }
+    }
+
+    private void reiniciarIdentities(Connection conexao, int shard) throws SQLException {
+        long inicio = shard * idSpan + 1;
+        try (Statement st = conexao.createStatement()) {
+            for (String tabela : TABELAS_COM_IDENTITY) {
+                long maior;
+                try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabela)) {
+                    rs.next();
+                    maior = rs.getLong(1);
+                }
+                if (maior < inicio) {
+                    st.execute("ALTER TABLE " + tabela + " ALTER COLUMN id RESTART WITH " + inicio);
+                }
+            }
+        }
+    }
+}
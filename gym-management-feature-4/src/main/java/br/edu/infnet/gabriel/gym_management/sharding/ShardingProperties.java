@@ -0,0 +1,32 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriedades do particionamento horizontal (gym.sharding.*).
+ * A shard 0 é sempre o datasource principal (spring.datasource); as URLs listadas aqui são as shards 1..N-1.
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * URLs JDBC das shards adicionais
+     */
+    private List<String> urls = new ArrayList<>();
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /**
+     * Tamanho da faixa de IDs de cada shard: a shard N gera IDs a partir de N * idSpan + 1
+     */
+    private long idSpan = 1_000_000_000_000L;
+}
@@ -0,0 +1,179 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Participação das shards 1..N-1 numa transação da aplicação, no papel de um chained transaction manager.
+ * A transação em curso (JPA, na shard 0) ganha, para cada outra shard que tocar, uma sessão Hibernate com
+ * conexão própria e transação local. Antes do commit da shard 0, todas as sessões são descarregadas (flush) e
+ * depois confirmadas; se a transação for desfeita, elas também são. Uma falha no commit de uma shard depois de
+ * outra já confirmada não é desfeita, o mesmo compromisso do ChainedTransactionManager.
+ * <p>
+ * O lock de operações do rebalanceamento fica com a transação até ela terminar, para que nenhuma academia
+ * mude de shard entre a gravação e o commit.
+ */
+class TransacoesShard implements TransactionSynchronization {
+
+    private static final Logger log = LoggerFactory.getLogger(TransacoesShard.class);
+
+    private final ShardRoutingDataSource shards;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Lock operacoes;
+    private final boolean somenteLeitura;
+    private final Map<Integer, Session> sessoes = new TreeMap<>();
+    private final Map<Integer, Connection> conexoes = new TreeMap<>();
+
+    private TransacoesShard(ShardRoutingDataSource shards, EntityManagerFactory entityManagerFactory, Lock operacoes) {
+        this.shards = shards;
+        this.entityManagerFactory = entityManagerFactory;
+        this.operacoes = operacoes;
+        this.somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Participação da transação atual, criada na primeira chamada; exige uma transação ativa
+     */
+    static TransacoesShard daTransacao(ShardRoutingDataSource shards, EntityManagerFactory entityManagerFactory,
+                                       Lock operacoes) {
+        TransacoesShard transacoes = (TransacoesShard) TransactionSynchronizationManager.getResource(TransacoesShard.class);
+        if (transacoes == null) {
+            transacoes = new TransacoesShard(shards, entityManagerFactory, operacoes);
+            operacoes.lock();
+            TransactionSynchronizationManager.bindResource(TransacoesShard.class, transacoes);
+            TransactionSynchronizationManager.registerSynchronization(transacoes);
+        }
+        return transacoes;
+    }
+
+    /**
+     * Executa a ação com a sessão da shard no lugar do EntityManager da transação, para que os repositórios
+     * a usem; na shard 0 a ação roda direto na transação atual
+     */
+    Object executar(int shard, Supplier<Object> acao) {
+        if (shard == 0) {
+            return acao.get();
+        }
+        Object externo = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new SessaoShard(sessao(shard)));
+        try {
+            return acao.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            if (externo != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, externo);
+            }
+        }
+    }
+
+    /**
+     * Sessão da shard nesta transação (shards 1..N-1)
+     */
+    Session sessao(int shard) {
+        return sessoes.computeIfAbsent(shard, s -> {
+            Connection conexao = conexao(s);
+            Session sessao = entityManagerFactory.unwrap(SessionFactory.class).withOptions().connection(conexao).openSession();
+            sessao.setDefaultReadOnly(somenteLeitura);
+            sessao.beginTransaction();
+            return sessao;
+        });
+    }
+
+    /**
+     * Conexão JDBC da shard nesta transação (shards 1..N-1), para operações fora do JPA
+     */
+    Connection conexao(int shard) {
+        return conexoes.computeIfAbsent(shard, s -> {
+            try {
+                Connection conexao = shards.shard(s).getConnection();
+                conexao.setAutoCommit(false);
+                conexao.setReadOnly(somenteLeitura);
+                return conexao;
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("Falha ao abrir conexão na shard " + s, e);
+            }
+        });
+    }
+
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResource(TransacoesShard.class);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(TransacoesShard.class, this);
+    }
+
+    /**
+     * Descarrega todas as shards antes de confirmar qualquer uma, para que erros de restrição desfaçam tudo
+     */
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        if (!readOnly) {
+            sessoes.values().forEach(Session::flush);
+        }
+        for (Map.Entry<Integer, Connection> entrada : conexoes.entrySet()) {
+            Session sessao = sessoes.get(entrada.getKey());
+            try {
+                if (sessao != null) {
+                    sessao.getTransaction().commit();
+                } else {
+                    entrada.getValue().commit();
+                }
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("Falha ao confirmar a shard " + entrada.getKey(), e);
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(TransacoesShard.class);
+        try {
+            for (Map.Entry<Integer, Connection> entrada : conexoes.entrySet()) {
+                Session sessao = sessoes.get(entrada.getKey());
+                try (Connection conexao = entrada.getValue()) {
+                    if (sessao != null) {
+                        if (sessao.getTransaction().isActive()) {
+                            sessao.getTransaction().rollback();
+                        }
+                        sessao.close();
+                    } else {
+                        conexao.rollback();
+                    }
+                } catch (RuntimeException | SQLException e) {
+                    log.warn("Falha ao encerrar a transação da shard {}: {}", entrada.getKey(), e.getMessage());
+                }
+            }
+        } finally {
+            operacoes.unlock();
+        }
+    }
+
+    /**
+     * Sessão de uma shard exposta aos repositórios como se fosse o EntityManager da transação em curso
+     */
+    private static final class SessaoShard extends EntityManagerHolder {
+
+        SessaoShard(Session sessao) {
+            super(sessao);
+            setTransactionActive(true);
+            setSynchronizedWithTransaction(true);
+        }
+    }
+}
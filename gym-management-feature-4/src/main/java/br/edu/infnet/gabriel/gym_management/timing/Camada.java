@@ -0,0 +1,51 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+/**
+ * Camadas medidas em cada requisição, na ordem em que aparecem no cabeçalho Server-Timing.
+ */
+public enum Camada {
+
+    /**
+     * Métodos dos @RestController, sem contar o que rodou no serviço
+     */
+    CONTROLLER("controller"),
+
+    /**
+     * Métodos dos serviços (CrudService), incluindo abertura e commit da transação
+     * e a hidratação de coleções lazy inicializadas no serviço
+     */
+    SERVICE("service"),
+
+    /**
+     * Chamadas aos repositórios Spring Data, sem o JDBC: montagem da consulta e hidratação das entidades
+     */
+    REPOSITORY("repository"),
+
+    /**
+     * Espera por uma conexão do pool
+     */
+    POOL("pool"),
+
+    /**
+     * Execução de comandos JDBC
+     */
+    JDBC("jdbc"),
+
+    /**
+     * Serialização do corpo da resposta pelo Jackson (JSON, CBOR ou Smile)
+     */
+    SERIALIZACAO("json");
+
+    private final String metrica;
+
+    Camada(String metrica) {
+        this.metrica = metrica;
+    }
+
+    /**
+     * Nome da métrica no cabeçalho Server-Timing
+     */
+    public String getMetrica() {
+        return metrica;
+    }
+}
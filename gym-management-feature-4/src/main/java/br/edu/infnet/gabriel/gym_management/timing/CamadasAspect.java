@@ -0,0 +1,45 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Mede o tempo de controllers, serviços e repositórios da requisição em andamento.
+ * Tem a maior precedência entre os aspectos, então o tempo do serviço inclui a transação
+ * e o do repositório inclui o roteamento entre shards.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CamadasAspect {
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object medirController(ProceedingJoinPoint pjp) throws Throwable {
+        return medir(pjp, Camada.CONTROLLER);
+    }
+
+    @Around("execution(* br.edu.infnet.gabriel.gym_management.service.CrudService+.*(..))")
+    public Object medirServico(ProceedingJoinPoint pjp) throws Throwable {
+        return medir(pjp, Camada.SERVICE);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository) && !execution(* java.lang.Object.*(..))")
+    public Object medirRepositorio(ProceedingJoinPoint pjp) throws Throwable {
+        return medir(pjp, Camada.REPOSITORY);
+    }
+
+    private Object medir(ProceedingJoinPoint pjp, Camada camada) throws Throwable {
+        MedicaoRequisicao medicao = MedicaoRequisicao.atual();
+        if (medicao == null) {
+            return pjp.proceed();
+        }
+        medicao.entrar(camada);
+        try {
+            return pjp.proceed();
+        } finally {
+            medicao.sair(camada);
+        }
+    }
+}
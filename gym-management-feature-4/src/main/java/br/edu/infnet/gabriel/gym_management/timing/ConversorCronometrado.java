@@ -0,0 +1,114 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Envolve um conversor Jackson para medir a serialização do corpo da resposta.
+ * O corpo é serializado num buffer, e só depois vai para a resposta. Assim o Server-Timing,
+ * já com o tempo de serialização, ainda pode ir no cabeçalho, junto com o Content-Length.
+ * A leitura de corpos é repassada sem alteração.
+ */
+public class ConversorCronometrado implements GenericHttpMessageConverter<Object> {
+
+    private final GenericHttpMessageConverter<Object> conversor;
+
+    public ConversorCronometrado(GenericHttpMessageConverter<Object> conversor) {
+        this.conversor = conversor;
+    }
+
+    @Override
+    public void write(Object corpo, @Nullable Type tipo, @Nullable MediaType contentType, HttpOutputMessage saida)
+            throws IOException, HttpMessageNotWritableException {
+        MedicaoRequisicao medicao = MedicaoRequisicao.atual();
+        if (medicao == null) {
+            conversor.write(corpo, tipo, contentType, saida);
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        medicao.entrar(Camada.SERIALIZACAO);
+        try {
+            conversor.write(corpo, tipo, contentType, new SaidaEmBuffer(saida.getHeaders(), buffer));
+        } finally {
+            medicao.sair(Camada.SERIALIZACAO);
+        }
+        saida.getHeaders().set(MedicaoRequisicao.CABECALHO, medicao.serverTiming());
+        saida.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(saida.getBody());
+    }
+
+    @Override
+    public void write(Object corpo, @Nullable MediaType contentType, HttpOutputMessage saida)
+            throws IOException, HttpMessageNotWritableException {
+        write(corpo, null, contentType, saida);
+    }
+
+    @Override
+    public boolean canRead(Type tipo, @Nullable Class<?> contexto, @Nullable MediaType mediaType) {
+        return conversor.canRead(tipo, contexto, mediaType);
+    }
+
+    @Override
+    public Object read(Type tipo, @Nullable Class<?> contexto, HttpInputMessage entrada)
+            throws IOException, HttpMessageNotReadableException {
+        return conversor.read(tipo, contexto, entrada);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type tipo, Class<?> clazz, @Nullable MediaType mediaType) {
+        return conversor.canWrite(tipo, clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return conversor.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return conversor.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return conversor.getSupportedMediaTypes();
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return conversor.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage entrada) throws IOException, HttpMessageNotReadableException {
+        return conversor.read(clazz, entrada);
+    }
+
+    /**
+     * Mensagem de saída que compartilha os cabeçalhos da resposta, mas escreve o corpo no buffer
+     */
+    private record SaidaEmBuffer(HttpHeaders headers, ByteArrayOutputStream buffer) implements HttpOutputMessage {
+
+        @Override
+        public OutputStream getBody() {
+            return buffer;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
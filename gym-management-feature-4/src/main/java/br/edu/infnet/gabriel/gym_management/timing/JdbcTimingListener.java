@@ -0,0 +1,54 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Ouvinte de eventos de sessão do Hibernate que mede a espera por conexão e a execução dos
+ * comandos JDBC. Registrado por hibernate.session.events.auto, uma instância por sessão.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        entrar(Camada.POOL);
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        sair(Camada.POOL);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        entrar(Camada.JDBC);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        sair(Camada.JDBC);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        entrar(Camada.JDBC);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        sair(Camada.JDBC);
+    }
+
+    private static void entrar(Camada camada) {
+        MedicaoRequisicao medicao = MedicaoRequisicao.atual();
+        if (medicao != null) {
+            medicao.entrar(camada);
+        }
+    }
+
+    private static void sair(Camada camada) {
+        MedicaoRequisicao medicao = MedicaoRequisicao.atual();
+        if (medicao != null) {
+            medicao.sair(camada);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tempos de uma requisição, por camada, presos à thread que a atende.
+ * As camadas se aninham (controller chama serviço, que chama repositório, que executa JDBC);
+ * cada camada acumula só o tempo próprio, descontado o que foi gasto nas camadas internas,
+ * de modo que a soma das camadas não conta nada duas vezes.
+ * Chamadas feitas em outras threads (scatter-gather das shards, streams NDJSON) não são medidas.
+ */
+public final class MedicaoRequisicao {
+
+    public static final String CABECALHO = "Server-Timing";
+
+    private static final ThreadLocal<MedicaoRequisicao> ATUAL = new ThreadLocal<>();
+    private static final Camada[] CAMADAS = Camada.values();
+
+    private final long inicio = System.nanoTime();
+    private final long[] proprio = new long[CAMADAS.length];
+    private final int[] chamadas = new int[CAMADAS.length];
+    private Camada[] pilha = new Camada[16];
+    private long[] entradas = new long[16];
+    private long[] internas = new long[16];
+    private int topo;
+
+    private MedicaoRequisicao() {
+    }
+
+    /**
+     * Começa a medir a requisição da thread atual
+     */
+    public static MedicaoRequisicao iniciar() {
+        MedicaoRequisicao medicao = new MedicaoRequisicao();
+        ATUAL.set(medicao);
+        return medicao;
+    }
+
+    /**
+     * Medição da thread atual, ou null fora de uma requisição medida
+     */
+    public static MedicaoRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    public void entrar(Camada camada) {
+        if (topo == pilha.length) {
+            pilha = Arrays.copyOf(pilha, topo * 2);
+            entradas = Arrays.copyOf(entradas, topo * 2);
+            internas = Arrays.copyOf(internas, topo * 2);
+        }
+        pilha[topo] = camada;
+        entradas[topo] = System.nanoTime();
+        internas[topo] = 0;
+        topo++;
+    }
+
+    /**
+     * Fecha a camada aberta por último; saídas sem a entrada correspondente são ignoradas
+     */
+    public void sair(Camada camada) {
+        if (topo == 0 || pilha[topo - 1] != camada) {
+            return;
+        }
+        topo--;
+        long duracao = System.nanoTime() - entradas[topo];
+        proprio[camada.ordinal()] += duracao - internas[topo];
+        chamadas[camada.ordinal()]++;
+        if (topo > 0) {
+            internas[topo - 1] += duracao;
+        }
+    }
+
+    public double totalMs() {
+        return (System.nanoTime() - inicio) / 1e6;
+    }
+
+    /**
+     * Tempo próprio de cada camada chamada ao menos uma vez, em milissegundos
+     */
+    public Map<String, Double> camadasMs() {
+        Map<String, Double> camadas = new LinkedHashMap<>();
+        for (Camada camada : CAMADAS) {
+            if (chamadas[camada.ordinal()] > 0) {
+                camadas.put(camada.getMetrica(), proprio[camada.ordinal()] / 1e6);
+            }
+        }
+        return camadas;
+    }
+
+    /**
+     * Quantidade de chamadas por camada
+     */
+    public Map<String, Integer> chamadas() {
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        for (Camada camada : CAMADAS) {
+            if (chamadas[camada.ordinal()] > 0) {
+                resultado.put(camada.getMetrica(), chamadas[camada.ordinal()]);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Valor do cabeçalho Server-Timing, ex.: controller;dur=0.12, service;dur=1.40, jdbc;dur=3.05, total;dur=5.20
+     */
+    public String serverTiming() {
+        StringBuilder valor = new StringBuilder(160);
+        for (Camada camada : CAMADAS) {
+            int vezes = chamadas[camada.ordinal()];
+            if (vezes > 0) {
+                valor.append(camada.getMetrica())
+                        .append(";desc=\"").append(vezes).append(vezes == 1 ? " chamada" : " chamadas").append('"')
+                        .append(";dur=").append(String.format(Locale.ROOT, "%.2f", proprio[camada.ordinal()] / 1e6))
+                        .append(", ");
+            }
+        }
+        return valor.append("total;dur=").append(String.format(Locale.ROOT, "%.2f", totalMs())).toString();
+    }
+}
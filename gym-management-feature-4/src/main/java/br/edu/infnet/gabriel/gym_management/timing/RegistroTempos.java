@@ -0,0 +1,61 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular com as requisições amostradas; ao encher, as mais antigas são sobrescritas.
+ * Uma requisição entra por sorteio (fração amostragem) ou, sempre, quando passa do limite de lentidão.
+ */
+public class RegistroTempos {
+
+    private final AtomicReferenceArray<TraceRequisicao> posicoes;
+    private final AtomicLong proxima = new AtomicLong();
+    private final double amostragem;
+    private final double lentaMs;
+
+    public RegistroTempos(int capacidade, double amostragem, double lentaMs) {
+        this.posicoes = new AtomicReferenceArray<>(capacidade);
+        this.amostragem = amostragem;
+        this.lentaMs = lentaMs;
+    }
+
+    /**
+     * Indica se uma requisição com este tempo total deve ser guardada
+     */
+    public boolean deveRegistrar(double totalMs) {
+        return totalMs >= lentaMs || ThreadLocalRandom.current().nextDouble() < amostragem;
+    }
+
+    public void registrar(TraceRequisicao trace) {
+        int posicao = (int) (proxima.getAndIncrement() % posicoes.length());
+        posicoes.set(posicao, trace);
+    }
+
+    /**
+     * Requisições guardadas, da mais recente para a mais antiga
+     */
+    public List<TraceRequisicao> recentes() {
+        int capacidade = posicoes.length();
+        long ultima = proxima.get();
+        List<TraceRequisicao> traces = new ArrayList<>((int) Math.min(ultima, capacidade));
+        for (long i = ultima - 1; i >= 0 && i >= ultima - capacidade; i--) {
+            TraceRequisicao trace = posicoes.get((int) (i % capacidade));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public int getCapacidade() {
+        return posicoes.length();
+    }
+
+    public double getAmostragem() {
+        return amostragem;
+    }
+}
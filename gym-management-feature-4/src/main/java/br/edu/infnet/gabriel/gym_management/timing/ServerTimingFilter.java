@@ -0,0 +1,51 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Abre a medição de cada requisição da API e, ao final, grava o cabeçalho Server-Timing
+ * (quando a resposta ainda não foi enviada; com corpo JSON, quem grava é o ConversorCronometrado)
+ * e entrega a requisição ao RegistroTempos. Respostas assíncronas (streams NDJSON) não são medidas.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final RegistroTempos registro;
+
+    public ServerTimingFilter(RegistroTempos registro) {
+        this.registro = registro;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return caminho.startsWith("/actuator") || caminho.startsWith("/h2-console");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        MedicaoRequisicao medicao = MedicaoRequisicao.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MedicaoRequisicao.encerrar();
+            if (!request.isAsyncStarted()) {
+                if (!response.isCommitted() && !response.containsHeader(MedicaoRequisicao.CABECALHO)) {
+                    response.setHeader(MedicaoRequisicao.CABECALHO, medicao.serverTiming());
+                }
+                double totalMs = medicao.totalMs();
+                if (registro.deveRegistrar(totalMs)) {
+                    registro.registrar(new TraceRequisicao(Instant.now(), request.getMethod(), request.getRequestURI(),
+                            response.getStatus(), totalMs, medicao.camadasMs(), medicao.chamadas()));
+                }
+            }
+        }
+    }
+}
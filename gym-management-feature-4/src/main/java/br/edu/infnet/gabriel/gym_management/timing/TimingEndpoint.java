@@ -0,0 +1,50 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint /actuator/timing: requisições amostradas, da mais recente para a mais antiga,
+ * e a média do tempo próprio de cada camada entre elas.
+ * Filtros opcionais: caminho (prefixo), minimoMs (tempo total) e limite (padrão 100).
+ */
+@Endpoint(id = "timing")
+public class TimingEndpoint {
+
+    private final RegistroTempos registro;
+
+    public TimingEndpoint(RegistroTempos registro) {
+        this.registro = registro;
+    }
+
+    @ReadOperation
+    public Map<String, Object> consultar(@Nullable String caminho, @Nullable Double minimoMs, @Nullable Integer limite) {
+        List<TraceRequisicao> traces = registro.recentes().stream()
+                .filter(trace -> caminho == null || trace.getCaminho().startsWith(caminho))
+                .filter(trace -> minimoMs == null || trace.getTotalMs() >= minimoMs)
+                .limit(limite != null ? limite : 100)
+                .toList();
+
+        Map<String, Double> medias = new LinkedHashMap<>();
+        for (Camada camada : Camada.values()) {
+            traces.stream()
+                    .mapToDouble(trace -> trace.getCamadasMs().getOrDefault(camada.getMetrica(), 0.0))
+                    .average()
+                    .ifPresent(media -> medias.put(camada.getMetrica(), media));
+        }
+        traces.stream().mapToDouble(TraceRequisicao::getTotalMs).average()
+                .ifPresent(media -> medias.put("total", media));
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("amostragem", registro.getAmostragem());
+        resposta.put("capacidade", registro.getCapacidade());
+        resposta.put("mediasMs", medias);
+        resposta.put("requisicoes", traces);
+        return resposta;
+    }
+}
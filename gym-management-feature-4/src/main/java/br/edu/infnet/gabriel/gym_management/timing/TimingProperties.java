@@ -0,0 +1,34 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriedades da medição por camada (gym.timing.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.timing")
+public class TimingProperties {
+
+    /**
+     * Desabilitado, não há Server-Timing nem registro de requisições
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fração das requisições guardadas no buffer circular
+     */
+    private double amostragem = 0.05;
+
+    /**
+     * Requisições a partir deste tempo total são sempre guardadas
+     */
+    private Duration lenta = Duration.ofMillis(500);
+
+    /**
+     * Quantidade de requisições mantidas no buffer circular
+     */
+    private int capacidade = 1000;
+}
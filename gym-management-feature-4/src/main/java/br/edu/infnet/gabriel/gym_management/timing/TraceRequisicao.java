@@ -0,0 +1,22 @@
+package br.edu.infnet.gabriel.gym_management.timing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Requisição amostrada: tempo total e tempo próprio de cada camada.
+ */
+@Data
+@AllArgsConstructor
+public class TraceRequisicao {
+    private Instant instante;
+    private String metodo;
+    private String caminho;
+    private int status;
+    private double totalMs;
+    private Map<String, Double> camadasMs;
+    private Map<String, Integer> chamadas;
+}
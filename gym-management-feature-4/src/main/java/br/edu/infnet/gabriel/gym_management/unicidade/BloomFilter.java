@@ -0,0 +1,85 @@
+package br.edu.infnet.gabriel.gym_management.unicidade;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom para Strings, seguro para uso concorrente sem locks.
+ * Responde "com certeza não existe" ou "talvez exista"; nunca dá falso negativo para valores adicionados.
+ * Os bits ficam num AtomicLongArray e os índices vêm de hashing duplo (h1 + i*h2) sobre um hash de 64 bits.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int funcoes;
+    private final long capacidade;
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * @param capacidade        Quantidade de elementos prevista
+     * @param taxaFalsoPositivo Taxa de falso positivo desejada com a capacidade cheia (ex.: 0.01)
+     */
+    public BloomFilter(long capacidade, double taxaFalsoPositivo) {
+        this.capacidade = Math.max(1, capacidade);
+        long m = (long) Math.ceil(-this.capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact(Math.max(1, (m + 63) / 64)));
+        this.totalBits = bits.length() * 64L;
+        this.funcoes = Math.max(1, (int) Math.round((double) totalBits / this.capacidade * Math.log(2)));
+    }
+
+    public void adicionar(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            if ((bits.get(palavra) & mascara) == 0) {
+                bits.accumulateAndGet(palavra, mascara, (atual, m) -> atual | m);
+            }
+        }
+        elementos.increment();
+    }
+
+    public boolean talvezContenha(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Elementos adicionados (repetições contam de novo)
+     */
+    public long elementos() {
+        return elementos.sum();
+    }
+
+    public long capacidade() {
+        return capacidade;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os chars, finalizado com o misturador do SplitMix64
+     */
+    private static long hash(String valor) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,28 @@
+package br.edu.infnet.gabriel.gym_management.unicidade;
+
+/**
+ * Colunas com restrição de unicidade que passam pela triagem do FiltroUnicidade.
+ * CPF e email são únicos por tabela (Pessoa é @MappedSuperclass), por isso aparecem para alunos e instrutores.
+ */
+public enum ChaveUnica {
+    ALUNO_CPF("cpf"),
+    ALUNO_EMAIL("email"),
+    ALUNO_MATRICULA("matricula"),
+    INSTRUTOR_CPF("cpf"),
+    INSTRUTOR_EMAIL("email"),
+    INSTRUTOR_REGISTRO("registro"),
+    ACADEMIA_CNPJ("cnpj");
+
+    private final String campo;
+
+    ChaveUnica(String campo) {
+        this.campo = campo;
+    }
+
+    /**
+     * Nome do campo na entidade, usado nas rejeições
+     */
+    public String getCampo() {
+        return campo;
+    }
+}
@@ -0,0 +1,230 @@
+package br.edu.infnet.gabriel.gym_management.unicidade;
+
+import br.edu.infnet.gabriel.gym_management.cache.SnapshotCache;
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import br.edu.infnet.gabriel.gym_management.repository.InstrutorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Triagem de chaves únicas (CPF, email, matrícula, registro, CNPJ) antes de gravar lotes.
+ * Cada chave tem um BloomFilter construído em segundo plano na subida e alimentado pelas escritas.
+ * Valores que o filtro descarta ("com certeza não existe") não vão ao banco; os suspeitos são conferidos
+ * com uma única consulta IN por chave. Enquanto um filtro não está pronto, todo valor é suspeito.
+ * A restrição unique do banco continua valendo: o filtro só evita que o lote inteiro falhe por um duplicado.
+ *
+ * Quando um filtro passa da capacidade ele é reconstruído; durante a reconstrução as escritas vão para
+ * o filtro atual e para o novo, e o registro é repetido após o commit, para que nenhuma chave se perca.
+ * Remoções e alterações deixam o valor antigo no filtro, o que só gera suspeitos a mais.
+ */
+@Component
+public class FiltroUnicidade {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroUnicidade.class);
+
+    /**
+     * Máximo de valores por consulta IN
+     */
+    private static final int LOTE_CONSULTA = 1000;
+
+    private final Map<ChaveUnica, Fonte> fontes = new EnumMap<>(ChaveUnica.class);
+    private final Map<ChaveUnica, Filtro> filtros = new EnumMap<>(ChaveUnica.class);
+    private final UnicidadeProperties properties;
+    private final TransactionTemplate leitura;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * De onde vêm os valores de uma chave: todos (para construir o filtro), os já existentes
+     * dentre um conjunto (conferência exata) e o total de linhas (para dimensionar o filtro)
+     */
+    private record Fonte(Supplier<Stream<String>> todos,
+                         Function<Collection<String>, List<String>> existentes,
+                         LongSupplier total) {
+    }
+
+    private static class Filtro {
+        volatile BloomFilter atual;
+        volatile BloomFilter emConstrucao;
+        final AtomicBoolean reconstruindo = new AtomicBoolean();
+    }
+
+    public FiltroUnicidade(AlunoRepository alunoRepository, InstrutorRepository instrutorRepository,
+                           AcademiaRepository academiaRepository, UnicidadeProperties properties,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+
+        fontes.put(ChaveUnica.ALUNO_CPF, new Fonte(alunoRepository::streamCpfs, alunoRepository::findCpfsExistentes, alunoRepository::count));
+        fontes.put(ChaveUnica.ALUNO_EMAIL, new Fonte(alunoRepository::streamEmails, alunoRepository::findEmailsExistentes, alunoRepository::count));
+        fontes.put(ChaveUnica.ALUNO_MATRICULA, new Fonte(alunoRepository::streamMatriculas, alunoRepository::findMatriculasExistentes, alunoRepository::count));
+        fontes.put(ChaveUnica.INSTRUTOR_CPF, new Fonte(instrutorRepository::streamCpfs, instrutorRepository::findCpfsExistentes, instrutorRepository::count));
+        fontes.put(ChaveUnica.INSTRUTOR_EMAIL, new Fonte(instrutorRepository::streamEmails, instrutorRepository::findEmailsExistentes, instrutorRepository::count));
+        fontes.put(ChaveUnica.INSTRUTOR_REGISTRO, new Fonte(instrutorRepository::streamRegistros, instrutorRepository::findRegistrosExistentes, instrutorRepository::count));
+        fontes.put(ChaveUnica.ACADEMIA_CNPJ, new Fonte(academiaRepository::streamCnpjs, academiaRepository::findCnpjsExistentes, academiaRepository::count));
+        for (ChaveUnica chave : ChaveUnica.values()) {
+            filtros.put(chave, new Filtro());
+        }
+    }
+
+    /**
+     * Constrói todos os filtros em segundo plano depois que a aplicação sobe
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        if (properties.isEnabled()) {
+            filtros.keySet().forEach(this::reconstruirEmSegundoPlano);
+        }
+    }
+
+    /**
+     * false = o valor com certeza não está cadastrado; true = talvez esteja (ou o filtro não está pronto)
+     */
+    public boolean talvezExista(ChaveUnica chave, String valor) {
+        BloomFilter atual = filtros.get(chave).atual;
+        return atual == null || atual.talvezContenha(valor);
+    }
+
+    /**
+     * Registra as chaves de entidades gravadas. Chamado dentro da transação de escrita: o registro é feito
+     * na hora e repetido ao fim da transação, cobrindo uma reconstrução que tenha lido o banco antes do commit.
+     */
+    public <T> void registrar(List<T> entidades, Map<ChaveUnica, Function<T, String>> chaves) {
+        if (!properties.isEnabled() || entidades.isEmpty()) {
+            return;
+        }
+        SnapshotCache.aoConcluir(() -> chaves.forEach((chave, extrator) -> {
+            Filtro filtro = filtros.get(chave);
+            BloomFilter novo = filtro.emConstrucao;
+            BloomFilter atual = filtro.atual;
+            for (T entidade : entidades) {
+                String valor = extrator.apply(entidade);
+                if (valor == null) {
+                    continue;
+                }
+                if (novo != null) {
+                    novo.adicionar(valor);
+                }
+                if (atual != null) {
+                    atual.adicionar(valor);
+                }
+            }
+            if (atual != null && atual.elementos() > atual.capacidade()) {
+                reconstruirEmSegundoPlano(chave);
+            }
+        }));
+    }
+
+    /**
+     * Separa os registros de um lote que repetem uma chave já cadastrada ou de outro registro do próprio lote.
+     *
+     * @param entidades Lote a importar
+     * @param chaves    Chaves a conferir e como extrair o valor de cada uma
+     * @return Rejeições, uma por registro e chave em conflito
+     */
+    public <T> List<Rejeicao> triar(List<T> entidades, Map<ChaveUnica, Function<T, String>> chaves) {
+        List<Rejeicao> rejeicoes = new ArrayList<>();
+        for (Map.Entry<ChaveUnica, Function<T, String>> entrada : chaves.entrySet()) {
+            ChaveUnica chave = entrada.getKey();
+            Set<String> vistos = new HashSet<>();
+            Map<String, List<Integer>> suspeitos = new HashMap<>();
+            for (int i = 0; i < entidades.size(); i++) {
+                String valor = entrada.getValue().apply(entidades.get(i));
+                if (valor == null) {
+                    continue;
+                }
+                if (!vistos.add(valor)) {
+                    rejeicoes.add(new Rejeicao(i, chave.getCampo(), valor, "Duplicado no próprio lote"));
+                } else if (talvezExista(chave, valor)) {
+                    suspeitos.computeIfAbsent(valor, v -> new ArrayList<>()).add(i);
+                } else {
+                    contador(chave, "descartado").increment();
+                }
+            }
+            Set<String> existentes = conferir(chave, suspeitos.keySet());
+            contador(chave, "confirmado").increment(existentes.size());
+            contador(chave, "falso_positivo").increment(suspeitos.size() - existentes.size());
+            for (String valor : existentes) {
+                for (int indice : suspeitos.get(valor)) {
+                    rejeicoes.add(new Rejeicao(indice, chave.getCampo(), valor, "Já cadastrado"));
+                }
+            }
+        }
+        return rejeicoes;
+    }
+
+    /**
+     * Conferência exata dos suspeitos, em consultas IN de até LOTE_CONSULTA valores
+     */
+    private Set<String> conferir(ChaveUnica chave, Collection<String> suspeitos) {
+        Set<String> existentes = new HashSet<>();
+        List<String> valores = new ArrayList<>(suspeitos);
+        for (int i = 0; i < valores.size(); i += LOTE_CONSULTA) {
+            List<String> lote = valores.subList(i, Math.min(i + LOTE_CONSULTA, valores.size()));
+            existentes.addAll(leitura.execute(status -> fontes.get(chave).existentes().apply(lote)));
+        }
+        return existentes;
+    }
+
+    private void reconstruirEmSegundoPlano(ChaveUnica chave) {
+        Filtro filtro = filtros.get(chave);
+        if (filtro.reconstruindo.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> reconstruir(chave, filtro))
+                    .whenComplete((ok, erro) -> {
+                        filtro.reconstruindo.set(false);
+                        if (erro != null) {
+                            log.warn("Falha ao construir o filtro de unicidade {}", chave, erro);
+                        }
+                    });
+        }
+    }
+
+    private void reconstruir(ChaveUnica chave, Filtro filtro) {
+        Fonte fonte = fontes.get(chave);
+        long total = leitura.execute(status -> fonte.total().getAsLong());
+        BloomFilter novo = new BloomFilter(Math.max(properties.getCapacidadeInicial(), total * 2),
+                properties.getTaxaFalsoPositivo());
+        filtro.emConstrucao = novo;
+        try {
+            leitura.executeWithoutResult(status -> {
+                try (Stream<String> valores = fonte.todos().get()) {
+                    valores.forEach(novo::adicionar);
+                }
+            });
+            filtro.atual = novo;
+        } finally {
+            filtro.emConstrucao = null;
+        }
+    }
+
+    private Counter contador(ChaveUnica chave, String resultado) {
+        return Counter.builder("gym.unicidade.triagem")
+                .tag("chave", chave.name().toLowerCase())
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package br.edu.infnet.gabriel.gym_management.unicidade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Registro de um lote recusado na importação.
+ */
+@Data
+@AllArgsConstructor
+public class Rejeicao {
+    /**
+     * Posição do registro no lote enviado (a partir de 0)
+     */
+    private int indice;
+    private String campo;
+    private String valor;
+    private String motivo;
+}
@@ -0,0 +1,18 @@
+package br.edu.infnet.gabriel.gym_management.unicidade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote: quantos registros foram recebidos e gravados,
+ * e quais foram recusados por chave duplicada.
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoImportacao {
+    private int recebidos;
+    private int importados;
+    private List<Rejeicao> rejeitados;
+}
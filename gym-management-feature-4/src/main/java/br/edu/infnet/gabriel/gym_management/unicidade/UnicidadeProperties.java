@@ -0,0 +1,27 @@
+package br.edu.infnet.gabriel.gym_management.unicidade;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propriedades dos filtros de unicidade (gym.unicidade.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.unicidade")
+public class UnicidadeProperties {
+
+    /**
+     * Desabilitado, toda chave é tratada como suspeita e conferida no banco
+     */
+    private boolean enabled = true;
+
+    /**
+     * Capacidade mínima de cada filtro; na construção usa-se o dobro do total atual, se for maior
+     */
+    private long capacidadeInicial = 100_000;
+
+    /**
+     * Taxa de falso positivo com o filtro cheio
+     */
+    private double taxaFalsoPositivo = 0.01;
+}
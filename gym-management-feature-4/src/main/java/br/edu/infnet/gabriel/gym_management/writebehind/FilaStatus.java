@@ -0,0 +1,322 @@
+package br.edu.infnet.gabriel.gym_management.writebehind;
+
+import br.edu.infnet.gabriel.gym_management.cache.AlunoCache;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind das mudanças de status de alunos (gym.write-behind.enabled).
+ * Cada mudança vai para o journal em disco e para o mapa de pendentes, e é confirmada depois do fsync do journal;
+ * os fsyncs são agrupados (group commit): um cobre todas as mudanças escritas até ele, e quem chegou enquanto ele
+ * rodava é coberto pelo próximo. Mudanças seguidas do mesmo aluno se sobrepõem (vale a última) e a exclusão do
+ * aluno descarta o pendente. A cada intervalo, os pendentes
+ * são gravados numa transação com no máximo dois UPDATE ... WHERE id IN (...) por lote (ativos e inativos),
+ * e o journal é esvaziado ou compactado. Na subida, o journal é relido e descarregado antes de o
+ * servidor web aceitar requisições. Leituras pelo serviço veem o status pendente.
+ */
+@Component
+public class FilaStatus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaStatus.class);
+
+    private final WriteBehindProperties properties;
+    private final AlunoRepository alunoRepository;
+    private final AlunoCache alunoCache;
+    private final TransactionTemplate escrita;
+    private final Map<Long, Pendente> pendentes = new ConcurrentHashMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final Object descarga = new Object();
+    private final Object sincronizacao = new Object();
+    private final AtomicLong escritas = new AtomicLong();
+    private volatile long sincronizadas;
+    private final Counter confirmadas;
+    private final Counter coalescidas;
+    private final Counter gravadas;
+    private final Timer tempoDescarga;
+    private volatile JournalStatus journal;
+    private ScheduledExecutorService executor;
+
+    public FilaStatus(WriteBehindProperties properties, AlunoRepository alunoRepository, AlunoCache alunoCache,
+                      PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.alunoRepository = alunoRepository;
+        this.alunoCache = alunoCache;
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.confirmadas = registry.counter("gym.writebehind.confirmadas");
+        this.coalescidas = registry.counter("gym.writebehind.coalescidas");
+        this.gravadas = registry.counter("gym.writebehind.gravadas");
+        this.tempoDescarga = registry.timer("gym.writebehind.descarga");
+        registry.gaugeMapSize("gym.writebehind.pendentes", List.of(), pendentes);
+    }
+
+    public boolean isAtivo() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Registra a mudança no journal e nos pendentes e devolve o aluno já com o novo status
+     */
+    public Aluno enfileirar(Aluno aluno, boolean status) {
+        registrar(aluno.getId(), status);
+        aluno.setStatus(status);
+        return aluno;
+    }
+
+    /**
+     * Se o aluno tem status pendente, troca-o pelo informado. Usado quando o aluno inteiro é regravado,
+     * para que uma descarga posterior não volte ao status anterior
+     */
+    public void substituirSePendente(Long id, Boolean status) {
+        if (id != null && status != null && pendentes.containsKey(id)) {
+            registrar(id, status);
+        }
+    }
+
+    /**
+     * Se o aluno tem status pendente, descarta-o. Usado na exclusão do aluno, para que o journal relido
+     * na subida não traga de volta um status de quem já não existe
+     */
+    public void descartarSePendente(Long id) {
+        if (id == null || !pendentes.containsKey(id)) {
+            return;
+        }
+        long escrita;
+        synchronized (this) {
+            escrita = escrever(journal -> journal.descartar(id));
+            pendentes.remove(id);
+        }
+        sincronizarAte(escrita);
+    }
+
+    private void registrar(Long id, boolean status) {
+        long escrita;
+        synchronized (this) {
+            escrita = escrever(journal -> journal.status(id, status));
+            if (pendentes.put(id, new Pendente(status, sequencia.incrementAndGet())) != null) {
+                coalescidas.increment();
+            }
+        }
+        sincronizarAte(escrita);
+        confirmadas.increment();
+    }
+
+    /**
+     * Escreve no journal sem fsync e devolve o número da escrita, para sincronizarAte
+     */
+    private long escrever(Escrita escrita) {
+        if (journal == null) {
+            throw new IllegalStateException("Write-behind de status não está em execução");
+        }
+        try {
+            escrita.executar(journal);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o journal de status", e);
+        }
+        return escritas.incrementAndGet();
+    }
+
+    /**
+     * Group commit: quem chega primeiro faz um fsync que cobre todas as escritas feitas até ali;
+     * quem esperava por uma escrita já coberta volta sem outro fsync
+     */
+    private void sincronizarAte(long escrita) {
+        if (sincronizadas >= escrita) {
+            return;
+        }
+        synchronized (sincronizacao) {
+            if (sincronizadas >= escrita) {
+                return;
+            }
+            long ate = escritas.get();
+            try {
+                JournalStatus atual = journal;
+                if (atual == null) {
+                    throw new IllegalStateException("Write-behind de status não está em execução");
+                }
+                atual.sincronizar();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao sincronizar o journal de status", e);
+            }
+            sincronizadas = ate;
+        }
+    }
+
+    /**
+     * Sobrepõe o status pendente, se houver, ao aluno lido do banco ou do cache
+     */
+    public Aluno aplicar(Aluno aluno) {
+        Pendente pendente = aluno != null ? pendentes.get(aluno.getId()) : null;
+        if (pendente != null) {
+            aluno.setStatus(pendente.status());
+        }
+        return aluno;
+    }
+
+    public List<Aluno> aplicar(List<Aluno> alunos) {
+        if (!pendentes.isEmpty()) {
+            alunos.forEach(this::aplicar);
+        }
+        return alunos;
+    }
+
+    /**
+     * Sobrepõe os pendentes a uma lista filtrada por status e tira dela quem mudou de status.
+     * Quem passou a ter o status buscado só aparece depois da próxima descarga
+     */
+    public List<Aluno> aplicar(List<Aluno> alunos, Boolean status) {
+        if (pendentes.isEmpty()) {
+            return alunos;
+        }
+        return alunos.stream()
+                .map(this::aplicar)
+                .filter(aluno -> status.equals(aluno.getStatus()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Grava os pendentes no banco e devolve quantos alunos foram atualizados
+     */
+    public int descarregar() {
+        synchronized (descarga) {
+            if (pendentes.isEmpty()) {
+                return 0;
+            }
+            Map<Long, Pendente> lote = new HashMap<>(pendentes);
+            tempoDescarga.record(() -> escrita.executeWithoutResult(transacao -> {
+                atualizar(lote, true);
+                atualizar(lote, false);
+            }));
+            alunoCache.invalidarIds(lote.keySet());
+            lote.forEach(pendentes::remove);
+            gravadas.increment(lote.size());
+            compactarJournal();
+            return lote.size();
+        }
+    }
+
+    private void atualizar(Map<Long, Pendente> lote, boolean status) {
+        List<Long> ids = lote.entrySet().stream()
+                .filter(entrada -> entrada.getValue().status() == status)
+                .map(Map.Entry::getKey)
+                .toList();
+        for (int inicio = 0; inicio < ids.size(); inicio += properties.getLoteMaximo()) {
+            alunoRepository.updateStatus(ids.subList(inicio, Math.min(ids.size(), inicio + properties.getLoteMaximo())), status);
+        }
+    }
+
+    /**
+     * Troca ou esvazia o arquivo do journal: segura também a sincronização, para nenhum fsync pegar o canal fechado
+     */
+    private synchronized void compactarJournal() {
+        synchronized (sincronizacao) {
+            try {
+                if (pendentes.isEmpty()) {
+                    journal.truncar();
+                } else if (journal.tamanho() > properties.getCompactarAcima().toBytes()) {
+                    Map<Long, Boolean> restantes = new LinkedHashMap<>();
+                    pendentes.forEach((id, pendente) -> restantes.put(id, pendente.status()));
+                    journal.compactar(restantes);
+                }
+            } catch (IOException e) {
+                log.warn("Falha ao compactar o journal de status: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void descarregarComSeguranca() {
+        try {
+            descarregar();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao descarregar {} status pendentes; nova tentativa no próximo intervalo: {}",
+                    pendentes.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Antes do servidor web: sobe antes dele e para depois dele
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        if (!isAtivo()) {
+            return;
+        }
+        synchronized (this) {
+            journal = new JournalStatus(properties.getJournal(), properties.isSincronizar());
+            try {
+                journal.abrir().forEach((id, status) -> pendentes.put(id, new Pendente(status, sequencia.incrementAndGet())));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao abrir o journal de status " + properties.getJournal(), e);
+            }
+        }
+        if (!pendentes.isEmpty()) {
+            log.info("{} status pendentes recuperados do journal", pendentes.size());
+            descarregar();
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "write-behind-status");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = properties.getIntervalo().toMillis();
+        executor.scheduleWithFixedDelay(this::descarregarComSeguranca, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+        descarregarComSeguranca();
+        synchronized (this) {
+            synchronized (sincronizacao) {
+                journal.close();
+                journal = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @FunctionalInterface
+    private interface Escrita {
+        void executar(JournalStatus journal) throws IOException;
+    }
+
+    /**
+     * Status pendente; a sequência distingue duas mudanças iguais na hora de retirar o que já foi gravado
+     */
+    private record Pendente(boolean status, long sequencia) {
+    }
+}
@@ -0,0 +1,162 @@
+package br.edu.infnet.gabriel.gym_management.writebehind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Journal em disco das mudanças de status confirmadas e ainda não gravadas no banco.
+ * Cada registro tem 13 bytes: id (8), operação (1: 0 inativar, 1 ativar, 2 descartar) e CRC32 dos 9 anteriores (4).
+ * Um registro incompleto ou com CRC inválido no fim do arquivo (queda no meio de uma escrita) é ignorado na leitura.
+ * As escritas não fazem fsync: quem usa chama sincronizar depois de uma ou mais delas (group commit).
+ * Não é thread-safe: quem usa serializa as chamadas, exceto sincronizar, que pode rodar junto com as escritas
+ * mas não junto com truncar, compactar ou close.
+ */
+public class JournalStatus implements AutoCloseable {
+
+    private static final int TAMANHO_REGISTRO = 13;
+    private static final byte INATIVAR = 0;
+    private static final byte ATIVAR = 1;
+    private static final byte DESCARTAR = 2;
+
+    private final Path arquivo;
+    private final boolean sincronizar;
+    private final ByteBuffer registro = ByteBuffer.allocate(TAMANHO_REGISTRO);
+    private final CRC32 crc = new CRC32();
+    private volatile FileChannel canal;
+
+    public JournalStatus(Path arquivo, boolean sincronizar) {
+        this.arquivo = arquivo;
+        this.sincronizar = sincronizar;
+    }
+
+    /**
+     * Abre o journal e devolve o último status pendente de cada aluno, na ordem em que foram gravados
+     */
+    public Map<Long, Boolean> abrir() throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Map<Long, Boolean> pendentes = new LinkedHashMap<>();
+        ByteBuffer conteudo = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+        long validos = 0;
+        while (conteudo.remaining() >= TAMANHO_REGISTRO) {
+            long id = conteudo.getLong();
+            byte operacao = conteudo.get();
+            int esperado = conteudo.getInt();
+            if (operacao < INATIVAR || operacao > DESCARTAR || esperado != checksum(id, operacao)) {
+                break;
+            }
+            pendentes.remove(id);
+            if (operacao != DESCARTAR) {
+                pendentes.put(id, operacao == ATIVAR);
+            }
+            validos += TAMANHO_REGISTRO;
+        }
+        canal.truncate(validos);
+        canal.position(validos);
+        return pendentes;
+    }
+
+    public void status(long id, boolean ativo) throws IOException {
+        escrever(id, ativo ? ATIVAR : INATIVAR);
+    }
+
+    public void descartar(long id) throws IOException {
+        escrever(id, DESCARTAR);
+    }
+
+    private void escrever(long id, byte operacao) throws IOException {
+        registro.clear();
+        registro.putLong(id).put(operacao).putInt(checksum(id, operacao)).flip();
+        while (registro.hasRemaining()) {
+            canal.write(registro);
+        }
+    }
+
+    /**
+     * fsync de tudo o que já foi escrito (se o journal foi aberto para sincronizar)
+     */
+    public void sincronizar() throws IOException {
+        if (sincronizar) {
+            canal.force(false);
+        }
+    }
+
+    public long tamanho() throws IOException {
+        return canal.size();
+    }
+
+    /**
+     * Esvazia o journal (nada mais pendente)
+     */
+    public void truncar() throws IOException {
+        canal.truncate(0);
+        canal.position(0);
+        if (sincronizar) {
+            canal.force(false);
+        }
+    }
+
+    /**
+     * Reescreve o journal só com os pendentes informados, trocando o arquivo de forma atômica
+     */
+    public void compactar(Map<Long, Boolean> pendentes) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer lote = ByteBuffer.allocate(TAMANHO_REGISTRO * Math.max(1, Math.min(pendentes.size(), 4096)));
+            for (Map.Entry<Long, Boolean> pendente : pendentes.entrySet()) {
+                if (lote.remaining() < TAMANHO_REGISTRO) {
+                    descarregar(novo, lote);
+                }
+                byte operacao = pendente.getValue() ? ATIVAR : INATIVAR;
+                lote.putLong(pendente.getKey()).put(operacao).putInt(checksum(pendente.getKey(), operacao));
+            }
+            descarregar(novo, lote);
+            novo.force(true);
+        }
+        canal.close();
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        canal.position(canal.size());
+    }
+
+    private static void descarregar(FileChannel destino, ByteBuffer lote) throws IOException {
+        lote.flip();
+        while (lote.hasRemaining()) {
+            destino.write(lote);
+        }
+        lote.clear();
+    }
+
+    private int checksum(long id, byte operacao) {
+        crc.reset();
+        for (int deslocamento = 56; deslocamento >= 0; deslocamento -= 8) {
+            crc.update((int) (id >>> deslocamento));
+        }
+        crc.update(operacao);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (canal != null) {
+                canal.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.edu.infnet.gabriel.gym_management.writebehind;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Propriedades do write-behind de status de alunos (gym.write-behind.*).
+ */
+@Data
+@ConfigurationProperties(prefix = "gym.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Desabilitado, ativar/inativar gravam no banco dentro da própria requisição
+     */
+    private boolean enabled = false;
+
+    /**
+     * Intervalo entre descargas para o banco
+     */
+    private Duration intervalo = Duration.ofMillis(250);
+
+    /**
+     * Máximo de IDs por UPDATE ... WHERE id IN (...)
+     */
+    private int loteMaximo = 1000;
+
+    /**
+     * Arquivo do journal com as mudanças confirmadas e ainda não gravadas
+     */
+    private Path journal = Path.of("data", "write-behind", "alunos-status.journal");
+
+    /**
+     * fsync a cada mudança; desligado, uma queda do sistema operacional pode perder as últimas confirmações
+     */
+    private boolean sincronizar = true;
+
+    /**
+     * Tamanho do journal a partir do qual ele é reescrito só com os pendentes
+     */
+    private DataSize compactarAcima = DataSize.ofMegabytes(8);
+}
@@ -0,0 +1,71 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    private static final long ALVO = Duration.ofMillis(250).toNanos();
+
+    @Test
+    void respostaLentaReduzOLimite() {
+        AimdLimiter limiter = new AimdLimiter(20, 4, 200, 0.5);
+
+        limiter.tentarAdquirir(1.0);
+        limiter.liberar(0, Duration.ofSeconds(1).toNanos(), ALVO, false);
+
+        assertThat(limiter.getLimite()).isEqualTo(10);
+        assertThat(limiter.getEmAndamento()).isZero();
+    }
+
+    @Test
+    void rajadaDeRespostasLentasReduzUmaVezPorJanela() {
+        AimdLimiter limiter = new AimdLimiter(40, 4, 200, 0.5);
+        long segundo = Duration.ofSeconds(1).toNanos();
+        for (int i = 0; i < 30; i++) {
+            assertThat(limiter.tentarAdquirir(1.0)).isTrue();
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limiter.liberar(0, segundo + i, ALVO, false);
+        }
+        limiter.liberar(0, 2 * segundo, ALVO, true);
+
+        assertThat(limiter.getLimite()).as("admitidas antes da redução não reduzem de novo").isEqualTo(20);
+
+        limiter.liberar(segundo + 1, 3 * segundo, ALVO, false);
+
+        assertThat(limiter.getLimite()).as("admitida depois da redução abre uma nova janela").isEqualTo(10);
+        limiter.liberar(segundo + 2, 3 * segundo, ALVO, true);
+        assertThat(limiter.getLimite()).isEqualTo(10);
+        assertThat(limiter.getEmAndamento()).isEqualTo(7);
+    }
+
+    @Test
+    void relatoriosLentosNaoDerrubamOLimite() {
+        AimdLimiter limiter = new AimdLimiter(20, 4, 200, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tentarAdquirir(ClasseEndpoint.RELATORIO.getFracaoPadrao())).isTrue();
+            limiter.liberarSemAmostra();
+        }
+
+        assertThat(limiter.getLimite()).isEqualTo(20);
+        assertThat(limiter.getEmAndamento()).isZero();
+    }
+
+    @Test
+    void respostaDentroDoAlvoComLimiteEmUsoAumentaOLimite() {
+        AimdLimiter limiter = new AimdLimiter(4, 4, 200, 0.5);
+        for (int i = 0; i < 4; i++) {
+            limiter.tentarAdquirir(1.0);
+        }
+
+        limiter.liberar(0, Duration.ofMillis(10).toNanos(), ALVO, false);
+
+        assertThat(limiter.getLimite()).isEqualTo(5);
+    }
+}
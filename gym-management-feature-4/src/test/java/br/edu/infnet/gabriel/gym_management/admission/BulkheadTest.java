@@ -0,0 +1,31 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    @Test
+    void relatoriosEListagensNaoEsperamPorPermissao() throws InterruptedException {
+        BulkheadProperties properties = new BulkheadProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BulkheadProperties.Compartimento relatorio = properties.getCompartimentos().get(ClasseEndpoint.RELATORIO);
+        Bulkhead bulkhead = new Bulkhead("relatorio", relatorio.getPermissoes(), relatorio.getEspera(), registry);
+        for (int i = 0; i < relatorio.getPermissoes(); i++) {
+            assertThat(bulkhead.entrar()).isTrue();
+        }
+
+        long inicio = System.nanoTime();
+        assertThat(bulkhead.entrar()).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(50));
+        assertThat(properties.getCompartimentos().get(ClasseEndpoint.LISTAGEM).getEspera()).isZero();
+        assertThat(registry.counter("gym.bulkhead.rejected", "bulkhead", "relatorio").count()).isEqualTo(1);
+
+        bulkhead.sair();
+        assertThat(bulkhead.entrar()).isTrue();
+    }
+}
@@ -0,0 +1,85 @@
+package br.edu.infnet.gabriel.gym_management.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pool de 5 conexões com 4 reservadas ao check-in: fora dele, só uma conexão por vez.
+ */
+class ParticaoConexoesTest {
+
+    private HikariDataSource pool;
+    private ParticaoConexoes particao;
+
+    @BeforeEach
+    void criarPool() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:particao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(5);
+        pool.setConnectionTimeout(250);
+        particao = new ParticaoConexoes(4, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void fecharPool() {
+        ParticaoConexoes.sairCheckin();
+        pool.close();
+    }
+
+    @Test
+    void foraDoCheckinEsperaAVagaEFalhaNoTimeout() throws Throwable {
+        try (Connection ocupada = obter()) {
+            assertThrows(SQLTransientConnectionException.class, this::obter);
+            assertThat(particao.emUso()).isEqualTo(1);
+        }
+        assertThat(particao.emUso()).isZero();
+        try (Connection liberada = obter()) {
+            assertThat(liberada.isValid(1)).isTrue();
+        }
+    }
+
+    @Test
+    void checkinUsaAsConexoesReservadas() throws Throwable {
+        try (Connection ocupada = obter()) {
+            ParticaoConexoes.entrarCheckin();
+            try (Connection primeira = obter(); Connection segunda = obter()) {
+                assertThat(primeira.isValid(1)).isTrue();
+                assertThat(segunda.isValid(1)).isTrue();
+                assertThat(particao.emUso()).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void limiteAcompanhaOTamanhoDoPool() throws Throwable {
+        try (Connection primeira = obter()) {
+            pool.setMaximumPoolSize(6);
+            try (Connection segunda = obter()) {
+                assertThat(particao.emUso()).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    void fecharDuasVezesDevolveUmaVaga() throws Throwable {
+        Connection conexao = obter();
+        conexao.close();
+        conexao.close();
+
+        assertThat(particao.emUso()).isZero();
+    }
+
+    private Connection obter() throws Throwable {
+        return particao.obter(pool, pool::getConnection);
+    }
+}
@@ -0,0 +1,189 @@
+package br.edu.infnet.gabriel.gym_management.batch;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import br.edu.infnet.gabriel.gym_management.sharding.ShardDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Jobs sobre alunos com sharding: cada registro passa uma única vez, mesmo depois de mudar de shard,
+ * e a retomada continua do último chunk confirmado.
+ */
+@SpringBootTest(properties = {
+        "gym.sharding.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:lotes-shard0;DB_CLOSE_DELAY=-1",
+        "gym.sharding.urls=jdbc:h2:mem:lotes-shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:lotes-shard2;DB_CLOSE_DELAY=-1"
+})
+class JobAlunosTest {
+
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger(500);
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private AcademiaRepository academiaRepository;
+
+    @Autowired
+    private ShardDirectory directory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Integer, Academia> academiasPorShard = new HashMap<>();
+    private MotorLotes motor;
+
+    @BeforeEach
+    void criarAcademias() {
+        while (academiasPorShard.size() < directory.totalShards()) {
+            int numero = SEQUENCIA.incrementAndGet();
+            Academia academia = new Academia();
+            academia.setNome("Academia " + numero);
+            academia.setCnpj(String.format("11.222.333/%04d-00", numero));
+            academia.setEndereco("Rua dos Lotes, " + numero);
+            academia.setStatusAtivo(true);
+            Academia salva = academiaRepository.save(academia);
+            academiasPorShard.putIfAbsent(directory.shardDaAcademia(salva.getId()), salva);
+        }
+    }
+
+    @AfterEach
+    void parar() {
+        if (motor != null) {
+            motor.stop();
+        }
+    }
+
+    @Test
+    void registroQueMudouDeShardEhProcessadoUmaVez() throws InterruptedException {
+        List<Aluno> daShard1 = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            daShard1.add(alunoRepository.save(aluno(academiasPorShard.get(1))));
+            alunoRepository.save(aluno(academiasPorShard.get(2)));
+        }
+        Aluno movido = daShard1.get(1);
+        movido.setAcademia(academiasPorShard.get(2));
+        alunoRepository.save(movido);
+        assertThat(directory.shardDoRegistro("alunos", movido.getId())).isEqualTo(2);
+
+        JobRegistro job = new JobRegistro(alunoRepository, "registro-movido", Integer.MAX_VALUE);
+        motor = motor(job, 2, 2, 3);
+        SituacaoLote situacao = executar(job.getNome(), false);
+
+        assertThat(situacao.getEstado()).isEqualTo(EstadoLote.CONCLUIDO);
+        assertThat(job.processados).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(alunoRepository.findAll().stream().map(Aluno::getId).toList());
+        assertThat(situacao.getProcessados()).isEqualTo(job.processados.size());
+    }
+
+    @Test
+    void jobRetomadoContinuaDoUltimoChunkConfirmado() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            for (int shard = 0; shard < directory.totalShards(); shard++) {
+                alunoRepository.save(aluno(academiasPorShard.get(shard)));
+            }
+        }
+        List<Long> ids = alunoRepository.findAll().stream().map(Aluno::getId).sorted().toList();
+
+        JobRegistro job = new JobRegistro(alunoRepository, "retomada", 3);
+        motor = motor(job, 1, 1, 1);
+        assertThat(executar(job.getNome(), false).getEstado()).isEqualTo(EstadoLote.FALHOU);
+        assertThat(job.processados).containsAll(ids.subList(0, 4)).doesNotContain(ids.get(4), ids.get(5));
+
+        job.falharNoChunk = Integer.MAX_VALUE;
+        SituacaoLote retomada = executar(job.getNome(), true);
+
+        assertThat(retomada.getEstado()).isEqualTo(EstadoLote.CONCLUIDO);
+        assertThat(job.processados).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(retomada.getProcessados()).isEqualTo(ids.size());
+    }
+
+    private MotorLotes motor(JobLote<?> job, int paralelismo, int faixasPorThread, int tentativas) {
+        BatchProperties properties = new BatchProperties();
+        properties.setTamanhoChunk(2);
+        properties.setParalelismo(paralelismo);
+        properties.setFaixasPorThread(faixasPorThread);
+        properties.setTentativas(tentativas);
+        MotorLotes novo = new MotorLotes(List.of(job), new CheckpointsLote(dataSource), transactionManager, properties,
+                new SimpleMeterRegistry());
+        novo.start();
+        return novo;
+    }
+
+    private SituacaoLote executar(String nome, boolean retomar) throws InterruptedException {
+        motor.iniciar(nome, retomar);
+        long limite = System.currentTimeMillis() + 30_000;
+        SituacaoLote situacao = motor.situacao(nome);
+        while (situacao.getEstado() == EstadoLote.EM_EXECUCAO && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            situacao = motor.situacao(nome);
+        }
+        return situacao;
+    }
+
+    private static Aluno aluno(Academia academia) {
+        int numero = SEQUENCIA.incrementAndGet();
+        Aluno aluno = new Aluno();
+        aluno.setNome("Aluno " + numero);
+        aluno.setEmail("aluno" + numero + "@lote.com");
+        aluno.setCpf(String.format("%03d.%03d.%03d-00", numero / 1_000_000, numero / 1000 % 1000, numero % 1000));
+        aluno.setMatricula("MAT" + numero);
+        aluno.setPlano("Gold");
+        aluno.setDataInicio("2025-01-01");
+        aluno.setStatus(true);
+        aluno.setAcademia(academia);
+        return aluno;
+    }
+
+    /**
+     * Guarda os IDs de cada chunk confirmado; o chunk de número falharNoChunk (a partir de 1) falha antes disso
+     */
+    private static final class JobRegistro extends JobAlunos {
+
+        private final String nome;
+        private final List<Long> processados = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger chunks = new AtomicInteger();
+        private volatile int falharNoChunk;
+
+        private JobRegistro(AlunoRepository alunoRepository, String nome, int falharNoChunk) {
+            super(alunoRepository);
+            this.nome = nome;
+            this.falharNoChunk = falharNoChunk;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+
+        @Override
+        public int processar(List<Aluno> chunk) {
+            if (chunks.incrementAndGet() == falharNoChunk) {
+                throw new IllegalStateException("queda simulada no chunk " + falharNoChunk);
+            }
+            chunk.forEach(aluno -> processados.add(aluno.getId()));
+            return 0;
+        }
+    }
+}
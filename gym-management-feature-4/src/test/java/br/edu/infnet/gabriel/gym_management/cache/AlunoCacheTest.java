@@ -0,0 +1,40 @@
+package br.edu.infnet.gabriel.gym_management.cache;
+
+import br.edu.infnet.gabriel.gym_management.datasource.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlunoCacheTest {
+
+    @Test
+    void comReplicaLigadaAExpiracaoNaoPassaDoAtrasoTolerado() throws InterruptedException {
+        ReplicaProperties replica = new ReplicaProperties();
+        replica.setEnabled(true);
+        replica.setMaxStaleness(Duration.ofMillis(100));
+        CacheProperties properties = new CacheProperties();
+        AlunoCache cache = new AlunoCache(properties, Optional.of(replica), new SimpleMeterRegistry());
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.porId(1L, id -> aluno(id, cargas.incrementAndGet()));
+        cache.porId(1L, id -> aluno(id, cargas.incrementAndGet()));
+        assertThat(cargas).hasValue(1);
+        Thread.sleep(200);
+        cache.porId(1L, id -> aluno(id, cargas.incrementAndGet()));
+
+        assertThat(cargas).hasValue(2);
+        assertThat(properties.expiracao(Optional.of(replica))).isEqualTo(Duration.ofMillis(100));
+        replica.setEnabled(false);
+        assertThat(properties.expiracao(Optional.of(replica))).isEqualTo(properties.getExpireAfterWrite());
+        assertThat(properties.expiracao(Optional.empty())).isEqualTo(properties.getExpireAfterWrite());
+    }
+
+    private static AlunoSnapshot aluno(Long id, int carga) {
+        return new AlunoSnapshot(id, "Carga " + carga, null, null, null, null, null, null, null, null);
+    }
+}
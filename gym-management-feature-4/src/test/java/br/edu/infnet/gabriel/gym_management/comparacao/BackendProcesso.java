@@ -0,0 +1,153 @@
+package br.edu.infnet.gabriel.gym_management.comparacao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Uma das aplicações comparadas, rodando num processo próprio a partir do jar gerado pelo mvn package.
+ * Mede o tempo até o readiness responder, o heap usado depois de um GC completo (jcmd + /actuator/metrics)
+ * e o RSS do processo (Linux). A saída da aplicação vai para target/comparacao-{nome}.log.
+ */
+class BackendProcesso implements AutoCloseable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String nome;
+    private final HttpClient cliente;
+    private final int porta;
+    private final Process processo;
+    private final long nanoInicio;
+
+    BackendProcesso(String nome, Path jar, String xmx, List<String> argumentos, HttpClient cliente) throws IOException {
+        this(nome, jar, xmx, List.of(), argumentos, cliente);
+    }
+
+    /**
+     * @param opcoesJvm opções da JVM antes do -jar (ex.: -XX:SharedArchiveFile, -Dspring.aot.enabled=true)
+     */
+    BackendProcesso(String nome, Path jar, String xmx, List<String> opcoesJvm, List<String> argumentos,
+                    HttpClient cliente) throws IOException {
+        this.nome = nome;
+        this.cliente = cliente;
+        this.porta = portaLivre();
+        List<String> comando = new ArrayList<>(List.of(java(), "-Xms" + xmx, "-Xmx" + xmx));
+        comando.addAll(opcoesJvm);
+        comando.addAll(List.of("-jar", jar.toString(),
+                "--server.port=" + porta,
+                "--management.endpoints.web.exposure.include=health,metrics",
+                "--management.endpoint.health.probes.enabled=true",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--gym.carga.enabled=false"));
+        comando.addAll(argumentos);
+        Path log = Path.of("target", "comparacao-" + nome + ".log");
+        Files.createDirectories(log.getParent());
+        this.nanoInicio = System.nanoTime();
+        this.processo = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    String base() {
+        return "http://localhost:" + porta;
+    }
+
+    /**
+     * Espera o readiness ficar UP e devolve o tempo desde o início do processo, em milissegundos
+     */
+    long aguardarPronto(Duration limite) throws Exception {
+        return aguardarResposta("/actuator/health/readiness", limite);
+    }
+
+    /**
+     * Espera o caminho responder 200 e devolve o tempo desde o início do processo, em milissegundos
+     */
+    long aguardarResposta(String caminho, Duration limite) throws Exception {
+        long prazo = nanoInicio + limite.toNanos();
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base() + caminho)).GET().build();
+        while (System.nanoTime() < prazo) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException(nome + " terminou na subida; veja target/comparacao-" + nome + ".log");
+            }
+            try {
+                if (cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - nanoInicio) / 1_000_000;
+                }
+            } catch (IOException e) {
+                // porta ainda fechada
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException(nome + ": " + caminho + " não respondeu em " + limite);
+    }
+
+    /**
+     * Heap usado, em MB, logo depois de um GC completo pedido pelo jcmd
+     */
+    double heapAposGcMb() throws Exception {
+        Process gc = new ProcessBuilder(jcmd(), String.valueOf(processo.pid()), "GC.run").redirectErrorStream(true).start();
+        gc.getInputStream().transferTo(OutputStream.nullOutputStream());
+        gc.waitFor(30, TimeUnit.SECONDS);
+        HttpRequest metrica = HttpRequest.newBuilder(
+                URI.create(base() + "/actuator/metrics/jvm.memory.used?tag=area:heap")).GET().build();
+        JsonNode corpo = JSON.readTree(cliente.send(metrica, HttpResponse.BodyHandlers.ofString()).body());
+        return corpo.get("measurements").get(0).get("value").asDouble() / (1024 * 1024);
+    }
+
+    /**
+     * Memória residente do processo, em MB, ou -1 fora do Linux
+     */
+    double rssMb() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(processo.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        try (Stream<String> linhas = Files.lines(status)) {
+            return linhas.filter(linha -> linha.startsWith("VmRSS:"))
+                    .map(linha -> linha.replaceAll("\\D", ""))
+                    .mapToDouble(kb -> Long.parseLong(kb) / 1024.0)
+                    .findFirst()
+                    .orElse(-1);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        processo.destroy();
+        if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+            processo.destroyForcibly();
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static String jcmd() {
+        return Path.of(System.getProperty("java.home"), "bin", "jcmd").toString();
+    }
+}
@@ -0,0 +1,385 @@
+package br.edu.infnet.gabriel.gym_management.comparacao;
+
+import br.edu.infnet.gabriel.gym_management.dataset.GeradorDataset;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a feature 2 (mapas em memória) com a feature 4 (JPA + H2) pelo contrato REST comum às duas:
+ * o mesmo dataset do GeradorDataset é gravado por POST e a mesma mistura de operações roda com os
+ * mesmos clientes e as mesmas sementes. Para cada aplicação: tempo até o readiness, taxa de carga,
+ * requisições por segundo, p50/p99/p99.9 (geral e por operação), heap depois de GC e RSS.
+ * O relatório lado a lado vai para o console e para target/comparacao-backends.md.
+ *
+ * Opcional e demorado; exige os jars das duas aplicações (mvn package -DskipTests em cada módulo):
+ * mvn test -Dtest=ComparacaoBackendsTest -Dcomparacao=true
+ * Ajustes: -Dcomparacao.alunos, .instrutores, .academias, .clientes, .aquecimento (s), .duracao (s), .xmx,
+ * .feature2 e .feature4 (caminho dos jars), .args.feature2 e .args.feature4 (argumentos extras, separados por espaço)
+ */
+@EnabledIfSystemProperty(named = "comparacao", matches = "true")
+class ComparacaoBackendsTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long SEMENTE = 42;
+    private static final String[] PLANOS = {"Plano Mensal", "Plano Trimestral", "Plano Semestral", "Plano Anual"};
+
+    private final int alunos = Integer.getInteger("comparacao.alunos", 20_000);
+    private final int instrutores = Integer.getInteger("comparacao.instrutores", 2_000);
+    private final int academias = Integer.getInteger("comparacao.academias", 200);
+    private final int clientes = Integer.getInteger("comparacao.clientes", 32);
+    private final Duration aquecimento = Duration.ofSeconds(Integer.getInteger("comparacao.aquecimento", 10));
+    private final Duration duracao = Duration.ofSeconds(Integer.getInteger("comparacao.duracao", 30));
+    private final String xmx = System.getProperty("comparacao.xmx", "512m");
+    private final GeradorDataset gerador = new GeradorDataset(SEMENTE, LocalDate.of(2025, 12, 31), academias, 1.0);
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Operações da carga e seus pesos
+     */
+    enum Operacao {
+        ALUNO_POR_ID(40), ALUNO_POR_CPF(10), ALUNO_POR_MATRICULA(10), INSTRUTOR_POR_ID(10), ACADEMIA_POR_ID(5),
+        ALTERAR_STATUS(10), ATUALIZAR_ALUNO(10), CRIAR_ALUNO(5);
+
+        private final int peso;
+
+        Operacao(int peso) {
+            this.peso = peso;
+        }
+
+        static Operacao sortear(SplittableRandom aleatorio) {
+            int alvo = aleatorio.nextInt(100);
+            for (Operacao operacao : values()) {
+                alvo -= operacao.peso;
+                if (alvo < 0) {
+                    return operacao;
+                }
+            }
+            return ALUNO_POR_ID;
+        }
+    }
+
+    @Test
+    void compararMemoriaComJpa() throws Exception {
+        List<Resultado> resultados = List.of(
+                executar("feature-2", jar("comparacao.feature2", Path.of("..", "gym-management-feature-2", "target")),
+                        argumentos("comparacao.args.feature2")),
+                executar("feature-4", jar("comparacao.feature4", Path.of("target")),
+                        argumentos("comparacao.args.feature4")));
+
+        String relatorio = relatorio(resultados);
+        System.out.println(relatorio);
+        Files.writeString(Path.of("target", "comparacao-backends.md"), relatorio, StandardCharsets.UTF_8);
+
+        resultados.forEach(resultado -> assertThat(resultado.requisicoes()).isPositive());
+    }
+
+    private Resultado executar(String nome, Path jar, List<String> argumentos) throws Exception {
+        try (BackendProcesso backend = new BackendProcesso(nome, jar, xmx, argumentos, cliente)) {
+            long subidaMs = backend.aguardarPronto(Duration.ofMinutes(2));
+
+            long inicioCarga = System.nanoTime();
+            Dataset dataset = carregar(backend.base());
+            double cargaSegundos = (System.nanoTime() - inicioCarga) / 1e9;
+            double heapMb = backend.heapAposGcMb();
+
+            carga(backend.base(), dataset, aquecimento, null);
+            Medicao medicao = new Medicao();
+            carga(backend.base(), dataset, duracao, medicao);
+
+            return new Resultado(nome, subidaMs, (academias + alunos + instrutores) / cargaSegundos, heapMb,
+                    backend.rssMb(), medicao.total(), medicao.erros(), medicao.total() / (double) duracao.toSeconds(),
+                    medicao.percentis(null), medicao.porOperacao());
+        }
+    }
+
+    /**
+     * Grava academias, alunos e instrutores por POST (o único caminho comum às duas aplicações)
+     * e guarda os IDs devolvidos para a carga
+     */
+    private Dataset carregar(String base) throws Exception {
+        long[] idsAcademias = gravar(base + "/academias", academias, gerador::academia);
+        long[] idsAlunos = gravar(base + "/alunos", alunos, gerador::aluno);
+        long[] idsInstrutores = gravar(base + "/instrutores", instrutores, gerador::instrutor);
+        return new Dataset(idsAcademias, idsAlunos, idsInstrutores, new AtomicInteger(alunos));
+    }
+
+    private long[] gravar(String url, int total, IntFunction<?> fabrica) throws Exception {
+        long[] ids = new long[total];
+        Semaphore emVoo = new Semaphore(clientes);
+        List<Future<?>> gravacoes = new ArrayList<>(total);
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                int indice = i;
+                emVoo.acquire();
+                gravacoes.add(threads.submit(() -> {
+                    try {
+                        HttpResponse<String> resposta = cliente.send(post(url, fabrica.apply(indice)), HttpResponse.BodyHandlers.ofString());
+                        if (resposta.statusCode() / 100 != 2) {
+                            throw new IllegalStateException("POST " + url + " devolveu " + resposta.statusCode() + ": " + resposta.body());
+                        }
+                        ids[indice] = JSON.readTree(resposta.body()).get("id").asLong();
+                        return null;
+                    } finally {
+                        emVoo.release();
+                    }
+                }));
+            }
+        }
+        for (Future<?> gravacao : gravacoes) {
+            gravacao.get();
+        }
+        return ids;
+    }
+
+    /**
+     * Carga em laço fechado: cada cliente tem sua semente e envia a próxima requisição assim que recebe a resposta
+     */
+    private void carga(String base, Dataset dataset, Duration tempo, Medicao medicao) {
+        long fim = System.nanoTime() + tempo.toNanos();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                SplittableRandom aleatorio = new SplittableRandom(SEMENTE * 1_000 + c + (medicao == null ? 0 : 500));
+                threads.submit(() -> {
+                    while (System.nanoTime() < fim) {
+                        Operacao operacao = Operacao.sortear(aleatorio);
+                        long inicio = System.nanoTime();
+                        int status;
+                        try {
+                            status = cliente.send(requisicao(base, operacao, dataset, aleatorio), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (medicao != null) {
+                            medicao.registrar(operacao, System.nanoTime() - inicio, status / 100 == 2);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private HttpRequest requisicao(String base, Operacao operacao, Dataset dataset, SplittableRandom aleatorio) throws Exception {
+        int aluno = aleatorio.nextInt(alunos);
+        return switch (operacao) {
+            case ALUNO_POR_ID -> get(base + "/alunos/" + dataset.alunos()[aluno]);
+            case ALUNO_POR_CPF -> get(base + "/alunos/cpf/" + gerador.aluno(aluno).getCpf());
+            case ALUNO_POR_MATRICULA -> get(base + "/alunos/matricula/" + gerador.aluno(aluno).getMatricula());
+            case INSTRUTOR_POR_ID -> get(base + "/instrutores/" + dataset.instrutores()[aleatorio.nextInt(instrutores)]);
+            case ACADEMIA_POR_ID -> get(base + "/academias/" + dataset.academias()[aleatorio.nextInt(academias)]);
+            case ALTERAR_STATUS -> HttpRequest.newBuilder(URI.create(base + "/alunos/" + dataset.alunos()[aluno]
+                    + (aleatorio.nextBoolean() ? "/ativar" : "/inativar"))).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            case ATUALIZAR_ALUNO -> {
+                Aluno atualizado = gerador.aluno(aluno);
+                atualizado.setPlano(PLANOS[aleatorio.nextInt(PLANOS.length)]);
+                yield HttpRequest.newBuilder(URI.create(base + "/alunos/" + dataset.alunos()[aluno]))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(atualizado)))
+                        .build();
+            }
+            case CRIAR_ALUNO -> post(base + "/alunos", gerador.aluno(dataset.proximoAluno().getAndIncrement()));
+        };
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, Object corpo) throws Exception {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(corpo)))
+                .build();
+    }
+
+    private String relatorio(List<Resultado> resultados) {
+        StringBuilder saida = new StringBuilder();
+        saida.append(String.format(Locale.ROOT, "# Comparação memória x JPA%n%n%d academias, %d alunos, %d instrutores; "
+                        + "%d clientes, aquecimento %ds, medição %ds, -Xmx%s%n%n",
+                academias, alunos, instrutores, clientes, aquecimento.toSeconds(), duracao.toSeconds(), xmx));
+        saida.append("| Métrica |");
+        resultados.forEach(resultado -> saida.append(' ').append(resultado.nome()).append(" |"));
+        saida.append("\n|---|");
+        resultados.forEach(resultado -> saida.append("---:|"));
+        saida.append('\n');
+        linha(saida, "Subida até o readiness (ms)", resultados, r -> String.valueOf(r.subidaMs()));
+        linha(saida, "Carga do dataset (registros/s)", resultados, r -> formatar(r.cargaPorSegundo(), 0));
+        linha(saida, "Heap após GC com o dataset (MB)", resultados, r -> formatar(r.heapMb(), 1));
+        linha(saida, "RSS ao final (MB)", resultados, r -> r.rssMb() < 0 ? "n/d" : formatar(r.rssMb(), 1));
+        linha(saida, "Requisições/s", resultados, r -> formatar(r.requisicoesPorSegundo(), 0));
+        linha(saida, "Erros", resultados, r -> String.valueOf(r.erros()));
+        linha(saida, "p50 (ms)", resultados, r -> formatar(r.geral()[0], 2));
+        linha(saida, "p99 (ms)", resultados, r -> formatar(r.geral()[1], 2));
+        linha(saida, "p99.9 (ms)", resultados, r -> formatar(r.geral()[2], 2));
+        for (Operacao operacao : Operacao.values()) {
+            linha(saida, "p99 " + operacao.name().toLowerCase(Locale.ROOT) + " (ms)", resultados,
+                    r -> formatar(r.porOperacao().get(operacao)[1], 2));
+        }
+        return saida.toString();
+    }
+
+    private static void linha(StringBuilder saida, String metrica, List<Resultado> resultados,
+                              Function<Resultado, String> valor) {
+        saida.append("| ").append(metrica).append(" |");
+        resultados.forEach(resultado -> saida.append(' ').append(valor.apply(resultado)).append(" |"));
+        saida.append('\n');
+    }
+
+    private static String formatar(double valor, int casas) {
+        return String.format(Locale.ROOT, "%." + casas + "f", valor);
+    }
+
+    private static Path jar(String propriedade, Path padrao) throws Exception {
+        String informado = System.getProperty(propriedade);
+        if (informado != null) {
+            return Path.of(informado);
+        }
+        try (Stream<Path> arquivos = Files.list(padrao)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Nenhum jar em " + padrao.toAbsolutePath()
+                            + "; rode mvn package -DskipTests no módulo ou informe -D" + propriedade));
+        }
+    }
+
+    private static List<String> argumentos(String propriedade) {
+        String valor = System.getProperty(propriedade, "").trim();
+        return valor.isEmpty() ? List.of() : Arrays.asList(valor.split("\\s+"));
+    }
+
+    private record Dataset(long[] academias, long[] alunos, long[] instrutores, AtomicInteger proximoAluno) {
+    }
+
+    private record Resultado(String nome, long subidaMs, double cargaPorSegundo, double heapMb, double rssMb,
+                             long requisicoes, long erros, double requisicoesPorSegundo, double[] geral,
+                             Map<Operacao, double[]> porOperacao) {
+    }
+
+    /**
+     * Latências da medição em histograma log-linear (de 1 µs a ~1 h, com erro relativo de até 1/64)
+     */
+    private static final class Medicao {
+
+        private static final int SUBFAIXAS = 64;
+        private static final int FAIXAS = 27;
+
+        private final Map<Operacao, AtomicLongArray> histogramas = new EnumMap<>(Operacao.class);
+        private final LongAdder erros = new LongAdder();
+
+        Medicao() {
+            for (Operacao operacao : Operacao.values()) {
+                histogramas.put(operacao, new AtomicLongArray(FAIXAS * SUBFAIXAS));
+            }
+        }
+
+        void registrar(Operacao operacao, long nanos, boolean sucesso) {
+            if (!sucesso) {
+                erros.increment();
+            }
+            histogramas.get(operacao).incrementAndGet(posicao(nanos / 1_000));
+        }
+
+        long total() {
+            long total = 0;
+            for (AtomicLongArray histograma : histogramas.values()) {
+                for (int i = 0; i < histograma.length(); i++) {
+                    total += histograma.get(i);
+                }
+            }
+            return total;
+        }
+
+        long erros() {
+            return erros.sum();
+        }
+
+        Map<Operacao, double[]> porOperacao() {
+            Map<Operacao, double[]> resultado = new EnumMap<>(Operacao.class);
+            for (Operacao operacao : Operacao.values()) {
+                resultado.put(operacao, percentis(operacao));
+            }
+            return resultado;
+        }
+
+        /**
+         * p50, p99 e p99.9 em milissegundos, de uma operação ou de todas (operacao nula)
+         */
+        double[] percentis(Operacao operacao) {
+            long[] contagens = new long[FAIXAS * SUBFAIXAS];
+            List<AtomicLongArray> fontes = operacao != null ? List.of(histogramas.get(operacao)) : new ArrayList<>(histogramas.values());
+            long total = 0;
+            for (AtomicLongArray fonte : fontes) {
+                for (int i = 0; i < contagens.length; i++) {
+                    contagens[i] += fonte.get(i);
+                    total += fonte.get(i);
+                }
+            }
+            double[] quantis = {0.50, 0.99, 0.999};
+            double[] valores = new double[quantis.length];
+            for (int q = 0; q < quantis.length; q++) {
+                long alvo = (long) Math.ceil(total * quantis[q]);
+                long acumulado = 0;
+                for (int i = 0; i < contagens.length && total > 0; i++) {
+                    acumulado += contagens[i];
+                    if (acumulado >= alvo) {
+                        valores[q] = limiteSuperior(i) / 1_000.0;
+                        break;
+                    }
+                }
+            }
+            return valores;
+        }
+
+        private static int posicao(long micros) {
+            if (micros < SUBFAIXAS) {
+                return (int) Math.max(0, micros);
+            }
+            int faixa = Math.min(FAIXAS - 1, 63 - Long.numberOfLeadingZeros(micros) - 5);
+            int sub = (int) Math.min(SUBFAIXAS - 1, (micros >>> (faixa - 1)) - SUBFAIXAS);
+            return faixa * SUBFAIXAS + sub;
+        }
+
+        private static long limiteSuperior(int posicao) {
+            int faixa = posicao / SUBFAIXAS;
+            int sub = posicao % SUBFAIXAS;
+            if (faixa == 0) {
+                return sub + 1;
+            }
+            return ((long) (SUBFAIXAS + sub + 1)) << (faixa - 1);
+        }
+    }
+}
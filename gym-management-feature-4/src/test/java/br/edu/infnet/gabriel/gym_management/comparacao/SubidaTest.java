@@ -0,0 +1,94 @@
+package br.edu.infnet.gabriel.gym_management.comparacao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tempo de subida da feature 4: jar comum x perfil inicio-rapido (AOT + AppCDS + repositórios deferred).
+ * Cada modo sobe subida.repeticoes vezes em um processo novo; mede o tempo até a primeira requisição
+ * da API responder 200 (GET /academias) e até o readiness ficar UP (depois do aquecimento).
+ * O relatório vai para o console e para target/subida.md.
+ *
+ * Opcional; exige mvn -Pinicio-rapido package -DskipTests (sem o diretório target/inicio-rapido só o jar comum é medido):
+ * mvn test -Dtest=SubidaTest -Dsubida=true [-Dsubida.repeticoes=5 -Dsubida.xmx=512m]
+ */
+@EnabledIfSystemProperty(named = "subida", matches = "true")
+class SubidaTest {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path INICIO_RAPIDO = TARGET.resolve("inicio-rapido");
+
+    private final int repeticoes = Integer.getInteger("subida.repeticoes", 5);
+    private final String xmx = System.getProperty("subida.xmx", "512m");
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    @Test
+    void medirSubida() throws Exception {
+        List<Medida> medidas = new ArrayList<>();
+        medidas.add(medir("jar", jar(TARGET), List.of(), List.of()));
+        Path arquivoCds = INICIO_RAPIDO.resolve("aplicacao.jsa");
+        if (Files.exists(arquivoCds)) {
+            medidas.add(medir("inicio-rapido", jar(INICIO_RAPIDO),
+                    List.of("-XX:SharedArchiveFile=" + arquivoCds, "-Dspring.aot.enabled=true"),
+                    List.of("--spring.profiles.active=inicio-rapido")));
+        } else {
+            System.out.println("target/inicio-rapido não encontrado; rode mvn -Pinicio-rapido package -DskipTests");
+        }
+
+        StringBuilder relatorio = new StringBuilder(String.format("# Subida da feature 4%n%n%d subidas por modo, -Xmx%s (ms)%n%n",
+                repeticoes, xmx));
+        relatorio.append("| Modo | 1ª requisição (mediana) | 1ª requisição (mín.) | Readiness (mediana) | Readiness (mín.) |\n");
+        relatorio.append("|---|---:|---:|---:|---:|\n");
+        for (Medida medida : medidas) {
+            relatorio.append(String.format("| %s | %d | %d | %d | %d |%n", medida.modo(),
+                    mediana(medida.primeiraRequisicao()), medida.primeiraRequisicao()[0],
+                    mediana(medida.pronto()), medida.pronto()[0]));
+        }
+        System.out.println(relatorio);
+        Files.writeString(TARGET.resolve("subida.md"), relatorio, StandardCharsets.UTF_8);
+
+        assertThat(medidas).allSatisfy(medida -> assertThat(medida.pronto()[0]).isPositive());
+    }
+
+    private Medida medir(String modo, Path jar, List<String> opcoesJvm, List<String> argumentos) throws Exception {
+        long[] primeiraRequisicao = new long[repeticoes];
+        long[] pronto = new long[repeticoes];
+        for (int i = 0; i < repeticoes; i++) {
+            try (BackendProcesso processo = new BackendProcesso(modo + "-" + (i + 1), jar, xmx, opcoesJvm, argumentos, cliente)) {
+                primeiraRequisicao[i] = processo.aguardarResposta("/academias", Duration.ofMinutes(2));
+                pronto[i] = processo.aguardarPronto(Duration.ofMinutes(2));
+            }
+        }
+        Arrays.sort(primeiraRequisicao);
+        Arrays.sort(pronto);
+        return new Medida(modo, primeiraRequisicao, pronto);
+    }
+
+    private static long mediana(long[] ordenados) {
+        return ordenados[ordenados.length / 2];
+    }
+
+    private static Path jar(Path diretorio) throws Exception {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Nenhum jar em " + diretorio.toAbsolutePath()
+                            + "; rode mvn package -DskipTests"));
+        }
+    }
+
+    private record Medida(String modo, long[] primeiraRequisicao, long[] pronto) {
+    }
+}
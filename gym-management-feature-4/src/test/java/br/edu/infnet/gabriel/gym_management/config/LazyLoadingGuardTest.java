@@ -0,0 +1,88 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que, sem open-in-view, as respostas de academias saem com as coleções carregadas pelo serviço
+ * e que o LazyLoadingGuardModule acusa coleções lazy que chegam ao Jackson sem inicializar.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class LazyLoadingGuardTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AcademiaRepository academiaRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    private Academia academia;
+
+    @BeforeEach
+    void criarAcademiaComAluno() {
+        academia = academiaRepository.findByCnpj("77.888.999/0001-11").orElseGet(() -> {
+            Academia nova = new Academia();
+            nova.setNome("Academia Guarda Lazy");
+            nova.setCnpj("77.888.999/0001-11");
+            nova.setEndereco("Rua dos Testes, 100");
+            nova.setTelefone("(11) 91234-5678");
+            nova.setStatusAtivo(true);
+            Academia salva = academiaRepository.save(nova);
+
+            Aluno aluno = new Aluno();
+            aluno.setNome("Aluno Guarda Lazy");
+            aluno.setEmail("guarda.lazy@teste.com");
+            aluno.setCpf("999.888.777-66");
+            aluno.setMatricula("MAT900001");
+            aluno.setPlano("Gold");
+            aluno.setDataInicio("2025-01-10");
+            aluno.setStatus(true);
+            aluno.setAcademia(salva);
+            alunoRepository.save(aluno);
+            return salva;
+        });
+    }
+
+    @Test
+    void listagemSaiComColecoesCarregadasPeloServico() throws Exception {
+        mockMvc.perform(get("/academias"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].alunos[*].matricula", hasItem("MAT900001")));
+        mockMvc.perform(get("/academias/status/true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].alunos[*].matricula", hasItem("MAT900001")));
+    }
+
+    @Test
+    void serializarColecaoNaoCarregadaFalha() {
+        Academia foraDaTransacao = academiaRepository.findById(academia.getId()).orElseThrow();
+
+        JsonMappingException erro = assertThrows(JsonMappingException.class,
+                () -> objectMapper.writeValueAsString(foraDaTransacao));
+        assertTrue(erro.getMessage().contains("Academia.instrutores"), erro.getMessage());
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Negociação de formato nos controllers: CBOR pelo Accept, 415 para Content-Type sem conversor
+ * e 406 para Accept sem formato disponível.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class NegociacaoFormatoTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void respondeNoFormatoDoAccept() throws Exception {
+        mockMvc.perform(get("/academias").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR));
+    }
+
+    @Test
+    void contentTypeSemConversorRecebe415() throws Exception {
+        mockMvc.perform(post("/academias").contentType(MediaType.TEXT_PLAIN).content("x").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void acceptSemFormatoRecebe406() throws Exception {
+        mockMvc.perform(get("/academias").accept(MediaType.IMAGE_PNG))
+                .andExpect(status().isNotAcceptable());
+    }
+}
@@ -0,0 +1,133 @@
+package br.edu.infnet.gabriel.gym_management.config;
+
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Endereco;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conferência dos formatos binários (CBOR e Smile) em relação ao JSON: os dados voltam iguais e o payload
+ * é menor. A medição de throughput só roda com -Dcarga=true, como o PoolCargaTest.
+ */
+class WireFormatTest {
+
+    private static final int REGISTROS = 2_000;
+    private static final int ITERACOES = 50;
+
+    private final Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+
+    WireFormatTest() {
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+        mappers.put("smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+    }
+
+    @Test
+    void formatosBinariosPreservamOsDadosComPayloadMenor() throws Exception {
+        List<Aluno> alunos = gerarAlunos();
+        List<Instrutor> instrutores = gerarInstrutores();
+        int jsonAlunos = mappers.get("json").writeValueAsBytes(alunos).length;
+        int jsonInstrutores = mappers.get("json").writeValueAsBytes(instrutores).length;
+
+        for (String formato : List.of("cbor", "smile")) {
+            ObjectMapper mapper = mappers.get(formato);
+            byte[] payloadAlunos = mapper.writeValueAsBytes(alunos);
+            byte[] payloadInstrutores = mapper.writeValueAsBytes(instrutores);
+
+            assertThat(mapper.readValue(payloadAlunos, new TypeReference<List<Aluno>>() {})).as(formato).isEqualTo(alunos);
+            assertThat(mapper.readValue(payloadInstrutores, new TypeReference<List<Instrutor>>() {})).as(formato)
+                    .isEqualTo(instrutores);
+            assertThat(payloadAlunos.length).as(formato).isLessThan(jsonAlunos);
+            assertThat(payloadInstrutores.length).as(formato).isLessThan(jsonInstrutores);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "carga", matches = "true")
+    void throughputDeSerializacao() throws Exception {
+        List<Aluno> alunos = gerarAlunos();
+        List<Instrutor> instrutores = gerarInstrutores();
+        for (Map.Entry<String, ObjectMapper> entrada : mappers.entrySet()) {
+            medir(entrada.getKey(), "alunos", entrada.getValue(), alunos, new TypeReference<List<Aluno>>() {});
+            medir(entrada.getKey(), "instrutores", entrada.getValue(), instrutores, new TypeReference<List<Instrutor>>() {});
+        }
+    }
+
+    private <T> void medir(String formato, String nome, ObjectMapper mapper, List<T> dados, TypeReference<List<T>> tipo) throws Exception {
+        byte[] payload = mapper.writeValueAsBytes(dados);
+        // Aquecimento
+        for (int i = 0; i < ITERACOES; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(dados), tipo);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            mapper.writeValueAsBytes(dados);
+        }
+        long escrita = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            mapper.readValue(payload, tipo);
+        }
+        long leitura = System.nanoTime() - inicio;
+
+        double registrosPorIteracao = (double) dados.size() * ITERACOES;
+        System.out.printf("%-6s %-12s payload=%8d bytes  escrita=%10.0f reg/s  leitura=%10.0f reg/s%n",
+                formato, nome, payload.length,
+                registrosPorIteracao / (escrita / 1e9),
+                registrosPorIteracao / (leitura / 1e9));
+    }
+
+    private List<Aluno> gerarAlunos() {
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i < REGISTROS; i++) {
+            Aluno aluno = new Aluno();
+            aluno.setId((long) i);
+            aluno.setNome("Aluno Benchmark " + i);
+            aluno.setEmail("aluno" + i + "@email.com");
+            aluno.setCpf(String.format("%03d.%03d.%03d-%02d", i % 1000, (i / 7) % 1000, (i / 13) % 1000, i % 100));
+            aluno.setTelefone("(21) 98765-4321");
+            aluno.setMatricula(String.format("MAT%06d", i));
+            aluno.setPlano(i % 3 == 0 ? "Mensal" : "Anual");
+            aluno.setDataInicio("2025-01-15");
+            aluno.setStatus(i % 5 != 0);
+            alunos.add(aluno);
+        }
+        return alunos;
+    }
+
+    private List<Instrutor> gerarInstrutores() {
+        List<Instrutor> instrutores = new ArrayList<>();
+        for (int i = 0; i < REGISTROS; i++) {
+            Endereco endereco = new Endereco((long) i, "01310-100", "Avenida Paulista", "Apto " + i, "100",
+                    "Bela Vista", "São Paulo", "SP", "São Paulo");
+            Instrutor instrutor = new Instrutor();
+            instrutor.setId((long) i);
+            instrutor.setNome("Instrutor Benchmark " + i);
+            instrutor.setEmail("instrutor" + i + "@email.com");
+            instrutor.setCpf(String.format("%03d.%03d.%03d-%02d", i % 1000, (i / 3) % 1000, (i / 11) % 1000, i % 100));
+            instrutor.setTelefone("(11) 91234-5678");
+            instrutor.setRegistro(String.format("REG%06d", i));
+            instrutor.setEspecialidade(i % 2 == 0 ? "Musculação" : "Pilates");
+            instrutor.setSalario(3500.0 + i);
+            instrutor.setStatus(true);
+            instrutor.setEndereco(endereco);
+            instrutores.add(instrutor);
+        }
+        return instrutores;
+    }
+}
@@ -0,0 +1,97 @@
+package br.edu.infnet.gabriel.gym_management.dataset;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Documentos conferidos por um cálculo independente dos dígitos verificadores (módulo 11 da Receita)
+ * e entidades geradas conferidas pelas mesmas validações que a API aplica.
+ */
+class GeradorDatasetTest {
+
+    private static final ValidatorFactory FABRICA = Validation.buildDefaultValidatorFactory();
+    private static final Validator VALIDADOR = FABRICA.getValidator();
+
+    private final GeradorDataset gerador = new GeradorDataset(42, LocalDate.of(2025, 6, 1), 300, 0.1);
+
+    @AfterAll
+    static void fechar() {
+        FABRICA.close();
+    }
+
+    @Test
+    void cpfsTemDigitosVerificadoresValidosENaoSeRepetem() {
+        Set<String> emitidos = new HashSet<>();
+        LongStream.concat(LongStream.range(0, 20_000), LongStream.of(499_999_999L, 500_000_000L, 999_999_999L))
+                .forEach(indice -> {
+                    String cpf = Documentos.cpf(indice, 7);
+                    assertThat(cpf).matches("\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}");
+                    assertThat(cpfValido(cpf)).as(cpf).isTrue();
+                    assertThat(emitidos.add(cpf)).as("repetido: " + cpf).isTrue();
+                });
+    }
+
+    @Test
+    void cnpjsTemDigitosVerificadoresValidosENaoSeRepetem() {
+        Set<String> emitidos = new HashSet<>();
+        LongStream.concat(LongStream.range(0, 20_000), LongStream.of(GeradorDataset.MAXIMO_ACADEMIAS - 1L))
+                .forEach(indice -> {
+                    String cnpj = Documentos.cnpj(indice, -3);
+                    assertThat(cnpj).matches("\\d{2}\\.\\d{3}\\.\\d{3}/0001-\\d{2}");
+                    assertThat(cnpjValido(cnpj)).as(cnpj).isTrue();
+                    assertThat(emitidos.add(cnpj)).as("repetido: " + cnpj).isTrue();
+                });
+    }
+
+    @Test
+    void entidadesGeradasPassamNasValidacoes() {
+        for (int i = 0; i < 2_000; i++) {
+            Academia academia = gerador.academia(i);
+            Aluno aluno = gerador.aluno(i);
+            Instrutor instrutor = gerador.instrutor(i);
+
+            assertThat(VALIDADOR.validate(academia)).as(academia.getCnpj()).isEmpty();
+            assertThat(VALIDADOR.validate(aluno)).as(aluno.getCpf()).isEmpty();
+            assertThat(VALIDADOR.validate(instrutor)).as(instrutor.getCpf()).isEmpty();
+            assertThat(cnpjValido(academia.getCnpj())).isTrue();
+            assertThat(cpfValido(aluno.getCpf())).isTrue();
+            assertThat(cpfValido(instrutor.getCpf())).isTrue();
+        }
+    }
+
+    private static boolean cpfValido(String cpf) {
+        String digitos = cpf.replaceAll("\\D", "");
+        return confere(digitos, 9, new int[]{10, 9, 8, 7, 6, 5, 4, 3, 2})
+                && confere(digitos, 10, new int[]{11, 10, 9, 8, 7, 6, 5, 4, 3, 2});
+    }
+
+    private static boolean cnpjValido(String cnpj) {
+        String digitos = cnpj.replaceAll("\\D", "");
+        return confere(digitos, 12, new int[]{5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2})
+                && confere(digitos, 13, new int[]{6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2});
+    }
+
+    /**
+     * O dígito na posição é (soma * 10) mod 11, com 10 virando 0
+     */
+    private static boolean confere(String digitos, int posicao, int[] pesos) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += Character.digit(digitos.charAt(i), 10) * pesos[i];
+        }
+        return Character.digit(digitos.charAt(posicao), 10) == soma * 10 % 11 % 10;
+    }
+}
@@ -0,0 +1,154 @@
+package br.edu.infnet.gabriel.gym_management.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaSynchronizerTest {
+
+    private JdbcDataSource primaria;
+    private JdbcDataSource replica;
+    private ReplicaSynchronizer synchronizer;
+
+    @BeforeEach
+    void criarBancos() {
+        primaria = banco("jdbc:h2:mem:primaria-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        replica = banco("jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        synchronizer = new ReplicaSynchronizer(primaria, replica, Duration.ofSeconds(1),
+                Duration.ofSeconds(5), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void semEsquemaNaPrimariaNaoSincroniza() {
+        synchronizer.sincronizar();
+
+        assertThat(synchronizer.atraso()).isNull();
+        assertThat(synchronizer.dentroDaTolerancia()).isFalse();
+    }
+
+    @Test
+    void copiaTudoNaPrimeiraRodadaESoAsMudancasDepois() throws SQLException {
+        criarEsquema();
+        executar(primaria, "INSERT INTO academias (id, nome) VALUES (1, 'Centro'), (2, 'Norte')",
+                "INSERT INTO alunos (id, nome, academia_id) VALUES (1, 'Ana', 1), (2, 'Bruno', 2)");
+
+        synchronizer.sincronizar();
+
+        assertThat(linhas(replica, "SELECT id, nome, academia_id FROM alunos ORDER BY id"))
+                .containsExactly("1|Ana|1", "2|Bruno|2");
+        assertThat(linhas(replica, "SELECT count(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'REPLICA_MUDANCAS'"))
+                .containsExactly("0");
+        assertThat(linhas(replica, "SELECT count(*) FROM INFORMATION_SCHEMA.TRIGGERS")).containsExactly("0");
+        assertThat(linhas(primaria, "SELECT count(*) FROM " + RegistroMudancas.TABELA)).containsExactly("0");
+
+        executar(primaria, "INSERT INTO academias (id, nome) VALUES (3, 'Sul')",
+                "UPDATE alunos SET nome = 'Ana Maria', academia_id = 3 WHERE id = 1",
+                "DELETE FROM alunos WHERE id = 2",
+                "DELETE FROM academias WHERE id = 2",
+                "INSERT INTO alunos (id, nome, academia_id) VALUES (3, 'Carla', 3)");
+
+        synchronizer.sincronizar();
+
+        assertThat(linhas(replica, "SELECT id, nome, academia_id FROM alunos ORDER BY id"))
+                .containsExactly("1|Ana Maria|3", "3|Carla|3");
+        assertThat(linhas(replica, "SELECT id, nome FROM academias ORDER BY id"))
+                .containsExactly("1|Centro", "3|Sul");
+        assertThat(linhas(primaria, "SELECT count(*) FROM " + RegistroMudancas.TABELA)).containsExactly("0");
+    }
+
+    @Test
+    void gravacaoDesfeitaNaoChegaNaReplica() throws SQLException {
+        criarEsquema();
+        synchronizer.sincronizar();
+
+        try (Connection conexao = primaria.getConnection()) {
+            conexao.setAutoCommit(false);
+            try (Statement st = conexao.createStatement()) {
+                st.executeUpdate("INSERT INTO academias (id, nome) VALUES (9, 'Desfeita')");
+            }
+            conexao.rollback();
+        }
+        synchronizer.sincronizar();
+
+        assertThat(linhas(replica, "SELECT count(*) FROM academias")).containsExactly("0");
+        assertThat(linhas(primaria, "SELECT count(*) FROM " + RegistroMudancas.TABELA)).containsExactly("0");
+    }
+
+    @Test
+    void atrasoContaDoSnapshotLido() throws SQLException {
+        criarEsquema();
+        Instant antes = Instant.now();
+
+        synchronizer.sincronizar();
+
+        assertThat(synchronizer.dentroDaTolerancia()).isTrue();
+        assertThat(synchronizer.atraso()).isLessThanOrEqualTo(Duration.between(antes, Instant.now()));
+    }
+
+    @Test
+    void falhaNaSincronizacaoTiraAReplicaDoRoteamento() throws SQLException {
+        criarEsquema();
+        synchronizer.sincronizar();
+        assertThat(synchronizer.dentroDaTolerancia()).isTrue();
+
+        JdbcDataSource inexistente = banco("jdbc:h2:mem:inexistente-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        ReplicaSynchronizer comFalha = new ReplicaSynchronizer(primaria, inexistente, Duration.ofSeconds(1),
+                Duration.ofSeconds(5), Duration.ofSeconds(10));
+        comFalha.sincronizar();
+
+        assertThat(comFalha.dentroDaTolerancia()).isFalse();
+    }
+
+    private static JdbcDataSource banco(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private void criarEsquema() throws SQLException {
+        executar(primaria,
+                "CREATE TABLE academias (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, nome VARCHAR(100))",
+                "CREATE TABLE enderecos (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, cidade VARCHAR(100))",
+                "CREATE TABLE instrutores (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, nome VARCHAR(100), "
+                        + "academia_id BIGINT REFERENCES academias (id))",
+                "CREATE TABLE alunos (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, nome VARCHAR(100), "
+                        + "academia_id BIGINT REFERENCES academias (id))");
+    }
+
+    private static void executar(JdbcDataSource banco, String... comandos) throws SQLException {
+        try (Connection conexao = banco.getConnection(); Statement st = conexao.createStatement()) {
+            for (String comando : comandos) {
+                st.execute(comando);
+            }
+        }
+    }
+
+    private static List<String> linhas(JdbcDataSource banco, String consulta) throws SQLException {
+        List<String> linhas = new ArrayList<>();
+        try (Connection conexao = banco.getConnection(); Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery(consulta)) {
+            int colunas = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                StringBuilder linha = new StringBuilder();
+                for (int i = 1; i <= colunas; i++) {
+                    linha.append(i > 1 ? "|" : "").append(rs.getString(i));
+                }
+                linhas.add(linha.toString());
+            }
+        }
+        return linhas;
+    }
+}
@@ -0,0 +1,147 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+import br.edu.infnet.gabriel.gym_management.GymManagementApplication;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.service.AlunoService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga do pool de conexões: a mesma carga roda contra um pool fixo pequeno e contra o
+ * mesmo pool com o modo adaptativo ligado. Admissão e bulkheads ficam desligados para que a fila
+ * se forme no pool. Os números são impressos no console; as asserções cobrem só o dimensionamento.
+ * Opcional e demorado: mvn test -Dtest=PoolCargaTest -Dcarga=true
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class PoolCargaTest {
+
+    private static final int POOL_INICIAL = 4;
+    private static final int CLIENTES = 64;
+    private static final int ALUNOS = 5_000;
+    private static final Duration DURACAO = Duration.ofSeconds(20);
+    private static final String[] PLANOS = {"Mensal", "Trimestral", "Semestral", "Anual"};
+
+    @Test
+    void poolAdaptativoCresceQuandoHaEsperaPorConexao() throws Exception {
+        Resultado fixo = executar("fixo", false);
+        Resultado adaptativo = executar("adaptativo", true);
+
+        assertThat(fixo.poolFinal()).isEqualTo(POOL_INICIAL);
+        assertThat(adaptativo.poolFinal()).isGreaterThan(POOL_INICIAL);
+        assertThat(adaptativo.erros()).isZero();
+    }
+
+    private Resultado executar(String nome, boolean adaptativo) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GymManagementApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + nome + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_INICIAL,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--gym.admission.enabled=false",
+                        "--gym.bulkhead.enabled=false",
+                        "--gym.aquecimento.enabled=false",
+                        "--gym.pool.intervalo=1s",
+                        "--gym.pool.adaptativo.enabled=" + adaptativo,
+                        "--gym.pool.adaptativo.minimo=" + POOL_INICIAL,
+                        "--gym.pool.adaptativo.maximo=32")) {
+            popular(contexto.getBean(AlunoService.class));
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+
+            Resultado resultado = carga("http://localhost:" + porta,
+                    () -> contexto.getBean(HikariDataSource.class).getMaximumPoolSize());
+            System.out.printf("%-10s %8.0f req/s  latência média=%6.1f ms  erros=%d  pool final=%d  ajustes=%d%n",
+                    nome, resultado.requisicoesPorSegundo(), resultado.latenciaMediaMs(), resultado.erros(),
+                    resultado.poolFinal(), contexto.getBean(PoolMonitor.class).ajustes().size());
+            return resultado;
+        }
+    }
+
+    private void popular(AlunoService alunoService) {
+        List<Aluno> alunos = new ArrayList<>(ALUNOS);
+        for (int i = 0; i < ALUNOS; i++) {
+            Aluno aluno = new Aluno();
+            aluno.setNome("Aluno Carga " + i);
+            aluno.setEmail("carga" + i + "@gym.com");
+            aluno.setCpf(String.format("%03d.%03d.%03d-%02d", i / 1_000_000, (i / 1000) % 1000, i % 1000, i % 100));
+            aluno.setMatricula(String.format("MAT%06d", i));
+            aluno.setPlano(PLANOS[i % PLANOS.length]);
+            aluno.setDataInicio(String.format("2024-%02d-%02d", i % 12 + 1, i % 28 + 1));
+            aluno.setStatus(i % 5 != 0);
+            alunos.add(aluno);
+        }
+        alunoService.importar(alunos);
+    }
+
+    private Resultado carga(String base, IntSupplier tamanhoPool) throws Exception {
+        HttpClient cliente = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        LongAdder concluidas = new LongAdder();
+        LongAdder erros = new LongAdder();
+        LongAdder latenciaTotal = new LongAdder();
+        long fim = System.nanoTime() + DURACAO.toNanos();
+
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                clientes.submit(() -> {
+                    ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                    while (System.nanoTime() < fim) {
+                        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + caminho(aleatorio))).GET().build();
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() == 200) {
+                                concluidas.increment();
+                                latenciaTotal.add(System.nanoTime() - inicio);
+                            } else {
+                                erros.increment();
+                            }
+                        } catch (Exception e) {
+                            erros.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long total = concluidas.sum();
+        return new Resultado(total / (double) DURACAO.toSeconds(),
+                total > 0 ? latenciaTotal.sum() / 1e6 / total : 0,
+                erros.sum(), tamanhoPool.getAsInt());
+    }
+
+    /**
+     * Consultas que não passam pelo cache de serviço, para que toda requisição ocupe uma conexão
+     */
+    private String caminho(ThreadLocalRandom aleatorio) {
+        if (aleatorio.nextBoolean()) {
+            int mes = aleatorio.nextInt(1, 13);
+            return String.format("/alunos/periodo?dataInicio=2024-%02d-01&dataFim=2024-%02d-10", mes, mes);
+        }
+        return "/alunos/plano/" + PLANOS[aleatorio.nextInt(PLANOS.length)] + "/status/true";
+    }
+
+    private record Resultado(double requisicoesPorSegundo, double latenciaMediaMs, long erros, int poolFinal) {
+    }
+}
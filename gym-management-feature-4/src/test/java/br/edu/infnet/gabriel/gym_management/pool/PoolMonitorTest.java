@@ -0,0 +1,124 @@
+package br.edu.infnet.gabriel.gym_management.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Modo adaptativo sobre um pool Hikari real: o maximumPoolSize cresce sob espera e encolhe ocioso,
+ * sempre entre o mínimo (4) e o máximo (8) configurados.
+ */
+class PoolMonitorTest {
+
+    private static final int MINIMO = 4;
+    private static final int MAXIMO = 8;
+
+    private HikariDataSource pool;
+    private PoolMonitor monitor;
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final ExecutorService clientes = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void criarPool() throws SQLException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:monitor-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName("monitor");
+        pool.setMaximumPoolSize(MINIMO);
+        pool.setMinimumIdle(MINIMO);
+        pool.setConnectionTimeout(10_000);
+        pool.setMetricRegistry(registry);
+        pool.getConnection().close();
+        DimensionadorPool dimensionador = new DimensionadorPool(MINIMO, MAXIMO, 5, 250, 2);
+        monitor = new PoolMonitor(List.of(pool), registry, dimensionador, Duration.ofSeconds(5), 50, true);
+    }
+
+    @AfterEach
+    void fecharPool() {
+        liberar.countDown();
+        clientes.shutdownNow();
+        pool.close();
+    }
+
+    @Test
+    void cresceComThreadsAguardandoAteOMaximo() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            clientes.submit(this::segurarConexao);
+        }
+        aguardar(() -> ativas() == MINIMO && aguardando() == 12 - MINIMO);
+
+        monitor.amostrar();
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(MINIMO + 2);
+
+        monitor.amostrar();
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(MAXIMO);
+
+        monitor.amostrar();
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(MAXIMO);
+        assertThat(aguardando()).isPositive();
+        assertThat(monitor.ajustes()).extracting(AjustePool::getPara).containsExactly(MAXIMO, MINIMO + 2);
+    }
+
+    @Test
+    void encolheOciosoAteOMinimo() {
+        monitor.redimensionar("monitor", MAXIMO);
+
+        for (int i = 0; i < MAXIMO; i++) {
+            monitor.amostrar();
+            assertThat(pool.getMaximumPoolSize()).isBetween(MINIMO, MAXIMO);
+        }
+
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(MINIMO);
+        assertThat(monitor.ajustes()).first().extracting(AjustePool::getPara).isEqualTo(MINIMO);
+    }
+
+    @Test
+    void tamanhoForaDosLimitesVoltaParaDentro() {
+        monitor.redimensionar("monitor", MAXIMO + 10);
+
+        monitor.amostrar();
+
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(MAXIMO);
+    }
+
+    private Void segurarConexao() throws Exception {
+        try (Connection conexao = pool.getConnection()) {
+            liberar.await();
+        }
+        return null;
+    }
+
+    private int ativas() {
+        return pool.getHikariPoolMXBean().getActiveConnections();
+    }
+
+    private int aguardando() {
+        return pool.getHikariPoolMXBean().getThreadsAwaitingConnection();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("Condição não atingida em 10 s");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
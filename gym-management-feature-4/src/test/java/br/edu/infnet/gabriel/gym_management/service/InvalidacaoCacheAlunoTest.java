@@ -0,0 +1,137 @@
+package br.edu.infnet.gabriel.gym_management.service;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cada escrita de aluno remove do cache a entrada por ID e as listas por plano e por academia
+ * do estado anterior e do novo: as leituras aquecidas antes da escrita enxergam o estado novo depois dela.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:invalidacao-cache;DB_CLOSE_DELAY=-1")
+class InvalidacaoCacheAlunoTest {
+
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger(700);
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AcademiaRepository academiaRepository;
+
+    private Academia origem;
+    private Academia destino;
+    private String planoOrigem;
+    private String planoDestino;
+
+    @BeforeEach
+    void preparar() {
+        origem = academia();
+        destino = academia();
+        planoOrigem = "Origem " + SEQUENCIA.incrementAndGet();
+        planoDestino = "Destino " + SEQUENCIA.incrementAndGet();
+    }
+
+    @Test
+    void salvarInvalidaOPlanoEAAcademiaAntigosENovos() {
+        Aluno aluno = alunoService.salvar(aluno(planoOrigem, origem));
+        aquecer(aluno.getId());
+
+        aluno.setPlano(planoDestino);
+        aluno.setAcademia(destino);
+        alunoService.salvar(aluno);
+
+        assertThat(alunoService.buscarPorId(aluno.getId()).getPlano()).isEqualTo(planoDestino);
+        assertThat(ids(alunoService.buscarPorPlano(planoOrigem))).doesNotContain(aluno.getId());
+        assertThat(ids(alunoService.buscarPorPlano(planoDestino))).contains(aluno.getId());
+        assertThat(ids(alunoService.buscarPorAcademia(origem.getId()))).doesNotContain(aluno.getId());
+        assertThat(ids(alunoService.buscarPorAcademia(destino.getId()))).contains(aluno.getId());
+    }
+
+    @Test
+    void vincularAcademiaInvalidaAsDuasAcademiasEOPlano() {
+        Aluno aluno = alunoService.salvar(aluno(planoOrigem, origem));
+        aquecer(aluno.getId());
+
+        alunoService.vincularAcademia(aluno.getId(), destino.getId());
+
+        assertThat(alunoService.buscarPorId(aluno.getId()).getAcademia().getId()).isEqualTo(destino.getId());
+        assertThat(alunoService.buscarPorPlano(planoOrigem)).singleElement()
+                .satisfies(lido -> assertThat(lido.getAcademia().getId()).isEqualTo(destino.getId()));
+        assertThat(ids(alunoService.buscarPorAcademia(origem.getId()))).doesNotContain(aluno.getId());
+        assertThat(ids(alunoService.buscarPorAcademia(destino.getId()))).contains(aluno.getId());
+    }
+
+    @Test
+    void alterarStatusInvalidaIdPlanoEAcademia() {
+        Aluno aluno = alunoService.salvar(aluno(planoOrigem, origem));
+        aquecer(aluno.getId());
+
+        alunoService.inativar(aluno.getId());
+
+        assertThat(alunoService.buscarPorId(aluno.getId()).getStatus()).isFalse();
+        assertThat(alunoService.buscarPorPlano(planoOrigem)).extracting(Aluno::getStatus).containsExactly(false);
+        assertThat(alunoService.buscarPorAcademia(origem.getId())).extracting(Aluno::getStatus).containsExactly(false);
+    }
+
+    @Test
+    void importarInvalidaAsListasDosNovosAlunos() {
+        Aluno existente = alunoService.salvar(aluno(planoOrigem, origem));
+        aquecer(existente.getId());
+
+        assertThat(alunoService.importar(List.of(aluno(planoOrigem, origem), aluno(planoOrigem, destino)))
+                .getImportados()).isEqualTo(2);
+
+        assertThat(ids(alunoService.buscarPorPlano(planoOrigem))).hasSize(3).contains(existente.getId());
+        assertThat(alunoService.buscarPorAcademia(origem.getId())).hasSize(2);
+        assertThat(alunoService.buscarPorAcademia(destino.getId())).hasSize(1);
+    }
+
+    /**
+     * Põe em cache o aluno e as listas das quatro chaves envolvidas
+     */
+    private void aquecer(Long id) {
+        alunoService.buscarPorId(id);
+        alunoService.buscarPorPlano(planoOrigem);
+        alunoService.buscarPorPlano(planoDestino);
+        alunoService.buscarPorAcademia(origem.getId());
+        alunoService.buscarPorAcademia(destino.getId());
+    }
+
+    private static List<Long> ids(List<Aluno> alunos) {
+        return alunos.stream().map(Aluno::getId).toList();
+    }
+
+    private Academia academia() {
+        int numero = SEQUENCIA.incrementAndGet();
+        Academia academia = new Academia();
+        academia.setNome("Academia " + numero);
+        academia.setCnpj(String.format("22.333.444/%04d-00", numero));
+        academia.setEndereco("Rua do Cache, " + numero);
+        academia.setStatusAtivo(true);
+        return academiaRepository.save(academia);
+    }
+
+    private static Aluno aluno(String plano, Academia academia) {
+        int numero = SEQUENCIA.incrementAndGet();
+        Aluno aluno = new Aluno();
+        aluno.setNome("Aluno " + numero);
+        aluno.setEmail("aluno" + numero + "@cache.com");
+        aluno.setCpf(String.format("%03d.%03d.%03d-00", numero / 1_000_000, numero / 1000 % 1000, numero % 1000));
+        aluno.setMatricula("MAT" + numero);
+        aluno.setPlano(plano);
+        aluno.setDataInicio("2025-01-01");
+        aluno.setStatus(true);
+        aluno.setAcademia(academia);
+        return aluno;
+    }
+}
@@ -0,0 +1,95 @@
+package br.edu.infnet.gabriel.gym_management.service;
+
+import br.edu.infnet.gabriel.gym_management.datasource.ReplicaSynchronizer;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * As cargas dos caches e SingleFlights rodam em transação somente leitura e por isso vão para a réplica:
+ * o nome é trocado só na réplica, e a falta devolve o nome de lá.
+ */
+@SpringBootTest(properties = {
+        "gym.datasource.replica.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:leitura-primaria;DB_CLOSE_DELAY=-1",
+        "gym.datasource.replica.url=jdbc:h2:mem:leitura-replica;DB_CLOSE_DELAY=-1",
+        "gym.datasource.replica.sync-interval=1h",
+        "gym.datasource.replica.max-staleness=1h"
+})
+class LeituraReplicaTest {
+
+    private static final String NA_REPLICA = "Nome Só na Réplica";
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private InstrutorService instrutorService;
+
+    @Autowired
+    private ReplicaSynchronizer synchronizer;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @Test
+    void faltasNoCacheEnoSingleFlightDoAlunoLeemDaReplica() throws SQLException {
+        Aluno aluno = new Aluno();
+        aluno.setNome("Aluno da Primária");
+        aluno.setEmail("replica@aluno.com");
+        aluno.setCpf("901.000.000-01");
+        aluno.setMatricula("MAT90001");
+        aluno.setPlano("Replica");
+        aluno.setDataInicio("2025-01-01");
+        aluno.setStatus(true);
+        Long id = alunoService.salvar(aluno).getId();
+        synchronizer.sincronizar();
+        renomearNaReplica("alunos", id);
+
+        assertThat(alunoService.buscarPorId(id).getNome()).isEqualTo(NA_REPLICA);
+        assertThat(alunoService.buscarPorCpf("901.000.000-01").getNome()).isEqualTo(NA_REPLICA);
+        assertThat(alunoService.buscarPorMatricula("MAT90001").getNome()).isEqualTo(NA_REPLICA);
+        assertThat(alunoService.buscarPorPlano("Replica")).extracting(Aluno::getNome).containsExactly(NA_REPLICA);
+    }
+
+    @Test
+    void faltasNoCacheEnoSingleFlightDoInstrutorLeemDaReplica() throws SQLException {
+        Instrutor instrutor = new Instrutor();
+        instrutor.setNome("Instrutor da Primária");
+        instrutor.setEmail("replica@instrutor.com");
+        instrutor.setCpf("902.000.000-02");
+        instrutor.setRegistro("REG90002");
+        instrutor.setEspecialidade("Replicação");
+        instrutor.setSalario(5000.0);
+        instrutor.setStatus(true);
+        Long id = instrutorService.salvar(instrutor).getId();
+        synchronizer.sincronizar();
+        renomearNaReplica("instrutores", id);
+
+        assertThat(instrutorService.buscarPorId(id).getNome()).isEqualTo(NA_REPLICA);
+        assertThat(instrutorService.buscarPorCpf("902.000.000-02").getNome()).isEqualTo(NA_REPLICA);
+        assertThat(instrutorService.buscarPorRegistro("REG90002").getNome()).isEqualTo(NA_REPLICA);
+        assertThat(instrutorService.buscarPorEspecialidade("Replicação")).extracting(Instrutor::getNome)
+                .containsExactly(NA_REPLICA);
+    }
+
+    private void renomearNaReplica(String tabela, Long id) throws SQLException {
+        try (Connection conexao = replica.getConnection();
+             PreparedStatement st = conexao.prepareStatement("UPDATE " + tabela + " SET nome = ? WHERE id = ?")) {
+            st.setString(1, NA_REPLICA);
+            st.setLong(2, id);
+            assertThat(st.executeUpdate()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package br.edu.infnet.gabriel.gym_management.sharding;
+
+import br.edu.infnet.gabriel.gym_management.model.Academia;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.model.Instrutor;
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import br.edu.infnet.gabriel.gym_management.repository.InstrutorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Roteamento das shards: atomicidade entre shards na transação de quem chama, localização pelo diretório
+ * e unicidade das chaves entre shards.
+ */
+@SpringBootTest(properties = {
+        "gym.sharding.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:roteamento-shard0;DB_CLOSE_DELAY=-1",
+        "gym.sharding.urls=jdbc:h2:mem:roteamento-shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:roteamento-shard2;DB_CLOSE_DELAY=-1"
+})
+class ShardRoutingTest {
+
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger(100);
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private AcademiaRepository academiaRepository;
+
+    @Autowired
+    private InstrutorRepository instrutorRepository;
+
+    @Autowired
+    private ShardDirectory directory;
+
+    @Autowired
+    private ShardRebalancer rebalancer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Integer, Academia> academiasPorShard = new HashMap<>();
+
+    @BeforeEach
+    void criarAcademias() {
+        while (academiasPorShard.size() < directory.totalShards()) {
+            int numero = SEQUENCIA.incrementAndGet();
+            Academia academia = new Academia();
+            academia.setNome("Academia " + numero);
+            academia.setCnpj(String.format("11.222.333/%04d-00", numero));
+            academia.setEndereco("Rua das Shards, " + numero);
+            academia.setStatusAtivo(true);
+            Academia salva = academiaRepository.save(academia);
+            academiasPorShard.putIfAbsent(directory.shardDaAcademia(salva.getId()), salva);
+        }
+    }
+
+    @Test
+    void transacaoDesfeitaDesfazTodasAsShards() {
+        List<ShardRebalancer.Distribuicao> antes = rebalancer.distribuicao();
+
+        assertThrows(IllegalStateException.class, () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            alunoRepository.save(aluno(academiasPorShard.get(1)));
+            alunoRepository.save(aluno(academiasPorShard.get(0)));
+            throw new IllegalStateException("falha depois das gravações");
+        }));
+
+        assertThat(rebalancer.distribuicao()).isEqualTo(antes);
+    }
+
+    @Test
+    void transacaoConfirmadaGravaEmCadaShardEORegistroLocalizaPeloDiretorio() {
+        Aluno[] salvos = new TransactionTemplate(transactionManager).execute(status -> new Aluno[]{
+                alunoRepository.save(aluno(academiasPorShard.get(1))),
+                alunoRepository.save(aluno(academiasPorShard.get(2)))});
+
+        assertThat(directory.shardDoRegistro("alunos", salvos[0].getId())).isEqualTo(1);
+        assertThat(directory.shardDoRegistro("alunos", salvos[1].getId())).isEqualTo(2);
+        assertThat(alunoRepository.findById(salvos[0].getId())).isPresent();
+        assertThat(alunoRepository.findById(salvos[1].getId())).isPresent();
+        assertThat(alunoRepository.findById(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void cpfRepetidoEmOutraShardEhRecusado() {
+        Aluno primeiro = alunoRepository.save(aluno(academiasPorShard.get(1)));
+        Aluno repetido = aluno(academiasPorShard.get(2));
+        repetido.setCpf(primeiro.getCpf());
+        long antes = alunoRepository.count();
+
+        assertThrows(DataIntegrityViolationException.class, () -> alunoRepository.save(repetido));
+        assertThat(alunoRepository.count()).isEqualTo(antes);
+    }
+
+    @Test
+    void trocarDeAcademiaMoveALinhaNaMesmaTransacao() {
+        Aluno aluno = alunoRepository.save(aluno(academiasPorShard.get(1)));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Aluno carregado = alunoRepository.findById(aluno.getId()).orElseThrow();
+            carregado.setAcademia(academiasPorShard.get(2));
+            carregado.setPlano("Platinum");
+            alunoRepository.save(carregado);
+        });
+
+        assertThat(directory.shardDoRegistro("alunos", aluno.getId())).isEqualTo(2);
+        assertThat(alunoRepository.findByAcademiaId(academiasPorShard.get(1).getId()))
+                .extracting(Aluno::getId).doesNotContain(aluno.getId());
+        assertThat(alunoRepository.findByAcademiaId(academiasPorShard.get(2).getId()))
+                .filteredOn(a -> a.getId().equals(aluno.getId()))
+                .extracting(Aluno::getPlano).containsExactly("Platinum");
+    }
+
+    @Test
+    void registroContinuaLocalizavelDepoisDeMoverAAcademia() {
+        Academia academia = academiasPorShard.remove(1);
+        Aluno aluno = alunoRepository.save(aluno(academia));
+
+        rebalancer.moverAcademia(academia.getId(), 2);
+
+        assertThat(directory.shardDoRegistro("alunos", aluno.getId())).isEqualTo(2);
+        assertThat(alunoRepository.findById(aluno.getId())).isPresent();
+    }
+
+    @Test
+    void consultaOrdenadaELimitadaSaiNaOrdemGlobalEntreShards() {
+        for (int i = 0; i < 3; i++) {
+            for (int shard = 0; shard < directory.totalShards(); shard++) {
+                alunoRepository.save(aluno(academiasPorShard.get(shard)));
+            }
+        }
+        List<Long> ids = alunoRepository.findAll().stream().map(Aluno::getId).sorted().toList();
+
+        assertThat(alunoRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(0L, Long.MAX_VALUE, Limit.of(4)))
+                .extracting(Aluno::getId).containsExactlyElementsOf(ids.subList(0, 4));
+        assertThat(alunoRepository.findAll(Sort.by("id").descending())).extracting(Aluno::getId)
+                .containsExactlyElementsOf(ids.reversed());
+    }
+
+    @Test
+    void orderByDaConsultaEhRefeitoDepoisDeJuntarAsShards() {
+        for (int shard = 0; shard < directory.totalShards(); shard++) {
+            instrutorRepository.save(instrutor(academiasPorShard.get(shard), 5000.0 + shard * 1000));
+            instrutorRepository.save(instrutor(academiasPorShard.get(shard), 9500.0 - shard * 1000));
+        }
+
+        assertThat(instrutorRepository.findInstrutoresComSalarioAcima(4000.0)).extracting(Instrutor::getSalario)
+                .isSortedAccordingTo(Comparator.reverseOrder()).contains(9500.0, 8500.0, 7500.0, 7000.0, 6000.0, 5000.0);
+    }
+
+    @Test
+    void paginacaoEntreShardsEhRecusada() {
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> alunoRepository.findAll(PageRequest.of(0, 2)));
+    }
+
+    private static Instrutor instrutor(Academia academia, double salario) {
+        int numero = SEQUENCIA.incrementAndGet();
+        Instrutor instrutor = new Instrutor();
+        instrutor.setNome("Instrutor " + numero);
+        instrutor.setEmail("instrutor" + numero + "@shard.com");
+        instrutor.setCpf(String.format("%03d.%03d.%03d-00", numero / 1_000_000, numero / 1000 % 1000, numero % 1000));
+        instrutor.setRegistro("REG" + numero);
+        instrutor.setEspecialidade("Yoga");
+        instrutor.setSalario(salario);
+        instrutor.setStatus(true);
+        instrutor.setAcademia(academia);
+        return instrutor;
+    }
+
+    private static Aluno aluno(Academia academia) {
+        int numero = SEQUENCIA.incrementAndGet();
+        Aluno aluno = new Aluno();
+        aluno.setNome("Aluno " + numero);
+        aluno.setEmail("aluno" + numero + "@shard.com");
+        aluno.setCpf(String.format("%03d.%03d.%03d-00", numero / 1_000_000, numero / 1000 % 1000, numero % 1000));
+        aluno.setMatricula("MAT" + numero);
+        aluno.setPlano("Gold");
+        aluno.setDataInicio("2025-01-01");
+        aluno.setStatus(true);
+        aluno.setAcademia(academia);
+        return aluno;
+    }
+}
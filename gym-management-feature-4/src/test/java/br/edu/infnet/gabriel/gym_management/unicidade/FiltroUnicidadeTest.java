@@ -0,0 +1,182 @@
+package br.edu.infnet.gabriel.gym_management.unicidade;
+
+import br.edu.infnet.gabriel.gym_management.repository.AcademiaRepository;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import br.edu.infnet.gabriel.gym_management.repository.InstrutorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Triagem contra um banco em memória (conjuntos de CPFs e emails de alunos), registrando os valores
+ * que chegam à conferência exata.
+ */
+class FiltroUnicidadeTest {
+
+    private static final PlatformTransactionManager SEM_TRANSACAO = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    private static final Map<ChaveUnica, Function<Cadastro, String>> CHAVES = Map.of(
+            ChaveUnica.ALUNO_CPF, Cadastro::cpf,
+            ChaveUnica.ALUNO_EMAIL, Cadastro::email);
+
+    private final Set<String> cpfs = ConcurrentHashMap.newKeySet();
+    private final Set<String> emails = ConcurrentHashMap.newKeySet();
+    private final List<String> conferidos = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FiltroUnicidade filtro;
+
+    FiltroUnicidadeTest() {
+        IntStream.range(0, 500).forEach(i -> {
+            cpfs.add("cpf-" + i);
+            emails.add("aluno" + i + "@gym.com");
+        });
+        UnicidadeProperties properties = new UnicidadeProperties();
+        properties.setCapacidadeInicial(1_000);
+        filtro = new FiltroUnicidade(alunos(), vazio(InstrutorRepository.class), vazio(AcademiaRepository.class),
+                properties, SEM_TRANSACAO, registry);
+    }
+
+    @Test
+    void recusaDuplicadoNoLoteEDuplicadoDeCadastroExistente() throws InterruptedException {
+        construir();
+
+        List<Rejeicao> rejeicoes = filtro.triar(List.of(
+                new Cadastro("cpf-novo-1", "novo1@gym.com"),
+                new Cadastro("cpf-3", "novo2@gym.com"),
+                new Cadastro("cpf-novo-1", "aluno7@gym.com"),
+                new Cadastro("cpf-novo-2", "novo3@gym.com")), CHAVES);
+
+        assertThat(rejeicoes).extracting(Rejeicao::getIndice, Rejeicao::getCampo, Rejeicao::getMotivo)
+                .containsExactlyInAnyOrder(
+                        tuple(1, "cpf", "Já cadastrado"),
+                        tuple(2, "cpf", "Duplicado no próprio lote"),
+                        tuple(2, "email", "Já cadastrado"));
+        assertThat(conferidos).contains("cpf-3", "aluno7@gym.com")
+                .allMatch(valor -> filtro.talvezExista(valor.startsWith("cpf") ? ChaveUnica.ALUNO_CPF
+                        : ChaveUnica.ALUNO_EMAIL, valor), "só suspeitos vão ao banco");
+    }
+
+    @Test
+    void falsoPositivoDoFiltroPassaPelaConferenciaExata() throws InterruptedException {
+        construir();
+        String falsoPositivo = IntStream.range(0, 1_000_000).mapToObj(i -> "cpf-ausente-" + i)
+                .filter(valor -> filtro.talvezExista(ChaveUnica.ALUNO_CPF, valor))
+                .findFirst().orElseThrow();
+
+        List<Rejeicao> rejeicoes = filtro.triar(List.of(new Cadastro(falsoPositivo, null)), CHAVES);
+
+        assertThat(rejeicoes).isEmpty();
+        assertThat(conferidos).containsExactly(falsoPositivo);
+        assertThat(registry.counter("gym.unicidade.triagem", "chave", "aluno_cpf", "resultado", "falso_positivo")
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void semFiltroProntoTodoValorEhConferido() {
+        List<Rejeicao> rejeicoes = filtro.triar(List.of(
+                new Cadastro("cpf-novo-1", null), new Cadastro("cpf-10", null)), CHAVES);
+
+        assertThat(rejeicoes).extracting(Rejeicao::getIndice).containsExactly(1);
+        assertThat(conferidos).containsExactlyInAnyOrder("cpf-novo-1", "cpf-10");
+    }
+
+    @Test
+    void chaveRegistradaDepoisDaConstrucaoPassaASerSuspeita() throws InterruptedException {
+        construir();
+        String novo = IntStream.range(0, 1_000_000).mapToObj(i -> "cpf-gravado-" + i)
+                .filter(valor -> !filtro.talvezExista(ChaveUnica.ALUNO_CPF, valor))
+                .findFirst().orElseThrow();
+
+        cpfs.add(novo);
+        filtro.registrar(List.of(new Cadastro(novo, null)), CHAVES);
+
+        assertThat(filtro.talvezExista(ChaveUnica.ALUNO_CPF, novo)).isTrue();
+        assertThat(filtro.triar(List.of(new Cadastro(novo, null)), CHAVES))
+                .extracting(Rejeicao::getMotivo).containsExactly("Já cadastrado");
+    }
+
+    /**
+     * Constrói os filtros e espera ficarem prontos: um filtro pronto descarta algum valor ausente
+     */
+    private void construir() throws InterruptedException {
+        filtro.construir();
+        long limite = System.currentTimeMillis() + 10_000;
+        while ((pendente(ChaveUnica.ALUNO_CPF) || pendente(ChaveUnica.ALUNO_EMAIL)) && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(pendente(ChaveUnica.ALUNO_CPF) || pendente(ChaveUnica.ALUNO_EMAIL)).isFalse();
+    }
+
+    private boolean pendente(ChaveUnica chave) {
+        return IntStream.range(0, 100).allMatch(i -> filtro.talvezExista(chave, "sonda-" + i));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AlunoRepository alunos() {
+        return (AlunoRepository) Proxy.newProxyInstance(AlunoRepository.class.getClassLoader(),
+                new Class<?>[]{AlunoRepository.class}, (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "count" -> (long) cpfs.size();
+                    case "streamCpfs" -> Set.copyOf(cpfs).stream();
+                    case "streamEmails" -> Set.copyOf(emails).stream();
+                    case "streamMatriculas" -> Stream.empty();
+                    case "findCpfsExistentes" -> existentes(cpfs, (Collection<String>) args[0]);
+                    case "findEmailsExistentes" -> existentes(emails, (Collection<String>) args[0]);
+                    default -> throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+
+    private List<String> existentes(Set<String> banco, Collection<String> valores) {
+        conferidos.addAll(valores);
+        return valores.stream().filter(banco::contains).collect(Collectors.toList());
+    }
+
+    /**
+     * Repositório de uma tabela vazia, para as chaves que os testes não usam
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R vazio(Class<R> tipo) {
+        return (R) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, args) -> {
+            if (metodo.getName().equals("count")) {
+                return 0L;
+            }
+            if (metodo.getName().startsWith("stream")) {
+                return Stream.empty();
+            }
+            throw new UnsupportedOperationException(metodo.getName());
+        });
+    }
+
+    private record Cadastro(String cpf, String email) {
+    }
+}
@@ -0,0 +1,237 @@
+package br.edu.infnet.gabriel.gym_management.writebehind;
+
+import br.edu.infnet.gabriel.gym_management.cache.AlunoCache;
+import br.edu.infnet.gabriel.gym_management.cache.CacheProperties;
+import br.edu.infnet.gabriel.gym_management.model.Aluno;
+import br.edu.infnet.gabriel.gym_management.repository.AlunoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write-behind contra um banco em memória (um mapa id -> status atualizado pelo updateStatus) e um journal real.
+ */
+class FilaStatusTest {
+
+    private static final PlatformTransactionManager SEM_TRANSACAO = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    @TempDir
+    Path diretorio;
+
+    private final Map<Long, Boolean> banco = new ConcurrentHashMap<>();
+    private final AtomicInteger updates = new AtomicInteger();
+    private final List<FilaStatus> abertas = new ArrayList<>();
+
+    @AfterEach
+    void parar() {
+        abertas.forEach(FilaStatus::stop);
+    }
+
+    @Test
+    void mudancasDoMesmoAlunoSeSobrepoemEValeAUltima() {
+        FilaStatus fila = fila(this::gravarNoBanco);
+        fila.enfileirar(aluno(1, true), false);
+        fila.enfileirar(aluno(1, false), true);
+        fila.enfileirar(aluno(1, true), false);
+        fila.enfileirar(aluno(2, false), true);
+
+        assertThat(fila.descarregar()).isEqualTo(2);
+
+        assertThat(banco).isEqualTo(Map.of(1L, false, 2L, true));
+        assertThat(updates).hasValue(2);
+        assertThat(fila.descarregar()).isZero();
+    }
+
+    @Test
+    void leiturasVeemOStatusPendente() {
+        FilaStatus fila = fila(this::gravarNoBanco);
+        fila.enfileirar(aluno(1, true), false);
+
+        assertThat(fila.aplicar(aluno(1, true)).getStatus()).isFalse();
+        assertThat(fila.aplicar(new ArrayList<>(List.of(aluno(1, true), aluno(2, true))), true))
+                .extracting(Aluno::getId).containsExactly(2L);
+
+        fila.descarregar();
+        assertThat(fila.aplicar(aluno(1, true)).getStatus()).as("sem pendente, vale o que veio do banco").isTrue();
+    }
+
+    @Test
+    void mudancaDuranteADescargaContinuaPendente() throws Exception {
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicBoolean primeira = new AtomicBoolean(true);
+        FilaStatus fila = fila((ids, status) -> {
+            if (primeira.getAndSet(false)) {
+                gravando.countDown();
+                aguardar(liberar);
+            }
+            gravarNoBanco(ids, status);
+        });
+        fila.enfileirar(aluno(1, true), false);
+
+        CompletableFuture<Integer> descarga = CompletableFuture.supplyAsync(fila::descarregar);
+        assertThat(gravando.await(5, TimeUnit.SECONDS)).isTrue();
+        fila.enfileirar(aluno(1, false), true);
+        liberar.countDown();
+        assertThat(descarga.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+
+        assertThat(banco).containsEntry(1L, false);
+        assertThat(fila.aplicar(aluno(1, false)).getStatus()).isTrue();
+        assertThat(fila.descarregar()).isEqualTo(1);
+        assertThat(banco).containsEntry(1L, true);
+    }
+
+    @Test
+    void journalReaplicadoNaSubidaIgnoraOUltimoRegistroIncompleto() throws IOException {
+        FilaStatus fora = fila(this::bancoFora);
+        fora.enfileirar(aluno(1, true), false);
+        fora.enfileirar(aluno(2, false), true);
+        fora.enfileirar(aluno(1, false), true);
+        fora.stop();
+        abertas.remove(fora);
+        Path journal = diretorio.resolve("status.journal");
+        try (FileChannel canal = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 5);
+        }
+
+        fila(this::gravarNoBanco);
+
+        assertThat(banco).isEqualTo(Map.of(1L, false, 2L, true));
+        assertThat(Files.size(journal)).isZero();
+    }
+
+    @Test
+    void exclusaoDescartaOPendenteTambemNoJournal() {
+        FilaStatus fora = fila(this::bancoFora);
+        fora.enfileirar(aluno(1, true), false);
+        fora.enfileirar(aluno(2, true), false);
+        fora.descartarSePendente(1L);
+        assertThat(fora.aplicar(aluno(1, true)).getStatus()).isTrue();
+        fora.stop();
+        abertas.remove(fora);
+
+        fila(this::gravarNoBanco);
+
+        assertThat(banco).isEqualTo(Map.of(2L, false));
+    }
+
+    @Test
+    void mudancasConcorrentesChegamAoJournalNaOrdemDosPendentes() {
+        FilaStatus fora = fila(this::bancoFora);
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            Random aleatorio = new Random(thread);
+            for (int i = 0; i < 200; i++) {
+                fora.enfileirar(aluno(1 + aleatorio.nextInt(40), true), aleatorio.nextBoolean());
+            }
+        });
+        Map<Long, Boolean> pendentes = new HashMap<>();
+        for (long id = 1; id <= 40; id++) {
+            Aluno aluno = fora.aplicar(aluno(id, null));
+            if (aluno.getStatus() != null) {
+                pendentes.put(id, aluno.getStatus());
+            }
+        }
+        fora.stop();
+        abertas.remove(fora);
+
+        fila(this::gravarNoBanco);
+
+        assertThat(banco).isEqualTo(pendentes);
+    }
+
+    private FilaStatus fila(BiConsumer<Collection<Long>, Boolean> updateStatus) {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setJournal(diretorio.resolve("status.journal"));
+        properties.setIntervalo(Duration.ofHours(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FilaStatus fila = new FilaStatus(properties, repositorio(updateStatus), new AlunoCache(new CacheProperties(), Optional.empty(), registry),
+                SEM_TRANSACAO, registry);
+        fila.start();
+        abertas.add(fila);
+        return fila;
+    }
+
+    /**
+     * AlunoRepository que só atende updateStatus
+     */
+    @SuppressWarnings("unchecked")
+    private static AlunoRepository repositorio(BiConsumer<Collection<Long>, Boolean> updateStatus) {
+        return (AlunoRepository) Proxy.newProxyInstance(AlunoRepository.class.getClassLoader(),
+                new Class<?>[]{AlunoRepository.class}, (proxy, metodo, args) -> {
+                    if (!metodo.getName().equals("updateStatus")) {
+                        throw new UnsupportedOperationException(metodo.getName());
+                    }
+                    Collection<Long> ids = List.copyOf((Collection<Long>) args[0]);
+                    updateStatus.accept(ids, (Boolean) args[1]);
+                    return ids.size();
+                });
+    }
+
+    private void gravarNoBanco(Collection<Long> ids, Boolean status) {
+        updates.incrementAndGet();
+        ids.forEach(id -> banco.put(id, status));
+    }
+
+    private void bancoFora(Collection<Long> ids, Boolean status) {
+        throw new IllegalStateException("banco fora do ar");
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Aluno aluno(long id, Boolean status) {
+        Aluno aluno = new Aluno();
+        aluno.setId(id);
+        aluno.setStatus(status);
+        return aluno;
+    }
+}